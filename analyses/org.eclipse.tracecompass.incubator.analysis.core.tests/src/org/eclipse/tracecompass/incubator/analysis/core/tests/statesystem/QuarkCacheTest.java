@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.analysis.core.tests.statesystem;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.tracecompass.incubator.analysis.core.statesystem.QuarkCache;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.junit.Test;
+
+/**
+ * Test the {@link QuarkCache} class
+ */
+public class QuarkCacheTest {
+
+    /**
+     * Test getting and replacing the quarks of keys
+     */
+    @Test
+    public void testGetPut() {
+        QuarkCache cache = new QuarkCache();
+        assertEquals(ITmfStateSystem.INVALID_ATTRIBUTE, cache.get(0));
+
+        cache.put(0, 3);
+        cache.put(-1, 0);
+        cache.put(Long.MAX_VALUE, 5);
+        assertEquals(3, cache.get(0));
+        assertEquals(0, cache.get(-1));
+        assertEquals(5, cache.get(Long.MAX_VALUE));
+        assertEquals(ITmfStateSystem.INVALID_ATTRIBUTE, cache.get(1));
+        assertEquals(3, cache.size());
+
+        cache.put(0, 7);
+        assertEquals(7, cache.get(0));
+        assertEquals(3, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(ITmfStateSystem.INVALID_ATTRIBUTE, cache.get(0));
+    }
+
+    /**
+     * Test that the cache grows and keeps all its keys
+     */
+    @Test
+    public void testGrow() {
+        QuarkCache cache = new QuarkCache(1);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            // Mix consecutive numbers, like tids, with random keys
+            long key = (i % 2 == 0) ? i : random.nextLong();
+            cache.put(key, i);
+            expected.put(key, i);
+        }
+        assertEquals(expected.size(), cache.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), cache.get(entry.getKey()));
+        }
+    }
+
+    /**
+     * Test the keys of pairs of ints
+     */
+    @Test
+    public void testPairKey() {
+        assertNotEquals(QuarkCache.pairKey(1, 2), QuarkCache.pairKey(2, 1));
+        assertNotEquals(QuarkCache.pairKey(0, -1), QuarkCache.pairKey(-1, 0));
+        assertNotEquals(QuarkCache.pairKey(0, -1), QuarkCache.pairKey(-1, -1));
+    }
+
+    /**
+     * Test that invalid quarks are not cached
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQuark() {
+        new QuarkCache().put(1, ITmfStateSystem.INVALID_ATTRIBUTE);
+    }
+}
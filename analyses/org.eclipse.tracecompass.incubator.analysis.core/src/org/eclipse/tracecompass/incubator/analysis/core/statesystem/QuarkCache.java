@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.analysis.core.statesystem;
+
+import java.util.Arrays;
+
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+
+/**
+ * Cache of quarks keyed by a primitive number, such as a thread ID, a file
+ * descriptor or a port and queue pair. State providers can use it on their
+ * hot paths instead of converting the number to a string and looking it up in
+ * the attribute tree for each event.
+ * <p>
+ * The keys and quarks are kept in primitive arrays with open addressing and
+ * linear probing, so lookups do not box the key nor allocate. Since the state
+ * system never deletes an attribute, a cached quark stays valid for the
+ * lifetime of the state system builder it comes from. This class is not
+ * thread-safe.
+ */
+public class QuarkCache {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    /** Empty slots have this value, quarks are never negative */
+    private static final int EMPTY = ITmfStateSystem.INVALID_ATTRIBUTE;
+
+    private long[] fKeys;
+    private int[] fQuarks;
+    private int fMask;
+    private int fSize = 0;
+
+    /**
+     * Constructor
+     */
+    public QuarkCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with the expected number of keys
+     *
+     * @param expectedSize
+     *            The number of keys to hold without growing
+     */
+    public QuarkCache(int expectedSize) {
+        // Keep the table at most half full
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, DEFAULT_CAPACITY / 2) * 2 - 1) << 1;
+        fKeys = new long[capacity];
+        fQuarks = new int[capacity];
+        Arrays.fill(fQuarks, EMPTY);
+        fMask = capacity - 1;
+    }
+
+    /**
+     * Get the quark cached for a key
+     *
+     * @param key
+     *            The key
+     * @return The quark for this key, or
+     *         {@link ITmfStateSystem#INVALID_ATTRIBUTE} if it is not in the
+     *         cache
+     */
+    public int get(long key) {
+        int index = index(key);
+        int quark;
+        while ((quark = fQuarks[index]) != EMPTY) {
+            if (fKeys[index] == key) {
+                return quark;
+            }
+            index = (index + 1) & fMask;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Cache the quark of a key, replacing the previous quark of this key if
+     * there was one
+     *
+     * @param key
+     *            The key
+     * @param quark
+     *            The quark, must be a valid attribute
+     */
+    public void put(long key, int quark) {
+        if (quark < 0) {
+            throw new IllegalArgumentException("Invalid quark: " + quark); //$NON-NLS-1$
+        }
+        int index = index(key);
+        while (fQuarks[index] != EMPTY) {
+            if (fKeys[index] == key) {
+                fQuarks[index] = quark;
+                return;
+            }
+            index = (index + 1) & fMask;
+        }
+        fKeys[index] = key;
+        fQuarks[index] = quark;
+        fSize++;
+        if (fSize * 2 > fKeys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Get the number of keys in the cache
+     *
+     * @return The number of keys
+     */
+    public int size() {
+        return fSize;
+    }
+
+    /**
+     * Remove all the keys from the cache
+     */
+    public void clear() {
+        Arrays.fill(fQuarks, EMPTY);
+        fSize = 0;
+    }
+
+    /**
+     * Build the key of a pair of ints, for instance a parent quark and the
+     * number of its child attribute
+     *
+     * @param high
+     *            The first value of the pair
+     * @param low
+     *            The second value of the pair
+     * @return The key for this pair
+     */
+    public static long pairKey(int high, int low) {
+        return ((long) high << 32) | (low & 0xffffffffL);
+    }
+
+    private int index(long key) {
+        // Spread the bits, as keys are often small consecutive numbers
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & fMask;
+    }
+
+    private void grow() {
+        long[] keys = fKeys;
+        int[] quarks = fQuarks;
+        fKeys = new long[keys.length * 2];
+        fQuarks = new int[quarks.length * 2];
+        Arrays.fill(fQuarks, EMPTY);
+        fMask = fKeys.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (quarks[i] != EMPTY) {
+                int index = index(keys[i]);
+                while (fQuarks[index] != EMPTY) {
+                    index = (index + 1) & fMask;
+                }
+                fKeys[index] = keys[i];
+                fQuarks[index] = quarks[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,647 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.analysis.core.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.Activator;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Job sorting the events of a JSON trace by timestamp, using an external merge
+ * sort. The events are read in runs that fit in the memory budget, each run is
+ * sorted and spilled to the supplementary folder of the trace, then the runs
+ * are merged. A trace that fits in the budget is sorted in memory.
+ * <p>
+ * The sorted file is written in the supplementary folder, with the name of the
+ * trace file, as an array of the events. The events are kept as they are in
+ * the original file, only their order changes. Events without timestamp are
+ * kept first, and events with the same timestamp keep their original order.
+ * <p>
+ * The memory budget, in MiB, is set with the {@value #MEMORY_PROPERTY} system
+ * property.
+ */
+public abstract class JsonTraceSortingJob extends Job {
+
+    /** System property of the memory budget of the sort, in MiB */
+    public static final String MEMORY_PROPERTY = "org.eclipse.tracecompass.incubator.jsontrace.sort.memory"; //$NON-NLS-1$
+
+    private static final long MIB = 1024L * 1024;
+    private static final long DEFAULT_MEMORY = 256 * MIB;
+    /** Estimate of the memory used by an event, besides its text */
+    private static final int EVENT_OVERHEAD = 96;
+    /** Maximum number of runs merged at once */
+    private static final int MAX_MERGE_WIDTH = 128;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String RUN_PREFIX = ".sort-run-"; //$NON-NLS-1$
+    private static final String TEMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+    private static final byte[] ARRAY_START = "[\n".getBytes(StandardCharsets.ISO_8859_1); //$NON-NLS-1$
+    private static final byte[] SEPARATOR = ",\n".getBytes(StandardCharsets.ISO_8859_1); //$NON-NLS-1$
+    private static final byte[] ARRAY_END = "\n]\n".getBytes(StandardCharsets.ISO_8859_1); //$NON-NLS-1$
+
+    private static final Comparator<@Nullable BigDecimal> KEY_COMPARATOR = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ITmfTrace fTrace;
+    private final String fPath;
+    private final String fTsKey;
+    private final List<String> fPathToEvents;
+    private long fMemory = getMemoryBudget();
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            the trace to sort
+     * @param path
+     *            the path to the trace file
+     * @param tsKey
+     *            the key of the timestamp in the events
+     * @param pathToEvents
+     *            the keys of the objects leading to the array of events, empty
+     *            if the trace is an array of events
+     */
+    public JsonTraceSortingJob(ITmfTrace trace, String path, String tsKey, List<String> pathToEvents) {
+        super("Sorting " + trace.getName()); //$NON-NLS-1$
+        fTrace = trace;
+        fPath = path;
+        fTsKey = tsKey;
+        fPathToEvents = pathToEvents;
+    }
+
+    /**
+     * Get the path of the trace file
+     *
+     * @return the path
+     */
+    protected String getPath() {
+        return fPath;
+    }
+
+    /**
+     * Set the memory budget of this job, instead of the one of the
+     * {@value #MEMORY_PROPERTY} system property. A trace larger than the
+     * budget is sorted in runs of about this size.
+     *
+     * @param memory
+     *            the memory budget, in bytes
+     */
+    @VisibleForTesting
+    public void setMemoryBudget(long memory) {
+        fMemory = memory;
+    }
+
+    /**
+     * Process the metadata of the trace, once the events are sorted
+     *
+     * @param trace
+     *            the trace
+     * @param dir
+     *            the supplementary folder of the trace
+     * @throws IOException
+     *             if the trace cannot be read
+     */
+    protected abstract void processMetadata(ITmfTrace trace, String dir) throws IOException;
+
+    @Override
+    protected IStatus run(@Nullable IProgressMonitor monitor) {
+        File traceFile = new File(fPath);
+        String dir = TmfTraceManager.getSupplementaryFileDir(fTrace);
+        File sortedFile = new File(dir + traceFile.getName());
+        File tempFile = new File(dir + traceFile.getName() + TEMP_SUFFIX);
+        SubMonitor subMonitor = SubMonitor.convert(monitor, getName(), 100);
+        List<File> runs = new ArrayList<>();
+        try {
+            long memory = fMemory;
+            long fileSize = Math.max(1, traceFile.length());
+            SubMonitor readMonitor = subMonitor.split(60).setWorkRemaining(100);
+            int progress = 0;
+            try (EventReader reader = new EventReader(new FileInputStream(traceFile), fPathToEvents)) {
+                List<Event> events = new ArrayList<>();
+                long used = 0;
+                byte[] event = reader.next();
+                while (event != null) {
+                    if (readMonitor.isCanceled()) {
+                        return Status.CANCEL_STATUS;
+                    }
+                    events.add(new Event(getTimestamp(event), event));
+                    used += event.length + EVENT_OVERHEAD;
+                    if (used >= memory) {
+                        runs.add(writeRun(dir, runs.size(), events));
+                        events.clear();
+                        used = 0;
+                    }
+                    int newProgress = (int) (reader.getPosition() * 100 / fileSize);
+                    if (newProgress > progress) {
+                        readMonitor.worked(newProgress - progress);
+                        progress = newProgress;
+                    }
+                    event = reader.next();
+                }
+                if (runs.isEmpty()) {
+                    // Everything fits in memory
+                    events.sort(Comparator.comparing(e -> e.fKey, KEY_COMPARATOR));
+                    try (SortedFileWriter writer = new SortedFileWriter(tempFile)) {
+                        for (Event e : events) {
+                            writer.write(e);
+                        }
+                    }
+                } else {
+                    if (!events.isEmpty()) {
+                        runs.add(writeRun(dir, runs.size(), events));
+                    }
+                    events.clear();
+                    merge(dir, runs, tempFile, subMonitor.split(40));
+                }
+            }
+            Files.move(tempFile.toPath(), sortedFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            processMetadata(fTrace, dir);
+        } catch (OperationCanceledException e) {
+            return Status.CANCEL_STATUS;
+        } catch (IOException | RuntimeException e) {
+            Activator.getInstance().logError("Error sorting trace: " + fPath, e); //$NON-NLS-1$
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error sorting trace: " + fPath, e); //$NON-NLS-1$
+        } finally {
+            for (File run : runs) {
+                run.delete();
+            }
+            tempFile.delete();
+            subMonitor.done();
+        }
+        return Status.OK_STATUS;
+    }
+
+    private static long getMemoryBudget() {
+        long memory = Math.min(DEFAULT_MEMORY, Runtime.getRuntime().maxMemory() / 4);
+        Long property = Long.getLong(MEMORY_PROPERTY);
+        if (property != null && property > 0) {
+            memory = property * MIB;
+        }
+        return memory;
+    }
+
+    private static File writeRun(String dir, int index, List<Event> events) throws IOException {
+        events.sort(Comparator.comparing(e -> e.fKey, KEY_COMPARATOR));
+        File run = new File(dir + RUN_PREFIX + index + TEMP_SUFFIX);
+        try (RunWriter writer = new RunWriter(run)) {
+            for (Event event : events) {
+                writer.write(event);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merge the runs in the sorted file. If there are too many runs to open at
+     * once, consecutive runs are first merged in larger runs, so that the
+     * events with the same timestamp keep their order.
+     */
+    private static void merge(String dir, List<File> runs, File sortedFile, SubMonitor monitor) throws IOException {
+        List<File> toMerge = new ArrayList<>(runs);
+        int index = runs.size();
+        while (toMerge.size() > MAX_MERGE_WIDTH) {
+            monitor.setWorkRemaining(2);
+            SubMonitor passMonitor = monitor.split(1).setWorkRemaining(toMerge.size());
+            List<File> merged = new ArrayList<>();
+            for (int i = 0; i < toMerge.size(); i += MAX_MERGE_WIDTH) {
+                passMonitor.checkCanceled();
+                List<File> group = toMerge.subList(i, Math.min(i + MAX_MERGE_WIDTH, toMerge.size()));
+                if (group.size() == 1) {
+                    merged.add(group.get(0));
+                    continue;
+                }
+                File run = new File(dir + RUN_PREFIX + index++ + TEMP_SUFFIX);
+                runs.add(run);
+                try (RunWriter writer = new RunWriter(run)) {
+                    merge(group, writer);
+                }
+                for (File file : group) {
+                    file.delete();
+                }
+                merged.add(run);
+                passMonitor.worked(group.size());
+            }
+            toMerge = merged;
+        }
+        try (SortedFileWriter writer = new SortedFileWriter(sortedFile)) {
+            merge(toMerge, writer);
+        }
+        monitor.done();
+    }
+
+    private static void merge(List<File> runs, IEventWriter writer) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator.comparing((RunReader r) -> r.fCurrent.fKey, KEY_COMPARATOR)
+                .thenComparingInt(r -> r.fIndex));
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                RunReader reader = new RunReader(runs.get(i), i);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            RunReader reader = queue.poll();
+            while (reader != null) {
+                writer.write(reader.fCurrent);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+                reader = queue.poll();
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Get the timestamp of an event, the value of the timestamp key of the
+     * event object, not of the nested objects
+     */
+    private @Nullable BigDecimal getTimestamp(byte[] event) {
+        int depth = 0;
+        boolean expectKey = false;
+        int length = event.length;
+        for (int i = 0; i < length; i++) {
+            byte b = event[i];
+            switch (b) {
+            case '"':
+                int end = endOfString(event, i);
+                if (depth == 1 && expectKey) {
+                    if (isKey(event, i + 1, end)) {
+                        return parseTimestamp(event, end + 1);
+                    }
+                    expectKey = false;
+                }
+                i = end;
+                break;
+            case '{':
+                depth++;
+                expectKey = depth == 1;
+                break;
+            case '[':
+                depth++;
+                break;
+            case '}':
+            case ']':
+                depth--;
+                break;
+            case ',':
+                expectKey = depth == 1;
+                break;
+            default:
+                break;
+            }
+        }
+        return null;
+    }
+
+    private boolean isKey(byte[] event, int start, int end) {
+        String key = fTsKey;
+        if (end - start != key.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (event[start + i] != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int endOfString(byte[] event, int start) {
+        for (int i = start + 1; i < event.length; i++) {
+            if (event[i] == '\\') {
+                i++;
+            } else if (event[i] == '"') {
+                return i;
+            }
+        }
+        return event.length;
+    }
+
+    private static @Nullable BigDecimal parseTimestamp(byte[] event, int start) {
+        int i = start;
+        // Skip the colon, the whitespace and the quote of a string value
+        while (i < event.length && (event[i] == ':' || event[i] == '"' || Character.isWhitespace(event[i]))) {
+            i++;
+        }
+        int end = i;
+        while (end < event.length && isNumberChar(event[end])) {
+            end++;
+        }
+        if (end == i) {
+            return null;
+        }
+        try {
+            return new BigDecimal(new String(event, i, end - i, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isNumberChar(byte b) {
+        return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+    }
+
+    private static final class Event {
+        private final @Nullable BigDecimal fKey;
+        private final byte[] fText;
+
+        public Event(@Nullable BigDecimal key, byte[] text) {
+            fKey = key;
+            fText = text;
+        }
+    }
+
+    private interface IEventWriter {
+        void write(Event event) throws IOException;
+    }
+
+    /**
+     * Writer of the sorted file, an array of the events
+     */
+    private static final class SortedFileWriter implements IEventWriter, AutoCloseable {
+        private final OutputStream fOut;
+        private boolean fFirst = true;
+
+        public SortedFileWriter(File file) throws IOException {
+            fOut = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+            fOut.write(ARRAY_START);
+        }
+
+        @Override
+        public void write(Event event) throws IOException {
+            if (!fFirst) {
+                fOut.write(SEPARATOR);
+            }
+            fFirst = false;
+            fOut.write(event.fText);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fOut.write(ARRAY_END);
+            } finally {
+                fOut.close();
+            }
+        }
+    }
+
+    /**
+     * Writer of a sorted run: the events with their timestamp
+     */
+    private static final class RunWriter implements IEventWriter, AutoCloseable {
+        private final DataOutputStream fOut;
+
+        public RunWriter(File file) throws IOException {
+            fOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+        }
+
+        @Override
+        public void write(Event event) throws IOException {
+            BigDecimal key = event.fKey;
+            fOut.writeBoolean(key != null);
+            if (key != null) {
+                fOut.writeUTF(key.toString());
+            }
+            fOut.writeInt(event.fText.length);
+            fOut.write(event.fText);
+        }
+
+        @Override
+        public void close() throws IOException {
+            fOut.close();
+        }
+    }
+
+    /**
+     * Reader of a sorted run
+     */
+    private static final class RunReader {
+        private final DataInputStream fIn;
+        private final int fIndex;
+        private Event fCurrent = new Event(null, new byte[0]);
+
+        public RunReader(File file, int index) throws IOException {
+            fIn = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+            fIndex = index;
+        }
+
+        public boolean next() throws IOException {
+            boolean hasKey;
+            try {
+                hasKey = fIn.readBoolean();
+            } catch (EOFException e) {
+                return false;
+            }
+            BigDecimal key = hasKey ? new BigDecimal(fIn.readUTF()) : null;
+            byte[] text = new byte[fIn.readInt()];
+            fIn.readFully(text);
+            fCurrent = new Event(key, text);
+            return true;
+        }
+
+        public void close() throws IOException {
+            fIn.close();
+        }
+    }
+
+    /**
+     * Reader of the events of a JSON trace, the objects of the array of
+     * events. It streams the file and does not parse the events.
+     */
+    private final class EventReader implements AutoCloseable {
+        private final InputStream fIn;
+        private final List<String> fPathToArray;
+        private long fPosition = 0;
+        private boolean fInArray = false;
+        private boolean fDone = false;
+        private byte[] fBuffer = new byte[1024];
+
+        public EventReader(InputStream in, List<String> pathToArray) {
+            fIn = new BufferedInputStream(in, BUFFER_SIZE);
+            fPathToArray = pathToArray;
+        }
+
+        public long getPosition() {
+            return fPosition;
+        }
+
+        private int read() throws IOException {
+            int b = fIn.read();
+            if (b != -1) {
+                fPosition++;
+            }
+            return b;
+        }
+
+        /**
+         * Read the next event
+         *
+         * @return the text of the event, or null at the end of the array
+         */
+        public byte @Nullable [] next() throws IOException {
+            if (fDone) {
+                return null;
+            }
+            if (!fInArray && !findArray()) {
+                fDone = true;
+                return null;
+            }
+            int b = read();
+            // Skip the separators and values that are not objects
+            while (b != -1 && b != '{' && b != ']') {
+                b = read();
+            }
+            if (b != '{') {
+                fDone = true;
+                return null;
+            }
+            int length = 0;
+            int depth = 0;
+            boolean inString = false;
+            boolean escaped = false;
+            while (b != -1) {
+                if (length == fBuffer.length) {
+                    fBuffer = Arrays.copyOf(fBuffer, length * 2);
+                }
+                fBuffer[length++] = (byte) b;
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return Arrays.copyOf(fBuffer, length);
+                }
+                b = read();
+            }
+            // Truncated event
+            fDone = true;
+            return null;
+        }
+
+        /**
+         * Read the file up to the start of the array of events
+         *
+         * @return true if the array is found
+         */
+        private boolean findArray() throws IOException {
+            Deque<Boolean> objects = new ArrayDeque<>();
+            Deque<Boolean> keyed = new ArrayDeque<>();
+            List<String> keys = new ArrayList<>();
+            StringBuilder key = new StringBuilder();
+            String lastKey = null;
+            boolean expectKey = false;
+            int b = read();
+            while (b != -1) {
+                switch (b) {
+                case '"':
+                    boolean isKey = expectKey && Boolean.TRUE.equals(objects.peek());
+                    key.setLength(0);
+                    b = read();
+                    while (b != -1 && b != '"') {
+                        if (b == '\\') {
+                            b = read();
+                        }
+                        if (isKey) {
+                            key.append((char) b);
+                        }
+                        b = read();
+                    }
+                    if (isKey) {
+                        lastKey = key.toString();
+                        expectKey = false;
+                    }
+                    break;
+                case '{':
+                case '[':
+                    boolean inObject = Boolean.TRUE.equals(objects.peek());
+                    if (inObject && lastKey != null) {
+                        keys.add(lastKey);
+                    }
+                    keyed.push(inObject && lastKey != null);
+                    objects.push(b == '{');
+                    if (b == '[' && keys.equals(fPathToArray)) {
+                        fInArray = true;
+                        return true;
+                    }
+                    expectKey = b == '{';
+                    lastKey = null;
+                    break;
+                case '}':
+                case ']':
+                    if (!objects.isEmpty()) {
+                        objects.pop();
+                        if (keyed.pop()) {
+                            keys.remove(keys.size() - 1);
+                        }
+                    }
+                    break;
+                case ',':
+                    expectKey = Boolean.TRUE.equals(objects.peek());
+                    break;
+                default:
+                    break;
+                }
+                b = read();
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            fIn.close();
+        }
+    }
+}
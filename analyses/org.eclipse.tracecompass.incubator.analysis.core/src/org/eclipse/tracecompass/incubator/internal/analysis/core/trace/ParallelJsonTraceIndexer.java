@@ -0,0 +1,585 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.analysis.core.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.Activator;
+import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.TmfBTreeTraceIndexer;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
+import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
+
+/**
+ * Indexer of traces made of a sequence of JSON objects, one per event, sorted
+ * by time, as written by the {@link JsonTraceSortingJob}. When the index is
+ * built from scratch, the file is split in chunks that are scanned in
+ * parallel to find the number of events, the time range of the trace and the
+ * locations of the checkpoints. The remaining events after the last checkpoint
+ * are then read by the regular indexing request, which completes the index.
+ * <p>
+ * Each chunk starts after the first event separator of the sorted file
+ * (<code>},\n{</code>) following an equal fraction of the file, so the file is
+ * not read sequentially to split it. A chunk is valid if its scan ends exactly
+ * at the start of the next chunk, otherwise the file is indexed sequentially.
+ * The events are parsed once, the offsets of the objects are recorded every
+ * {@value #MARK_INTERVAL} objects so that only the events of the checkpoints
+ * are read again once their ranks are known.
+ * <p>
+ * The locations are the file offsets as read by the trace: the location of an
+ * event is the offset right after the previous event, and the location of the
+ * first event is the one where the trace starts reading. Events that the trace
+ * skips (metadata, empty objects) are not counted, as long as the parser
+ * returns null for them. The minimum size of the chunks, in bytes, can be
+ * changed with the {@value #CHUNK_SIZE_PROPERTY} system property.
+ */
+public class ParallelJsonTraceIndexer extends TmfBTreeTraceIndexer {
+
+    /**
+     * The system property for the minimum size of the chunks, in bytes. Files
+     * smaller than twice this size are indexed sequentially.
+     */
+    public static final String CHUNK_SIZE_PROPERTY = "org.eclipse.tracecompass.incubator.jsontrace.index.chunk"; //$NON-NLS-1$
+
+    /**
+     * Parser of the time range of an event
+     */
+    @FunctionalInterface
+    public interface IEventTimeParser {
+        /**
+         * Parse the time range of an event. It is called concurrently.
+         *
+         * @param event
+         *            the JSON string of the event, as read by the trace
+         * @return the time range of the event, or null if the trace skips
+         *         this object
+         */
+        @Nullable TmfTimeRange parse(String event);
+    }
+
+    /**
+     * Callback to update the trace with the result of the scan
+     */
+    @FunctionalInterface
+    public interface ITraceRangeUpdater {
+        /**
+         * Update the time range and number of events of the trace
+         *
+         * @param start
+         *            the start time of the trace
+         * @param end
+         *            the end time of the trace
+         * @param nbEvents
+         *            the number of events
+         */
+        void update(ITmfTimestamp start, ITmfTimestamp end, long nbEvents);
+    }
+
+    private static final long DEFAULT_CHUNK_SIZE = 16L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MARK_INTERVAL = 64;
+    private static final byte[] SEPARATOR = { '}', ',', '\n', '{' };
+
+    /** The threads scanning the chunks, shared by the indexers */
+    private static final ExecutorService EXECUTOR;
+
+    static {
+        int nbThreads = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(nbThreads, nbThreads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "Parallel JSON trace indexer"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        EXECUTOR = executor;
+    }
+
+    private final ITmfTrace fTrace;
+    private final int fInterval;
+    private final Supplier<@Nullable File> fFile;
+    private final IEventTimeParser fParser;
+    private final ITraceRangeUpdater fUpdater;
+    private volatile boolean fScanning = false;
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            the trace to index
+     * @param interval
+     *            the checkpoint interval
+     * @param file
+     *            the supplier of the file read by the trace, it may not be
+     *            known when the indexer is created
+     * @param parser
+     *            the parser of the time range of the events
+     * @param updater
+     *            the callback to update the trace with the result of the scan
+     */
+    public ParallelJsonTraceIndexer(ITmfTrace trace, int interval, Supplier<@Nullable File> file, IEventTimeParser parser, ITraceRangeUpdater updater) {
+        super(trace, interval);
+        fTrace = trace;
+        fInterval = interval;
+        fFile = file;
+        fParser = parser;
+        fUpdater = updater;
+    }
+
+    @Override
+    public boolean isIndexing() {
+        return fScanning || super.isIndexing();
+    }
+
+    @Override
+    public void buildIndex(long offset, TmfTimeRange range, boolean waitForCompletion) {
+        File file = fFile.get();
+        long chunkSize = getChunkSize();
+        synchronized (this) {
+            if (offset != 0 || fScanning || super.isIndexing() || !getTraceIndex().isCreatedFromScratch() || file == null || file.length() < 2 * chunkSize) {
+                super.buildIndex(offset, range, waitForCompletion);
+                return;
+            }
+            fScanning = true;
+        }
+        if (waitForCompletion) {
+            scanAndBuildIndex(file, chunkSize, range, true);
+            return;
+        }
+        Job job = new Job("Indexing " + fTrace.getName()) { //$NON-NLS-1$
+            @Override
+            protected IStatus run(@Nullable IProgressMonitor monitor) {
+                scanAndBuildIndex(file, chunkSize, range, false);
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    private static long getChunkSize() {
+        Long property = Long.getLong(CHUNK_SIZE_PROPERTY);
+        return property != null && property > 0 ? property : DEFAULT_CHUNK_SIZE;
+    }
+
+    private void scanAndBuildIndex(File file, long chunkSize, TmfTimeRange range, boolean waitForCompletion) {
+        long nbEvents = 0;
+        try {
+            nbEvents = scan(file, chunkSize);
+        } catch (IOException | RuntimeException | ExecutionException e) {
+            Activator.getInstance().logWarning("Parallel indexing failed, indexing sequentially: " + file, e); //$NON-NLS-1$
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            fScanning = false;
+        }
+        // Read the events after the last checkpoint, or all of them if the scan failed
+        super.buildIndex(nbEvents, nbEvents == 0 ? range : TmfTimeRange.ETERNITY, waitForCompletion);
+    }
+
+    private long scan(File file, long chunkSize) throws IOException, InterruptedException, ExecutionException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int nbChunks = (int) Math.max(1, Math.min(4L * Runtime.getRuntime().availableProcessors(), size / chunkSize));
+
+            // Count the events of each chunk and their time range
+            List<Callable<ChunkCount>> counts = new ArrayList<>();
+            for (int i = 0; i < nbChunks; i++) {
+                long from = size * i / nbChunks;
+                long to = size * (i + 1) / nbChunks;
+                boolean first = i == 0;
+                boolean last = i == nbChunks - 1;
+                counts.add(() -> count(channel, first ? 0 : findChunkStart(channel, from), last ? size : findChunkStart(channel, to)));
+            }
+            List<ChunkCount> results = new ArrayList<>();
+            for (Future<ChunkCount> future : EXECUTOR.invokeAll(counts)) {
+                ChunkCount result = future.get();
+                if (!result.fValid) {
+                    throw new IOException("The chunk at offset " + result.fFrom + " does not end at an event boundary"); //$NON-NLS-1$ //$NON-NLS-2$
+                }
+                results.add(result);
+            }
+
+            // Merge the counts: the first rank and the location of the first event of each chunk
+            long nbEvents = 0;
+            long location = 0;
+            ITmfTimestamp start = null;
+            ITmfTimestamp end = null;
+            List<Callable<List<Checkpoint>>> checkpoints = new ArrayList<>();
+            for (ChunkCount result : results) {
+                ITmfTimestamp chunkStart = result.fStart;
+                ITmfTimestamp chunkEnd = result.fEnd;
+                if (chunkStart == null || chunkEnd == null) {
+                    // No events in this chunk
+                    continue;
+                }
+                long firstRank = nbEvents;
+                long firstLocation = location;
+                checkpoints.add(() -> findCheckpoints(channel, result, firstRank, firstLocation));
+                nbEvents += result.fNbEvents;
+                location = result.fLastEnd;
+                start = start == null || chunkStart.compareTo(start) < 0 ? chunkStart : start;
+                end = end == null || chunkEnd.compareTo(end) > 0 ? chunkEnd : end;
+            }
+            if (start == null || end == null) {
+                return 0;
+            }
+
+            List<Checkpoint> all = new ArrayList<>();
+            for (Future<List<Checkpoint>> future : EXECUTOR.invokeAll(checkpoints)) {
+                all.addAll(future.get());
+            }
+            // The first checkpoint is at the location where the trace starts reading
+            ITmfContext context = fTrace.seekEvent(0L);
+            ITmfLocation startLocation = context.getLocation();
+            context.dispose();
+            for (Checkpoint checkpoint : all) {
+                ITmfLocation checkpointLocation = checkpoint.fRank == 0 && startLocation != null ? startLocation : new TmfLongLocation(checkpoint.fLocation);
+                updateIndex(new TmfContext(checkpointLocation, checkpoint.fRank), checkpoint.fTimestamp);
+            }
+            fUpdater.update(start, end, nbEvents);
+            return nbEvents;
+        }
+    }
+
+    /**
+     * Find the start of the chunk following an offset, right after the end of
+     * the first event followed by the event separator
+     *
+     * @return the offset of the start of the chunk, or the size of the file
+     *         if there is no separator after the offset
+     */
+    private static long findChunkStart(FileChannel channel, long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        int matched = 0;
+        long position = offset;
+        int read;
+        while ((read = channel.read(buffer, position)) > 0) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == SEPARATOR[matched]) {
+                    matched++;
+                } else {
+                    matched = b == SEPARATOR[0] ? 1 : 0;
+                }
+                if (matched == SEPARATOR.length) {
+                    // Right after the closing brace
+                    return position + i + 2 - SEPARATOR.length;
+                }
+            }
+            position += read;
+            buffer.clear();
+        }
+        return channel.size();
+    }
+
+    private ChunkCount count(FileChannel channel, long from, long to) throws IOException {
+        ChunkCount result = new ChunkCount(from, to);
+        if (from >= to) {
+            return result;
+        }
+        result.mark(from, -1);
+        ChunkReader reader = new ChunkReader(channel, from, to, 0) {
+            private long fLastCounted = -1;
+
+            @Override
+            protected boolean isWanted(int index) {
+                return true;
+            }
+
+            @Override
+            protected void event(int index, String event, long endOffset) {
+                TmfTimeRange eventRange = fParser.parse(event);
+                if (eventRange != null) {
+                    result.fCounted.set(index);
+                    result.fNbEvents++;
+                    result.fLastEnd = endOffset;
+                    fLastCounted = endOffset;
+                    ITmfTimestamp start = result.fStart;
+                    ITmfTimestamp end = result.fEnd;
+                    if (start == null || eventRange.getStartTime().compareTo(start) < 0) {
+                        result.fStart = eventRange.getStartTime();
+                    }
+                    if (end == null || eventRange.getEndTime().compareTo(end) > 0) {
+                        result.fEnd = eventRange.getEndTime();
+                    }
+                }
+                if ((index + 1) % MARK_INTERVAL == 0) {
+                    result.mark(endOffset, fLastCounted);
+                }
+            }
+        };
+        result.fValid = reader.read();
+        return result;
+    }
+
+    private List<Checkpoint> findCheckpoints(FileChannel channel, ChunkCount count, long firstRank, long firstLocation) throws IOException {
+        List<Checkpoint> checkpoints = new ArrayList<>();
+        // The local index of the first counted event of a checkpoint
+        long counted = (fInterval - firstRank % fInterval) % fInterval;
+        int index = -1;
+        long found = -1;
+        while (counted < count.fNbEvents) {
+            // Find the object of the counted event
+            while (found < counted) {
+                index = count.fCounted.nextSetBit(index + 1);
+                found++;
+            }
+            int target = index;
+            int mark = target / MARK_INTERVAL;
+            long lastCounted = count.fMarkLastCounted[mark];
+            long rank = firstRank + counted;
+            new ChunkReader(channel, count.fMarkOffsets[mark], count.fTo, mark * MARK_INTERVAL) {
+                private long fLocation = lastCounted < 0 ? firstLocation : lastCounted;
+
+                @Override
+                protected boolean isWanted(int objectIndex) {
+                    return objectIndex == target;
+                }
+
+                @Override
+                protected void event(int objectIndex, String event, long endOffset) {
+                    TmfTimeRange eventRange = fParser.parse(event);
+                    if (eventRange != null) {
+                        checkpoints.add(new Checkpoint(rank, fLocation, eventRange.getStartTime()));
+                    }
+                }
+
+                @Override
+                protected void skipped(int objectIndex, long endOffset) {
+                    if (count.fCounted.get(objectIndex)) {
+                        fLocation = endOffset;
+                    }
+                }
+
+                @Override
+                protected boolean isDone(int objectIndex) {
+                    return objectIndex >= target;
+                }
+            }.read();
+            counted += fInterval;
+        }
+        return checkpoints;
+    }
+
+    /**
+     * The events of a chunk that are counted by the trace, their time range,
+     * and the offsets of every {@value #MARK_INTERVAL} objects
+     */
+    private static final class ChunkCount {
+        private final long fFrom;
+        private final long fTo;
+        private final BitSet fCounted = new BitSet();
+        private long[] fMarkOffsets = new long[16];
+        private long[] fMarkLastCounted = new long[16];
+        private int fNbMarks = 0;
+        private boolean fValid = true;
+        private long fNbEvents = 0;
+        private long fLastEnd = 0;
+        private @Nullable ITmfTimestamp fStart = null;
+        private @Nullable ITmfTimestamp fEnd = null;
+
+        public ChunkCount(long from, long to) {
+            fFrom = from;
+            fTo = to;
+        }
+
+        /**
+         * Record the offset of an object, and the end of the last counted
+         * event before it, or -1 if it is the first counted event of the chunk
+         */
+        public void mark(long offset, long lastCounted) {
+            if (fNbMarks == fMarkOffsets.length) {
+                fMarkOffsets = Arrays.copyOf(fMarkOffsets, fNbMarks * 2);
+                fMarkLastCounted = Arrays.copyOf(fMarkLastCounted, fNbMarks * 2);
+            }
+            fMarkOffsets[fNbMarks] = offset;
+            fMarkLastCounted[fNbMarks] = lastCounted;
+            fNbMarks++;
+        }
+    }
+
+    private static final class Checkpoint {
+        private final long fRank;
+        private final long fLocation;
+        private final ITmfTimestamp fTimestamp;
+
+        public Checkpoint(long rank, long location, ITmfTimestamp timestamp) {
+            fRank = rank;
+            fLocation = location;
+            fTimestamp = timestamp;
+        }
+    }
+
+    /**
+     * Reader of the events of a chunk of the file, from an offset between two
+     * objects. Only the events that are wanted are decoded as strings.
+     */
+    private abstract static class ChunkReader {
+        private final FileChannel fChannel;
+        private final long fFrom;
+        private final long fTo;
+        private final int fFirstIndex;
+
+        public ChunkReader(FileChannel channel, long from, long to, int firstIndex) {
+            fChannel = channel;
+            fFrom = from;
+            fTo = to;
+            fFirstIndex = firstIndex;
+        }
+
+        protected abstract boolean isWanted(int index);
+
+        protected abstract void event(int index, String event, long endOffset);
+
+        protected void skipped(int index, long endOffset) {
+            // Do nothing
+        }
+
+        protected boolean isDone(int index) {
+            return false;
+        }
+
+        /**
+         * Read the objects of the chunk
+         *
+         * @return true if the chunk ends between two objects
+         */
+        public boolean read() throws IOException {
+            EventScanner scanner = new EventScanner();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            byte[] event = new byte[1024];
+            int length = 0;
+            boolean wanted = false;
+            int index = fFirstIndex;
+            long position = fFrom;
+            while (position < fTo) {
+                buffer.limit((int) Math.min(BUFFER_SIZE, fTo - position));
+                int read = fChannel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer.get(i);
+                    int state = scanner.next(b);
+                    if (state == EventScanner.START) {
+                        wanted = isWanted(index);
+                        length = 0;
+                    }
+                    if (wanted && scanner.isInEvent()) {
+                        if (length == event.length) {
+                            event = Arrays.copyOf(event, length * 2);
+                        }
+                        event[length++] = b;
+                    }
+                    if (state == EventScanner.END) {
+                        long endOffset = position + i + 1;
+                        if (wanted) {
+                            event(index, new String(event, 0, length, StandardCharsets.ISO_8859_1), endOffset);
+                        } else {
+                            skipped(index, endOffset);
+                        }
+                        if (isDone(index)) {
+                            return true;
+                        }
+                        index++;
+                        wanted = false;
+                    }
+                }
+                position += read;
+                buffer.clear();
+            }
+            return scanner.isBetweenObjects();
+        }
+    }
+
+    /**
+     * State machine finding the JSON objects at the top level of the file
+     */
+    private static final class EventScanner {
+        public static final int NONE = 0;
+        public static final int START = 1;
+        public static final int END = 2;
+
+        private int fDepth = 0;
+        private boolean fInString = false;
+        private boolean fEscaped = false;
+        private boolean fInEvent = false;
+
+        public int next(byte b) {
+            if (fInString) {
+                if (fEscaped) {
+                    fEscaped = false;
+                } else if (b == '\\') {
+                    fEscaped = true;
+                } else if (b == '"') {
+                    fInString = false;
+                }
+                return NONE;
+            }
+            switch (b) {
+            case '"':
+                fInString = fInEvent;
+                return NONE;
+            case '{':
+                if (fDepth++ == 0) {
+                    fInEvent = true;
+                    return START;
+                }
+                return NONE;
+            case '}':
+                if (fDepth > 0 && --fDepth == 0) {
+                    return END;
+                }
+                return NONE;
+            default:
+                if (fDepth == 0) {
+                    fInEvent = false;
+                }
+                return NONE;
+            }
+        }
+
+        public boolean isInEvent() {
+            return fInEvent;
+        }
+
+        public boolean isBetweenObjects() {
+            return fDepth == 0 && !fInString;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.event.aspect.LinuxTidAspect;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelAnalysisEventLayout;
 import org.eclipse.tracecompass.analysis.os.linux.core.trace.IKernelTrace;
+import org.eclipse.tracecompass.incubator.analysis.core.statesystem.QuarkCache;
 import org.eclipse.tracecompass.incubator.internal.kernel.core.Activator;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
@@ -184,6 +185,15 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     /* Map a file table address from statedump to a quark */
     private final Map<Long, Integer> fFdTblAddresses = new HashMap<>();
     private AtomicInteger fFdCount = new AtomicInteger(0);
+    /* Map a TID to its TID/<tid>/FDTBL quark */
+    private final QuarkCache fTidFdTblQuarks = new QuarkCache();
+    /* Map a TID to its TID/<tid>/READ and TID/<tid>/WRITE quarks */
+    private final QuarkCache fTidReadQuarks = new QuarkCache();
+    private final QuarkCache fTidWriteQuarks = new QuarkCache();
+    /* Map a file table number to its FDTBL/<number> quark */
+    private final QuarkCache fFdTblQuarks = new QuarkCache();
+    /* Map a file table quark and file descriptor pair to the quark of the fd */
+    private final QuarkCache fFdQuarks = new QuarkCache();
 
 
     @FunctionalInterface
@@ -306,7 +316,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             return null;
         }
         int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-        int tidFileQuark = ssb.optQuarkRelative(fdTblQuark, String.valueOf(fd));
+        int tidFileQuark = optFdQuark(ssb, fdTblQuark, fd);
         if (tidFileQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
             return null;
         }
@@ -439,7 +449,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             return;
         }
         int fdTblQuark = getFdTblQuarkFor(ssb, event.getTimestamp().toNanos(), tid);
-        int oldFdQuark = ssb.optQuarkRelative(fdTblQuark, String.valueOf(oldFd));
+        int oldFdQuark = optFdQuark(ssb, fdTblQuark, oldFd);
         // Get the file to dup
         String filename = UNKNOWN_FILE;
         if (oldFdQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
@@ -608,7 +618,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
                 String fdTblId = ssb.getAttributeName(parentFdTblQuark);
                 try {
                     int fdTblNb = Integer.parseInt(fdTblId);
-                    int tidFdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(ret), ATTRIBUTE_FDTBL);
+                    int tidFdTblQuark = getTidFdTblQuark(ssb, ret);
                     ssb.modifyAttribute(time, fdTblNb, tidFdTblQuark);
                 } catch (NumberFormatException e) {
                     // wrong fd table
@@ -662,7 +672,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         }
 
         // Add this file descriptor
-        int fdQuark = ssb.getQuarkRelativeAndAdd(tblAddressQuark, String.valueOf(fd));
+        int fdQuark = getFdQuark(ssb, tblAddressQuark, fd);
         ssb.updateOngoingState(filename, fdQuark);
 
         // TODO Handle the RES section when the statedump has the file table
@@ -688,7 +698,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             String fdTblId = ssb.getAttributeName(fdTblQuark);
             try {
                 int fdTblInt = Integer.parseInt(fdTblId);
-                int tidFdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(procTid), ATTRIBUTE_FDTBL);
+                int tidFdTblQuark = getTidFdTblQuark(ssb, procTid);
                 Object currentTblId = ssb.queryOngoing(tidFdTblQuark);
                 if (currentTblId == null) {
                     ssb.updateOngoingState(fdTblInt, tidFdTblQuark);
@@ -703,12 +713,12 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             return;
         }
         int fdTblId = fFdCount.getAndIncrement();
-        fdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblId));
+        fdTblQuark = getFdTblQuark(ssb, fdTblId);
         // Save the table address quark so file descriptor statedump can use it
         fFdTblAddresses.put(fileTblAddress, fdTblQuark);
 
         // Add a link to the file table number in the statedumped process
-        int tidFdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(procTid), ATTRIBUTE_FDTBL);
+        int tidFdTblQuark = getTidFdTblQuark(ssb, procTid);
         Object currentTblId = ssb.queryOngoing(tidFdTblQuark);
         if (currentTblId == null) {
             ssb.updateOngoingState(fdTblId, tidFdTblQuark);
@@ -723,7 +733,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     private void closeFile(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd) {
         int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
         String filename = getFilename(ssb, fd, fdTblQuark);
-        int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+        int fdQuark = getFdQuark(ssb, fdTblQuark, fd);
         ssb.removeAttribute(time, fdQuark);
 
         // Close the file for this thread in the Resources section
@@ -737,7 +747,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
 
     private void openFile(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd, @Nullable String filename) {
         int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-        int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+        int fdQuark = getFdQuark(ssb, fdTblQuark, fd);
         if (time < 0) {
             ssb.updateOngoingState(filename, fdQuark);
         } else {
@@ -756,18 +766,82 @@ public class IoStateProvider extends AbstractTmfStateProvider {
 
     private int getFdTblQuarkFor(ITmfStateSystemBuilder ssb, long time, Integer tid) {
         // The fdtbl quark under the tid contains the quark of the actual file descriptor table
-        int tidFdQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), ATTRIBUTE_FDTBL);
+        int tidFdQuark = getTidFdTblQuark(ssb, tid);
         Object fdTblQuarkObj = ssb.queryOngoing(tidFdQuark);
         if (fdTblQuarkObj instanceof Integer) {
-            return ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblQuarkObj));
+            return getFdTblQuark(ssb, (Integer) fdTblQuarkObj);
         }
         // The file descriptor table does not exist yet, add it
         int fdTblNumber = fFdCount.getAndIncrement();
-        int fdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblNumber));
+        int fdTblQuark = getFdTblQuark(ssb, fdTblNumber);
         ssb.modifyAttribute(time, fdTblNumber, tidFdQuark);
         return fdTblQuark;
     }
 
+    /*
+     * The following methods get the quarks for numbers through the caches, so
+     * that the hot paths do not build and look up the attribute strings for
+     * each event. Attributes are never deleted, so cached quarks remain valid.
+     */
+
+    private int getTidFdTblQuark(ITmfStateSystemBuilder ssb, long tid) {
+        int quark = fTidFdTblQuarks.get(tid);
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            quark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), ATTRIBUTE_FDTBL);
+            fTidFdTblQuarks.put(tid, quark);
+        }
+        return quark;
+    }
+
+    private int getTidRwQuark(ITmfStateSystemBuilder ssb, long tid, String attribute) {
+        QuarkCache cache = attribute.equals(ATTRIBUTE_READ) ? fTidReadQuarks : fTidWriteQuarks;
+        int quark = cache.get(tid);
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            quark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), attribute);
+            cache.put(tid, quark);
+        }
+        return quark;
+    }
+
+    private int getFdTblQuark(ITmfStateSystemBuilder ssb, int fdTblNumber) {
+        int quark = fFdTblQuarks.get(fdTblNumber);
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            quark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblNumber));
+            fFdTblQuarks.put(fdTblNumber, quark);
+        }
+        return quark;
+    }
+
+    private int getFdQuark(ITmfStateSystemBuilder ssb, int fdTblQuark, long fd) {
+        if (fd != (int) fd) {
+            // Not a file descriptor number that fits in the key
+            return ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+        }
+        long key = QuarkCache.pairKey(fdTblQuark, (int) fd);
+        int quark = fFdQuarks.get(key);
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            quark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+            fFdQuarks.put(key, quark);
+        }
+        return quark;
+    }
+
+    private int optFdQuark(ITmfStateSystemBuilder ssb, int fdTblQuark, long fd) {
+        if (fd != (int) fd) {
+            return ssb.optQuarkRelative(fdTblQuark, String.valueOf(fd));
+        }
+        long key = QuarkCache.pairKey(fdTblQuark, (int) fd);
+        int quark = fFdQuarks.get(key);
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            // Do not cache missing attributes, they may be added later
+            quark = ssb.optQuarkRelative(fdTblQuark, String.valueOf(fd));
+            if (quark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                fFdQuarks.put(key, quark);
+            }
+        }
+        return quark;
+    }
+
     private void startReadingFd(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd, Long count) {
         startRwFd(ssb, time, tid, fd, count, ATTRIBUTE_READ, fToRead);
     }
@@ -801,7 +875,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         ssb.updateOngoingState(count > 0 ? count : (Object) null, fd.fFdPoolQuark);
         fd.fFdPool.recycle(fd.fFdPoolQuark, time);
         // Update the current request for the thread
-        int currentTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), attribute);
+        int currentTidQuark = getTidRwQuark(ssb, tid, attribute);
         int currentDataQuark = ssb.getQuarkRelativeAndAdd(currentTidQuark, ATTRIBUTE_CURRENT);
         ssb.updateOngoingState(count > 0 ? count : (Object) null, currentDataQuark);
         ssb.removeAttribute(time, currentDataQuark);
@@ -835,7 +909,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         }
         try {
             // Add the io specific to this file
-            int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd.fFd), attribute);
+            int fdQuark = ssb.getQuarkRelativeAndAdd(getFdQuark(ssb, fdTblQuark, fd.fFd), attribute);
             StateSystemBuilderUtils.incrementAttributeLong(ssb, time, fdQuark, count);
             StateSystemBuilderUtils.incrementAttributeLong(ssb, time, currentTidQuark, count);
         } catch (StateValueTypeException e) {
@@ -848,13 +922,13 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             // Many threads can share the same fd table, so there can be multiple io requests on the same fd
             // Add the io request under the proper fd attribute
             int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-            int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd), attribute);
+            int fdQuark = ssb.getQuarkRelativeAndAdd(getFdQuark(ssb, fdTblQuark, fd), attribute);
             TmfAttributePool fdPool = fPools.computeIfAbsent(fdQuark, q -> new TmfAttributePool(ssb, q));
             int availableFdQuark = fdPool.getAvailable();
             ssb.modifyAttribute(time, count, availableFdQuark);
 
             // Add the current io request for this thread
-            int currentTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), attribute);
+            int currentTidQuark = getTidRwQuark(ssb, tid, attribute);
             int currentDataQuark = ssb.getQuarkRelativeAndAdd(currentTidQuark, ATTRIBUTE_CURRENT);
             ssb.modifyAttribute(time, count, currentDataQuark);
             int currentFdQuark = ssb.getQuarkRelativeAndAdd(currentTidQuark, ATTRIBUTE_FD);
@@ -874,9 +948,8 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         }
     }
 
-    private @Nullable
-    static String getFilename(ITmfStateSystemBuilder ssb, long fd, Integer fdTblQuark) {
-        int fileQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+    private @Nullable String getFilename(ITmfStateSystemBuilder ssb, long fd, int fdTblQuark) {
+        int fileQuark = getFdQuark(ssb, fdTblQuark, fd);
         Object currentFileName = ssb.queryOngoing(fileQuark);
         if (!(currentFileName instanceof String)) {
             return null;
@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
+import org.eclipse.tracecompass.incubator.tsp.client.core.api.TimeGraphApi;
+import org.eclipse.tracecompass.incubator.tsp.client.core.api.VirtualTablesApi;
+import org.eclipse.tracecompass.incubator.tsp.client.core.api.XyApi;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.Experiment;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.LinesParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.LinesQueryParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.OptionalQueryParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.RequestedParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.RequestedQueryParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TableColumnHeader;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TableColumnHeadersResponse;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TimeGraphEntry;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TimeGraphStatesResponse;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TimeGraphTreeModel;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TimeGraphTreeResponse;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TimeRange;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TreeParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TreeQueryParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.VirtualTableResponse;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.XYResponse;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.XYTreeEntry;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.XYTreeEntryModel;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.XYTreeResponse;
+import org.junit.Test;
+
+/**
+ * Load test of the trace server, using the generated TSP client. Scripted
+ * sessions replay what a client does when a user navigates a trace: the trees
+ * of the outputs are fetched once, then the states of a time graph, the series
+ * of an XY chart and the lines of the events table are fetched while zooming
+ * in. The latency of each endpoint is measured by a single client, then the
+ * elapsed time of the sessions run by an increasing number of concurrent
+ * clients is measured. The measurements are committed to performance meters.
+ * <p>
+ * The zoom ranges and table indexes are drawn from a seeded random generator,
+ * so that the same requests are replayed from one run to the other. The
+ * number of sessions per client and the concurrency levels can be changed
+ * with the {@value #SESSIONS_PROPERTY} and {@value #CONCURRENCY_PROPERTY}
+ * system properties.
+ */
+public class TraceServerLoadBenchmark extends RestServerTest {
+
+    /**
+     * The system property for the number of sessions run by each client
+     */
+    public static final String SESSIONS_PROPERTY = "traceserver.benchmark.sessions"; //$NON-NLS-1$
+
+    /**
+     * The system property for the comma-separated concurrency levels
+     */
+    public static final String CONCURRENCY_PROPERTY = "traceserver.benchmark.concurrency"; //$NON-NLS-1$
+
+    private static final String XY_DATAPROVIDER_ID = "org.eclipse.tracecompass.analysis.os.linux.core.cpuusage.CpuUsageDataProvider"; //$NON-NLS-1$
+    private static final String EVENTS_TABLE_DATAPROVIDER_ID = "org.eclipse.tracecompass.internal.provisional.tmf.core.model.events.TmfEventTableDataProvider"; //$NON-NLS-1$
+    private static final String EXPERIMENT_NAME = "load"; //$NON-NLS-1$
+    private static final String LATENCY_PREFIX = "Trace Server Latency: "; //$NON-NLS-1$
+    private static final String LOAD_PREFIX = "Trace Server Load: "; //$NON-NLS-1$
+    private static final String STATES = "states"; //$NON-NLS-1$
+    private static final String XY = "xy"; //$NON-NLS-1$
+    private static final String LINES = "lines"; //$NON-NLS-1$
+
+    private static final int DEFAULT_SESSIONS = 5;
+    private static final String DEFAULT_CONCURRENCY = "1,2,4,8"; //$NON-NLS-1$
+    private static final int ZOOM_LEVELS = 4;
+    private static final int NB_TIMES = 1000;
+    private static final int TABLE_COUNT = 200;
+    private static final int MAX_ITER = 100;
+    private static final long SEED = 42;
+    private static final long TIMEOUT = 10;
+
+    private static final TimeGraphApi sfTgApi = new TimeGraphApi(sfApiClient);
+    private static final XyApi sfXyApi = new XyApi(sfApiClient);
+    private static final VirtualTablesApi sfTableApi = new VirtualTablesApi(sfApiClient);
+
+    /**
+     * The requests of a session, shared by all the clients
+     */
+    private static final class Session {
+        private final UUID fExpUUID;
+        private final long fStart;
+        private final long fEnd;
+        private final long fNbEvents;
+        private final List<Integer> fTimeGraphItems;
+        private final List<Integer> fXyItems;
+        private final List<Long> fColumns;
+
+        public Session(Experiment exp, List<Integer> timeGraphItems, List<Integer> xyItems, List<Long> columns) {
+            fExpUUID = exp.getUUID();
+            fStart = exp.getStart();
+            fEnd = exp.getEnd();
+            fNbEvents = exp.getNbEvents();
+            fTimeGraphItems = timeGraphItems;
+            fXyItems = xyItems;
+            fColumns = columns;
+        }
+    }
+
+    /**
+     * The errors of the requests of a run, and the meters of the latency of
+     * each endpoint when the run has a single client
+     */
+    private static final class Results {
+        private final Map<String, PerformanceMeter> fMeters;
+        private final AtomicInteger fErrors = new AtomicInteger();
+
+        public Results(Map<String, PerformanceMeter> meters) {
+            fMeters = meters;
+        }
+
+        public void start(String endpoint) {
+            PerformanceMeter meter = fMeters.get(endpoint);
+            if (meter != null) {
+                meter.start();
+            }
+        }
+
+        public void stop(String endpoint) {
+            PerformanceMeter meter = fMeters.get(endpoint);
+            if (meter != null) {
+                meter.stop();
+            }
+        }
+
+        public void error() {
+            fErrors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Replay the sessions with a single client to measure the latency of each
+     * endpoint, then at increasing concurrency levels to measure the elapsed
+     * time of the sessions
+     *
+     * @throws Exception
+     *             if the sessions could not be prepared or run
+     */
+    @Test
+    public void testLoad() throws Exception {
+        Experiment exp = assertPostExperiment(EXPERIMENT_NAME, sfContextSwitchesKernelNotInitializedStub, sfContextSwitchesUstNotInitializedStub);
+        Session session = new Session(exp, getTimeGraphItems(exp.getUUID()), getXyItems(exp.getUUID()), getColumns(exp.getUUID()));
+        int sessions = Integer.getInteger(SESSIONS_PROPERTY, DEFAULT_SESSIONS);
+        Performance perf = Performance.getDefault();
+
+        // Warm up the server, the analyses and the client
+        Results warmUp = new Results(Collections.emptyMap());
+        runSession(session, new Random(SEED), warmUp);
+        assertEquals(0, warmUp.fErrors.get());
+
+        Map<String, PerformanceMeter> meters = new HashMap<>();
+        for (String endpoint : List.of(STATES, XY, LINES)) {
+            PerformanceMeter meter = perf.createPerformanceMeter(LATENCY_PREFIX + endpoint);
+            perf.tagAsSummary(meter, LATENCY_PREFIX + endpoint, Dimension.ELAPSED_PROCESS);
+            meters.put(endpoint, meter);
+        }
+        Results latencies = new Results(meters);
+        Random latencyRandom = new Random(SEED);
+        for (int i = 0; i < sessions; i++) {
+            runSession(session, latencyRandom, latencies);
+        }
+        for (PerformanceMeter meter : meters.values()) {
+            meter.commit();
+            meter.dispose();
+        }
+        assertEquals(0, latencies.fErrors.get());
+
+        for (String level : System.getProperty(CONCURRENCY_PROPERTY, DEFAULT_CONCURRENCY).split(",")) { //$NON-NLS-1$
+            int clients = Integer.parseInt(level.trim());
+            Results results = new Results(Collections.emptyMap());
+            PerformanceMeter meter = perf.createPerformanceMeter(LOAD_PREFIX + clients + " clients"); //$NON-NLS-1$
+            perf.tagAsSummary(meter, LOAD_PREFIX + clients + " clients", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+            ExecutorService executor = Executors.newFixedThreadPool(clients);
+            meter.start();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int client = 0; client < clients; client++) {
+                Random random = new Random(SEED + client);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < sessions; i++) {
+                        runSession(session, random, results);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(TIMEOUT, TimeUnit.MINUTES);
+            }
+            meter.stop();
+            executor.shutdown();
+            meter.commit();
+            meter.dispose();
+            assertEquals("Failed requests with " + clients + " clients", 0, results.fErrors.get()); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+    }
+
+    private static void runSession(Session session, Random random, Results results) {
+        long start = session.fStart;
+        long end = session.fEnd;
+        for (int level = 0; level < ZOOM_LEVELS; level++) {
+            RequestedParameters params = new RequestedParameters()
+                    .requestedTimerange(new TimeRange().start(start).end(end).nbTimes(NB_TIMES));
+            RequestedQueryParameters query = new RequestedQueryParameters().parameters(params);
+
+            params.requestedItems(session.fTimeGraphItems);
+            results.start(STATES);
+            try {
+                TimeGraphStatesResponse response = sfTgApi.getStates(session.fExpUUID, CALL_STACK_DATAPROVIDER_ID, query);
+                check(response.getStatus() != TimeGraphStatesResponse.StatusEnum.FAILED, results);
+            } catch (ApiException e) {
+                results.error();
+            }
+            results.stop(STATES);
+
+            params.requestedItems(session.fXyItems);
+            results.start(XY);
+            try {
+                XYResponse response = sfXyApi.getXY(session.fExpUUID, XY_DATAPROVIDER_ID, query);
+                check(response.getStatus() != XYResponse.StatusEnum.FAILED, results);
+            } catch (ApiException e) {
+                results.error();
+            }
+            results.stop(XY);
+
+            long index = (long) (random.nextDouble() * Math.max(0, session.fNbEvents - TABLE_COUNT));
+            LinesParameters linesParams = new LinesParameters()
+                    .requestedTableColumnIds(session.fColumns)
+                    .requestedTableIndex(index)
+                    .requestedTableCount(TABLE_COUNT);
+            results.start(LINES);
+            try {
+                VirtualTableResponse response = sfTableApi.getLines(session.fExpUUID, EVENTS_TABLE_DATAPROVIDER_ID, new LinesQueryParameters().parameters(linesParams));
+                check(response.getStatus() != VirtualTableResponse.StatusEnum.FAILED, results);
+            } catch (ApiException e) {
+                results.error();
+            }
+            results.stop(LINES);
+
+            // Zoom in on a random half of the current range
+            long duration = (end - start) / 2;
+            start += (long) (random.nextDouble() * duration);
+            end = start + duration;
+        }
+    }
+
+    private static void check(boolean success, Results results) {
+        if (!success) {
+            results.error();
+        }
+    }
+
+    private static List<Integer> getTimeGraphItems(UUID expUUID) throws ApiException, InterruptedException {
+        TreeQueryParameters query = new TreeQueryParameters().parameters(new TreeParameters());
+        TimeGraphTreeResponse response = sfTgApi.getTimeGraphTree(expUUID, CALL_STACK_DATAPROVIDER_ID, query);
+        int iteration = 0;
+        while ((response.getStatus() == TimeGraphTreeResponse.StatusEnum.RUNNING || response.getModel() == null) && iteration < MAX_ITER) {
+            Thread.sleep(100);
+            response = sfTgApi.getTimeGraphTree(expUUID, CALL_STACK_DATAPROVIDER_ID, query);
+            iteration++;
+        }
+        TimeGraphTreeModel model = response.getModel();
+        assertNotNull(model);
+        List<Integer> items = new ArrayList<>();
+        for (TimeGraphEntry entry : model.getEntries()) {
+            items.add(entry.getId().intValue());
+        }
+        assertFalse(items.isEmpty());
+        return items;
+    }
+
+    private static List<Integer> getXyItems(UUID expUUID) throws ApiException, InterruptedException {
+        TreeQueryParameters query = new TreeQueryParameters().parameters(new TreeParameters());
+        XYTreeResponse response = sfXyApi.getXYTree(expUUID, XY_DATAPROVIDER_ID, query);
+        int iteration = 0;
+        while ((response.getStatus() == XYTreeResponse.StatusEnum.RUNNING || response.getModel() == null) && iteration < MAX_ITER) {
+            Thread.sleep(100);
+            response = sfXyApi.getXYTree(expUUID, XY_DATAPROVIDER_ID, query);
+            iteration++;
+        }
+        XYTreeEntryModel model = response.getModel();
+        assertNotNull(model);
+        List<Integer> items = new ArrayList<>();
+        for (XYTreeEntry entry : model.getEntries()) {
+            items.add(entry.getId().intValue());
+        }
+        assertFalse(items.isEmpty());
+        return items;
+    }
+
+    private static List<Long> getColumns(UUID expUUID) throws ApiException, InterruptedException {
+        OptionalQueryParameters query = new OptionalQueryParameters().parameters(Collections.emptyMap());
+        TableColumnHeadersResponse response = sfTableApi.getColumns(expUUID, EVENTS_TABLE_DATAPROVIDER_ID, query);
+        int iteration = 0;
+        while ((response.getStatus() == TableColumnHeadersResponse.StatusEnum.RUNNING || response.getModel() == null) && iteration < MAX_ITER) {
+            Thread.sleep(100);
+            response = sfTableApi.getColumns(expUUID, EVENTS_TABLE_DATAPROVIDER_ID, query);
+            iteration++;
+        }
+        List<TableColumnHeader> model = response.getModel();
+        assertNotNull(model);
+        List<Long> columns = new ArrayList<>();
+        for (TableColumnHeader column : model) {
+            columns.add(column.getId());
+        }
+        assertFalse(columns.isEmpty());
+        return columns;
+    }
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderAdmissionControl;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderAdmissionControl.Ticket;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the {@link DataProviderAdmissionControl} class
+ */
+public class DataProviderAdmissionControlTest {
+
+    private static final UUID EXP_UUID = UUID.randomUUID();
+    private static final UUID OTHER_EXP_UUID = UUID.randomUUID();
+    private static final String OUTPUT_ID = "output";
+    private static final String STATES = "states";
+    private static final String LINES = "lines";
+    private static final String KEY = "client\nview";
+    private static final String OTHER_KEY = "client\nother view";
+    private static final long QUEUE_TIMEOUT = 100;
+    private static final long WAIT_TIMEOUT = 10000;
+
+    /**
+     * Remove the limits after each test
+     */
+    @After
+    public void tearDown() {
+        DataProviderAdmissionControl.configure(0, 0, 0);
+    }
+
+    /**
+     * Test that the requests above the limits are rejected after the timeout
+     */
+    @Test
+    public void testReject() {
+        DataProviderAdmissionControl.configure(1, 0, QUEUE_TIMEOUT);
+        long rejected = getStatus("rejectedRequests");
+        try (Ticket ticket = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, null)) {
+            assertRejected(EXP_UUID);
+            assertRejected(OTHER_EXP_UUID);
+        }
+        assertEquals(rejected + 2, getStatus("rejectedRequests"));
+
+        DataProviderAdmissionControl.configure(0, 1, QUEUE_TIMEOUT);
+        try (Ticket ticket = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, null);
+                Ticket otherTicket = DataProviderAdmissionControl.admit(OTHER_EXP_UUID, OUTPUT_ID, STATES, null)) {
+            assertRejected(EXP_UUID);
+        }
+    }
+
+    /**
+     * Test that only the requests with the same key, endpoint and output are
+     * superseded
+     */
+    @Test
+    public void testSupersede() {
+        DataProviderAdmissionControl.configure(0, 0, 0);
+        long superseded = getStatus("supersededRequests");
+        try (Ticket first = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY);
+                Ticket second = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY)) {
+            assertTrue(first.getMonitor().isCanceled());
+            assertFalse(second.getMonitor().isCanceled());
+            try (Ticket noKey = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, null);
+                    Ticket otherKey = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, OTHER_KEY);
+                    Ticket otherEndpoint = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, LINES, KEY);
+                    Ticket otherExperiment = DataProviderAdmissionControl.admit(OTHER_EXP_UUID, OUTPUT_ID, STATES, KEY)) {
+                assertFalse(second.getMonitor().isCanceled());
+                assertFalse(noKey.getMonitor().isCanceled());
+            }
+        }
+        assertEquals(superseded + 1, getStatus("supersededRequests"));
+
+        // A closed request is not cancelled by the next one
+        Ticket closed = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY);
+        closed.close();
+        try (Ticket next = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY)) {
+            assertFalse(closed.getMonitor().isCanceled());
+        }
+    }
+
+    /**
+     * Test that a request waiting to be admitted is superseded without
+     * waiting for the timeout
+     *
+     * @throws Exception
+     *             if a request fails
+     */
+    @Test
+    public void testSupersedeWhileWaiting() throws Exception {
+        DataProviderAdmissionControl.configure(1, 0, WAIT_TIMEOUT);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Ticket ticket = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, null);
+            Future<Ticket> waiting = executor.submit(() -> DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY));
+            waitForQueuedRequests(1);
+            Future<Ticket> next = executor.submit(() -> DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY));
+            try (Ticket superseded = waiting.get(WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                assertTrue(superseded.getMonitor().isCanceled());
+            }
+            ticket.close();
+            try (Ticket admitted = next.get(WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                assertFalse(admitted.getMonitor().isCanceled());
+                assertEquals(1, getStatus("activeRequests"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that closing a ticket releases its permits once, even if it is
+     * closed more than once
+     */
+    @Test
+    public void testRelease() {
+        DataProviderAdmissionControl.configure(1, 1, QUEUE_TIMEOUT);
+        Ticket ticket = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY);
+        assertEquals(1, getStatus("activeRequests"));
+        ticket.close();
+        ticket.close();
+        assertEquals(0, getStatus("activeRequests"));
+
+        try (Ticket next = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, KEY)) {
+            assertFalse(next.getMonitor().isCanceled());
+            assertEquals(1, getStatus("activeRequests"));
+            assertRejected(EXP_UUID);
+        }
+        assertEquals(0, getStatus("activeRequests"));
+    }
+
+    /**
+     * Test that the per-experiment limit of an experiment is kept while
+     * requests for it are waiting or being processed, and discarded after
+     */
+    @Test
+    public void testExperimentPermits() {
+        DataProviderAdmissionControl.configure(0, 1, QUEUE_TIMEOUT);
+        assertEquals(0, getStatus("limitedExperiments"));
+        Ticket ticket = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, null);
+        assertEquals(1, getStatus("limitedExperiments"));
+        // A rejected request does not discard the permit still held
+        assertRejected(EXP_UUID);
+        assertRejected(EXP_UUID);
+        assertEquals(1, getStatus("limitedExperiments"));
+        try (Ticket otherTicket = DataProviderAdmissionControl.admit(OTHER_EXP_UUID, OUTPUT_ID, STATES, null)) {
+            assertEquals(2, getStatus("limitedExperiments"));
+        }
+        assertEquals(1, getStatus("limitedExperiments"));
+        ticket.close();
+        ticket.close();
+        assertEquals(0, getStatus("limitedExperiments"));
+
+        try (Ticket next = DataProviderAdmissionControl.admit(EXP_UUID, OUTPUT_ID, STATES, null)) {
+            assertRejected(EXP_UUID);
+        }
+        assertEquals(0, getStatus("limitedExperiments"));
+    }
+
+    private static void assertRejected(UUID expUUID) {
+        try (Ticket ticket = DataProviderAdmissionControl.admit(expUUID, OUTPUT_ID, LINES, null)) {
+            fail("Request should have been rejected");
+        } catch (RejectedExecutionException e) {
+            // Expected
+        }
+    }
+
+    private static void waitForQueuedRequests(long count) throws InterruptedException, ExecutionException, TimeoutException {
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (getStatus("queuedRequests") < count) {
+            if (System.currentTimeMillis() > end) {
+                throw new TimeoutException("Request was not queued"); //$NON-NLS-1$
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static long getStatus(String key) {
+        return ((Number) DataProviderAdmissionControl.getStatus().get(key)).longValue();
+    }
+}
@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentEvictionPolicy;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs.TestDataProviderFactory;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs.config.TestSchemaConfigurationSource;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
+import org.eclipse.tracecompass.incubator.tsp.client.core.api.OutputConfigurationsApi;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.DataProvider;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.Experiment;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.OutputConfigurationQueryParameters;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link DataProviderResponseCache} class
+ */
+@SuppressWarnings("null")
+public class DataProviderResponseCacheTest extends RestServerTest {
+
+    private static final UUID EXP_UUID = UUID.randomUUID();
+    private static final String OUTPUT_ID = "output";
+    private static final String STATES = "states";
+    private static final String LINES = "lines";
+    private static final String TIMERANGE = "requested_timerange";
+    private static final String ITEMS = "requested_items";
+    private static final long MAXIMUM_WEIGHT = 100;
+    private static final long IDLE_TIMEOUT = 1000;
+    private static final long WAIT_TIMEOUT = 20000;
+    private static final long WAIT_PERIOD = 100;
+
+    private static final OutputConfigurationsApi sfConfigApi = new OutputConfigurationsApi(sfApiClient);
+
+    private final AtomicInteger fFetchCount = new AtomicInteger();
+
+    /**
+     * Start each test with an empty cache
+     */
+    @Before
+    public void setUp() {
+        DataProviderResponseCache.configure(MAXIMUM_WEIGHT);
+    }
+
+    /**
+     * Stop evicting experiments after each test
+     */
+    @After
+    public void tearDown() {
+        ExperimentEvictionPolicy.stop();
+    }
+
+    /**
+     * Test that the same query parameters give the same key, whatever the
+     * order of the parameters and the type of the numbers
+     */
+    @Test
+    public void testKeyNormalization() {
+        TmfModelResponse<String> response = get(EXP_UUID, STATES, parameters(0L, 100L, 10L, List.of(1L, 2L, 3L)));
+        assertEquals(1, fFetchCount.get());
+
+        // Same parameters, inserted in reverse order, with integers
+        Map<String, Object> timeRange = new LinkedHashMap<>();
+        timeRange.put("nbTimes", 10);
+        timeRange.put("end", 100);
+        timeRange.put("start", 0);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put(ITEMS, List.of(1, 2, 3));
+        parameters.put(TIMERANGE, timeRange);
+        assertSame(response, get(EXP_UUID, STATES, parameters));
+        assertEquals(1, fFetchCount.get());
+
+        // Different time range, items, endpoint, output or experiment
+        get(EXP_UUID, STATES, parameters(0L, 200L, 10L, List.of(1L, 2L, 3L)));
+        assertEquals(2, fFetchCount.get());
+        get(EXP_UUID, STATES, parameters(0L, 100L, 10L, List.of(1L, 2L)));
+        assertEquals(3, fFetchCount.get());
+        get(EXP_UUID, LINES, parameters(0L, 100L, 10L, List.of(1L, 2L, 3L)));
+        assertEquals(4, fFetchCount.get());
+        DataProviderResponseCache.get(EXP_UUID, "other", STATES, parameters(0L, 100L, 10L, List.of(1L, 2L, 3L)), this::fetch);
+        assertEquals(5, fFetchCount.get());
+        get(UUID.randomUUID(), STATES, parameters(0L, 100L, 10L, List.of(1L, 2L, 3L)));
+        assertEquals(6, fFetchCount.get());
+    }
+
+    /**
+     * Test that only the completed responses with a model are cached
+     */
+    @Test
+    public void testOnlyCompletedResponses() {
+        Map<String, Object> parameters = parameters(0L, 100L, 10L, List.of(1L));
+        for (ITmfResponse.Status status : ITmfResponse.Status.values()) {
+            if (status == ITmfResponse.Status.COMPLETED) {
+                continue;
+            }
+            TmfModelResponse<String> response = new TmfModelResponse<>("partial", status, status.name());
+            for (int i = 0; i < 2; i++) {
+                assertSame(response, DataProviderResponseCache.get(EXP_UUID, OUTPUT_ID, STATES, parameters, () -> fetch(response)));
+            }
+        }
+        TmfModelResponse<String> noModel = new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, "");
+        DataProviderResponseCache.get(EXP_UUID, OUTPUT_ID, STATES, parameters, () -> fetch(noModel));
+        DataProviderResponseCache.get(EXP_UUID, OUTPUT_ID, STATES, parameters, () -> fetch(noModel));
+        assertEquals(2 * (ITmfResponse.Status.values().length - 1) + 2, fFetchCount.get());
+        assertEquals(0L, DataProviderResponseCache.getStatus().get("size"));
+
+        int count = fFetchCount.get();
+        TmfModelResponse<String> completed = get(EXP_UUID, STATES, parameters);
+        assertSame(completed, get(EXP_UUID, STATES, parameters));
+        assertEquals(count + 1, fFetchCount.get());
+        assertEquals(1L, DataProviderResponseCache.getStatus().get("size"));
+    }
+
+    /**
+     * Test that the cache is bounded by the weight of the models, and that it
+     * can be disabled
+     */
+    @Test
+    public void testSizeBound() {
+        for (long i = 0; i < 10 * MAXIMUM_WEIGHT; i++) {
+            get(EXP_UUID, STATES, parameters(i, i + 1, 1L, List.of(i)));
+        }
+        Map<String, Object> status = DataProviderResponseCache.getStatus();
+        assertEquals(MAXIMUM_WEIGHT, status.get("maximumWeight"));
+        assertTrue((long) status.get("size") <= MAXIMUM_WEIGHT);
+        assertTrue((long) status.get("evictionCount") > 0);
+
+        // A model heavier than the cache is not kept
+        DataProviderResponseCache.invalidateAll();
+        List<ITimeGraphRowModel> rows = new ArrayList<>();
+        for (int i = 0; i < MAXIMUM_WEIGHT; i++) {
+            List<ITimeGraphState> states = List.of(new TimeGraphState(i, 1, i));
+            rows.add(new TimeGraphRowModel(i, states));
+        }
+        TmfModelResponse<TimeGraphModel> heavy = new TmfModelResponse<>(new TimeGraphModel(rows), ITmfResponse.Status.COMPLETED, "");
+        Map<String, Object> parameters = parameters(0L, 100L, 10L, List.of(1L));
+        DataProviderResponseCache.get(EXP_UUID, OUTPUT_ID, STATES, parameters, () -> fetch(heavy));
+        DataProviderResponseCache.get(EXP_UUID, OUTPUT_ID, STATES, parameters, () -> fetch(heavy));
+        assertEquals(10 * MAXIMUM_WEIGHT + 2, fFetchCount.get());
+        assertEquals(0L, DataProviderResponseCache.getStatus().get("size"));
+
+        // A weight of 0 disables the cache
+        DataProviderResponseCache.configure(0);
+        get(EXP_UUID, STATES, parameters);
+        get(EXP_UUID, STATES, parameters);
+        assertEquals(10 * MAXIMUM_WEIGHT + 4, fFetchCount.get());
+        assertEquals(0L, DataProviderResponseCache.getStatus().get("size"));
+    }
+
+    /**
+     * Test the hit and miss counters
+     */
+    @Test
+    public void testCounters() {
+        Map<String, Object> parameters = parameters(0L, 100L, 10L, List.of(1L));
+        get(EXP_UUID, STATES, parameters);
+        get(EXP_UUID, STATES, parameters);
+        get(EXP_UUID, STATES, parameters);
+        get(EXP_UUID, LINES, parameters);
+        Map<String, Object> status = DataProviderResponseCache.getStatus();
+        assertEquals(2L, status.get("hitCount"));
+        assertEquals(2L, status.get("missCount"));
+        assertEquals(0.5, (double) status.get("hitRate"), 0.0);
+        assertEquals(2L, status.get("size"));
+
+        // The counters are reset with the cache
+        DataProviderResponseCache.configure(MAXIMUM_WEIGHT);
+        status = DataProviderResponseCache.getStatus();
+        assertEquals(0L, status.get("hitCount"));
+        assertEquals(0L, status.get("missCount"));
+    }
+
+    /**
+     * Test that the responses of an experiment are discarded when it is
+     * deleted, and only those
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testInvalidateOnDelete() throws ApiException {
+        Experiment experiment = assertPostExperiment("cache-delete", sfContextSwitchesUstNotInitializedStub);
+        UUID expUUID = experiment.getUUID();
+        cache(expUUID);
+        cache(EXP_UUID);
+
+        deleteExperiment(expUUID);
+        assertFalse(isCached(expUUID));
+        assertTrue(isCached(EXP_UUID));
+    }
+
+    /**
+     * Test that the responses of an experiment are discarded when it is
+     * evicted
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testInvalidateOnEviction() throws ApiException {
+        Experiment experiment = assertPostExperiment("cache-evict", sfContextSwitchesUstNotInitializedStub);
+        UUID expUUID = experiment.getUUID();
+        cache(expUUID);
+        cache(EXP_UUID);
+        long evictions = getEvictionCount(expUUID);
+
+        ExperimentEvictionPolicy.start(IDLE_TIMEOUT, 0);
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (getEvictionCount(expUUID) <= evictions) {
+            if (System.currentTimeMillis() > end) {
+                fail("Experiment was not evicted");
+            }
+            sleep();
+        }
+        assertFalse(isCached(expUUID));
+        assertTrue(isCached(EXP_UUID));
+    }
+
+    /**
+     * Test that the responses of an experiment are discarded when a derived
+     * data provider is created or deleted
+     *
+     * @throws ApiException
+     *             if an error occurs
+     * @throws IOException
+     *             if the configuration cannot be read
+     * @throws URISyntaxException
+     *             if the configuration cannot be read
+     */
+    @Test
+    public void testInvalidateOnReconfiguration() throws ApiException, IOException, URISyntaxException {
+        Experiment experiment = assertPostExperiment("cache-config", sfContextSwitchesUstNotInitializedStub);
+        UUID expUUID = experiment.getUUID();
+        cache(expUUID);
+        cache(EXP_UUID);
+
+        OutputConfigurationQueryParameters queryParams = new OutputConfigurationQueryParameters()
+                .name("cache")
+                .description("cache configuration")
+                .sourceTypeId(TestSchemaConfigurationSource.TYPE.getId())
+                .parameters(readParametersFromJson(VALID_JSON_FILENAME));
+        DataProvider derivedDp = sfConfigApi.createProvider(expUUID, TestDataProviderFactory.ID, queryParams);
+        assertFalse(isCached(expUUID));
+        assertTrue(isCached(EXP_UUID));
+
+        cache(expUUID);
+        sfConfigApi.deleteDerivedProvider(expUUID, TestDataProviderFactory.ID, derivedDp.getId());
+        assertFalse(isCached(expUUID));
+        assertTrue(isCached(EXP_UUID));
+    }
+
+    private static Map<String, Object> parameters(long start, long end, long nbTimes, List<?> items) {
+        Map<String, Object> timeRange = new LinkedHashMap<>();
+        timeRange.put("start", start);
+        timeRange.put("end", end);
+        timeRange.put("nbTimes", nbTimes);
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put(TIMERANGE, timeRange);
+        parameters.put(ITEMS, items);
+        return parameters;
+    }
+
+    private TmfModelResponse<String> get(UUID expUUID, String endpoint, Map<String, Object> parameters) {
+        return DataProviderResponseCache.get(expUUID, OUTPUT_ID, endpoint, parameters, this::fetch);
+    }
+
+    private TmfModelResponse<String> fetch() {
+        return fetch(new TmfModelResponse<>("model " + fFetchCount.get(), ITmfResponse.Status.COMPLETED, ""));
+    }
+
+    private <T> TmfModelResponse<T> fetch(TmfModelResponse<T> response) {
+        fFetchCount.incrementAndGet();
+        return response;
+    }
+
+    private void cache(UUID expUUID) {
+        get(expUUID, STATES, parameters(0L, 100L, 10L, List.of(1L)));
+        assertTrue(isCached(expUUID));
+    }
+
+    private boolean isCached(UUID expUUID) {
+        int count = fFetchCount.get();
+        get(expUUID, STATES, parameters(0L, 100L, 10L, List.of(1L)));
+        return fFetchCount.get() == count;
+    }
+
+    private static long getEvictionCount(UUID expUUID) {
+        List<?> evictions = (List<?>) ExperimentEvictionPolicy.getStatus().get("evictions");
+        return evictions.stream()
+                .filter(eviction -> expUUID.toString().equals(((Map<?, ?>) eviction).get("UUID")))
+                .count();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(WAIT_PERIOD);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
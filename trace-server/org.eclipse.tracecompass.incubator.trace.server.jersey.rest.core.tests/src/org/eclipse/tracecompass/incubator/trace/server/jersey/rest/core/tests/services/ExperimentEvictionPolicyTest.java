@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentEvictionPolicy;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentManagerService;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.Experiment;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.Experiment.IndexingStatusEnum;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the {@link ExperimentEvictionPolicy}
+ */
+@SuppressWarnings("null")
+public class ExperimentEvictionPolicyTest extends RestServerTest {
+
+    private static final long IDLE_TIMEOUT = 1000;
+    private static final long WAIT_TIMEOUT = 20000;
+    private static final long WAIT_PERIOD = 100;
+
+    /**
+     * Stop evicting experiments after each test
+     */
+    @After
+    public void stopEviction() {
+        ExperimentEvictionPolicy.stop();
+    }
+
+    /**
+     * Test that an idle experiment is evicted and re-opened when it is
+     * requested again
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testEvictionAndReopen() throws ApiException {
+        Experiment expStub = assertPostExperiment("evict", sfContextSwitchesUstNotInitializedStub, sfContextSwitchesKernelNotInitializedStub);
+        UUID expUUID = expStub.getUUID();
+        long evictions = getEvictionCount(expUUID);
+
+        ExperimentEvictionPolicy.start(IDLE_TIMEOUT, 0);
+        waitForEviction(expUUID, evictions);
+
+        // The experiment is re-opened in the background
+        Experiment experiment = getExperiment(expUUID);
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (experiment.getIndexingStatus() != IndexingStatusEnum.COMPLETED && System.currentTimeMillis() < end) {
+            sleep();
+            experiment = getExperiment(expUUID);
+        }
+        assertEquals(IndexingStatusEnum.COMPLETED, experiment.getIndexingStatus());
+        assertEquals(expStub.getNbEvents(), experiment.getNbEvents());
+        assertEquals(expStub.getStart(), experiment.getStart());
+        assertEquals(expStub.getEnd(), experiment.getEnd());
+    }
+
+    /**
+     * Test that an experiment is not evicted while a request holds it, and
+     * that it is evicted once the request is completed. The request is
+     * simulated by marking the experiment as in use, like the server does
+     * for each request on an experiment.
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testNoEvictionWhileInUse() throws ApiException {
+        Experiment expStub = assertPostExperiment("evict-in-use", sfContextSwitchesUstNotInitializedStub, sfContextSwitchesKernelNotInitializedStub);
+        UUID expUUID = expStub.getUUID();
+        long evictions = getEvictionCount(expUUID);
+
+        ExperimentManagerService.retainExperiment(expUUID);
+        try {
+            ExperimentEvictionPolicy.start(IDLE_TIMEOUT, 0);
+            // Let the policy check the idle experiment a few times
+            long end = System.currentTimeMillis() + 4 * IDLE_TIMEOUT;
+            while (System.currentTimeMillis() < end) {
+                sleep();
+            }
+            assertEquals("Experiment in use was evicted", evictions, getEvictionCount(expUUID));
+            assertEquals(IndexingStatusEnum.COMPLETED, getExperiment(expUUID).getIndexingStatus());
+        } finally {
+            ExperimentManagerService.releaseExperiment(expUUID);
+        }
+        waitForEviction(expUUID, evictions);
+    }
+
+    private static void waitForEviction(UUID expUUID, long evictions) {
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (getEvictionCount(expUUID) <= evictions) {
+            if (System.currentTimeMillis() > end) {
+                fail("Experiment was not evicted");
+            }
+            sleep();
+        }
+        assertTrue(getEvictionCount(expUUID) > evictions);
+    }
+
+    private static long getEvictionCount(UUID expUUID) {
+        List<?> evictions = (List<?>) ExperimentEvictionPolicy.getStatus().get("evictions");
+        return evictions.stream()
+                .filter(eviction -> expUUID.toString().equals(((Map<?, ?>) eviction).get("UUID")))
+                .count();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(WAIT_PERIOD);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
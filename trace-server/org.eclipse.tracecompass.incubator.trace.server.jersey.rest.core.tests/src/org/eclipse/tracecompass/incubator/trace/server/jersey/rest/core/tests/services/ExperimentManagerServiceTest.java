@@ -12,8 +12,11 @@
 package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -35,6 +38,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentManagerService;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs.TestCtfTraceStub;
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
 import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.Experiment;
@@ -43,6 +47,8 @@ import org.eclipse.tracecompass.incubator.tsp.client.core.model.ExperimentErrorR
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.ExperimentParameters;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.ExperimentQueryParameters;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.Trace;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TraceParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TraceQueryParameters;
 import org.eclipse.tracecompass.testtraces.ctf.CtfTestTrace;
 import org.eclipse.tracecompass.tmf.core.TmfCommonConstants;
 import org.eclipse.tracecompass.tmf.core.TmfProjectNature;
@@ -72,6 +78,9 @@ public class ExperimentManagerServiceTest extends RestServerTest {
 
     private static final String EXPERIMENT_NAME_EXISTS = "The experiment (name) already exists and both differ."; //$NON-NLS-1$
     private static final String EXPERIMENT_NAME_EXISTS_DETAIL = "The experiment with same name already exists with conflicting parameters. Use a different name to avoid the conflict."; //$NON-NLS-1$
+    private static final String STUB_NAME = "stub"; //$NON-NLS-1$
+    private static final long WAIT_TIMEOUT = 20000;
+    private static final long WAIT_PERIOD = 100;
 
     /**
      * Basic test for the {@link ExperimentManagerService}
@@ -257,4 +266,175 @@ public class ExperimentManagerServiceTest extends RestServerTest {
 
         assertEquals("org.eclipse.linuxtools.lttng2.kernel.tracetype", traceType);
     }
+
+    /**
+     * Test that a posted experiment is opened in the background, and that it
+     * is returned as opened once it is
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testOpenInBackground() throws ApiException {
+        Trace ustStub = assertPost(sfContextSwitchesUstNotInitializedStub);
+        Trace kernelStub = assertPost(sfContextSwitchesKernelNotInitializedStub);
+
+        Experiment experiment = postExperiment(TEST, ustStub, kernelStub);
+        UUID expUUID = experiment.getUUID();
+        // The experiment is being opened, or it is opened already
+        assertNotEquals(IndexingStatusEnum.CLOSED, experiment.getIndexingStatus());
+        waitForOpening(expUUID);
+
+        experiment = getExperiment(expUUID);
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (experiment.getIndexingStatus() != IndexingStatusEnum.COMPLETED && System.currentTimeMillis() < end) {
+            sleep();
+            experiment = getExperiment(expUUID);
+        }
+        assertEquals("Failed to open the experiment", EXPECTED, experiment);
+        assertFalse(ExperimentManagerService.isFailed(expUUID));
+        assertEquals(List.of(EXPECTED), getExperiments());
+    }
+
+    /**
+     * Test that an experiment that failed to open is reported as failed until
+     * it is posted again or deleted, and that it is not opened again by each
+     * request in the meantime
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testOpenFailure() throws ApiException {
+        Trace failingStub = postStubTrace(TestCtfTraceStub.FAILING_NAME);
+
+        int failures = TestCtfTraceStub.getNbFailures();
+
+        UUID expUUID = postExperiment(TEST, failingStub).getUUID();
+        waitForOpening(expUUID);
+        assertTrue(ExperimentManagerService.isFailed(expUUID));
+        assertEquals(failures + 1, TestCtfTraceStub.getNbFailures());
+        for (int i = 0; i < 3; i++) {
+            assertGetStatus(expUUID, Status.INTERNAL_SERVER_ERROR);
+            waitForOpening(expUUID);
+            assertEquals("The failed experiment was opened again", failures + 1, TestCtfTraceStub.getNbFailures());
+        }
+
+        // Posting the experiment again opens it again
+        assertEquals(expUUID, postExperiment(TEST, failingStub).getUUID());
+        waitForOpening(expUUID);
+        assertEquals(failures + 2, TestCtfTraceStub.getNbFailures());
+        assertGetStatus(expUUID, Status.INTERNAL_SERVER_ERROR);
+
+        // Deleting the experiment clears the failure
+        assertEquals(expUUID, deleteExperiment(expUUID).getUUID());
+        assertFalse(ExperimentManagerService.isFailed(expUUID));
+        assertGetStatus(expUUID, Status.NOT_FOUND);
+        assertEquals(Collections.emptyList(), getExperiments());
+    }
+
+    /**
+     * Test deleting an experiment while it is opened in the background, the
+     * opening must not leave an opened or failed experiment behind
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testDeleteDuringOpen() throws ApiException {
+        Trace ustStub = assertPost(sfContextSwitchesUstNotInitializedStub);
+        Trace kernelStub = assertPost(sfContextSwitchesKernelNotInitializedStub);
+        Trace failingStub = postStubTrace(TestCtfTraceStub.FAILING_NAME);
+
+        // An experiment that opens, and one that fails to open
+        for (Trace[] traces : List.of(new Trace[] { ustStub, kernelStub }, new Trace[] { failingStub })) {
+            UUID expUUID = postExperiment(TEST, traces).getUUID();
+            assertEquals(expUUID, deleteExperiment(expUUID).getUUID());
+            waitForOpening(expUUID);
+
+            assertFalse(ExperimentManagerService.isFailed(expUUID));
+            assertTrue(ExperimentManagerService.getTraceInstances(expUUID).isEmpty());
+            assertGetStatus(expUUID, Status.NOT_FOUND);
+            assertEquals(Collections.emptyList(), getExperiments());
+        }
+
+        // The experiment can be posted again
+        assertEquals(EXPECTED, assertPostExperiment(TEST, ustStub, kernelStub));
+    }
+
+    /**
+     * Test that the traces of an experiment that were opened are disposed when
+     * another trace of the experiment fails to open
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testTraceFailure() throws ApiException {
+        Trace ustStub = assertPost(sfContextSwitchesUstNotInitializedStub);
+        Trace stub = postStubTrace(STUB_NAME);
+        Trace failingStub = postStubTrace(TestCtfTraceStub.FAILING_NAME);
+        int instances = TestCtfTraceStub.getNbInstances();
+
+        // The trace instances of an opened experiment are disposed with it
+        UUID expUUID = postExperiment(TEST, ustStub, stub).getUUID();
+        waitForOpening(expUUID);
+        assertEquals(2, ExperimentManagerService.getTraceInstances(expUUID).size());
+        assertEquals(instances + 1, TestCtfTraceStub.getNbInstances());
+        deleteExperiment(expUUID);
+        assertEquals(instances, TestCtfTraceStub.getNbInstances());
+
+        int failures = TestCtfTraceStub.getNbFailures();
+        expUUID = postExperiment(TEST, ustStub, stub, failingStub).getUUID();
+        waitForOpening(expUUID);
+        assertEquals(failures + 1, TestCtfTraceStub.getNbFailures());
+        assertTrue(ExperimentManagerService.isFailed(expUUID));
+        assertEquals("Trace instances of the failed experiment were not disposed", instances, TestCtfTraceStub.getNbInstances());
+        assertTrue(ExperimentManagerService.getTraceInstances(expUUID).isEmpty());
+        assertGetStatus(expUUID, Status.INTERNAL_SERVER_ERROR);
+    }
+
+    private static Trace postStubTrace(String name) throws ApiException {
+        TraceParameters params = new TraceParameters()
+                .uri(sfContextSwitchesKernelNotInitializedStub.getPath())
+                .name(name)
+                .typeID(TestCtfTraceStub.ID);
+        return sfTracesApi.putTrace(new TraceQueryParameters().parameters(params));
+    }
+
+    private static Experiment postExperiment(String name, Trace... traces) throws ApiException {
+        List<UUID> traceUUIDs = new ArrayList<>();
+        for (Trace trace : traces) {
+            traceUUIDs.add(trace.getUUID());
+        }
+        ExperimentParameters params = new ExperimentParameters().name(name).traces(traceUUIDs);
+        return sfExpApi.postExperiment(new ExperimentQueryParameters().parameters(params));
+    }
+
+    private static void assertGetStatus(UUID expUUID, Status status) {
+        try {
+            sfExpApi.getExperiment(expUUID);
+            fail("Expected status " + status);
+        } catch (ApiException e) {
+            assertEquals(status.getStatusCode(), e.getCode());
+        }
+    }
+
+    private static void waitForOpening(UUID expUUID) {
+        long end = System.currentTimeMillis() + WAIT_TIMEOUT;
+        while (ExperimentManagerService.isOpening(expUUID)) {
+            if (System.currentTimeMillis() > end) {
+                fail("Experiment is still being opened");
+            }
+            sleep();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(WAIT_PERIOD);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.MetricsService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestMetrics;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestMetricsFilter;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
+import org.eclipse.tracecompass.incubator.tsp.client.core.api.XyApi;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.Experiment;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TimeRange;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TreeParameters;
+import org.eclipse.tracecompass.incubator.tsp.client.core.model.TreeQueryParameters;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the {@link MetricsService}, with the metrics of the requests recorded
+ * by the {@link RequestMetricsFilter} in the {@link RequestMetrics}
+ */
+public class MetricsServiceTest extends RestServerTest {
+
+    private static final String METRICS_PATH = "metrics";
+    private static final String XY_DATAPROVIDER_ID = "org.eclipse.tracecompass.analysis.os.linux.core.cpuusage.CpuUsageDataProvider";
+    private static final String MISSING_DATAPROVIDER_ID = "org.eclipse.tracecompass.missing.provider";
+    private static final String ENDPOINT = "endpoint=\"TestDataProviderService#getXYTree\"";
+    private static final String OUTPUT = "outputId=\"" + XY_DATAPROVIDER_ID + "\"";
+    private static final String UNKNOWN_OUTPUT = "outputId=\"unknown\"";
+    private static final String RESPONSES = "tsp_responses_total";
+    private static final String[] HISTOGRAMS = { "tsp_request_duration_seconds", "tsp_request_processing_seconds", "tsp_response_serialization_seconds", "tsp_response_size_bytes" };
+    private static final int NB_REQUESTS = 3;
+
+    private static final XyApi sfXyApi = new XyApi(sfApiClient);
+
+    /**
+     * Enable the metrics again, in case a test disabled them
+     */
+    @After
+    public void enableMetrics() {
+        RequestMetrics.setEnabled(true);
+    }
+
+    /**
+     * Test that the requests are counted per endpoint, output and status, and
+     * that their histograms are updated
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testMetrics() throws ApiException {
+        Experiment exp = assertPostExperiment(sfContextSwitchesKernelNotInitializedStub.getName(), sfContextSwitchesKernelNotInitializedStub);
+        TreeQueryParameters queryParams = new TreeQueryParameters().parameters(new TreeParameters().requestedTimerange(new TimeRange().start(exp.getStart()).end(exp.getEnd())));
+        Map<String, Double> before = getMetrics();
+
+        for (int i = 0; i < NB_REQUESTS; i++) {
+            assertNotNull(sfXyApi.getXYTree(exp.getUUID(), XY_DATAPROVIDER_ID, queryParams));
+        }
+        for (int i = 0; i < NB_REQUESTS; i++) {
+            try {
+                sfXyApi.getXYTree(exp.getUUID(), MISSING_DATAPROVIDER_ID + i, queryParams);
+                fail("The output should not exist");
+            } catch (ApiException e) {
+                assertEquals(Status.METHOD_NOT_ALLOWED.getStatusCode(), e.getCode());
+            }
+        }
+        Map<String, Double> after = getMetrics();
+
+        assertEquals(NB_REQUESTS, getIncrease(before, after, RESPONSES + '{' + ENDPOINT + ',' + OUTPUT + ",status=\"200\"}"), 0);
+        assertEquals(NB_REQUESTS, getIncrease(before, after, RESPONSES + '{' + ENDPOINT + ',' + UNKNOWN_OUTPUT + ",status=\"405\"}"), 0);
+        for (String name : after.keySet()) {
+            assertFalse(name, name.contains(MISSING_DATAPROVIDER_ID));
+        }
+        for (String histogram : HISTOGRAMS) {
+            for (String output : new String[] { OUTPUT, UNKNOWN_OUTPUT }) {
+                String labels = ENDPOINT + ',' + output;
+                String count = histogram + "_count{" + labels + '}';
+                assertEquals(count, NB_REQUESTS, getIncrease(before, after, count), 0);
+                assertEquals(histogram, after.get(count), after.get(histogram + "_bucket{" + labels + ",le=\"+Inf\"}"));
+                assertTrue(histogram, getIncrease(before, after, histogram + "_sum{" + labels + '}') > 0);
+                // The buckets are cumulative
+                double previous = 0;
+                for (Map.Entry<String, Double> entry : after.entrySet()) {
+                    if (entry.getKey().startsWith(histogram + "_bucket{" + labels + ",le=")) {
+                        assertTrue(entry.getKey(), entry.getValue() >= previous);
+                        previous = entry.getValue();
+                    }
+                }
+            }
+        }
+        // The request for the metrics is in flight while they are written
+        assertTrue(after.get("tsp_requests_in_flight") >= 1);
+    }
+
+    /**
+     * Test that the metrics are not exposed when they are disabled
+     */
+    @Test
+    public void testMetricsDisabled() {
+        RequestMetrics.setEnabled(false);
+        try (Response response = getApplicationEndpoint().path(METRICS_PATH).request().get()) {
+            assertEquals(Status.NOT_FOUND.getStatusCode(), response.getStatus());
+        }
+    }
+
+    /**
+     * Get the metrics exposed by the server, by their name with their labels,
+     * in the order they are written
+     */
+    private static Map<String, Double> getMetrics() {
+        try (Response response = getApplicationEndpoint().path(METRICS_PATH).request().get()) {
+            assertEquals(Status.OK.getStatusCode(), response.getStatus());
+            assertTrue(MediaType.TEXT_PLAIN_TYPE.isCompatible(response.getMediaType()));
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            for (String line : response.readEntity(String.class).split("\n")) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int index = line.lastIndexOf(' ');
+                metrics.put(line.substring(0, index), Double.parseDouble(line.substring(index + 1)));
+            }
+            return metrics;
+        }
+    }
+
+    private static double getIncrease(Map<String, Double> before, Map<String, Double> after, String name) {
+        Double value = after.get(name);
+        assertNotNull(name, value);
+        return value - before.getOrDefault(name, 0.0);
+    }
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderStreamingOutput;
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
 import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
 import org.eclipse.tracecompass.incubator.tsp.client.core.api.VirtualTablesApi;
@@ -116,6 +117,46 @@ public class TableDataProviderServiceTest extends RestServerTest {
         // TODO add search tests
     }
 
+    /**
+     * Test that the lines of a request large enough to be streamed are the
+     * same as the lines of the buffered requests of its batches
+     *
+     * @throws ApiException
+     *             if such exception occurs
+     */
+    @Test
+    public void testStreamedLines() throws ApiException {
+        Experiment exp = assertPostExperiment(sfContextSwitchesKernelNotInitializedStub.getName(), sfContextSwitchesKernelNotInitializedStub);
+        int batchSize = DataProviderStreamingOutput.BATCH_SIZE;
+        int count = 2 * batchSize + batchSize / 2;
+
+        VirtualTableResponse streamed = getLines(exp, TABLE_INDEX, count);
+        assertEquals(VirtualTableResponse.StatusEnum.COMPLETED, streamed.getStatus());
+
+        // Requests of at most one batch are not streamed
+        VirtualTableResponse expected = getLines(exp, TABLE_INDEX, batchSize);
+        List<VirtualTableLine> expectedLines = new ArrayList<>(expected.getModel().getLines());
+        for (long index = TABLE_INDEX + batchSize; index < TABLE_INDEX + count; index += batchSize) {
+            VirtualTableResponse buffered = getLines(exp, index, (int) Math.min(batchSize, TABLE_INDEX + count - index));
+            expectedLines.addAll(buffered.getModel().getLines());
+        }
+        expected.getModel().setLines(expectedLines);
+        assertEquals(count, expectedLines.size());
+        assertEquals(expected, streamed);
+    }
+
+    private static VirtualTableResponse getLines(Experiment exp, long index, int count) throws ApiException {
+        LinesParameters params = new LinesParameters()
+                .requestedTableIndex(index)
+                .requestedTableCount(count)
+                .requestedTimes(null)
+                .tableSearchExpressions(null);
+        VirtualTableResponse response = sfTableApi.getLines(exp.getUUID(), EVENTS_TABLE_DATAPROVIDER_ID, new LinesQueryParameters().parameters(params));
+        assertNotNull(response);
+        assertNotNull(MODEL_NULL_MSG + response, response.getModel());
+        return response;
+    }
+
     /**
      * Tests error cases when querying arrows for a time graph data provider
      */
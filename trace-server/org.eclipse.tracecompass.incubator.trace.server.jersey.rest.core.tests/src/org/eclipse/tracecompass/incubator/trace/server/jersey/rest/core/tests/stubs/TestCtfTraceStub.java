@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
+import org.eclipse.tracecompass.tmf.ctf.core.trace.CtfTmfTrace;
+
+/**
+ * CTF trace stub that keeps track of its instances that are not disposed, and
+ * that fails to initialize when it is named {@link #FAILING_NAME}. It is only
+ * selected when its trace type is requested, its validation confidence is
+ * lower than the one of any other CTF trace type.
+ */
+public class TestCtfTraceStub extends CtfTmfTrace {
+
+    /** The trace type ID */
+    public static final String ID = "org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.stubs.ctf"; //$NON-NLS-1$
+
+    /** The name of the traces that fail to initialize */
+    public static final String FAILING_NAME = "failing"; //$NON-NLS-1$
+
+    private static final String PLUGIN_ID = "org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests"; //$NON-NLS-1$
+    private static final Set<TestCtfTraceStub> INSTANCES = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger NB_FAILURES = new AtomicInteger();
+
+    @Override
+    public IStatus validate(IProject project, String path) {
+        IStatus status = super.validate(project, path);
+        if (!status.isOK()) {
+            return status;
+        }
+        return new TraceValidationStatus(1, PLUGIN_ID);
+    }
+
+    @Override
+    public void initTrace(IResource resource, String path, Class<? extends ITmfEvent> type, String name, String traceTypeId) throws TmfTraceException {
+        if (FAILING_NAME.equals(name)) {
+            NB_FAILURES.incrementAndGet();
+            throw new TmfTraceException("Failing trace " + path); //$NON-NLS-1$
+        }
+        super.initTrace(resource, path, type, name, traceTypeId);
+        INSTANCES.add(this);
+    }
+
+    @Override
+    public synchronized void dispose() {
+        INSTANCES.remove(this);
+        super.dispose();
+    }
+
+    /**
+     * Get the number of instances that were initialized and not disposed
+     *
+     * @return the number of instances
+     */
+    public static int getNbInstances() {
+        return INSTANCES.size();
+    }
+
+    /**
+     * Get the number of times a trace failed to initialize
+     *
+     * @return the number of failures
+     */
+    public static int getNbFailures() {
+        return NB_FAILURES.get();
+    }
+}
@@ -16,9 +16,14 @@ import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.HealthService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.IdentifierService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.MetricsService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.TraceManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.CORSFilter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ExperimentUsageFilter;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.JacksonObjectMapperProvider;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestCompletionListener;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestMetrics;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestMetricsFilter;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.TraceServerConfiguration;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.WebApplication;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -49,8 +54,14 @@ public class TestWebApplication extends WebApplication {
         rc.register(IdentifierService.class);
         rc.register(ConfigurationManagerService.class);
         rc.register(CORSFilter.class);
+        rc.register(RequestCompletionListener.class);
+        rc.register(ExperimentUsageFilter.class);
         rc.register(JacksonObjectMapperProvider.class);
         rc.register(OpenApiResource.class);
         rc.register(BookmarkManagerService.class);
+        rc.register(MetricsService.class);
+        // The metrics are always collected by the test server
+        RequestMetrics.setEnabled(true);
+        rc.register(RequestMetricsFilter.class);
     }
 }
@@ -0,0 +1,312 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.webapp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.VirtualTableModelWrapper;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.BinaryModelResponseWriter;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.IVirtualTableLine;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.TmfVirtualTableModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.VirtualTableCell;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.VirtualTableLine;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.model.ISampling;
+import org.eclipse.tracecompass.tmf.core.model.SeriesModel.SeriesModelBuilder;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel.DisplayType;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.TmfXYAxisDescription;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.Test;
+
+/**
+ * Test the {@link BinaryModelResponseWriter}
+ */
+@SuppressWarnings({ "null", "restriction" })
+public class BinaryModelResponseWriterTest {
+
+    private static final long START = 1700000000000000000L;
+    private static final String TITLE = "title";
+
+    /**
+     * Verify that the time graph states are written with delta encoded
+     * timestamps
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    public void testTimeGraphModel() throws IOException {
+        ITimeGraphRowModel row = new TimeGraphRowModel(42, List.of(
+                new TimeGraphState(START, 10, 3),
+                new TimeGraphState(START + 15, 5, Integer.MIN_VALUE)));
+        TmfModelResponse<TimeGraphModel> response = new TmfModelResponse<>(new TimeGraphModel(List.of(row)), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryModelResponseWriter().writeTo(response, null, null, null, BinaryModelResponseWriter.APPLICATION_TSP_BINARY_TYPE, null, out);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        assertEquals("TSPB", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(1, in.readByte());
+        assertEquals(1, in.readByte());
+        assertEquals(ITmfResponse.Status.COMPLETED.name(), readString(in));
+        assertEquals(CommonStatusMessage.COMPLETED, readString(in));
+
+        assertEquals(1, readVarint(in));
+        assertEquals(42, readSignedVarint(in));
+        assertEquals(2, readVarint(in));
+
+        assertEquals(START, readSignedVarint(in));
+        assertEquals(10, readSignedVarint(in));
+        assertNull(readString(in));
+        assertEquals(1, in.readByte());
+        assertEquals("3", readString(in));
+        assertEquals(0, readVarint(in));
+        assertEquals(0, readVarint(in));
+
+        assertEquals(5, readSignedVarint(in));
+        assertEquals(5, readSignedVarint(in));
+        assertNull(readString(in));
+        assertEquals(0, in.readByte());
+        assertEquals(0, readVarint(in));
+
+        assertEquals(-1, in.read());
+    }
+
+    /**
+     * Verify that the XY series read back from the binary format are the
+     * written ones, for each type of sampling
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    public void testXyModel() throws IOException {
+        List<ISeriesModel> series = List.of(
+                new SeriesModelBuilder(1, "timestamps", new ISampling.Timestamps(new long[] { START, START + 10, START + 25, START + 25 }), new double[] { 0.5, -1.0, Double.NaN, 1e300 }).build(),
+                new SeriesModelBuilder(-2, "categories", new ISampling.Categories(List.of("Q1", "", "Q\u00e9")), new double[] { 1, 2, 3 }).seriesDisplayType(DisplayType.BAR).build(),
+                new SeriesModelBuilder(3, "ranges", new ISampling.Ranges(List.of(new ISampling.Range<>(START, START + 5), new ISampling.Range<>(START + 5, START + 20), new ISampling.Range<>(START + 30, START + 30))), new double[] { 4, 5, 6 })
+                        .seriesDisplayType(DisplayType.SCATTER).build(),
+                new SeriesModelBuilder(4, "empty", new ISampling.Timestamps(new long[0]), new double[0]).build());
+        // The XY model implementations are internal to the data providers
+        ITmfXyModel model = (ITmfXyModel) Proxy.newProxyInstance(ITmfXyModel.class.getClassLoader(), new Class<?>[] { ITmfXyModel.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                case "getTitle" -> TITLE;
+                case "getSeriesData" -> series;
+                default -> throw new UnsupportedOperationException(method.getName());
+                });
+        DataInputStream in = write(new TmfModelResponse<>(model, ITmfResponse.Status.RUNNING, CommonStatusMessage.RUNNING), 2);
+        assertEquals(ITmfResponse.Status.RUNNING.name(), readString(in));
+        assertEquals(CommonStatusMessage.RUNNING, readString(in));
+
+        assertEquals(TITLE, readString(in));
+        assertEquals(series.size(), readVarint(in));
+        for (ISeriesModel serie : series) {
+            assertEquals(serie.getId(), readSignedVarint(in));
+            assertEquals(serie.getName(), readString(in));
+            assertSampling(serie.getSampling(), readSampling(in));
+            double[] data = new double[(int) readVarint(in)];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = in.readDouble();
+            }
+            assertArrayEquals(serie.getData(), data, 0.0);
+            assertEquals(serie.getDisplayType().name().toLowerCase(Locale.ROOT), readString(in));
+            assertAxis(serie.getXAxisDescription(), in);
+            assertAxis(serie.getYAxisDescription(), in);
+        }
+        assertEquals(-1, in.read());
+    }
+
+    /**
+     * Verify that the virtual table lines read back from the binary format are
+     * the written ones, with delta encoded indexes
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    public void testTableModel() throws IOException {
+        List<Long> columnIds = List.of(3L, 0L, 7L);
+        List<VirtualTableLine> lines = new ArrayList<>();
+        for (long index : new long[] { 100, 101, 105, 1000 }) {
+            List<VirtualTableCell> cells = new ArrayList<>();
+            for (Long columnId : columnIds) {
+                VirtualTableCell cell = new VirtualTableCell(index == 105 ? "" : "cell \u00e9 " + index + '/' + columnId);
+                cell.setActiveProperties((int) (index % 3));
+                cells.add(cell);
+            }
+            VirtualTableLine line = new VirtualTableLine(index, cells);
+            line.setActiveProperties((int) (index % 4));
+            lines.add(line);
+        }
+        VirtualTableModelWrapper model = new VirtualTableModelWrapper(new TmfVirtualTableModel<>(columnIds, lines, 100, 5000));
+        DataInputStream in = write(new TmfModelResponse<>(model, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED), 3);
+        assertEquals(ITmfResponse.Status.COMPLETED.name(), readString(in));
+        assertEquals(CommonStatusMessage.COMPLETED, readString(in));
+
+        List<Long> actualColumnIds = new ArrayList<>();
+        long columnCount = readVarint(in);
+        for (int i = 0; i < columnCount; i++) {
+            actualColumnIds.add(readSignedVarint(in));
+        }
+        assertEquals(columnIds, actualColumnIds);
+        assertEquals(model.getLowIndex(), readSignedVarint(in));
+        assertEquals(model.getSize(), readSignedVarint(in));
+        assertEquals(lines.size(), readVarint(in));
+        long index = model.getLowIndex() - 1;
+        for (IVirtualTableLine line : model.getLines()) {
+            index += readSignedVarint(in) + 1;
+            assertEquals(line.getIndex(), index);
+            assertEquals(line.getActiveProperties(), readVarint(in));
+            assertEquals(line.getCells().size(), readVarint(in));
+            for (VirtualTableCell cell : line.getCells()) {
+                assertEquals(cell.getContent(), readString(in));
+                assertEquals(cell.getActiveProperties(), readVarint(in));
+            }
+        }
+        assertEquals(-1, in.read());
+    }
+
+    /**
+     * Verify that only the responses of the time graph states, XY and virtual
+     * table lines endpoints are written in the binary format
+     */
+    @Test
+    public void testIsWriteable() {
+        Set<String> binaryEndpoints = Set.of("getStates", "getXY", "getGenericXY", "getLines");
+        BinaryModelResponseWriter writer = new BinaryModelResponseWriter();
+        Method[] methods = DataProviderService.class.getMethods();
+        assertTrue(Arrays.stream(methods).map(Method::getName).toList().containsAll(binaryEndpoints));
+        for (Method method : methods) {
+            boolean writeable = writer.isWriteable(TmfModelResponse.class, TmfModelResponse.class, method.getAnnotations(), BinaryModelResponseWriter.APPLICATION_TSP_BINARY_TYPE);
+            assertEquals(method.getName(), binaryEndpoints.contains(method.getName()), writeable);
+        }
+        Method states = Arrays.stream(methods).filter(method -> method.getName().equals("getStates")).findFirst().get();
+        assertFalse(writer.isWriteable(String.class, String.class, states.getAnnotations(), BinaryModelResponseWriter.APPLICATION_TSP_BINARY_TYPE));
+    }
+
+    /**
+     * Write a response and read its header up to the kind of model
+     */
+    private static DataInputStream write(TmfModelResponse<?> response, int kind) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryModelResponseWriter().writeTo(response, null, null, null, BinaryModelResponseWriter.APPLICATION_TSP_BINARY_TYPE, null, out);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        assertEquals("TSPB", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(1, in.readByte());
+        assertEquals(kind, in.readByte());
+        return in;
+    }
+
+    private static ISampling readSampling(DataInputStream in) throws IOException {
+        int type = in.readByte();
+        int count = (int) readVarint(in);
+        switch (type) {
+        case 0:
+            long[] timestamps = new long[count];
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += readSignedVarint(in);
+                timestamps[i] = previous;
+            }
+            return new ISampling.Timestamps(timestamps);
+        case 1:
+            List<String> categories = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                categories.add(readString(in));
+            }
+            return new ISampling.Categories(categories);
+        case 2:
+            List<ISampling.Range<Long>> ranges = new ArrayList<>();
+            long previousEnd = 0;
+            for (int i = 0; i < count; i++) {
+                long start = previousEnd + readSignedVarint(in);
+                previousEnd = start + readSignedVarint(in);
+                ranges.add(new ISampling.Range<>(start, previousEnd));
+            }
+            return new ISampling.Ranges(ranges);
+        default:
+            throw new IOException("Unknown sampling type " + type);
+        }
+    }
+
+    private static void assertSampling(ISampling expected, ISampling actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        if (expected instanceof ISampling.Timestamps timestamps) {
+            assertArrayEquals(timestamps.timestamps(), ((ISampling.Timestamps) actual).timestamps());
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static void assertAxis(@Nullable TmfXYAxisDescription expected, DataInputStream in) throws IOException {
+        assertEquals(expected != null ? expected.getLabel() : null, readString(in));
+        assertEquals(expected != null ? expected.getUnit() : null, readString(in));
+        assertEquals(expected != null ? String.valueOf(expected.getDataType()) : null, readString(in));
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long readSignedVarint(DataInputStream in) throws IOException {
+        long value = readVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static @Nullable String readString(DataInputStream in) throws IOException {
+        int length = (int) readVarint(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -162,6 +162,7 @@ public class ConfigurationManagerService {
                     .build();
         try {
             ITmfConfiguration config = configurationSource.create(inputConfig);
+            DataProviderResponseCache.invalidateAll();
             return Response.ok(config).build();
         } catch (TmfConfigurationException e) {
             return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, e.getMessage());
@@ -248,6 +249,7 @@ public class ConfigurationManagerService {
                 .build();
         try {
             ITmfConfiguration config = configurationSource.update(configId, inputConfig);
+            DataProviderResponseCache.invalidateAll();
             return Response.ok(config).build();
         } catch (TmfConfigurationException e) {
             return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, e.getMessage());
@@ -286,6 +288,7 @@ public class ConfigurationManagerService {
         if (config == null) {
             return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, "Failed removing configuration instance"); //$NON-NLS-1$
         }
+        DataProviderResponseCache.invalidateAll();
         return Response.ok(config).build();
     }
 }
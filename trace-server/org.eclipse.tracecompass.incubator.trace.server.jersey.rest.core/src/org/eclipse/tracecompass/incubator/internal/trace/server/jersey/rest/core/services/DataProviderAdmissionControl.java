@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.ws.rs.core.HttpHeaders;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Admission control of the data provider requests. The number of requests
+ * processed concurrently is limited overall and per experiment, the requests
+ * above the limits wait in line and are rejected if they cannot be processed
+ * before a timeout.
+ * <p>
+ * Superseding is opt-in: clients that identify themselves with the
+ * {@value #CLIENT_ID_HEADER} header can name a group of requests with the
+ * {@value #REQUEST_GROUP_HEADER} header, for instance the view that sends
+ * them. A new request from the same client in the same group, for the same
+ * endpoint of the same output, cancels the progress monitor of the previous
+ * request, whether it is waiting or being processed. Requests without a group
+ * are never superseded, so that concurrent requests of a client, such as two
+ * pages of a table, are all processed.
+ * <p>
+ * The per-experiment limit of an experiment is kept as long as requests for
+ * it are waiting or being processed, so that a deleted and posted again
+ * experiment, which has the same {@link UUID}, shares it with the requests
+ * still in flight.
+ */
+public final class DataProviderAdmissionControl {
+
+    /**
+     * The header identifying a client, for the cancellation of its superseded
+     * requests
+     */
+    public static final String CLIENT_ID_HEADER = "Tsp-Client-Id"; //$NON-NLS-1$
+
+    /**
+     * The header naming the group of requests of a client in which a new
+     * request supersedes the previous one
+     */
+    public static final String REQUEST_GROUP_HEADER = "Tsp-Request-Group"; //$NON-NLS-1$
+
+    private static final long POLL_PERIOD = 100;
+
+    private static final Map<UUID, ExperimentPermits> EXPERIMENT_PERMITS = new ConcurrentHashMap<>();
+    private static final Map<RequestKey, IProgressMonitor> IN_FLIGHT = new ConcurrentHashMap<>();
+    private static final AtomicLong REJECTED_COUNT = new AtomicLong();
+    private static final AtomicLong SUPERSEDED_COUNT = new AtomicLong();
+
+    private static volatile @Nullable Semaphore fPermits = null;
+    private static volatile int fMaxRequests = 0;
+    private static volatile int fMaxRequestsPerExperiment = 0;
+    private static volatile long fQueueTimeout = 0;
+
+    private DataProviderAdmissionControl() {
+        // Do nothing
+    }
+
+    private static final class RequestKey {
+        private final String fSupersedeKey;
+        private final UUID fExpUUID;
+        private final String fOutputId;
+        private final String fEndpoint;
+
+        public RequestKey(String supersedeKey, UUID expUUID, String outputId, String endpoint) {
+            fSupersedeKey = supersedeKey;
+            fExpUUID = expUUID;
+            fOutputId = outputId;
+            fEndpoint = endpoint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fSupersedeKey, fExpUUID, fOutputId, fEndpoint);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof RequestKey)) {
+                return false;
+            }
+            RequestKey other = (RequestKey) obj;
+            return fSupersedeKey.equals(other.fSupersedeKey) && fExpUUID.equals(other.fExpUUID) && fOutputId.equals(other.fOutputId) && fEndpoint.equals(other.fEndpoint);
+        }
+    }
+
+    /**
+     * The permits of an experiment, with the number of requests that are
+     * waiting for them or holding one. It is discarded when there are none.
+     */
+    private static final class ExperimentPermits {
+        private final UUID fExpUUID;
+        private final Semaphore fSemaphore;
+        private int fNbRequests = 0;
+
+        public ExperimentPermits(UUID expUUID, int permits) {
+            fExpUUID = expUUID;
+            fSemaphore = new Semaphore(permits, true);
+        }
+    }
+
+    /**
+     * An admitted request, which holds its permits until it is closed. Closing
+     * it more than once has no effect.
+     */
+    public static final class Ticket implements AutoCloseable {
+        private final AtomicBoolean fClosed = new AtomicBoolean();
+        private final IProgressMonitor fMonitor;
+        private final @Nullable RequestKey fKey;
+        private final @Nullable Semaphore fGlobalPermit;
+        private final @Nullable ExperimentPermits fExperimentPermit;
+
+        private Ticket(IProgressMonitor monitor, @Nullable RequestKey key, @Nullable Semaphore globalPermit, @Nullable ExperimentPermits experimentPermit) {
+            fMonitor = monitor;
+            fKey = key;
+            fGlobalPermit = globalPermit;
+            fExperimentPermit = experimentPermit;
+        }
+
+        /**
+         * Get the progress monitor to pass to the data provider, it is
+         * cancelled when the request is superseded
+         *
+         * @return the progress monitor
+         */
+        public IProgressMonitor getMonitor() {
+            return fMonitor;
+        }
+
+        @Override
+        public void close() {
+            if (fClosed.getAndSet(true)) {
+                return;
+            }
+            RequestKey key = fKey;
+            if (key != null) {
+                IN_FLIGHT.remove(key, fMonitor);
+            }
+            ExperimentPermits experimentPermit = fExperimentPermit;
+            if (experimentPermit != null) {
+                experimentPermit.fSemaphore.release();
+                unregister(experimentPermit);
+            }
+            Semaphore globalPermit = fGlobalPermit;
+            if (globalPermit != null) {
+                globalPermit.release();
+            }
+        }
+    }
+
+    /**
+     * Configure the admission control. The requests being processed keep the
+     * limits they were admitted with.
+     *
+     * @param maxRequests
+     *            the maximum number of requests processed concurrently, or 0
+     *            for no limit
+     * @param maxRequestsPerExperiment
+     *            the maximum number of requests processed concurrently for a
+     *            same experiment, or 0 for no limit
+     * @param queueTimeout
+     *            the time in milliseconds a request waits to be processed
+     *            before it is rejected
+     */
+    public static synchronized void configure(int maxRequests, int maxRequestsPerExperiment, long queueTimeout) {
+        fMaxRequests = maxRequests;
+        fMaxRequestsPerExperiment = maxRequestsPerExperiment;
+        fQueueTimeout = queueTimeout;
+        fPermits = maxRequests > 0 ? new Semaphore(maxRequests, true) : null;
+        EXPERIMENT_PERMITS.clear();
+    }
+
+    /**
+     * Get the key of a request for superseding, from its client ID and request
+     * group
+     *
+     * @param headers
+     *            the HTTP headers of the request
+     * @return the key, or null if the client did not identify itself or did
+     *         not name a request group
+     */
+    public static @Nullable String getSupersedeKey(@Nullable HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+        String clientId = headers.getHeaderString(CLIENT_ID_HEADER);
+        String group = headers.getHeaderString(REQUEST_GROUP_HEADER);
+        if (clientId == null || clientId.isEmpty() || group == null || group.isEmpty()) {
+            return null;
+        }
+        return clientId + '\n' + group;
+    }
+
+    /**
+     * Admit a request, waiting if the maximum number of concurrent requests is
+     * reached. The returned ticket must be closed when the request is
+     * processed, the ticket of a streamed response must also be closed when
+     * the request is completed in case the response is never written.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     * @param outputId
+     *            the output ID
+     * @param endpoint
+     *            the name of the endpoint
+     * @param supersedeKey
+     *            the key of the request from
+     *            {@link #getSupersedeKey(HttpHeaders)}, or null if the request
+     *            is never superseded
+     * @return the ticket of the admitted request
+     * @throws RejectedExecutionException
+     *             if the request could not be admitted before the timeout
+     */
+    public static Ticket admit(UUID expUUID, String outputId, String endpoint, @Nullable String supersedeKey) {
+        IProgressMonitor monitor = new NullProgressMonitor();
+        RequestKey key = null;
+        if (supersedeKey != null) {
+            key = new RequestKey(supersedeKey, expUUID, outputId, endpoint);
+            IProgressMonitor previous = IN_FLIGHT.put(key, monitor);
+            if (previous != null) {
+                previous.setCanceled(true);
+                SUPERSEDED_COUNT.incrementAndGet();
+            }
+        }
+        long deadline = System.currentTimeMillis() + fQueueTimeout;
+        Semaphore globalPermit = fPermits;
+        int maxRequestsPerExperiment = fMaxRequestsPerExperiment;
+        ExperimentPermits experimentPermit = maxRequestsPerExperiment > 0 ? register(expUUID, maxRequestsPerExperiment) : null;
+        boolean hasGlobalPermit = false;
+        try {
+            hasGlobalPermit = acquire(globalPermit, monitor, deadline);
+            if (hasGlobalPermit && acquire(experimentPermit != null ? experimentPermit.fSemaphore : null, monitor, deadline)) {
+                return new Ticket(monitor, key, globalPermit, experimentPermit);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (hasGlobalPermit && globalPermit != null) {
+            globalPermit.release();
+        }
+        if (experimentPermit != null) {
+            unregister(experimentPermit);
+        }
+        if (monitor.isCanceled()) {
+            // Superseded while waiting, let the provider return a cancelled response
+            return new Ticket(monitor, null, null, null);
+        }
+        if (key != null) {
+            IN_FLIGHT.remove(key, monitor);
+        }
+        REJECTED_COUNT.incrementAndGet();
+        throw new RejectedExecutionException("Too many concurrent requests"); //$NON-NLS-1$
+    }
+
+    /**
+     * Fetch the response of a data provider once the request is admitted. A
+     * cancelled response is returned if the request is superseded before it
+     * is processed.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     * @param outputId
+     *            the output ID
+     * @param endpoint
+     *            the name of the endpoint
+     * @param supersedeKey
+     *            the key of the request from
+     *            {@link #getSupersedeKey(HttpHeaders)}, or null if the request
+     *            is never superseded
+     * @param fetcher
+     *            the function to fetch the response from the data provider,
+     *            with the progress monitor of the request
+     * @return the response
+     * @throws RejectedExecutionException
+     *             if the request could not be admitted before the timeout
+     */
+    public static <T> TmfModelResponse<T> fetch(UUID expUUID, String outputId, String endpoint, @Nullable String supersedeKey, Function<IProgressMonitor, TmfModelResponse<T>> fetcher) {
+        try (Ticket ticket = admit(expUUID, outputId, endpoint, supersedeKey)) {
+            if (ticket.getMonitor().isCanceled()) {
+                return new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+            }
+            return fetcher.apply(ticket.getMonitor());
+        }
+    }
+
+    private static boolean acquire(@Nullable Semaphore permits, IProgressMonitor monitor, long deadline) throws InterruptedException {
+        if (permits == null) {
+            return true;
+        }
+        while (!monitor.isCanceled()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return permits.tryAcquire();
+            }
+            if (permits.tryAcquire(Math.min(remaining, POLL_PERIOD), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ExperimentPermits register(UUID expUUID, int maxRequestsPerExperiment) {
+        return EXPERIMENT_PERMITS.compute(expUUID, (uuid, permits) -> {
+            ExperimentPermits registered = permits != null ? permits : new ExperimentPermits(uuid, maxRequestsPerExperiment);
+            registered.fNbRequests++;
+            return registered;
+        });
+    }
+
+    private static void unregister(ExperimentPermits permits) {
+        // The permits may have been discarded by a new configuration
+        EXPERIMENT_PERMITS.computeIfPresent(permits.fExpUUID, (uuid, registered) -> {
+            if (registered != permits) {
+                return registered;
+            }
+            registered.fNbRequests--;
+            return registered.fNbRequests > 0 ? registered : null;
+        });
+    }
+
+    /**
+     * Get the status of the admission control
+     *
+     * @return the status as a map, to be serialized
+     */
+    public static Map<String, Object> getStatus() {
+        Semaphore permits = fPermits;
+        return ImmutableMap.<String, Object> builder()
+                .put("maxRequests", fMaxRequests) //$NON-NLS-1$
+                .put("maxRequestsPerExperiment", fMaxRequestsPerExperiment) //$NON-NLS-1$
+                .put("queueTimeout", fQueueTimeout) //$NON-NLS-1$
+                .put("activeRequests", permits != null ? fMaxRequests - permits.availablePermits() : -1) //$NON-NLS-1$
+                .put("queuedRequests", permits != null ? permits.getQueueLength() : 0) //$NON-NLS-1$
+                .put("limitedExperiments", EXPERIMENT_PERMITS.size()) //$NON-NLS-1$
+                .put("rejectedRequests", REJECTED_COUNT.get()) //$NON-NLS-1$
+                .put("supersededRequests", SUPERSEDED_COUNT.get()) //$NON-NLS-1$
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.VirtualTableModelWrapper;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.IVirtualTableLine;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Bounded cache of the completed responses of the data providers, keyed by
+ * experiment, output, endpoint and query parameters. The cache is bounded by
+ * the total weight of the cached models, where the weight of a model is its
+ * number of rows, states, points or cells.
+ */
+@SuppressWarnings("restriction")
+public final class DataProviderResponseCache {
+
+    private static final long DEFAULT_MAXIMUM_WEIGHT = 2000000;
+
+    private static volatile Cache<CacheKey, TmfModelResponse<?>> fCache = createCache(DEFAULT_MAXIMUM_WEIGHT);
+    private static volatile long fMaximumWeight = DEFAULT_MAXIMUM_WEIGHT;
+
+    private DataProviderResponseCache() {
+        // Do nothing
+    }
+
+    private static final class CacheKey {
+        private final UUID fExpUUID;
+        private final String fOutputId;
+        private final String fEndpoint;
+        private final String fParameters;
+
+        public CacheKey(UUID expUUID, String outputId, String endpoint, String parameters) {
+            fExpUUID = expUUID;
+            fOutputId = outputId;
+            fEndpoint = endpoint;
+            fParameters = parameters;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fExpUUID, fOutputId, fEndpoint, fParameters);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return fExpUUID.equals(other.fExpUUID) && fOutputId.equals(other.fOutputId) && fEndpoint.equals(other.fEndpoint) && fParameters.equals(other.fParameters);
+        }
+    }
+
+    private static Cache<CacheKey, TmfModelResponse<?>> createCache(long maximumWeight) {
+        return CacheBuilder.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((CacheKey key, TmfModelResponse<?> value) -> getWeight(value.getModel()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Configure the maximum weight of the cache. The cached responses are
+     * discarded.
+     *
+     * @param maximumWeight
+     *            the maximum total number of rows, states, points or cells of
+     *            the cached models, or 0 to disable the cache
+     */
+    public static synchronized void configure(long maximumWeight) {
+        fMaximumWeight = maximumWeight;
+        fCache = createCache(maximumWeight);
+    }
+
+    /**
+     * Get the response of a data provider from the cache, or fetch it from the
+     * data provider. Only the responses with a status of COMPLETED are cached.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     * @param outputId
+     *            the output ID
+     * @param endpoint
+     *            the name of the endpoint, to differentiate the models of a same
+     *            data provider
+     * @param parameters
+     *            the query parameters
+     * @param fetcher
+     *            the function to fetch the response from the data provider
+     * @return the response
+     */
+    public static <T> TmfModelResponse<T> get(UUID expUUID, String outputId, String endpoint, Map<String, Object> parameters, Supplier<TmfModelResponse<T>> fetcher) {
+        if (fMaximumWeight <= 0) {
+            return fetcher.get();
+        }
+        Cache<CacheKey, TmfModelResponse<?>> cache = fCache;
+        CacheKey key = new CacheKey(expUUID, outputId, endpoint, normalize(parameters));
+        @SuppressWarnings("unchecked")
+        TmfModelResponse<T> response = (TmfModelResponse<T>) cache.getIfPresent(key);
+        if (response != null) {
+            return response;
+        }
+        response = fetcher.get();
+        if (response.getStatus() == ITmfResponse.Status.COMPLETED && response.getModel() != null) {
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Discard the cached responses of an experiment
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     */
+    public static void invalidate(UUID expUUID) {
+        fCache.asMap().keySet().removeIf(key -> key.fExpUUID.equals(expUUID));
+    }
+
+    /**
+     * Discard all the cached responses
+     */
+    public static void invalidateAll() {
+        fCache.invalidateAll();
+    }
+
+    /**
+     * Get the statistics of the cache
+     *
+     * @return the statistics as a map, to be serialized
+     */
+    public static Map<String, Object> getStatus() {
+        Cache<CacheKey, TmfModelResponse<?>> cache = fCache;
+        CacheStats stats = cache.stats();
+        return ImmutableMap.<String, Object> builder()
+                .put("maximumWeight", fMaximumWeight) //$NON-NLS-1$
+                .put("size", cache.size()) //$NON-NLS-1$
+                .put("hitCount", stats.hitCount()) //$NON-NLS-1$
+                .put("missCount", stats.missCount()) //$NON-NLS-1$
+                .put("hitRate", stats.hitRate()) //$NON-NLS-1$
+                .put("evictionCount", stats.evictionCount()) //$NON-NLS-1$
+                .build();
+    }
+
+    /**
+     * Normalize the query parameters, so that the same parameters in a
+     * different order give the same key.
+     */
+    private static String normalize(@Nullable Object value) {
+        if (value instanceof Map) {
+            Map<String, @Nullable Object> sorted = new TreeMap<>();
+            for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+            }
+            StringBuilder sb = new StringBuilder("{"); //$NON-NLS-1$
+            for (Entry<String, @Nullable Object> entry : sorted.entrySet()) {
+                sb.append(entry.getKey()).append('=').append(normalize(entry.getValue())).append(',');
+            }
+            return sb.append('}').toString();
+        }
+        if (value instanceof Collection) {
+            StringBuilder sb = new StringBuilder("["); //$NON-NLS-1$
+            for (Object element : (Collection<?>) value) {
+                sb.append(normalize(element)).append(',');
+            }
+            return sb.append(']').toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private static int getWeight(@Nullable Object model) {
+        long weight = 1;
+        if (model instanceof TimeGraphModel) {
+            for (ITimeGraphRowModel row : ((TimeGraphModel) model).getRows()) {
+                weight += 1 + row.getStates().size();
+            }
+        } else if (model instanceof ITmfXyModel) {
+            for (ISeriesModel series : ((ITmfXyModel) model).getSeriesData()) {
+                weight += 1 + series.getData().length;
+            }
+        } else if (model instanceof VirtualTableModelWrapper) {
+            for (IVirtualTableLine line : ((VirtualTableModelWrapper) model).getLines()) {
+                weight += 1 + line.getCells().size();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, weight);
+    }
+}
@@ -62,6 +62,7 @@ import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.re
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.PARENT_OUTPUT_ID;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.PROVIDER_CONFIG_NOT_FOUND;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.PROVIDER_NOT_FOUND;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.SERVER_BUSY;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.STY;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.TABLE_TIMES;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.TGR;
@@ -88,6 +89,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -99,6 +101,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -135,6 +140,9 @@ import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.TableColumnHeader;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.TreeModelWrapper;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.VirtualTableModelWrapper;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderAdmissionControl.Ticket;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.BinaryModelResponseWriter;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestCompletionListener;
 import org.eclipse.tracecompass.internal.analysis.timing.core.event.matching.EventMatchingLatencyAnalysis;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableDataProvider;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableModel;
@@ -374,13 +382,14 @@ public class DataProviderService {
     @Path("/XY/{outputId}/xy")
     @Tag(name = X_Y)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, BinaryModelResponseWriter.APPLICATION_TSP_BINARY })
     @Operation(summary = "API to get the XY model", description = "Unique endpoint for all xy models, " +
             "ensures that the same template is followed for all endpoints.", responses = {
                     @ApiResponse(responseCode = "200", description = "Return the queried XYResponse", content = @Content(schema = @Schema(implementation = XYResponse.class))),
                     @ApiResponse(responseCode = "400", description = MISSING_PARAMETERS, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-                    @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+                    @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "503", description = SERVER_BUSY, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     public Response getXY(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
@@ -388,7 +397,8 @@ public class DataProviderService {
             @RequestBody(description = "Query parameters to fetch the XY model. " + TIMERANGE + " " + ITEMS_XY, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX + "," + ITEMS_EX +
                             "}}"), schema = @Schema(implementation = RequestedQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Context HttpHeaders headers) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
@@ -420,8 +430,12 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
             }
 
-            TmfModelResponse<@NonNull ITmfXyModel> response = provider.fetchXY(params, null);
+            ITmfTreeXYDataProvider<@NonNull ITmfTreeDataModel> xyProvider = provider;
+            TmfModelResponse<@NonNull ITmfXyModel> response = DataProviderResponseCache.get(expUUID, outputId, "xy", params, //$NON-NLS-1$
+                    () -> DataProviderAdmissionControl.fetch(expUUID, outputId, "xy", DataProviderAdmissionControl.getSupersedeKey(headers), monitor -> xyProvider.fetchXY(params, monitor))); //$NON-NLS-1$
             return Response.ok(response).build();
+        } catch (RejectedExecutionException e) {
+            return ErrorResponseUtil.newErrorResponse(Status.SERVICE_UNAVAILABLE, SERVER_BUSY);
         }
     }
 
@@ -476,13 +490,14 @@ public class DataProviderService {
     @Path("/genericXY/{outputId}/xy")
     @Tag(name = GXY)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, BinaryModelResponseWriter.APPLICATION_TSP_BINARY })
     @Operation(summary = "API to get the xy model", description = "Unique endpoint for all xy models, " +
             "ensures that the same template is followed for all endpoints.", responses = {
                     @ApiResponse(responseCode = "200", description = "Return the queried xy response", content = @Content(schema = @Schema(implementation = XYResponse.class))),
                     @ApiResponse(responseCode = "400", description = MISSING_PARAMETERS, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-                    @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+                    @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+                    @ApiResponse(responseCode = "503", description = SERVER_BUSY, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
     public Response getGenericXY(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
@@ -490,7 +505,8 @@ public class DataProviderService {
             @RequestBody(description = "Query parameters to fetch the xy model. " + TIMERANGE + " " + ITEMS_XY, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_SAMPLING_EX + "," + ITEMS_EX +
                             "}}"), schema = @Schema(implementation = GenericXYQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Context HttpHeaders headers) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
@@ -516,8 +532,11 @@ public class DataProviderService {
             if (errorMessage != null) {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);            }
 
-            TmfModelResponse<@NonNull ITmfXyModel> response = provider.fetchXY(params, null);
+            TmfModelResponse<@NonNull ITmfXyModel> response = DataProviderResponseCache.get(expUUID, outputId, "genericXY", params, //$NON-NLS-1$
+                    () -> DataProviderAdmissionControl.fetch(expUUID, outputId, "genericXY", DataProviderAdmissionControl.getSupersedeKey(headers), monitor -> provider.fetchXY(params, monitor))); //$NON-NLS-1$
             return Response.ok(response).build();
+        } catch (RejectedExecutionException e) {
+            return ErrorResponseUtil.newErrorResponse(Status.SERVICE_UNAVAILABLE, SERVER_BUSY);
         }
     }
 
@@ -601,12 +620,13 @@ public class DataProviderService {
     @Path("/timeGraph/{outputId}/states")
     @Tag(name = TGR)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, BinaryModelResponseWriter.APPLICATION_TSP_BINARY })
     @Operation(summary = "API to get the Time Graph states", description = "Unique entry point for all TimeGraph states, ensures that the same template is followed for all views", responses = {
             @ApiResponse(responseCode = "200", description = "Returns a list of time graph rows", content = @Content(schema = @Schema(implementation = TimeGraphStatesResponse.class))),
             @ApiResponse(responseCode = "400", description = MISSING_PARAMETERS, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
-            @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = SERVER_BUSY, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public Response getStates(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
@@ -614,7 +634,9 @@ public class DataProviderService {
             @RequestBody(description = "Query parameters to fetch the timegraph states. " + TIMERANGE + " " + ITEMS + " " + FILTER_QUERY_PARAMETERS, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX + "," + ITEMS_EX + "," + FILTER_QUERY_PARAMETERS_EX +
                             "}}"), schema = @Schema(implementation = RequestedQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Context HttpHeaders headers,
+            @Context ContainerRequestContext requestContext) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
@@ -645,8 +667,17 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
             }
 
-            TmfModelResponse<TimeGraphModel> response = provider.fetchRowModel(params, null);
+            String supersedeKey = DataProviderAdmissionControl.getSupersedeKey(headers);
+            if (DataProviderStreamingOutput.isStreamedStates(params) && !BinaryModelResponseWriter.isPreferred(headers)) {
+                Ticket ticket = DataProviderAdmissionControl.admit(expUUID, outputId, "states", supersedeKey); //$NON-NLS-1$
+                RequestCompletionListener.closeOnCompletion(requestContext, ticket);
+                return Response.ok(DataProviderStreamingOutput.states(provider, params, ticket)).build();
+            }
+            TmfModelResponse<TimeGraphModel> response = DataProviderResponseCache.get(expUUID, outputId, "states", params, //$NON-NLS-1$
+                    () -> DataProviderAdmissionControl.fetch(expUUID, outputId, "states", supersedeKey, monitor -> provider.fetchRowModel(params, monitor))); //$NON-NLS-1$
             return Response.ok(response).build();
+        } catch (RejectedExecutionException e) {
+            return ErrorResponseUtil.newErrorResponse(Status.SERVICE_UNAVAILABLE, SERVER_BUSY);
         }
     }
 
@@ -1065,12 +1096,13 @@ public class DataProviderService {
     @Path("/table/{outputId}/lines")
     @Tag(name = VTB)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, BinaryModelResponseWriter.APPLICATION_TSP_BINARY })
     @Operation(summary = "API to get virtual table lines", responses = {
             @ApiResponse(responseCode = "200", description = "Returns a table model with a 2D array of strings and metadata", content = @Content(schema = @Schema(implementation = VirtualTableResponse.class))),
             @ApiResponse(responseCode = "400", description = INVALID_PARAMETERS, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = SERVER_BUSY, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Error reading the experiment", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public Response getLines(
@@ -1081,7 +1113,9 @@ public class DataProviderService {
                             @Content(examples = @ExampleObject("{\"parameters\":{" +
                                     INDEX_EX + COUNT_EX + COLUMNS_EX + EXPRESSIONS_EX + DIRECTION_EX +
                                     "}}"), schema = @Schema(implementation = LinesQueryParameters.class))
-                    }, required = true) QueryParameters queryParameters) {
+                    }, required = true) QueryParameters queryParameters,
+            @Context HttpHeaders headers,
+            @Context ContainerRequestContext requestContext) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
@@ -1105,11 +1139,28 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
             }
 
-            TmfModelResponse<?> response = provider.fetchLines(params, null);
+            String supersedeKey = DataProviderAdmissionControl.getSupersedeKey(headers);
+            if (DataProviderStreamingOutput.isStreamedLines(params) && !BinaryModelResponseWriter.isPreferred(headers)) {
+                Ticket ticket = DataProviderAdmissionControl.admit(expUUID, outputId, "lines", supersedeKey); //$NON-NLS-1$
+                RequestCompletionListener.closeOnCompletion(requestContext, ticket);
+                TmfModelResponse<?> firstResponse = DataProviderStreamingOutput.fetchFirstLines(provider, params, ticket);
+                if (firstResponse.getStatus() == ITmfResponse.Status.FAILED) {
+                    ticket.close();
+                    return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, firstResponse.getStatusMessage());
+                }
+                return Response.ok(DataProviderStreamingOutput.lines(provider, params, firstResponse, ticket)).build();
+            }
+            TmfModelResponse<VirtualTableModelWrapper> response = DataProviderResponseCache.get(expUUID, outputId, "lines", params, //$NON-NLS-1$
+                    () -> DataProviderAdmissionControl.fetch(expUUID, outputId, "lines", supersedeKey, monitor -> { //$NON-NLS-1$
+                        TmfModelResponse<?> linesResponse = provider.fetchLines(params, monitor);
+                        return new TmfModelResponse<>(new VirtualTableModelWrapper((ITmfVirtualTableModel) linesResponse.getModel()), linesResponse.getStatus(), linesResponse.getStatusMessage());
+                    }));
             if (response.getStatus() == ITmfResponse.Status.FAILED) {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, response.getStatusMessage());
             }
-            return Response.ok(new TmfModelResponse<>(new VirtualTableModelWrapper((ITmfVirtualTableModel) response.getModel()), response.getStatus(), response.getStatusMessage())).build();
+            return Response.ok(response).build();
+        } catch (RejectedExecutionException e) {
+            return ErrorResponseUtil.newErrorResponse(Status.SERVICE_UNAVAILABLE, SERVER_BUSY);
         }
     }
 
@@ -1387,6 +1438,7 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, NO_SUCH_CONFIGURATION_TYPE);
             }
             IDataProviderDescriptor returnDescr = configurator.createDataProviderDescriptors(experiment, inputConfig);
+            DataProviderResponseCache.invalidate(expUUID);
             return Response.ok(returnDescr).build();
         } catch (TmfConfigurationException e) {
             return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, e.getMessage());
@@ -1462,6 +1514,7 @@ public class DataProviderService {
 
             // Clean-up configuration
             configurator.removeDataProviderDescriptor(experiment, derivedDescriptor);
+            DataProviderResponseCache.invalidate(expUUID);
 
             return Response.ok(derivedDescriptor).build();
         } catch (TmfConfigurationException e) {
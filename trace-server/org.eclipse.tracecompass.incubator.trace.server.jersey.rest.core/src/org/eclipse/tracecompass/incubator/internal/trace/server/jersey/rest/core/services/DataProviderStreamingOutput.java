@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.REQUESTED_ITEMS_KEY;
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.REQUESTED_TABLE_COUNT_KEY;
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.REQUESTED_TABLE_INDEX_KEY;
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.TABLE_SEARCH_DIRECTION_KEY;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderAdmissionControl.Ticket;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.JacksonObjectMapperProvider;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestMetrics;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.IVirtualTableLine;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphDataProvider;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphEntryModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.tree.ITmfTreeDataModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming outputs for the large time graph states and virtual table lines
+ * responses. The data provider is queried in batches of rows or lines, and
+ * each batch is written to the response as soon as it is fetched, so that only
+ * one batch is kept in memory. The JSON written is the same as the one of the
+ * serialized {@link TmfModelResponse}, with the status written after the
+ * model.
+ * <p>
+ * Since the response is committed with a 200 status before the last batch is
+ * fetched, a batch that fails or is cancelled ends the model and its status is
+ * written in the status of the response, like the buffered time graph states.
+ * The first batch of lines is fetched before the response is committed, so
+ * that a request that fails is answered with the same error as a buffered
+ * lines request. The time spent fetching the later batches is recorded in the
+ * {@link RequestMetrics} as processing time, not serialization time.
+ */
+@SuppressWarnings("restriction")
+public final class DataProviderStreamingOutput {
+
+    /**
+     * The number of rows or lines fetched from the data provider at a time
+     */
+    public static final int BATCH_SIZE = 1000;
+
+    private static final ObjectMapper MAPPER = new JacksonObjectMapperProvider().getContext(Object.class);
+
+    private static final String MODEL = "model"; //$NON-NLS-1$
+    private static final String STATUS = "status"; //$NON-NLS-1$
+    private static final String STATUS_MESSAGE = "statusMessage"; //$NON-NLS-1$
+
+    private DataProviderStreamingOutput() {
+        // Do nothing
+    }
+
+    /**
+     * Merges the status of the responses of the batches, a failed or
+     * cancelled batch wins over a running batch, which wins over a completed
+     * batch. The merge returns false when no more batches should be fetched.
+     */
+    private static final class StatusMerger {
+        private ITmfResponse.Status fStatus = ITmfResponse.Status.COMPLETED;
+        private String fStatusMessage = CommonStatusMessage.COMPLETED;
+
+        public boolean merge(TmfModelResponse<?> response) {
+            ITmfResponse.Status status = response.getStatus();
+            if (status == ITmfResponse.Status.FAILED || status == ITmfResponse.Status.CANCELLED) {
+                fStatus = status;
+                fStatusMessage = response.getStatusMessage();
+                return false;
+            }
+            if (status == ITmfResponse.Status.RUNNING && fStatus == ITmfResponse.Status.COMPLETED) {
+                fStatus = status;
+                fStatusMessage = response.getStatusMessage();
+            }
+            return true;
+        }
+
+        public boolean merge(IProgressMonitor monitor) {
+            if (monitor.isCanceled()) {
+                fStatus = ITmfResponse.Status.CANCELLED;
+                fStatusMessage = CommonStatusMessage.TASK_CANCELLED;
+                return false;
+            }
+            return true;
+        }
+
+        public void write(JsonGenerator gen) throws IOException {
+            gen.writeStringField(STATUS, fStatus.name());
+            gen.writeStringField(STATUS_MESSAGE, fStatusMessage);
+        }
+    }
+
+    /**
+     * Get whether the time graph states request is large enough to be streamed
+     *
+     * @param params
+     *            the validated query parameters
+     * @return true if the response should be streamed
+     */
+    public static boolean isStreamedStates(Map<String, Object> params) {
+        List<Long> items = DataProviderParameterUtils.extractSelectedItems(params);
+        return items != null && items.size() > BATCH_SIZE;
+    }
+
+    /**
+     * Create the streaming output of the time graph states. The requested
+     * items are fetched in batches of {@link #BATCH_SIZE} rows.
+     *
+     * @param provider
+     *            the time graph data provider
+     * @param params
+     *            the validated query parameters
+     * @param ticket
+     *            the ticket of the admitted request, closed once the response
+     *            is written
+     * @return the streaming output
+     */
+    public static StreamingOutput states(ITimeGraphDataProvider<@NonNull ITimeGraphEntryModel> provider, Map<String, Object> params, Ticket ticket) {
+        List<Long> items = DataProviderParameterUtils.extractSelectedItems(params);
+        List<Long> allItems = items != null ? items : new ArrayList<>();
+        return output -> {
+            try (ticket; JsonGenerator gen = MAPPER.getFactory().createGenerator(output)) {
+                StatusMerger status = new StatusMerger();
+                gen.writeStartObject();
+                gen.writeFieldName(MODEL);
+                gen.writeStartObject();
+                gen.writeFieldName("rows"); //$NON-NLS-1$
+                gen.writeStartArray();
+                for (int i = 0; i < allItems.size(); i += BATCH_SIZE) {
+                    if (!status.merge(ticket.getMonitor())) {
+                        break;
+                    }
+                    Map<String, Object> batchParams = new HashMap<>(params);
+                    batchParams.put(REQUESTED_ITEMS_KEY, new ArrayList<>(allItems.subList(i, Math.min(i + BATCH_SIZE, allItems.size()))));
+                    TmfModelResponse<TimeGraphModel> response = RequestMetrics.measureFetch(() -> provider.fetchRowModel(batchParams, ticket.getMonitor()));
+                    TimeGraphModel model = response.getModel();
+                    if (model != null) {
+                        for (ITimeGraphRowModel row : model.getRows()) {
+                            gen.writeObject(row);
+                        }
+                    }
+                    gen.flush();
+                    if (!status.merge(response)) {
+                        break;
+                    }
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+                status.write(gen);
+                gen.writeEndObject();
+            }
+        };
+    }
+
+    /**
+     * Get whether the virtual table lines request is large enough to be
+     * streamed. Only the requests by index, without search direction, are
+     * streamed.
+     *
+     * @param params
+     *            the validated query parameters
+     * @return true if the response should be streamed
+     */
+    public static boolean isStreamedLines(Map<String, Object> params) {
+        return params.get(REQUESTED_TABLE_INDEX_KEY) instanceof Number &&
+                !params.containsKey(TABLE_SEARCH_DIRECTION_KEY) &&
+                params.get(REQUESTED_TABLE_COUNT_KEY) instanceof Number &&
+                ((Number) params.get(REQUESTED_TABLE_COUNT_KEY)).longValue() > BATCH_SIZE;
+    }
+
+    /**
+     * Fetch the first batch of the virtual table lines, before the response is
+     * committed
+     *
+     * @param provider
+     *            the virtual table data provider
+     * @param params
+     *            the validated query parameters
+     * @param ticket
+     *            the ticket of the admitted request
+     * @return the response of the first batch of lines
+     */
+    public static TmfModelResponse<?> fetchFirstLines(ITmfVirtualTableDataProvider<? extends IVirtualTableLine, ? extends ITmfTreeDataModel> provider, Map<String, Object> params, Ticket ticket) {
+        long startIndex = ((Number) params.get(REQUESTED_TABLE_INDEX_KEY)).longValue();
+        long count = ((Number) params.get(REQUESTED_TABLE_COUNT_KEY)).longValue();
+        return provider.fetchLines(getLinesParams(params, startIndex, (int) Math.min(count, BATCH_SIZE)), ticket.getMonitor());
+    }
+
+    /**
+     * Create the streaming output of the virtual table lines. The requested
+     * lines are fetched in batches of {@link #BATCH_SIZE} lines, each batch
+     * starting after the last line of the previous batch.
+     *
+     * @param provider
+     *            the virtual table data provider
+     * @param params
+     *            the validated query parameters
+     * @param firstResponse
+     *            the response of the first batch, from
+     *            {@link #fetchFirstLines}
+     * @param ticket
+     *            the ticket of the admitted request, closed once the response
+     *            is written
+     * @return the streaming output
+     */
+    public static StreamingOutput lines(ITmfVirtualTableDataProvider<? extends IVirtualTableLine, ? extends ITmfTreeDataModel> provider, Map<String, Object> params, TmfModelResponse<?> firstResponse, Ticket ticket) {
+        long startIndex = ((Number) params.get(REQUESTED_TABLE_INDEX_KEY)).longValue();
+        long count = ((Number) params.get(REQUESTED_TABLE_COUNT_KEY)).longValue();
+        return output -> {
+            try (ticket; JsonGenerator gen = MAPPER.getFactory().createGenerator(output)) {
+                StatusMerger status = new StatusMerger();
+                @Nullable List<Long> columnIds = null;
+                long lowIndex = startIndex;
+                long size = 0;
+                long index = startIndex;
+                long remaining = count;
+                int batchCount = (int) Math.min(remaining, BATCH_SIZE);
+                TmfModelResponse<?> response = firstResponse;
+                gen.writeStartObject();
+                gen.writeFieldName(MODEL);
+                gen.writeStartObject();
+                gen.writeFieldName("lines"); //$NON-NLS-1$
+                gen.writeStartArray();
+                while (true) {
+                    ITmfVirtualTableModel<?> model = (ITmfVirtualTableModel<?>) response.getModel();
+                    int nbLines = 0;
+                    if (model != null) {
+                        if (columnIds == null) {
+                            columnIds = model.getColumnIds();
+                            lowIndex = model.getIndex();
+                        }
+                        size = model.getSize();
+                        for (IVirtualTableLine line : model.getLines()) {
+                            gen.writeObject(line);
+                            index = line.getIndex() + 1;
+                            nbLines++;
+                        }
+                    }
+                    gen.flush();
+                    remaining -= nbLines;
+                    if (!status.merge(response) || nbLines < batchCount || remaining <= 0 || !status.merge(ticket.getMonitor())) {
+                        break;
+                    }
+                    batchCount = (int) Math.min(remaining, BATCH_SIZE);
+                    Map<String, Object> batchParams = getLinesParams(params, index, batchCount);
+                    response = RequestMetrics.measureFetch(() -> provider.fetchLines(batchParams, ticket.getMonitor()));
+                }
+                gen.writeEndArray();
+                gen.writeObjectField("columnIds", columnIds != null ? columnIds : new ArrayList<>()); //$NON-NLS-1$
+                gen.writeNumberField("lowIndex", lowIndex); //$NON-NLS-1$
+                gen.writeNumberField("size", size); //$NON-NLS-1$
+                gen.writeEndObject();
+                status.write(gen);
+                gen.writeEndObject();
+            }
+        };
+    }
+
+    private static Map<String, Object> getLinesParams(Map<String, Object> params, long index, int count) {
+        Map<String, Object> batchParams = new HashMap<>(params);
+        batchParams.put(REQUESTED_TABLE_INDEX_KEY, index);
+        batchParams.put(REQUESTED_TABLE_COUNT_KEY, count);
+        return batchParams;
+    }
+}
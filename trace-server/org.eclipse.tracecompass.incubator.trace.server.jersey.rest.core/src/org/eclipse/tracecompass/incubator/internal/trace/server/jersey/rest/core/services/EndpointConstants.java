@@ -55,6 +55,9 @@ public final class EndpointConstants {
     /** Error message returned for a request for trace that doesn't exist */
     public static final String NO_SUCH_TRACE = "No such trace"; //$NON-NLS-1$
 
+    /** Error message returned for a request that is rejected by the admission control */
+    public static final String SERVER_BUSY = "Too many concurrent requests"; //$NON-NLS-1$
+
     /** Error message returned for a request with missing output Id */
     public static final String MISSING_OUTPUTID = "Missing parameter outputId"; //$NON-NLS-1$
 
@@ -100,7 +100,8 @@ public final class Experiment implements Serializable {
     }
 
     /**
-     * Constructs an experiment model from its resource
+     * Constructs an experiment model from its resource. The indexing status is
+     * RUNNING if the experiment is being opened, otherwise CLOSED.
      *
      * @param experimentResource
      *            experiment resource
@@ -116,7 +117,7 @@ public final class Experiment implements Serializable {
                 0L,
                 0L,
                 0L,
-                "CLOSED", //$NON-NLS-1$
+                ExperimentManagerService.isOpening(expUUID) ? "RUNNING" : "CLOSED", //$NON-NLS-1$ //$NON-NLS-2$
                 traces);
     }
 
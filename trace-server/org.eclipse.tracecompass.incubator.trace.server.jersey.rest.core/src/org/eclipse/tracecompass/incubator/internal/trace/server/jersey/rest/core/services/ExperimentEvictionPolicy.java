@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Policy that evicts opened experiments from memory when they have been idle
+ * for too long, or when the used heap exceeds a budget. Evicted experiments
+ * and their data providers are disposed, but their resources are kept, so
+ * they are re-opened lazily by
+ * {@link ExperimentManagerService#getExperimentByUUID(UUID)}. Experiments
+ * that are in use by a request are only evicted once they are released.
+ */
+public final class ExperimentEvictionPolicy {
+
+    private static final long MIN_CHECK_PERIOD = 1000;
+    private static final long MAX_CHECK_PERIOD = 60000;
+    private static final int MAX_EVICTION_RECORDS = 100;
+
+    private static final String IDLE_REASON = "idle"; //$NON-NLS-1$
+    private static final String HEAP_REASON = "heap"; //$NON-NLS-1$
+
+    private static final AtomicLong EVICTION_COUNT = new AtomicLong();
+    private static final Deque<Map<String, Object>> EVICTIONS = new ArrayDeque<>();
+
+    private static @Nullable ScheduledExecutorService fExecutor = null;
+    private static volatile long fIdleTimeout = 0;
+    private static volatile long fHeapBudget = 0;
+    private static volatile long fCheckPeriod = MAX_CHECK_PERIOD;
+
+    private ExperimentEvictionPolicy() {
+        // Do nothing
+    }
+
+    /**
+     * Start evicting experiments. If both the idle timeout and the heap budget
+     * are 0, no experiment is ever evicted.
+     *
+     * @param idleTimeout
+     *            time in milliseconds after which an experiment that was not
+     *            accessed is evicted, or 0 to never evict idle experiments
+     * @param heapBudget
+     *            heap budget in bytes above which the least recently used
+     *            experiments are evicted, or 0 for no budget
+     */
+    public static synchronized void start(long idleTimeout, long heapBudget) {
+        stop();
+        fIdleTimeout = idleTimeout;
+        fHeapBudget = heapBudget;
+        if (idleTimeout <= 0 && heapBudget <= 0) {
+            return;
+        }
+        fCheckPeriod = idleTimeout > 0 ? Math.max(MIN_CHECK_PERIOD, Math.min(MAX_CHECK_PERIOD, idleTimeout / 2)) : MIN_CHECK_PERIOD;
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Experiment Eviction"); //$NON-NLS-1$
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(ExperimentEvictionPolicy::checkExperiments, fCheckPeriod, fCheckPeriod, TimeUnit.MILLISECONDS);
+        fExecutor = executor;
+    }
+
+    /**
+     * Stop evicting experiments
+     */
+    public static synchronized void stop() {
+        ScheduledExecutorService executor = fExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            fExecutor = null;
+        }
+    }
+
+    private static void checkExperiments() {
+        try {
+            long now = System.currentTimeMillis();
+            List<Entry<UUID, Long>> lastAccessTimes = new ArrayList<>(ExperimentManagerService.getLastAccessTimes().entrySet());
+            lastAccessTimes.sort(Comparator.comparing(Entry::getValue));
+            if (fIdleTimeout > 0) {
+                for (Entry<UUID, Long> entry : lastAccessTimes) {
+                    if (now - entry.getValue() >= fIdleTimeout) {
+                        evict(entry.getKey(), fIdleTimeout, IDLE_REASON);
+                    }
+                }
+            }
+            if (fHeapBudget > 0 && getUsedHeap() > fHeapBudget) {
+                /*
+                 * Evict only the least recently used experiment that was not
+                 * accessed during the last period, the memory is only
+                 * reclaimed by the garbage collector before the next check.
+                 */
+                for (Entry<UUID, Long> entry : lastAccessTimes) {
+                    if (evict(entry.getKey(), fCheckPeriod, HEAP_REASON)) {
+                        break;
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            Activator.getInstance().logError("Error evicting experiments", e); //$NON-NLS-1$
+        }
+    }
+
+    private static boolean evict(UUID expUUID, long minIdleTime, String reason) {
+        String name = ExperimentManagerService.evictExperiment(expUUID, minIdleTime);
+        if (name == null) {
+            return false;
+        }
+        EVICTION_COUNT.incrementAndGet();
+        synchronized (EVICTIONS) {
+            if (EVICTIONS.size() >= MAX_EVICTION_RECORDS) {
+                EVICTIONS.removeFirst();
+            }
+            EVICTIONS.addLast(ImmutableMap.<String, Object> of(
+                    "UUID", expUUID.toString(), //$NON-NLS-1$
+                    "name", name, //$NON-NLS-1$
+                    "reason", reason, //$NON-NLS-1$
+                    "time", System.currentTimeMillis())); //$NON-NLS-1$
+        }
+        Activator.getInstance().logInfo(String.format("Evicted experiment %s (%s), reason: %s", name, expUUID, reason)); //$NON-NLS-1$
+        return true;
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Get the status of the eviction policy, with the most recent evictions
+     *
+     * @return the status as a map, to be serialized
+     */
+    public static Map<String, Object> getStatus() {
+        List<Map<String, Object>> evictions;
+        synchronized (EVICTIONS) {
+            evictions = new ArrayList<>(EVICTIONS);
+        }
+        return ImmutableMap.<String, Object> builder()
+                .put("openedExperiments", ExperimentManagerService.getLastAccessTimes().size()) //$NON-NLS-1$
+                .put("evictedExperiments", EVICTION_COUNT.get()) //$NON-NLS-1$
+                .put("idleTimeout", fIdleTimeout) //$NON-NLS-1$
+                .put("heapBudget", fHeapBudget) //$NON-NLS-1$
+                .put("heapUsed", getUsedHeap()) //$NON-NLS-1$
+                .put("evictions", evictions) //$NON-NLS-1$
+                .build();
+    }
+}
@@ -32,8 +32,17 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -103,7 +112,14 @@ public class ExperimentManagerService {
     private static final Map<UUID, List<UUID>> TRACE_UUIDS = Collections.synchronizedMap(new HashMap<>());
     private static final Map<UUID, Map<UUID, ITmfTrace>> TRACE_INSTANCES = Collections.synchronizedMap(new HashMap<>());
     private static final Map<UUID, IResource> EXPERIMENT_RESOURCES = Collections.synchronizedMap(initExperimentResources());
-    private static final Map<UUID, TmfExperiment> EXPERIMENTS = Collections.synchronizedMap(new HashMap<>());
+    private static final Map<UUID, TmfExperiment> EXPERIMENTS = new ConcurrentHashMap<>();
+    private static final Map<UUID, Object> EXPERIMENT_LOCKS = new ConcurrentHashMap<>();
+    private static final Map<UUID, Long> LAST_ACCESS_TIMES = new ConcurrentHashMap<>();
+    private static final Set<UUID> OPENING_EXPERIMENTS = ConcurrentHashMap.newKeySet();
+    private static final Set<UUID> FAILED_EXPERIMENTS = ConcurrentHashMap.newKeySet();
+    private static final Map<UUID, Integer> IN_USE_COUNTS = new ConcurrentHashMap<>();
+    private static final ExecutorService OPEN_EXECUTOR = createExecutor(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), "Experiment Opening"); //$NON-NLS-1$
+    private static final ExecutorService TRACE_INIT_EXECUTOR = createExecutor(Runtime.getRuntime().availableProcessors(), "Trace Initialization"); //$NON-NLS-1$
     private static final Map<UUID, TraceAnnotationProvider> TRACE_ANNOTATION_PROVIDERS = Collections.synchronizedMap(new HashMap<>());
 
     private static final String EXPERIMENTS_FOLDER = "Experiments"; //$NON-NLS-1$
@@ -111,6 +127,7 @@ public class ExperimentManagerService {
     private static final String SUFFIX = "_exp"; //$NON-NLS-1$
     private static final String BOOKMARKS_HIDDEN_FILE = ".bookmarks"; //$NON-NLS-1$
     private static final String EXPERIMENT_EDITOR_INPUT_TYPE = "editorInputType.experiment"; //$NON-NLS-1$
+    private static final String FAILED_TO_INSTANTIATE = "Failed to instantiate experiment"; //$NON-NLS-1$
 
     /**
      * Getter for the list of experiments from the trace manager
@@ -137,6 +154,16 @@ public class ExperimentManagerService {
         }
     }
 
+    private static ExecutorService createExecutor(int nbThreads, String name) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(nbThreads, nbThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     private static Map<UUID, IResource> initExperimentResources() {
         IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
         IProject project = root.getProject(TmfCommonConstants.DEFAULT_TRACE_PROJECT_NAME);
@@ -178,7 +205,9 @@ public class ExperimentManagerService {
     }
 
     /**
-     * Getter for an experiment by {@link UUID}.
+     * Getter for an experiment by {@link UUID}. If the experiment is not
+     * opened, it is opened in the background and the returned experiment has
+     * an indexing status of RUNNING until it is opened.
      *
      * @param expUUID
      *            UUID of the experiment to search for
@@ -190,14 +219,24 @@ public class ExperimentManagerService {
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(summary = "Get the model object for an experiment", responses = {
             @ApiResponse(responseCode = "200", description = "Return the experiment model", content = @Content(schema = @Schema(implementation = org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.Experiment.class))),
-            @ApiResponse(responseCode = "404", description = NO_SUCH_EXPERIMENT, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            @ApiResponse(responseCode = "404", description = NO_SUCH_EXPERIMENT, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Internal trace-server error while trying to open the experiment", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public Response getExperiment(@Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID) {
-        TmfExperiment experiment = getExperimentByUUID(expUUID);
+        TmfExperiment experiment = EXPERIMENTS.get(expUUID);
         if (experiment != null) {
+            LAST_ACCESS_TIMES.put(expUUID, System.currentTimeMillis());
             return Response.ok(Experiment.from(experiment, expUUID)).build();
         }
-        return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, "No experiment found with uuid " + expUUID); //$NON-NLS-1$
+        IResource resource = EXPERIMENT_RESOURCES.get(expUUID);
+        if (resource == null) {
+            return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, "No experiment found with uuid " + expUUID); //$NON-NLS-1$
+        }
+        // The failure is kept until the experiment is posted again or deleted
+        if (FAILED_EXPERIMENTS.contains(expUUID)) {
+            return ErrorResponseUtil.newErrorResponse(Status.INTERNAL_SERVER_ERROR, FAILED_TO_INSTANTIATE);
+        }
+        return Response.ok(openExperimentAsync(expUUID, resource)).build();
     }
 
     /**
@@ -220,22 +259,33 @@ public class ExperimentManagerService {
         if (resource == null) {
             return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, "No experiment found with uuid " + expUUID); //$NON-NLS-1$
         }
-        TmfExperiment experiment = EXPERIMENTS.remove(expUUID);
-        Experiment experimentModel = experiment != null ? Experiment.from(experiment, expUUID) : Experiment.from(resource, expUUID);
+        TmfExperiment experiment;
+        Experiment experimentModel;
+        Object lock = EXPERIMENT_LOCKS.computeIfAbsent(expUUID, k -> new Object());
+        synchronized (lock) {
+            // Wait for the experiment to be opened if it is being opened
+            experiment = EXPERIMENTS.remove(expUUID);
+            experimentModel = experiment != null ? Experiment.from(experiment, expUUID) : Experiment.from(resource, expUUID);
+            TRACE_ANNOTATION_PROVIDERS.remove(expUUID);
+            TRACE_INSTANCES.remove(expUUID);
+            LAST_ACCESS_TIMES.remove(expUUID);
+        }
         if (experiment != null) {
             TmfSignalManager.dispatchSignal(new TmfTraceClosedSignal(this, experiment));
             experiment.dispose();
         }
-        TRACE_ANNOTATION_PROVIDERS.remove(expUUID);
         TRACE_UUIDS.remove(expUUID);
-        TRACE_INSTANCES.remove(expUUID);
+        /*
+         * The lock is kept, removing it would let a concurrent request create a
+         * second lock for the same experiment.
+         */
+        FAILED_EXPERIMENTS.remove(expUUID);
+        DataProviderResponseCache.invalidate(expUUID);
         boolean deleteResources = true;
-        synchronized (EXPERIMENTS) {
-            for (TmfExperiment e : EXPERIMENTS.values()) {
-                if (resource.equals(e.getResource())) {
-                    deleteResources = false;
-                    break;
-                }
+        for (TmfExperiment e : EXPERIMENTS.values()) {
+            if (resource.equals(e.getResource())) {
+                deleteResources = false;
+                break;
             }
         }
         if (deleteResources) {
@@ -266,7 +316,9 @@ public class ExperimentManagerService {
      *            - traces -> List of UUID strings of the traces to add to the experiment
      *
      * @return no content response if one of the trace {@link UUID}s does not map to
-     *         any trace.
+     *         any trace. Otherwise, the experiment is opened in the background
+     *         and the returned experiment has an indexing status of RUNNING
+     *         until it is opened.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
@@ -350,12 +402,81 @@ public class ExperimentManagerService {
 
         TRACE_UUIDS.put(expUUID, traceUUIDs);
         EXPERIMENT_RESOURCES.put(expUUID, resource);
-        TmfExperiment experiment = createExperimentInstance(expUUID);
-        if (experiment == null) {
-            return ErrorResponseUtil.newErrorResponse(Status.INTERNAL_SERVER_ERROR, "Failed to instantiate experiment"); //$NON-NLS-1$
+        FAILED_EXPERIMENTS.remove(expUUID);
+        return Response.ok(openExperimentAsync(expUUID, resource)).build();
+    }
+
+    /**
+     * Open an experiment in the background, if it is not already opened or
+     * being opened.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     * @param resource
+     *            the experiment resource
+     * @return the experiment model, from the experiment instance if it is
+     *         already opened, otherwise from its resource
+     */
+    private static Experiment openExperimentAsync(UUID expUUID, IResource resource) {
+        if (!EXPERIMENTS.containsKey(expUUID) && OPENING_EXPERIMENTS.add(expUUID)) {
+            OPEN_EXECUTOR.execute(() -> {
+                try {
+                    if (openExperiment(expUUID) == null) {
+                        setFailed(expUUID);
+                    }
+                } catch (RuntimeException e) {
+                    Activator.getInstance().logError(FAILED_TO_INSTANTIATE, e);
+                    setFailed(expUUID);
+                } finally {
+                    OPENING_EXPERIMENTS.remove(expUUID);
+                }
+            });
+        }
+        TmfExperiment experiment = EXPERIMENTS.get(expUUID);
+        if (experiment != null) {
+            return Experiment.from(experiment, expUUID);
         }
+        return Experiment.from(resource, expUUID);
+    }
+
+    /**
+     * Mark an experiment as failed to open, unless it was deleted while it was
+     * being opened. The delete removes the experiment resource before it takes
+     * the experiment lock, and clears the failure once it released it.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     */
+    private static void setFailed(UUID expUUID) {
+        Object lock = EXPERIMENT_LOCKS.computeIfAbsent(expUUID, k -> new Object());
+        synchronized (lock) {
+            if (EXPERIMENT_RESOURCES.containsKey(expUUID)) {
+                FAILED_EXPERIMENTS.add(expUUID);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the given experiment is being opened in the background
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     * @return true if the experiment is being opened
+     */
+    public static boolean isOpening(UUID expUUID) {
+        return OPENING_EXPERIMENTS.contains(expUUID);
+    }
 
-        return Response.ok(Experiment.from(experiment, expUUID)).build();
+    /**
+     * Returns true if the given experiment failed to open in the background.
+     * The failure is kept until the experiment is posted again or deleted.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     * @return true if the experiment failed to open
+     */
+    public static boolean isFailed(UUID expUUID) {
+        return FAILED_EXPERIMENTS.contains(expUUID);
     }
 
     private static @Nullable TmfExperiment createExperimentInstance(UUID expUUID) {
@@ -368,21 +489,19 @@ public class ExperimentManagerService {
         createSupplementaryFolder(resource);
 
         // Instantiate the experiment and return it
-        Map<UUID, ITmfTrace> uuidToTraceInstances = new LinkedHashMap<>();
-        for (UUID uuid : traceUUIDs) {
-            ITmfTrace trace = TraceManagerService.createTraceInstance(uuid);
-            uuidToTraceInstances.put(uuid, trace);
+        Map<UUID, ITmfTrace> uuidToTraceInstances = createTraceInstances(traceUUIDs);
+        if (uuidToTraceInstances == null) {
+            return null;
         }
         // Determine cache size for experiments
         int cacheSize = Integer.MAX_VALUE;
         for (ITmfTrace trace : uuidToTraceInstances.values()) {
             cacheSize = Math.min(cacheSize, trace.getCacheSize());
         }
-        TmfExperiment experiment = null;
         try {
             ITmfTrace[] traces = uuidToTraceInstances.values().toArray(new ITmfTrace[0]);
             String experimentTypeId = getOrDetectExerimentType(resource, traces);
-            experiment = TmfTraceType.instantiateExperiment(experimentTypeId);
+            TmfExperiment experiment = TmfTraceType.instantiateExperiment(experimentTypeId);
             if (experiment != null) {
                 experiment.initExperiment(ITmfEvent.class, resource.getLocation().toOSString(), traces, cacheSize, resource, experimentTypeId);
                 experiment.indexTrace(false);
@@ -393,15 +512,62 @@ public class ExperimentManagerService {
 
                 TmfSignalManager.dispatchSignal(new TmfTraceOpenedSignal(ExperimentManagerService.class, experiment, createBookmarksFile(resource)));
 
-                EXPERIMENTS.put(expUUID, experiment);
                 TRACE_INSTANCES.put(expUUID, uuidToTraceInstances);
                 TRACE_ANNOTATION_PROVIDERS.put(expUUID, new TraceAnnotationProvider(experiment));
+                // Publish the experiment last, lookups of opened experiments are lock-free
+                EXPERIMENTS.put(expUUID, experiment);
+                FAILED_EXPERIMENTS.remove(expUUID);
                 return experiment;
             }
         } catch (CoreException e) {
             Activator.getInstance().logWarning("Error instantiating experiment"); //$NON-NLS-1$
         }
-        return experiment;
+        // No experiment owns the traces, dispose them
+        uuidToTraceInstances.values().forEach(ITmfTrace::dispose);
+        return null;
+    }
+
+    /**
+     * Instantiate the traces of an experiment in parallel, on a bounded thread
+     * pool. The returned map keeps the order of the trace {@link UUID}s.
+     *
+     * @param traceUUIDs
+     *            the trace {@link UUID}s
+     * @return the map of trace {@link UUID} to trace instance, or null if a
+     *         trace could not be instantiated
+     */
+    private static @Nullable Map<UUID, ITmfTrace> createTraceInstances(List<UUID> traceUUIDs) {
+        Map<UUID, Future<@Nullable ITmfTrace>> futures = new LinkedHashMap<>();
+        for (UUID uuid : traceUUIDs) {
+            if (!futures.containsKey(uuid)) {
+                futures.put(uuid, TRACE_INIT_EXECUTOR.submit(() -> TraceManagerService.createTraceInstance(uuid)));
+            }
+        }
+        Map<UUID, ITmfTrace> uuidToTraceInstances = new LinkedHashMap<>();
+        boolean failed = false;
+        for (Entry<UUID, Future<@Nullable ITmfTrace>> entry : futures.entrySet()) {
+            try {
+                ITmfTrace trace = entry.getValue().get();
+                if (trace != null) {
+                    uuidToTraceInstances.put(entry.getKey(), trace);
+                } else {
+                    failed = true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(true);
+                failed = true;
+            } catch (ExecutionException e) {
+                Activator.getInstance().logError("Failed to create trace instance for " + entry.getKey(), e); //$NON-NLS-1$
+                failed = true;
+            }
+        }
+        if (failed) {
+            Activator.getInstance().logWarning("Error instantiating traces of experiment"); //$NON-NLS-1$
+            uuidToTraceInstances.values().forEach(ITmfTrace::dispose);
+            return null;
+        }
+        return uuidToTraceInstances;
     }
 
     /**
@@ -542,19 +708,118 @@ public class ExperimentManagerService {
     /**
      * Try and find an experiment with the queried UUID in the experiment
      * manager.
+     * <p>
+     * Lookups of already opened experiments do not lock. If the experiment
+     * needs to be instantiated, only one thread creates it while the other
+     * threads requesting the same experiment wait for the result. Requests on
+     * other experiments are not blocked.
      *
      * @param expUUID
      *            queried {@link UUID}
      * @return the experiment or null if none match.
      */
-    public static synchronized @Nullable TmfExperiment getExperimentByUUID(UUID expUUID) {
+    public static @Nullable TmfExperiment getExperimentByUUID(UUID expUUID) {
         TmfExperiment experiment = EXPERIMENTS.get(expUUID);
-        if (experiment == null) {
-            experiment = createExperimentInstance(expUUID);
+        if (experiment != null) {
+            LAST_ACCESS_TIMES.put(expUUID, System.currentTimeMillis());
+            return experiment;
+        }
+        return openExperiment(expUUID);
+    }
+
+    private static @Nullable TmfExperiment openExperiment(UUID expUUID) {
+        TmfExperiment experiment;
+        Object lock = EXPERIMENT_LOCKS.computeIfAbsent(expUUID, k -> new Object());
+        synchronized (lock) {
+            experiment = EXPERIMENTS.get(expUUID);
+            if (experiment == null) {
+                experiment = createExperimentInstance(expUUID);
+            }
+            if (experiment != null) {
+                LAST_ACCESS_TIMES.put(expUUID, System.currentTimeMillis());
+            }
         }
         return experiment;
     }
 
+    /**
+     * Evict an opened experiment from memory. The experiment and its data
+     * providers are disposed, but the experiment resource is kept so that it is
+     * re-opened on the next call to {@link #getExperimentByUUID(UUID)}. An
+     * experiment that is in use by a request is not evicted.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     * @param minIdleTime
+     *            minimum time in milliseconds since the last access to the
+     *            experiment for it to be evicted
+     * @return the name of the evicted experiment, or null if it was not evicted
+     */
+    static @Nullable String evictExperiment(UUID expUUID, long minIdleTime) {
+        Object lock = EXPERIMENT_LOCKS.computeIfAbsent(expUUID, k -> new Object());
+        synchronized (lock) {
+            Long lastAccessTime = LAST_ACCESS_TIMES.get(expUUID);
+            if (lastAccessTime != null && System.currentTimeMillis() - lastAccessTime < minIdleTime) {
+                return null;
+            }
+            TmfExperiment experiment = EXPERIMENTS.remove(expUUID);
+            if (experiment == null) {
+                LAST_ACCESS_TIMES.remove(expUUID);
+                return null;
+            }
+            /*
+             * Requests mark the experiment as in use before looking it up
+             * without lock, so the count is checked once the experiment is no
+             * longer published.
+             */
+            if (IN_USE_COUNTS.containsKey(expUUID)) {
+                EXPERIMENTS.put(expUUID, experiment);
+                return null;
+            }
+            LAST_ACCESS_TIMES.remove(expUUID);
+            TRACE_ANNOTATION_PROVIDERS.remove(expUUID);
+            TRACE_INSTANCES.remove(expUUID);
+            DataProviderResponseCache.invalidate(expUUID);
+            // The data providers are disposed when the experiment is closed
+            TmfSignalManager.dispatchSignal(new TmfTraceClosedSignal(ExperimentManagerService.class, experiment));
+            experiment.dispose();
+            return experiment.getName();
+        }
+    }
+
+    /**
+     * Mark an experiment as in use by a request, an experiment in use is not
+     * evicted. Each call must be followed by a call to
+     * {@link #releaseExperiment(UUID)} once the request is completed.
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     */
+    public static void retainExperiment(UUID expUUID) {
+        IN_USE_COUNTS.merge(expUUID, 1, Integer::sum);
+    }
+
+    /**
+     * Release an experiment that was marked as in use by
+     * {@link #retainExperiment(UUID)}
+     *
+     * @param expUUID
+     *            the experiment {@link UUID}
+     */
+    public static void releaseExperiment(UUID expUUID) {
+        IN_USE_COUNTS.computeIfPresent(expUUID, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Get the last access time of the opened experiments
+     *
+     * @return the map of experiment {@link UUID} to last access time in
+     *         milliseconds
+     */
+    static Map<UUID, Long> getLastAccessTimes() {
+        return Collections.unmodifiableMap(LAST_ACCESS_TIMES);
+    }
+
     /**
      * Get the list of trace UUIDs of an experiment from the experiment manager.
      *
@@ -613,6 +878,10 @@ public class ExperimentManagerService {
             }
         }
         EXPERIMENTS.clear();
+        DataProviderResponseCache.invalidateAll();
+        EXPERIMENT_LOCKS.clear();
+        LAST_ACCESS_TIMES.clear();
+        FAILED_EXPERIMENTS.clear();
         TRACE_UUIDS.clear();
         TRACE_INSTANCES.clear();
         EXPERIMENT_RESOURCES.clear();
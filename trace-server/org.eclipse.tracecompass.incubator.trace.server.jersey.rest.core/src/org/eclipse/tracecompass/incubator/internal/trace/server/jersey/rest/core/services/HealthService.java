@@ -54,4 +54,50 @@ public class HealthService {
         // If the server can answer this call, it is up!!
         return Response.ok(ImmutableMap.of(STATUS_KEY, ServerStatus.Status.UP.name())).build();
     }
+
+    /**
+     * Getter for the memory status, with the experiments evicted from memory
+     *
+     * @return the memory status
+     */
+    @GET
+    @Path("/memory")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the memory status of this server, with the experiments that were evicted from memory", responses = {
+            @ApiResponse(responseCode = "200", description = "Returns the memory status", content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public Response getMemoryStatus() {
+        return Response.ok(ExperimentEvictionPolicy.getStatus()).build();
+    }
+
+    /**
+     * Getter for the statistics of the data provider response cache
+     *
+     * @return the cache statistics
+     */
+    @GET
+    @Path("/cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the statistics of the data provider response cache, with its hits and misses", responses = {
+            @ApiResponse(responseCode = "200", description = "Returns the cache statistics", content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public Response getCacheStatus() {
+        return Response.ok(DataProviderResponseCache.getStatus()).build();
+    }
+
+    /**
+     * Getter for the status of the admission control of the data provider
+     * requests
+     *
+     * @return the admission control status
+     */
+    @GET
+    @Path("/requests")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the status of the admission control, with the active, queued, rejected and superseded data provider requests", responses = {
+            @ApiResponse(responseCode = "200", description = "Returns the admission control status", content = @Content(schema = @Schema(implementation = Object.class)))
+    })
+    public Response getRequestsStatus() {
+        return Response.ok(DataProviderAdmissionControl.getStatus()).build();
+    }
 }
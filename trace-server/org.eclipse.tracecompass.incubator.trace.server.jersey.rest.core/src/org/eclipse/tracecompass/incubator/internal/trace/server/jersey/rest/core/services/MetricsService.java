@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.ErrorResponse;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.RequestMetrics;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Service to scrape the request metrics of the server
+ */
+@Path("/metrics")
+@Tag(name = EndpointConstants.DIA)
+public class MetricsService {
+
+    private static final String TEXT_FORMAT = "text/plain; version=0.0.4; charset=utf-8"; //$NON-NLS-1$
+    private static final String METRICS_DISABLED = "Metrics are disabled"; //$NON-NLS-1$
+
+    /**
+     * Getter for the request metrics, in the Prometheus text exposition format
+     *
+     * @return the metrics
+     */
+    @GET
+    @Produces(TEXT_FORMAT)
+    @Operation(summary = "Get the request metrics of the server, with the latency, processing time, serialization time and size of the responses per endpoint and output, in the Prometheus text format", responses = {
+            @ApiResponse(responseCode = "200", description = "Returns the metrics", content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "404", description = METRICS_DISABLED, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Response getMetrics() {
+        if (!RequestMetrics.isEnabled()) {
+            return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, METRICS_DISABLED);
+        }
+        return Response.ok(RequestMetrics.write()).build();
+    }
+}
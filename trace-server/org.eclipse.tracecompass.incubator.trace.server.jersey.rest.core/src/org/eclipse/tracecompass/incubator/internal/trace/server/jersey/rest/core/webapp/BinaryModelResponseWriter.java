@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.VirtualTableModelWrapper;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.IVirtualTableLine;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.VirtualTableCell;
+import org.eclipse.tracecompass.tmf.core.model.ISampling;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Categories;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Range;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Ranges;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Timestamps;
+import org.eclipse.tracecompass.tmf.core.model.OutputElementStyle;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.TmfXYAxisDescription;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+/**
+ * Writes the time graph states, XY and virtual table lines responses in a
+ * compact binary format, selected by the client with the
+ * {@value #APPLICATION_TSP_BINARY} Accept header.
+ * <p>
+ * The models are written column by column, without field names. Unsigned
+ * integers are LEB128 variable length integers (varint), signed integers are
+ * zigzag encoded varints (svarint), doubles are 8 bytes big endian and strings
+ * are a varint of the UTF-8 length plus one (0 for null) followed by the UTF-8
+ * bytes. Timestamps are delta encoded:
+ *
+ * <pre>
+ * response := "TSPB" version:u8 kind:u8 status:string statusMessage:string model
+ * kind 0   := no model
+ * kind 1   := rowCount:varint (entryId:svarint stateCount:varint state*)*
+ *   state  := (start - previous end):svarint duration:svarint label:string style tags:varint
+ *   style  := 0:u8 | 1:u8 parentKey:string valueCount:varint (key:string value)*
+ *   value  := 0:u8 string | 1:u8 svarint | 2:u8 double
+ * kind 2   := title:string seriesCount:varint series*
+ *   series := seriesId:svarint seriesName:string sampling yCount:varint double* type:string xAxis yAxis
+ *   sampling := 0:u8 count:varint (x - previous x):svarint*
+ *             | 1:u8 count:varint string*
+ *             | 2:u8 count:varint ((start - previous end):svarint duration:svarint)*
+ *   axis   := label:string unit:string dataType:string
+ * kind 3   := columnCount:varint columnId:svarint* lowIndex:svarint size:svarint lineCount:varint line*
+ *   line   := (index - previous index - 1):svarint tags:varint cellCount:varint (content:string tags:varint)*
+ * </pre>
+ */
+@SuppressWarnings("restriction")
+@Provider
+@Produces(BinaryModelResponseWriter.APPLICATION_TSP_BINARY)
+public class BinaryModelResponseWriter implements MessageBodyWriter<TmfModelResponse<?>> {
+
+    /**
+     * The media type of the binary responses
+     */
+    public static final String APPLICATION_TSP_BINARY = "application/x-tsp-binary"; //$NON-NLS-1$
+
+    /**
+     * The {@link MediaType} of the binary responses
+     */
+    public static final MediaType APPLICATION_TSP_BINARY_TYPE = MediaType.valueOf(APPLICATION_TSP_BINARY);
+
+    private static final byte[] MAGIC = "TSPB".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+    private static final int VERSION = 1;
+
+    private static final int NO_MODEL = 0;
+    private static final int TIME_GRAPH_MODEL = 1;
+    private static final int XY_MODEL = 2;
+    private static final int TABLE_MODEL = 3;
+
+    private static final int STRING_VALUE = 0;
+    private static final int LONG_VALUE = 1;
+    private static final int DOUBLE_VALUE = 2;
+
+    /**
+     * Get whether the client prefers the binary format to JSON, that is if the
+     * most acceptable media type is the binary media type.
+     *
+     * @param headers
+     *            the HTTP headers of the request
+     * @return true if the response will be written in the binary format
+     */
+    public static boolean isPreferred(@Nullable HttpHeaders headers) {
+        if (headers == null) {
+            return false;
+        }
+        List<MediaType> acceptableTypes = headers.getAcceptableMediaTypes();
+        if (acceptableTypes.isEmpty()) {
+            return false;
+        }
+        MediaType preferred = acceptableTypes.get(0);
+        return !preferred.isWildcardType() && !preferred.isWildcardSubtype() && preferred.isCompatible(APPLICATION_TSP_BINARY_TYPE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the responses of the endpoints that produce the binary media type,
+     * that is the time graph states, XY and virtual table lines endpoints, are
+     * written, the responses of the other endpoints are written as JSON.
+     */
+    @Override
+    public boolean isWriteable(@Nullable Class<?> type, @Nullable Type genericType, Annotation @Nullable [] annotations, @Nullable MediaType mediaType) {
+        if (type == null || !TmfModelResponse.class.isAssignableFrom(type) || annotations == null) {
+            return false;
+        }
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Produces produces && Arrays.asList(produces.value()).contains(APPLICATION_TSP_BINARY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void writeTo(TmfModelResponse<?> response, @Nullable Class<?> type, @Nullable Type genericType, Annotation @Nullable [] annotations, @Nullable MediaType mediaType,
+            @Nullable MultivaluedMap<String, Object> httpHeaders, @Nullable OutputStream entityStream) throws IOException {
+        if (entityStream == null) {
+            return;
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(entityStream));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        Object model = response.getModel();
+        if (model instanceof TimeGraphModel timeGraphModel) {
+            writeHeader(out, TIME_GRAPH_MODEL, response);
+            writeTimeGraphModel(out, timeGraphModel);
+        } else if (model instanceof ITmfXyModel xyModel) {
+            writeHeader(out, XY_MODEL, response);
+            writeXyModel(out, xyModel);
+        } else if (model instanceof VirtualTableModelWrapper tableModel) {
+            writeHeader(out, TABLE_MODEL, response);
+            writeTableModel(out, tableModel);
+        } else {
+            // Models of other endpoints are only written as JSON
+            writeHeader(out, NO_MODEL, response);
+        }
+        out.flush();
+    }
+
+    private static void writeHeader(DataOutputStream out, int kind, TmfModelResponse<?> response) throws IOException {
+        out.writeByte(kind);
+        writeString(out, response.getStatus().name());
+        writeString(out, response.getStatusMessage());
+    }
+
+    private static void writeTimeGraphModel(DataOutputStream out, TimeGraphModel model) throws IOException {
+        List<@NonNull ITimeGraphRowModel> rows = model.getRows();
+        writeVarint(out, rows.size());
+        for (ITimeGraphRowModel row : rows) {
+            writeSignedVarint(out, row.getEntryID());
+            List<@NonNull ITimeGraphState> states = row.getStates();
+            writeVarint(out, states.size());
+            long previousEnd = 0;
+            for (ITimeGraphState state : states) {
+                writeSignedVarint(out, state.getStartTime() - previousEnd);
+                writeSignedVarint(out, state.getDuration());
+                previousEnd = state.getStartTime() + state.getDuration();
+                writeString(out, state.getLabel());
+                OutputElementStyle style = state.getStyle();
+                if (style == null && state.getValue() != Integer.MIN_VALUE) {
+                    // Transform the value to a style, as in the JSON format
+                    style = new OutputElementStyle(String.valueOf(state.getValue()));
+                }
+                writeStyle(out, style);
+                writeVarint(out, state.getActiveProperties());
+            }
+        }
+    }
+
+    private static void writeStyle(DataOutputStream out, @Nullable OutputElementStyle style) throws IOException {
+        if (style == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        writeString(out, style.getParentKey());
+        Map<String, Object> values = style.getStyleValues();
+        int count = 0;
+        for (Object value : values.values()) {
+            if (value instanceof String || value instanceof Number) {
+                count++;
+            }
+        }
+        writeVarint(out, count);
+        for (Entry<String, Object> entry : values.entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof String stringValue) {
+                writeString(out, entry.getKey());
+                out.writeByte(STRING_VALUE);
+                writeString(out, stringValue);
+            } else if (value instanceof Double || value instanceof Float) {
+                writeString(out, entry.getKey());
+                out.writeByte(DOUBLE_VALUE);
+                out.writeDouble(((Number) value).doubleValue());
+            } else if (value instanceof Number numberValue) {
+                writeString(out, entry.getKey());
+                out.writeByte(LONG_VALUE);
+                writeSignedVarint(out, numberValue.longValue());
+            }
+        }
+    }
+
+    private static void writeXyModel(DataOutputStream out, ITmfXyModel model) throws IOException {
+        writeString(out, model.getTitle());
+        Collection<@NonNull ISeriesModel> series = model.getSeriesData();
+        writeVarint(out, series.size());
+        for (ISeriesModel serie : series) {
+            writeSignedVarint(out, serie.getId());
+            writeString(out, serie.getName());
+            writeSampling(out, serie.getSampling());
+            double[] data = serie.getData();
+            writeVarint(out, data.length);
+            for (double value : data) {
+                out.writeDouble(value);
+            }
+            writeString(out, serie.getDisplayType().name().toLowerCase(Locale.ROOT));
+            writeAxis(out, serie.getXAxisDescription());
+            writeAxis(out, serie.getYAxisDescription());
+        }
+    }
+
+    private static void writeSampling(DataOutputStream out, ISampling sampling) throws IOException {
+        if (sampling instanceof Timestamps timestamps) {
+            out.writeByte(0);
+            long[] values = timestamps.timestamps();
+            writeVarint(out, values.length);
+            long previous = 0;
+            for (long value : values) {
+                writeSignedVarint(out, value - previous);
+                previous = value;
+            }
+        } else if (sampling instanceof Categories categories) {
+            out.writeByte(1);
+            writeVarint(out, categories.categories().size());
+            for (String category : categories.categories()) {
+                writeString(out, category);
+            }
+        } else if (sampling instanceof Ranges ranges) {
+            out.writeByte(2);
+            writeVarint(out, ranges.ranges().size());
+            long previousEnd = 0;
+            for (Range<@NonNull Long> range : ranges.ranges()) {
+                writeSignedVarint(out, range.start() - previousEnd);
+                writeSignedVarint(out, range.end() - range.start());
+                previousEnd = range.end();
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown Sampling type: " + sampling.getClass().getName()); //$NON-NLS-1$
+        }
+    }
+
+    private static void writeAxis(DataOutputStream out, @Nullable TmfXYAxisDescription axis) throws IOException {
+        writeString(out, axis != null ? axis.getLabel() : null);
+        writeString(out, axis != null ? axis.getUnit() : null);
+        writeString(out, axis != null ? String.valueOf(axis.getDataType()) : null);
+    }
+
+    private static void writeTableModel(DataOutputStream out, VirtualTableModelWrapper model) throws IOException {
+        List<Long> columnIds = model.getColumnIds();
+        writeVarint(out, columnIds.size());
+        for (Long columnId : columnIds) {
+            writeSignedVarint(out, columnId);
+        }
+        writeSignedVarint(out, model.getLowIndex());
+        writeSignedVarint(out, model.getSize());
+        List<IVirtualTableLine> lines = model.getLines();
+        writeVarint(out, lines.size());
+        long previousIndex = model.getLowIndex() - 1;
+        for (IVirtualTableLine line : lines) {
+            writeSignedVarint(out, line.getIndex() - previousIndex - 1);
+            previousIndex = line.getIndex();
+            writeVarint(out, line.getActiveProperties());
+            List<VirtualTableCell> cells = line.getCells();
+            writeVarint(out, cells.size());
+            for (VirtualTableCell cell : cells) {
+                writeString(out, cell.getContent());
+                writeVarint(out, cell.getActiveProperties());
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static void writeSignedVarint(DataOutputStream out, long value) throws IOException {
+        writeVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentManagerService;
+
+/**
+ * Filter that marks the experiment of a request as in use until the request
+ * is completed, so that the experiment is not evicted while the request, or
+ * the response it streams, still holds it. It requires the
+ * {@link RequestCompletionListener} to be registered.
+ */
+@Provider
+public class ExperimentUsageFilter implements ContainerRequestFilter {
+
+    private static final String EXP_UUID = "expUUID"; //$NON-NLS-1$
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        String value = requestContext.getUriInfo().getPathParameters().getFirst(EXP_UUID);
+        if (value == null) {
+            return;
+        }
+        UUID expUUID;
+        try {
+            expUUID = UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            // The resource method rejects the request
+            return;
+        }
+        ExperimentManagerService.retainExperiment(expUUID);
+        RequestCompletionListener.closeOnCompletion(requestContext, () -> ExperimentManagerService.releaseExperiment(expUUID));
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Listener that releases the resources held by a request once its processing
+ * is finished. Jersey notifies the end of a request even if the client
+ * disconnected, a filter failed or the response entity could not be written,
+ * so resources registered with
+ * {@link #closeOnCompletion(ContainerRequestContext, AutoCloseable)} are
+ * always released, in the reverse order of their registration.
+ */
+@Provider
+public class RequestCompletionListener implements ApplicationEventListener {
+
+    private static final String CLOSEABLES_PROPERTY = "completion-closeables"; //$NON-NLS-1$
+
+    private static final RequestEventListener FINISHED_LISTENER = event -> {
+        if (event.getType() == RequestEvent.Type.FINISHED) {
+            close(event.getContainerRequest());
+        }
+    };
+
+    /**
+     * Register a resource to close once the processing of a request is
+     * finished. Closing it must be idempotent, as it may also be closed by
+     * the resource method or the response entity.
+     *
+     * @param requestContext
+     *            the request context
+     * @param closeable
+     *            the resource to close
+     */
+    public static void closeOnCompletion(ContainerRequestContext requestContext, AutoCloseable closeable) {
+        @SuppressWarnings("unchecked")
+        Deque<AutoCloseable> closeables = (Deque<AutoCloseable>) requestContext.getProperty(CLOSEABLES_PROPERTY);
+        if (closeables == null) {
+            closeables = new ConcurrentLinkedDeque<>();
+            requestContext.setProperty(CLOSEABLES_PROPERTY, closeables);
+        }
+        closeables.push(closeable);
+    }
+
+    private static void close(ContainerRequest request) {
+        @SuppressWarnings("unchecked")
+        Deque<AutoCloseable> closeables = (Deque<AutoCloseable>) request.getProperty(CLOSEABLES_PROPERTY);
+        if (closeables == null) {
+            return;
+        }
+        AutoCloseable closeable;
+        while ((closeable = closeables.poll()) != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                Activator.getInstance().logError("Failed to release the resources of a request", e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        // Do nothing
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return FINISHED_LISTENER;
+    }
+}
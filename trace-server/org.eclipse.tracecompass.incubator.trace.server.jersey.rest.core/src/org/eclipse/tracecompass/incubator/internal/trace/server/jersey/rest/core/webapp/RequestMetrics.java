@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Registry of the request metrics of the trace server: the requests in
+ * flight, and the histograms of the latency, processing time, serialization
+ * time and response size of the requests, per endpoint and output. The
+ * metrics are written in the Prometheus text exposition format.
+ */
+public final class RequestMetrics {
+
+    private static final double[] LATENCY_BUCKETS = { 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60 };
+    private static final double[] SIZE_BUCKETS = { 1024, 8192, 65536, 262144, 1048576, 4194304, 16777216, 67108864 };
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String DURATION = "tsp_request_duration_seconds"; //$NON-NLS-1$
+    private static final String PROCESSING = "tsp_request_processing_seconds"; //$NON-NLS-1$
+    private static final String SERIALIZATION = "tsp_response_serialization_seconds"; //$NON-NLS-1$
+    private static final String SIZE = "tsp_response_size_bytes"; //$NON-NLS-1$
+    private static final String RESPONSES = "tsp_responses_total"; //$NON-NLS-1$
+    private static final String IN_FLIGHT = "tsp_requests_in_flight"; //$NON-NLS-1$
+
+    private static final Map<Labels, Histogram> DURATIONS = new ConcurrentHashMap<>();
+    private static final Map<Labels, Histogram> PROCESSING_TIMES = new ConcurrentHashMap<>();
+    private static final Map<Labels, Histogram> SERIALIZATION_TIMES = new ConcurrentHashMap<>();
+    private static final Map<Labels, Histogram> SIZES = new ConcurrentHashMap<>();
+    private static final Map<Labels, LongAdder> RESPONSE_COUNTS = new ConcurrentHashMap<>();
+    private static final AtomicLong IN_FLIGHT_COUNT = new AtomicLong();
+    private static final ThreadLocal<long[]> FETCH_TIMES = new ThreadLocal<>();
+
+    private static volatile boolean fEnabled = false;
+
+    private RequestMetrics() {
+        // Do nothing
+    }
+
+    private static final class Labels {
+        private final String fEndpoint;
+        private final String fOutputId;
+        private final @Nullable String fStatus;
+
+        public Labels(String endpoint, String outputId, @Nullable String status) {
+            fEndpoint = endpoint;
+            fOutputId = outputId;
+            fStatus = status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fEndpoint, fOutputId, fStatus);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Labels)) {
+                return false;
+            }
+            Labels other = (Labels) obj;
+            return fEndpoint.equals(other.fEndpoint) && fOutputId.equals(other.fOutputId) && Objects.equals(fStatus, other.fStatus);
+        }
+
+        public String format(@Nullable String extraName, @Nullable String extraValue) {
+            StringBuilder sb = new StringBuilder("{endpoint=\"").append(escape(fEndpoint)).append('"'); //$NON-NLS-1$
+            if (!fOutputId.isEmpty()) {
+                sb.append(",outputId=\"").append(escape(fOutputId)).append('"'); //$NON-NLS-1$
+            }
+            if (fStatus != null) {
+                sb.append(",status=\"").append(fStatus).append('"'); //$NON-NLS-1$
+            }
+            if (extraName != null) {
+                sb.append(',').append(extraName).append("=\"").append(extraValue).append('"'); //$NON-NLS-1$
+            }
+            return sb.append('}').toString();
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+        }
+    }
+
+    private static final class Histogram {
+        private final double[] fBuckets;
+        private final LongAdder[] fCounts;
+        private final LongAdder fCount = new LongAdder();
+        private final DoubleAdder fSum = new DoubleAdder();
+
+        public Histogram(double[] buckets) {
+            fBuckets = buckets;
+            fCounts = new LongAdder[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                fCounts[i] = new LongAdder();
+            }
+        }
+
+        public void observe(double value) {
+            for (int i = 0; i < fBuckets.length; i++) {
+                if (value <= fBuckets[i]) {
+                    fCounts[i].increment();
+                    break;
+                }
+            }
+            fCount.increment();
+            fSum.add(value);
+        }
+
+        public void write(StringBuilder sb, String name, Labels labels) {
+            long cumulative = 0;
+            for (int i = 0; i < fBuckets.length; i++) {
+                cumulative += fCounts[i].sum();
+                sb.append(name).append("_bucket").append(labels.format("le", formatDouble(fBuckets[i]))).append(' ').append(cumulative).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            sb.append(name).append("_bucket").append(labels.format("le", "+Inf")).append(' ').append(fCount.sum()).append('\n'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            sb.append(name).append("_sum").append(labels.format(null, null)).append(' ').append(fSum.sum()).append('\n'); //$NON-NLS-1$
+            sb.append(name).append("_count").append(labels.format(null, null)).append(' ').append(fCount.sum()).append('\n'); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Enable or disable the collection of the metrics
+     *
+     * @param enabled
+     *            true to collect the metrics
+     */
+    public static void setEnabled(boolean enabled) {
+        fEnabled = enabled;
+    }
+
+    /**
+     * Get whether the metrics are collected
+     *
+     * @return true if the metrics are collected
+     */
+    public static boolean isEnabled() {
+        return fEnabled;
+    }
+
+    /**
+     * Record the start of a request
+     */
+    public static void requestStarted() {
+        IN_FLIGHT_COUNT.incrementAndGet();
+    }
+
+    /**
+     * Fetch a response from a data provider while the response entity is
+     * written, as streamed responses do. The time spent in the fetcher is
+     * recorded as processing time instead of serialization time.
+     *
+     * @param fetcher
+     *            the function fetching the response from the data provider
+     * @return the response
+     */
+    public static <T> T measureFetch(Supplier<T> fetcher) {
+        long @Nullable [] fetchTime = FETCH_TIMES.get();
+        if (fetchTime == null) {
+            return fetcher.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return fetcher.get();
+        } finally {
+            fetchTime[0] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Start measuring the time spent in {@link #measureFetch(Supplier)} by
+     * the current thread, while it writes a response entity
+     */
+    static void startWriting() {
+        FETCH_TIMES.set(new long[1]);
+    }
+
+    /**
+     * Stop measuring the time spent in {@link #measureFetch(Supplier)} by the
+     * current thread
+     *
+     * @return the time spent fetching responses since
+     *         {@link #startWriting()}, in nanoseconds
+     */
+    static long stopWriting() {
+        long @Nullable [] fetchTime = FETCH_TIMES.get();
+        FETCH_TIMES.remove();
+        return fetchTime != null ? fetchTime[0] : 0;
+    }
+
+    /**
+     * Record the processing time of a request by its resource method, which
+     * includes the time spent in the data provider, even when the response
+     * is streamed
+     *
+     * @param endpoint
+     *            the endpoint of the request
+     * @param outputId
+     *            the output ID of the request, or an empty string
+     * @param nanos
+     *            the processing time in nanoseconds
+     */
+    public static void requestProcessed(String endpoint, String outputId, long nanos) {
+        PROCESSING_TIMES.computeIfAbsent(new Labels(endpoint, outputId, null), l -> new Histogram(LATENCY_BUCKETS)).observe(nanos / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Record the serialization time and size of a response, which excludes
+     * the time spent in the data provider
+     *
+     * @param endpoint
+     *            the endpoint of the request
+     * @param outputId
+     *            the output ID of the request, or an empty string
+     * @param nanos
+     *            the serialization time in nanoseconds
+     * @param size
+     *            the size of the response in bytes, as written on the wire
+     */
+    public static void responseSerialized(String endpoint, String outputId, long nanos, long size) {
+        Labels labels = new Labels(endpoint, outputId, null);
+        SERIALIZATION_TIMES.computeIfAbsent(labels, l -> new Histogram(LATENCY_BUCKETS)).observe(nanos / NANOS_PER_SECOND);
+        SIZES.computeIfAbsent(labels, l -> new Histogram(SIZE_BUCKETS)).observe(size);
+    }
+
+    /**
+     * Record the completion of a request
+     *
+     * @param endpoint
+     *            the endpoint of the request
+     * @param outputId
+     *            the output ID of the request, or an empty string
+     * @param status
+     *            the HTTP status of the response
+     * @param nanos
+     *            the total time of the request in nanoseconds
+     */
+    public static void requestCompleted(String endpoint, String outputId, int status, long nanos) {
+        IN_FLIGHT_COUNT.decrementAndGet();
+        DURATIONS.computeIfAbsent(new Labels(endpoint, outputId, null), l -> new Histogram(LATENCY_BUCKETS)).observe(nanos / NANOS_PER_SECOND);
+        RESPONSE_COUNTS.computeIfAbsent(new Labels(endpoint, outputId, String.valueOf(status)), l -> new LongAdder()).increment();
+    }
+
+    /**
+     * Write the metrics in the Prometheus text exposition format
+     *
+     * @return the metrics
+     */
+    public static String write() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# HELP ").append(IN_FLIGHT).append(" Number of requests being processed\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append("# TYPE ").append(IN_FLIGHT).append(" gauge\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append(IN_FLIGHT).append(' ').append(IN_FLIGHT_COUNT.get()).append('\n');
+        sb.append("# HELP ").append(RESPONSES).append(" Number of responses, per HTTP status\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        sb.append("# TYPE ").append(RESPONSES).append(" counter\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (Entry<Labels, LongAdder> entry : sorted(RESPONSE_COUNTS)) {
+            sb.append(RESPONSES).append(entry.getKey().format(null, null)).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+        writeHistograms(sb, DURATION, "Total time of the requests, from the request to the last byte of the response", DURATIONS); //$NON-NLS-1$
+        writeHistograms(sb, PROCESSING, "Time spent in the resource methods, including the data providers", PROCESSING_TIMES); //$NON-NLS-1$
+        writeHistograms(sb, SERIALIZATION, "Time spent serializing and writing the responses, excluding the data providers", SERIALIZATION_TIMES); //$NON-NLS-1$
+        writeHistograms(sb, SIZE, "Size of the responses, as written on the wire", SIZES); //$NON-NLS-1$
+        return sb.toString();
+    }
+
+    private static void writeHistograms(StringBuilder sb, String name, String help, Map<Labels, Histogram> histograms) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n'); //$NON-NLS-1$
+        sb.append("# TYPE ").append(name).append(" histogram\n"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (Entry<Labels, Histogram> entry : sorted(histograms)) {
+            entry.getValue().write(sb, name, entry.getKey());
+        }
+    }
+
+    private static <T> List<Entry<Labels, T>> sorted(Map<Labels, T> map) {
+        return map.entrySet().stream()
+                .sorted(Comparator.comparing((Entry<Labels, T> e) -> e.getKey().fEndpoint)
+                        .thenComparing(e -> e.getKey().fOutputId)
+                        .thenComparing(e -> String.valueOf(e.getKey().fStatus)))
+                .collect(Collectors.toList());
+    }
+
+    private static String formatDouble(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Priority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+/**
+ * A filter that records the metrics of the requests in {@link RequestMetrics}.
+ * The processing time is measured from the request filter to the response
+ * filter, plus the time spent in the data providers while a streamed response
+ * is written, and the serialization time and response size are measured
+ * around the writing of the entity. The request is completed, and removed
+ * from the requests in flight, by the {@link RequestCompletionListener}, even
+ * if the entity could not be written. It has a higher priority than the
+ * encoders, so that the size of the compressed response is measured. It is
+ * only registered when the metrics are enabled.
+ * <p>
+ * The output ID of a request comes from the client, it is only used as label
+ * if the request succeeded, which means that it resolved to a data provider,
+ * otherwise {@value #UNKNOWN_OUTPUT_ID} is used, so that the number of labels
+ * is bounded by the number of data providers.
+ */
+@Provider
+@Priority(Priorities.ENTITY_CODER - 100)
+public class RequestMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String METRICS_PROPERTY = "metrics-request"; //$NON-NLS-1$
+    private static final String OUTPUT_ID = "outputId"; //$NON-NLS-1$
+    private static final String UNKNOWN_OUTPUT_ID = "unknown"; //$NON-NLS-1$
+
+    @Context
+    private ResourceInfo fResourceInfo;
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long fCount = 0;
+
+        public CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            fCount++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            fCount += len;
+        }
+
+        public long getCount() {
+            return fCount;
+        }
+    }
+
+    /**
+     * The metrics of a request, completed once
+     */
+    private static final class RequestMetricsState implements AutoCloseable {
+        private final AtomicBoolean fCompleted = new AtomicBoolean();
+        private final String fEndpoint;
+        private final String fOutputId;
+        private final long fStartTime;
+        private volatile long fProcessingTime = -1;
+        private volatile int fStatus = Status.INTERNAL_SERVER_ERROR.getStatusCode();
+        private volatile boolean fResolved = false;
+
+        public RequestMetricsState(String endpoint, String outputId, long startTime) {
+            fEndpoint = endpoint;
+            fOutputId = outputId;
+            fStartTime = startTime;
+        }
+
+        public void processed(int status) {
+            fProcessingTime = System.nanoTime() - fStartTime;
+            fStatus = status;
+            fResolved = Status.Family.familyOf(status) == Status.Family.SUCCESSFUL;
+        }
+
+        public String getOutputId() {
+            return fOutputId.isEmpty() || fResolved ? fOutputId : UNKNOWN_OUTPUT_ID;
+        }
+
+        public void written(long fetchTime, long serializationTime, long size) {
+            RequestMetrics.requestProcessed(fEndpoint, getOutputId(), fProcessingTime + fetchTime);
+            RequestMetrics.responseSerialized(fEndpoint, getOutputId(), serializationTime - fetchTime, size);
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (!fCompleted.getAndSet(true)) {
+                RequestMetrics.requestCompleted(fEndpoint, getOutputId(), fStatus, System.nanoTime() - fStartTime);
+            }
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        Method method = fResourceInfo.getResourceMethod();
+        Class<?> resourceClass = fResourceInfo.getResourceClass();
+        String endpoint = method != null && resourceClass != null ? resourceClass.getSimpleName() + '#' + method.getName() : requestContext.getMethod();
+        String outputId = requestContext.getUriInfo().getPathParameters().getFirst(OUTPUT_ID);
+        RequestMetricsState metrics = new RequestMetricsState(endpoint, outputId != null ? outputId : "", System.nanoTime()); //$NON-NLS-1$
+        requestContext.setProperty(METRICS_PROPERTY, metrics);
+        RequestMetrics.requestStarted();
+        RequestCompletionListener.closeOnCompletion(requestContext, metrics);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+        RequestMetricsState metrics = (RequestMetricsState) requestContext.getProperty(METRICS_PROPERTY);
+        if (metrics == null) {
+            // The request did not match any resource
+            return;
+        }
+        metrics.processed(responseContext.getStatus());
+        if (!responseContext.hasEntity() || HttpMethod.HEAD.equals(requestContext.getMethod())) {
+            RequestMetrics.requestProcessed(metrics.fEndpoint, metrics.getOutputId(), metrics.fProcessingTime);
+            metrics.close();
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        RequestMetricsState metrics = (RequestMetricsState) context.getProperty(METRICS_PROPERTY);
+        if (metrics == null || metrics.fProcessingTime < 0) {
+            context.proceed();
+            return;
+        }
+        CountingOutputStream out = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(out);
+        long serializationStart = System.nanoTime();
+        RequestMetrics.startWriting();
+        try {
+            context.proceed();
+        } finally {
+            long fetchTime = RequestMetrics.stopWriting();
+            metrics.written(fetchTime, System.nanoTime() - serializationStart, out.getCount());
+        }
+    }
+}
@@ -36,6 +36,34 @@ public class TraceServerConfiguration {
      * This is protected so it may be linked from other JavaDoc in this class.
      */
     protected static final String PROPERTY_PORT = "traceserver.port"; //$NON-NLS-1$
+    /**
+     * This is protected so it may be linked from other JavaDoc in this class.
+     */
+    protected static final String PROPERTY_EXPERIMENT_IDLE_TIMEOUT = "traceserver.experimentIdleTimeout"; //$NON-NLS-1$
+    /**
+     * This is protected so it may be linked from other JavaDoc in this class.
+     */
+    protected static final String PROPERTY_HEAP_BUDGET = "traceserver.heapBudget"; //$NON-NLS-1$
+    /**
+     * This is protected so it may be linked from other JavaDoc in this class.
+     */
+    protected static final String PROPERTY_RESPONSE_CACHE_SIZE = "traceserver.responseCacheSize"; //$NON-NLS-1$
+    /**
+     * This is protected so it may be linked from other JavaDoc in this class.
+     */
+    protected static final String PROPERTY_MAX_REQUESTS = "traceserver.maxRequests"; //$NON-NLS-1$
+    /**
+     * This is protected so it may be linked from other JavaDoc in this class.
+     */
+    protected static final String PROPERTY_MAX_REQUESTS_PER_EXPERIMENT = "traceserver.maxRequestsPerExperiment"; //$NON-NLS-1$
+    /**
+     * This is protected so it may be linked from other JavaDoc in this class.
+     */
+    protected static final String PROPERTY_REQUEST_QUEUE_TIMEOUT = "traceserver.requestQueueTimeout"; //$NON-NLS-1$
+    /**
+     * This is protected so it may be linked from other JavaDoc in this class.
+     */
+    protected static final String PROPERTY_METRICS = "traceserver.metrics"; //$NON-NLS-1$
 
     private static final String PROPERTY_USESSL = "traceserver.useSSL"; //$NON-NLS-1$
     private static final String PROPERTY_KEYSTORE = "traceserver.keystore"; //$NON-NLS-1$
@@ -43,12 +71,21 @@ public class TraceServerConfiguration {
 
     private static final int DEFAULT_HTTP_PORT = 8080;
     private static final int DEFAULT_SSL_PORT = 8443;
+    private static final long DEFAULT_RESPONSE_CACHE_SIZE = 2000000;
+    private static final long DEFAULT_REQUEST_QUEUE_TIMEOUT = 30;
 
     private final int fPort;
     private final boolean fUseSSL;
     private final @Nullable String fKeystore;
     private final @Nullable String fKeystorePass;
     private final @Nullable String fHost;
+    private long fExperimentIdleTimeout = 0;
+    private long fHeapBudget = 0;
+    private long fResponseCacheSize = DEFAULT_RESPONSE_CACHE_SIZE;
+    private long fMaxRequests = 0;
+    private long fMaxRequestsPerExperiment = 0;
+    private long fRequestQueueTimeout = DEFAULT_REQUEST_QUEUE_TIMEOUT;
+    private boolean fMetricsEnabled = false;
 
     /**
      * Create the trace server configuration
@@ -80,11 +117,34 @@ public class TraceServerConfiguration {
             }
         }
         String host = System.getProperty(PROPERTY_HOST);
+        TraceServerConfiguration config;
         if (host != null && !host.isEmpty()) {
-            return new TraceServerConfiguration(host, port, useSSL, keystore, keystorePass);
+            config = new TraceServerConfiguration(host, port, useSSL, keystore, keystorePass);
+        } else {
+            // Otherwise host already assumed as null, meaning 0.0.0.0 or wild-card.
+            config = new TraceServerConfiguration(port, useSSL, keystore, keystorePass);
+        }
+        config.fExperimentIdleTimeout = getLongProperty(PROPERTY_EXPERIMENT_IDLE_TIMEOUT, 0);
+        config.fHeapBudget = getLongProperty(PROPERTY_HEAP_BUDGET, 0);
+        config.fResponseCacheSize = getLongProperty(PROPERTY_RESPONSE_CACHE_SIZE, DEFAULT_RESPONSE_CACHE_SIZE);
+        config.fMaxRequests = getLongProperty(PROPERTY_MAX_REQUESTS, 0);
+        config.fMaxRequestsPerExperiment = getLongProperty(PROPERTY_MAX_REQUESTS_PER_EXPERIMENT, 0);
+        config.fRequestQueueTimeout = getLongProperty(PROPERTY_REQUEST_QUEUE_TIMEOUT, DEFAULT_REQUEST_QUEUE_TIMEOUT);
+        config.fMetricsEnabled = Boolean.parseBoolean(System.getProperty(PROPERTY_METRICS));
+        return config;
+    }
+
+    private static long getLongProperty(String property, long defaultValue) {
+        String valueStr = System.getProperty(property);
+        if (valueStr == null || valueStr.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0, Long.parseLong(valueStr));
+        } catch (NumberFormatException e) {
+            Activator.getInstance().logWarning(String.format("Invalid value specified for %s: %s. Will use default value %d", property, valueStr, defaultValue)); //$NON-NLS-1$
+            return defaultValue;
         }
-        // Otherwise host already assumed as null, meaning 0.0.0.0 or wild-card.
-        return new TraceServerConfiguration(port, useSSL, keystore, keystorePass);
     }
 
     /**
@@ -179,4 +239,87 @@ public class TraceServerConfiguration {
     public @Nullable String getKeystorePass() {
         return fKeystorePass;
     }
+
+    /**
+     * Get the time after which an experiment that was not accessed is evicted
+     * from memory. The timeout can be specified in seconds using the system
+     * property {@link #PROPERTY_EXPERIMENT_IDLE_TIMEOUT}
+     *
+     * @return The idle timeout in milliseconds, or 0 if idle experiments are
+     *         never evicted
+     */
+    public long getExperimentIdleTimeout() {
+        return fExperimentIdleTimeout * 1000;
+    }
+
+    /**
+     * Get the heap budget of the server. When the used heap exceeds this
+     * budget, the least recently used experiments are evicted from memory. The
+     * budget can be specified in megabytes using the system property
+     * {@link #PROPERTY_HEAP_BUDGET}
+     *
+     * @return The heap budget in bytes, or 0 if there is no budget
+     */
+    public long getHeapBudget() {
+        return fHeapBudget * 1024 * 1024;
+    }
+
+    /**
+     * Get the maximum size of the cache of data provider responses, as the
+     * total number of rows, states, points or cells of the cached models. The
+     * size can be specified using the system property
+     * {@link #PROPERTY_RESPONSE_CACHE_SIZE}
+     *
+     * @return The maximum size of the response cache, or 0 if it is disabled
+     */
+    public long getResponseCacheSize() {
+        return fResponseCacheSize;
+    }
+
+    /**
+     * Get the maximum number of data provider requests that are processed
+     * concurrently by the server. The maximum can be specified using the
+     * system property {@link #PROPERTY_MAX_REQUESTS}
+     *
+     * @return The maximum number of concurrent requests, or 0 if there is no
+     *         limit
+     */
+    public int getMaxRequests() {
+        return (int) Math.min(Integer.MAX_VALUE, fMaxRequests);
+    }
+
+    /**
+     * Get the maximum number of data provider requests that are processed
+     * concurrently for a same experiment. The maximum can be specified using
+     * the system property {@link #PROPERTY_MAX_REQUESTS_PER_EXPERIMENT}
+     *
+     * @return The maximum number of concurrent requests per experiment, or 0
+     *         if there is no limit
+     */
+    public int getMaxRequestsPerExperiment() {
+        return (int) Math.min(Integer.MAX_VALUE, fMaxRequestsPerExperiment);
+    }
+
+    /**
+     * Get the time a data provider request waits to be processed before it is
+     * rejected, when the maximum number of concurrent requests is reached. The
+     * timeout can be specified in seconds using the system property
+     * {@link #PROPERTY_REQUEST_QUEUE_TIMEOUT}
+     *
+     * @return The queue timeout in milliseconds
+     */
+    public long getRequestQueueTimeout() {
+        return fRequestQueueTimeout * 1000;
+    }
+
+    /**
+     * Get whether the request metrics are collected and exposed by the
+     * metrics endpoint. The metrics can be enabled using the system property
+     * {@link #PROPERTY_METRICS}
+     *
+     * @return true if the metrics are enabled
+     */
+    public boolean isMetricsEnabled() {
+        return fMetricsEnabled;
+    }
 }
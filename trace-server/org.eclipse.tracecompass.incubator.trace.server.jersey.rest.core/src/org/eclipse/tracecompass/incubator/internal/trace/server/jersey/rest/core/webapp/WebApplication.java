@@ -28,10 +28,14 @@ import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.BookmarkManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ConfigurationManagerService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderAdmissionControl;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentEvictionPolicy;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.HealthService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.IdentifierService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.MetricsService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.TraceManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.TraceServerOpenApiResource;
 import org.eclipse.tracecompass.tmf.core.TmfCommonConstants;
@@ -120,6 +124,9 @@ public class WebApplication {
             tracesFolder.create(true, true, null);
         }
 
+        ExperimentEvictionPolicy.start(fConfig.getExperimentIdleTimeout(), fConfig.getHeapBudget());
+        DataProviderResponseCache.configure(fConfig.getResponseCacheSize());
+        DataProviderAdmissionControl.configure(fConfig.getMaxRequests(), fConfig.getMaxRequestsPerExperiment(), fConfig.getRequestQueueTimeout());
         fServer.start();
     }
 
@@ -139,11 +146,19 @@ public class WebApplication {
         rc.register(HealthService.class);
         rc.register(IdentifierService.class);
         rc.register(CORSFilter.class);
+        rc.register(RequestCompletionListener.class);
+        rc.register(ExperimentUsageFilter.class);
         rc.register(JacksonObjectMapperProvider.class);
+        rc.register(BinaryModelResponseWriter.class);
         EncodingFilter.enableFor(rc, GZipEncoder.class);
         rc.register(TraceServerOpenApiResource.class);
         rc.register(BookmarkManagerService.class);
         rc.register(RequestResponseLogger.class);
+        rc.register(MetricsService.class);
+        RequestMetrics.setEnabled(fConfig.isMetricsEnabled());
+        if (fConfig.isMetricsEnabled()) {
+            rc.register(RequestMetricsFilter.class);
+        }
     }
 
     /**
@@ -189,6 +204,7 @@ public class WebApplication {
      * Needs to be called before calling {@link #stop()}
      */
     public void dispose() {
+        ExperimentEvictionPolicy.stop();
         ExperimentManagerService.dispose();
         TraceManagerService.dispose();
     }
@@ -14,6 +14,7 @@ package org.eclipse.tracecompass.incubator.internal.atrace.trace;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -28,8 +29,10 @@ import org.eclipse.tracecompass.incubator.internal.atrace.event.IAtraceConstants
 import org.eclipse.tracecompass.incubator.internal.atrace.event.SystraceProcessDumpEvent;
 import org.eclipse.tracecompass.incubator.internal.atrace.event.SystraceProcessDumpEventField;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceLineScanner;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.GenericFtrace;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.GenericFtraceLineReader;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.ITraceEventConstants;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
@@ -145,25 +148,32 @@ public class ATrace extends GenericFtrace {
             if (location == null) {
                 fileInput.seek(0);
                 long lineStartOffset = fileInput.getFilePointer();
-                String line = fileInput.readLine();
+                GenericFtraceLineReader reader = new GenericFtraceLineReader();
+                if (!reader.readLine(fileInput)) {
+                    return context;
+                }
 
                 // Look for process dump matches
-                Matcher processDumpMatcher = IAtraceConstants.PROCESS_DUMP_PATTERN.matcher(line);
-                Matcher atraceMatcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
+                boolean isProcessDump = isProcessDumpLine(reader);
+                boolean isEvent = isEventLine(reader);
 
-                while (!atraceMatcher.matches() && !processDumpMatcher.matches()) {
+                while (!isEvent && !isProcessDump) {
                     lineStartOffset = fileInput.getFilePointer();
-                    line = fileInput.readLine();
-                    atraceMatcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
-                    processDumpMatcher = IAtraceConstants.PROCESS_DUMP_PATTERN.matcher(line);
+                    if (!reader.readLine(fileInput)) {
+                        return context;
+                    }
+                    isEvent = isEventLine(reader);
+                    isProcessDump = isProcessDumpLine(reader);
                 }
-                if (processDumpMatcher.matches()) {
+                if (isProcessDump) {
                     // Look for the first atrace event to extract timestamp
-                    while (!atraceMatcher.matches()) {
-                        line = fileInput.readLine();
-                        atraceMatcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
+                    while (!isEvent) {
+                        if (!reader.readLine(fileInput)) {
+                            return context;
+                        }
+                        isEvent = isEventLine(reader);
                     }
-                    GenericFtraceField field = GenericFtraceField.parseLine(line);
+                    GenericFtraceField field = GenericFtraceField.parseLine(reader.getBuffer(), 0, reader.getLength());
                     if (field != null) {
                         startingTimestamp = field.getTs();
                     }
@@ -222,6 +232,14 @@ public class ATrace extends GenericFtrace {
         return event;
     }
 
+    private static boolean isEventLine(GenericFtraceLineReader reader) {
+        return GenericFtraceLineScanner.matches(reader.getBuffer(), 0, reader.getLength());
+    }
+
+    private static boolean isProcessDumpLine(GenericFtraceLineReader reader) {
+        return IAtraceConstants.PROCESS_DUMP_PATTERN.matcher(reader.getLine()).matches();
+    }
+
     @Override
     protected @Nullable GenericFtraceField parseLine(String line) {
         if (line == null || line.isEmpty()) {
@@ -230,50 +248,67 @@ public class ATrace extends GenericFtrace {
 
         GenericFtraceField field = GenericFtraceField.parseLine(line);
 
-        if (field != null) {
+        if (field != null && field.getName().equals(ATRACE_TRACEEVENT_EVENT)) {
             Matcher matcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
             if (matcher.matches()) {
+                setTraceEventContent(field, matcher.group(IGenericFtraceConstants.FTRACE_COMM_GROUP), matcher.group(IGenericFtraceConstants.FTRACE_DATA_GROUP));
+            }
+        }
 
-                /*
-                 * User spaces event that permit us to create the call stack are
-                 * inserted in the raw trace. Those events are named
-                 * 'tracing_mark_write'. The format in the "function" column is
-                 * not like any other ftrace events, so we must handle them
-                 * separately.
-                 */
-                if (field.getName().equals(ATRACE_TRACEEVENT_EVENT)) {
-                    String data = matcher.group(IGenericFtraceConstants.FTRACE_DATA_GROUP);
-                    Matcher atraceMatcher = IAtraceConstants.TRACE_EVENT_PATTERN.matcher(data);
-                    if (atraceMatcher.matches()) {
-                        String phase = atraceMatcher.group(TRACE_EVENT_PHASE_GROUP);
-                        String pname = matcher.group(IGenericFtraceConstants.FTRACE_COMM_GROUP);
-                        String content = atraceMatcher.group(TRACE_EVENT_CONTENT_GROUP);
-                        Integer tid = field.getTid();
-                        Integer pid = field.getPid();
+        return field;
+    }
 
-                        Map<@NonNull String, @NonNull Object> argmap = new HashMap<>();
-                        if (phase != null) {
-                            argmap.put(ITraceEventConstants.PHASE, phase);
-                        }
-                        if (tid != null) {
-                            argmap.put(ITraceEventConstants.TID, tid);
-                        }
-                        if (pid != null) {
-                            argmap.put("pid", pid); //$NON-NLS-1$
-                        }
-                        if (pname != null) {
-                            argmap.put("tname", pname); //$NON-NLS-1$
-                        }
-                        if (content != null) {
-                            field.setName(content);
-                        }
-                        field.setContent(argmap);
-                    }
-                }
+    @Override
+    protected @Nullable GenericFtraceField parseLine(byte[] line, int offset, int length) {
+        if (length == 0) {
+            return null;
+        }
+
+        GenericFtraceField field = GenericFtraceField.parseLine(line, offset, length);
+
+        if (field != null && field.getName().equals(ATRACE_TRACEEVENT_EVENT)) {
+            GenericFtraceLineScanner scanner = new GenericFtraceLineScanner();
+            if (!scanner.scan(line, offset, length)) {
+                return parseLine(new String(line, offset, length, StandardCharsets.ISO_8859_1));
             }
+            setTraceEventContent(field, scanner.getComm(), scanner.getData());
         }
 
         return field;
     }
 
+    /**
+     * User spaces event that permit us to create the call stack are inserted in
+     * the raw trace. Those events are named 'tracing_mark_write'. The format in
+     * the "function" column is not like any other ftrace events, so we must
+     * handle them separately.
+     */
+    private static void setTraceEventContent(GenericFtraceField field, @Nullable String pname, String data) {
+        Matcher atraceMatcher = IAtraceConstants.TRACE_EVENT_PATTERN.matcher(data);
+        if (atraceMatcher.matches()) {
+            String phase = atraceMatcher.group(TRACE_EVENT_PHASE_GROUP);
+            String content = atraceMatcher.group(TRACE_EVENT_CONTENT_GROUP);
+            Integer tid = field.getTid();
+            Integer pid = field.getPid();
+
+            Map<@NonNull String, @NonNull Object> argmap = new HashMap<>();
+            if (phase != null) {
+                argmap.put(ITraceEventConstants.PHASE, phase);
+            }
+            if (tid != null) {
+                argmap.put(ITraceEventConstants.TID, tid);
+            }
+            if (pid != null) {
+                argmap.put("pid", pid); //$NON-NLS-1$
+            }
+            if (pname != null) {
+                argmap.put("tname", pname); //$NON-NLS-1$
+            }
+            if (content != null) {
+                field.setName(content);
+            }
+            field.setContent(argmap);
+        }
+    }
+
 }
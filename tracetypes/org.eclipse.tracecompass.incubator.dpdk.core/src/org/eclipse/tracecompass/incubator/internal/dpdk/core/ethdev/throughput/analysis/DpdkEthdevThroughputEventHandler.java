@@ -13,9 +13,11 @@ package org.eclipse.tracecompass.incubator.internal.dpdk.core.ethdev.throughput.
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.analysis.core.statesystem.QuarkCache;
 import org.eclipse.tracecompass.incubator.internal.dpdk.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.dpdk.core.analysis.IDpdkEventHandler;
 import org.eclipse.tracecompass.incubator.internal.dpdk.core.ethdev.analysis.DpdkEthdevEventLayout;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.statesystem.core.StateSystemBuilderUtils;
 import org.eclipse.tracecompass.statesystem.core.exceptions.StateValueTypeException;
@@ -40,6 +42,10 @@ public class DpdkEthdevThroughputEventHandler implements IDpdkEventHandler {
     /* Events layout */
     private final DpdkEthdevEventLayout fLayout;
 
+    /* Map a port and queue pair to the quark of the queue, per category */
+    private final QuarkCache fRxQueueQuarks = new QuarkCache();
+    private final QuarkCache fTxQueueQuarks = new QuarkCache();
+
     DpdkEthdevThroughputEventHandler(DpdkEthdevEventLayout layout) {
         fLayout = layout;
     }
@@ -67,9 +73,7 @@ public class DpdkEthdevThroughputEventHandler implements IDpdkEventHandler {
      */
     public void updateCounts(ITmfStateSystemBuilder ssb, Integer portId, Integer queueId, String queueCategoryAttribute,
             boolean isProfileEvent, Integer nbPkts, @Nullable Integer size, long timestamp) {
-        int portQuark = ssb.getQuarkAbsoluteAndAdd(ETH_NIC_PORTS, portId.toString());
-        int queuesQuark = ssb.getQuarkRelativeAndAdd(portQuark, queueCategoryAttribute);
-        int queueQuark = ssb.getQuarkRelativeAndAdd(queuesQuark, queueId.toString());
+        int queueQuark = getQueueQuark(ssb, portId, queueId, queueCategoryAttribute);
 
         try {
             if (isProfileEvent) {
@@ -87,6 +91,19 @@ public class DpdkEthdevThroughputEventHandler implements IDpdkEventHandler {
         }
     }
 
+    private int getQueueQuark(ITmfStateSystemBuilder ssb, int portId, int queueId, String queueCategoryAttribute) {
+        QuarkCache cache = queueCategoryAttribute.equals(RX_Q) ? fRxQueueQuarks : fTxQueueQuarks;
+        long key = QuarkCache.pairKey(portId, queueId);
+        int queueQuark = cache.get(key);
+        if (queueQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            int portQuark = ssb.getQuarkAbsoluteAndAdd(ETH_NIC_PORTS, String.valueOf(portId));
+            int queuesQuark = ssb.getQuarkRelativeAndAdd(portQuark, queueCategoryAttribute);
+            queueQuark = ssb.getQuarkRelativeAndAdd(queuesQuark, String.valueOf(queueId));
+            cache.put(key, queueQuark);
+        }
+        return queueQuark;
+    }
+
     @Override
     public void handleEvent(ITmfStateSystemBuilder ssb, ITmfEvent event) {
         String eventName = event.getName();
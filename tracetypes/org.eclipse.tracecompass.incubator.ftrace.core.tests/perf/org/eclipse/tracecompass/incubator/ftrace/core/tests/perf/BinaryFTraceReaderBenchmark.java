@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceCPUSectionIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceCPUSectionIteratorComparator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceReader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceResponse;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.junit.Test;
+
+/**
+ * Benchmark of reading all the events of a binary ftrace trace, with the
+ * {@link BinaryFTraceReader} that decodes the events of each CPU section
+ * ahead on worker threads, and with a merge of synchronous
+ * {@link BinaryFTraceCPUSectionIterator}s decoding them on the reading
+ * thread. The fields of each event are read, like an event request would.
+ * <p>
+ * The speedup grows with the number of CPU sections of the trace. The
+ * default trace has 4 of them; a larger trace can be measured by setting the
+ * {@value #TRACE_PROPERTY} system property to its path. The elapsed time is
+ * summarized, as the CPU time of the workers is spent on other cores.
+ */
+public class BinaryFTraceReaderBenchmark {
+
+    /**
+     * The system property for the path of the trace to read
+     */
+    public static final String TRACE_PROPERTY = "ftrace.benchmark.trace"; //$NON-NLS-1$
+
+    private static final String TEST_PREFIX = "Binary FTrace Reader: "; //$NON-NLS-1$
+    private static final int LOOP_COUNT = 10;
+
+    /**
+     * Read the trace synchronously and with prefetching, and measure the time
+     * of each
+     *
+     * @throws Exception
+     *             if the trace could not be parsed or read
+     */
+    @Test
+    public void testReadAll() throws Exception {
+        String path = System.getProperty(TRACE_PROPERTY);
+        if (path == null) {
+            path = FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS);
+        }
+        BinaryFTraceHeaderInfo header = BinaryFTraceFileParser.parse(path);
+        Performance perf = Performance.getDefault();
+
+        PerformanceMeter syncPm = perf.createPerformanceMeter(TEST_PREFIX + "synchronous"); //$NON-NLS-1$
+        perf.tagAsSummary(syncPm, TEST_PREFIX + "synchronous", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+        PerformanceMeter prefetchPm = perf.createPerformanceMeter(TEST_PREFIX + "prefetching"); //$NON-NLS-1$
+        perf.tagAsSummary(prefetchPm, TEST_PREFIX + "prefetching", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+        try {
+            // Warm up the readers, and check that they read the same events
+            long nbEvents = readSynchronous(header, null);
+            assertTrue(nbEvents > 0);
+            assertEquals(nbEvents, readPrefetching(header, null));
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                readSynchronous(header, syncPm);
+                readPrefetching(header, prefetchPm);
+            }
+            syncPm.commit();
+            prefetchPm.commit();
+        } finally {
+            syncPm.dispose();
+            prefetchPm.dispose();
+        }
+    }
+
+    private static long readSynchronous(BinaryFTraceHeaderInfo header, @Nullable PerformanceMeter pm) throws Exception {
+        List<BinaryFTraceCPUSectionIterator> iterators = new ArrayList<>();
+        long nbEvents = 0;
+        try {
+            if (pm != null) {
+                pm.start();
+            }
+            PriorityQueue<BinaryFTraceCPUSectionIterator> prio = new PriorityQueue<>(new BinaryFTraceCPUSectionIteratorComparator());
+            for (BinaryFTraceFileCPU cpu : header.getCpus()) {
+                BinaryFTraceCPUSectionIterator iterator = new BinaryFTraceCPUSectionIterator(cpu, header);
+                iterators.add(iterator);
+                if (iterator.readNextEvent() != BinaryFTraceResponse.ERROR) {
+                    prio.add(iterator);
+                }
+            }
+            BinaryFTraceCPUSectionIterator top = prio.poll();
+            while (top != null) {
+                nbEvents += consume(top.getCurrentEvent());
+                if (top.readNextEvent() == BinaryFTraceResponse.OK) {
+                    prio.add(top);
+                }
+                top = prio.poll();
+            }
+            if (pm != null) {
+                pm.stop();
+            }
+        } finally {
+            for (BinaryFTraceCPUSectionIterator iterator : iterators) {
+                iterator.close();
+            }
+        }
+        return nbEvents;
+    }
+
+    private static long readPrefetching(BinaryFTraceHeaderInfo header, @Nullable PerformanceMeter pm) throws Exception {
+        long nbEvents = 0;
+        if (pm != null) {
+            pm.start();
+        }
+        try (BinaryFTraceReader reader = new BinaryFTraceReader(header)) {
+            while (reader.hasMoreEvents()) {
+                nbEvents += consume(reader.getTopStream().getCurrentEvent());
+                reader.advance();
+            }
+        }
+        if (pm != null) {
+            pm.stop();
+        }
+        return nbEvents;
+    }
+
+    private static int consume(@Nullable BinaryFTraceEvent event) {
+        if (event == null) {
+            return 0;
+        }
+        for (Object value : event.getFields().values()) {
+            if (value == null) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceLineScanner;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
+import org.junit.Test;
+
+/**
+ * Benchmark of parsing the lines of the ftrace text test files, with the
+ * {@link GenericFtraceLineScanner} and the key/value split on the bytes, as
+ * the trace reads them, and with {@link IGenericFtraceConstants#FTRACE_PATTERN}
+ * and the key/value patterns on a string decoded from the same bytes.
+ */
+public class GenericFtraceParseLineBenchmark {
+
+    private static final String TEST_PREFIX = "Ftrace Parse Line: "; //$NON-NLS-1$
+    private static final String[] FILES = { "ftrace_syscalls.txt", //$NON-NLS-1$
+            "trace-android-sched", //$NON-NLS-1$
+            "trace-android-sched-irq", //$NON-NLS-1$
+            "trace-android-sched-irq-syscall", //$NON-NLS-1$
+            "trace-critical-path", //$NON-NLS-1$
+            "trace-func-graph" }; //$NON-NLS-1$
+    private static final int LOOP_COUNT = 10;
+    private static final int REPEAT_COUNT = 100;
+
+    /**
+     * Parse the lines with the scanner and with the patterns, and measure the
+     * time of each
+     *
+     * @throws IOException
+     *             if a test file could not be read
+     */
+    @Test
+    public void testParseLines() throws IOException {
+        List<byte[]> lines = new ArrayList<>();
+        for (String file : FILES) {
+            for (String line : Files.readAllLines(new File("res", file).toPath(), StandardCharsets.ISO_8859_1)) { //$NON-NLS-1$
+                lines.add(line.getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+        Performance perf = Performance.getDefault();
+
+        PerformanceMeter scannerPm = perf.createPerformanceMeter(TEST_PREFIX + "scanner"); //$NON-NLS-1$
+        perf.tagAsSummary(scannerPm, TEST_PREFIX + "scanner", Dimension.CPU_TIME); //$NON-NLS-1$
+        PerformanceMeter patternPm = perf.createPerformanceMeter(TEST_PREFIX + "pattern"); //$NON-NLS-1$
+        perf.tagAsSummary(patternPm, TEST_PREFIX + "pattern", Dimension.CPU_TIME); //$NON-NLS-1$
+        try {
+            // Warm up the parsers, and check that they parse the same lines
+            int nbFields = parseScanner(lines);
+            assertTrue(nbFields > 0);
+            assertEquals(nbFields, parsePattern(lines));
+            for (int i = 0; i < LOOP_COUNT; i++) {
+                scannerPm.start();
+                for (int j = 0; j < REPEAT_COUNT; j++) {
+                    parseScanner(lines);
+                }
+                scannerPm.stop();
+                patternPm.start();
+                for (int j = 0; j < REPEAT_COUNT; j++) {
+                    parsePattern(lines);
+                }
+                patternPm.stop();
+            }
+            scannerPm.commit();
+            patternPm.commit();
+        } finally {
+            scannerPm.dispose();
+            patternPm.dispose();
+        }
+    }
+
+    private static int parseScanner(List<byte[]> lines) {
+        int nbFields = 0;
+        for (byte[] line : lines) {
+            if (GenericFtraceField.parseLine(line, 0, line.length) != null) {
+                nbFields++;
+            }
+        }
+        return nbFields;
+    }
+
+    private static int parsePattern(List<byte[]> lines) {
+        int nbFields = 0;
+        for (byte[] line : lines) {
+            if (GenericFtraceField.parsePatternLine(new String(line, StandardCharsets.ISO_8859_1)) != null) {
+                nbFields++;
+            }
+        }
+        return nbFields;
+    }
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.header;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEventDefinition;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventDecoder;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFormatField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceValueSign;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceCPUPageIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceResponse;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.junit.Test;
+
+/**
+ * Test that the fields decoded lazily by the {@link BinaryFTraceEventDecoder}
+ * are the same as the ones parsed eagerly from a copy of the payload, like
+ * the parser it replaced did, for every event of the test traces.
+ */
+public class BinaryFTraceEventDecoderTest {
+
+    private static final String NAME_KEY = "name"; //$NON-NLS-1$
+
+    /**
+     * Test the events of a trace with multiple CPUs
+     *
+     * @throws Exception
+     *             An error occurred while reading the trace
+     */
+    @Test
+    public void testMultipleCpus() throws Exception {
+        testTrace(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS);
+    }
+
+    /**
+     * Test the events of a trace with a single event type
+     *
+     * @throws Exception
+     *             An error occurred while reading the trace
+     */
+    @Test
+    public void testSingleEvent() throws Exception {
+        testTrace(FtraceTestTrace.TEST_2_6_SINGLE_EVENT);
+    }
+
+    private static void testTrace(FtraceTestTrace testTrace) throws Exception {
+        BinaryFTraceHeaderInfo header = BinaryFTraceFileParser.parse(FTraceUtils.getTraceAbsolutePath(testTrace));
+        EagerParser eagerParser = new EagerParser(header);
+        long nbEvents = 0;
+        for (BinaryFTraceFileCPU cpu : header.getCpus()) {
+            for (BinaryFTraceCPUDataPage page : cpu.getPages()) {
+                try (BinaryFTraceCPUPageIterator iterator = new BinaryFTraceCPUPageIterator(page, header)) {
+                    while (iterator.readNextEvent() == BinaryFTraceResponse.OK) {
+                        BinaryFTraceEventDefinition eventDef = iterator.getCurrentEventDefinition();
+                        assertNotNull(eventDef);
+                        byte[] data = new byte[eventDef.getPayloadSize()];
+                        header.getTraceMapping().get(eventDef.getPayloadOffset(), data);
+                        String message = "Event at " + eventDef.getPayloadOffset(); //$NON-NLS-1$
+
+                        BinaryFTraceEventFormat format = eagerParser.getEventFormat(data);
+                        BinaryFTraceEvent event = iterator.getCurrentEvent();
+                        if (format == null) {
+                            assertNull(message, event);
+                            continue;
+                        }
+                        assertNotNull(message, event);
+                        assertEquals(message, format.getEventName(), event.getEventName());
+                        Map<String, Object> expected = data.length > 0 ? eagerParser.parseEventData(format, data) : new HashMap<>();
+                        assertFields(message, expected, event.getFields(), iterator.getCurrentEvent());
+                        nbEvents++;
+                    }
+                }
+            }
+        }
+        assertTrue(nbEvents > 0);
+    }
+
+    /**
+     * Compare the eager fields with the lazy ones, reading them through the
+     * entries, and through the keys in a different order on a new map
+     */
+    private static void assertFields(String message, Map<String, Object> expected, Map<String, Object> actual, @Nullable BinaryFTraceEvent sameEvent) {
+        assertEquals(message, expected.size(), actual.size());
+        assertEquals(message, expected, new HashMap<>(actual));
+
+        assertNotNull(message, sameEvent);
+        Map<String, Object> other = sameEvent.getFields();
+        List<String> keys = new ArrayList<>(expected.keySet());
+        Collections.sort(keys, Collections.reverseOrder());
+        for (String key : keys) {
+            assertTrue(message, other.containsKey(key));
+            assertEquals(message + " " + key, expected.get(key), other.get(key)); //$NON-NLS-1$
+        }
+        assertEquals(message, expected, other);
+        assertEquals(message, expected.hashCode(), other.hashCode());
+    }
+
+    /**
+     * The parser of the payloads used before the decoder, that copies the
+     * payload of an event and parses all its fields
+     */
+    private static final class EagerParser {
+
+        private static final int DATALOC_SHIFT = 16;
+        private static final int DATA_LOC_OFFSET = 0x0000FFFF;
+        private static final String HEX_PREFIX = "0x"; //$NON-NLS-1$
+
+        private final BinaryFTraceHeaderInfo fHeader;
+
+        private EagerParser(BinaryFTraceHeaderInfo header) {
+            fHeader = header;
+        }
+
+        private @Nullable BinaryFTraceEventFormat getEventFormat(byte[] data) {
+            BinaryFTraceFormatField commonTypeField = fHeader.getEventCommonFields().get("common_type"); //$NON-NLS-1$
+            Long eventId = (Long) getFieldValue(commonTypeField, data);
+            if (eventId == null) {
+                return null;
+            }
+            return fHeader.getEventFormatByID(eventId.intValue());
+        }
+
+        private Map<String, Object> parseEventData(BinaryFTraceEventFormat eventFormat, byte[] data) {
+            Map<String, Object> eventProperties = new HashMap<>();
+            eventProperties.put(NAME_KEY, eventFormat.getEventName());
+            for (Entry<String, BinaryFTraceFormatField> fieldEntry : eventFormat.getCommonFields().entrySet()) {
+                eventProperties.put(fieldEntry.getKey(), getFieldValue(fieldEntry.getValue(), data));
+            }
+            for (Entry<String, BinaryFTraceFormatField> fieldEntry : eventFormat.getCustomFields().entrySet()) {
+                eventProperties.put(fieldEntry.getKey(), getFieldValue(fieldEntry.getValue(), data));
+            }
+            return eventProperties;
+        }
+
+        private @Nullable Object getFieldValue(BinaryFTraceFormatField formatField, byte[] data) {
+            if (formatField.isPointer()) {
+                return readStringPointerField(extractValue(formatField, data));
+            }
+            if (formatField.isString()) {
+                byte[] fieldData = formatField.isDataLoc() ? extractDataLocValue(formatField, data) : extractValue(formatField, data);
+                return readStringField(fieldData);
+            }
+            if (formatField.getArrayLength() == 0) {
+                return readStringPointerField(extractValue(formatField, data));
+            }
+            byte[] fieldData = extractValue(formatField, data);
+            boolean signed = formatField.getSigned() == BinaryFTraceValueSign.SIGNED;
+            switch (formatField.getFieldType()) {
+            case CHAR:
+                if (fieldData.length != 1) {
+                    return null;
+                }
+                return signed || fieldData[0] >= 0 ? Long.valueOf(fieldData[0]) : Long.valueOf(Byte.toUnsignedLong(fieldData[0]));
+            case SHORT: {
+                short value = wrap(fieldData).getShort();
+                return signed || value >= 0 ? Long.valueOf(value) : Long.valueOf(Short.toUnsignedLong(value));
+            }
+            case INT: {
+                int value = wrap(fieldData).getInt();
+                return signed || value >= 0 ? Long.valueOf(value) : Long.valueOf(Integer.toUnsignedLong(value));
+            }
+            case LONG: {
+                long value = wrap(fieldData).getLong();
+                if (formatField.getSigned() == BinaryFTraceValueSign.UNSIGNED && value < 0) {
+                    return Long.toUnsignedString(value);
+                }
+                return value;
+            }
+            case UNKNOWN:
+            default:
+                return null;
+            }
+        }
+
+        private ByteBuffer wrap(byte[] fieldData) {
+            ByteOrder order = fHeader.getEndianess();
+            return ByteBuffer.wrap(fieldData).order(order);
+        }
+
+        private static String readStringField(byte[] fieldData) {
+            for (int i = 0; i < fieldData.length; i++) {
+                if (fieldData[i] == 0) {
+                    return new String(fieldData, 0, i);
+                }
+            }
+            return new String(fieldData);
+        }
+
+        private static byte[] extractValue(BinaryFTraceFormatField field, byte[] data) {
+            return Arrays.copyOfRange(data, field.getOffset(), field.getOffset() + field.getSize());
+        }
+
+        private byte[] extractDataLocValue(BinaryFTraceFormatField field, byte[] data) {
+            assertEquals(4, field.getSize());
+            int dataLocation = wrap(extractValue(field, data)).getInt();
+            int length = dataLocation >> DATALOC_SHIFT;
+            int offset = dataLocation & DATA_LOC_OFFSET;
+            if (offset + length <= data.length) {
+                return Arrays.copyOfRange(data, offset, offset + length);
+            }
+            return new byte[0];
+        }
+
+        private String readStringPointerField(byte[] fieldData) {
+            long pointerAddress = wrap(fieldData).getLong();
+            String hexAddress = HEX_PREFIX + Long.toHexString(pointerAddress);
+            String value = fHeader.getPrintKPointerStringMapping().get(hexAddress);
+            return value != null ? value : hexAddress;
+        }
+    }
+}
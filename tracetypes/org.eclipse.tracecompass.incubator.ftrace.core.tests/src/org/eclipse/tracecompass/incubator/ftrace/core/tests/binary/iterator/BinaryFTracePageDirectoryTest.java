@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceCPUSectionIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTracePageDirectory;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceReader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceResponse;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link BinaryFTracePageDirectory}, saved and loaded, and that the
+ * seeks using it find the same events as the seeks following the pages
+ */
+public class BinaryFTracePageDirectoryTest {
+
+    private static final String PAGE_DIRECTORY_FILE = "binary-ftrace.pages"; //$NON-NLS-1$
+    /** Number of events compared after each seek */
+    private static final int NB_COMPARED = 50;
+    /** Interval between the events whose timestamp is seeked */
+    private static final int SEEK_INTERVAL = 61;
+
+    private String fPath;
+    private BinaryFTraceHeaderInfo fHeader;
+    private File fDir;
+    private final List<BinaryFTrace> fTraces = new ArrayList<>();
+
+    /**
+     * Parse the trace
+     *
+     * @throws Exception
+     *             An error occurred while parsing the trace
+     */
+    @Before
+    public void setUp() throws Exception {
+        fPath = FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS);
+        fHeader = BinaryFTraceFileParser.parse(fPath);
+        fDir = Files.createTempDirectory("ftrace-pages").toFile(); //$NON-NLS-1$
+    }
+
+    /**
+     * Delete the saved directories, and dispose the traces and delete their
+     * supplementary files
+     */
+    @After
+    public void tearDown() {
+        File[] files = fDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        fDir.delete();
+        for (BinaryFTrace trace : fTraces) {
+            File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+            trace.dispose();
+            File[] suppFiles = suppDir.listFiles();
+            if (suppFiles != null) {
+                for (File suppFile : suppFiles) {
+                    suppFile.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that the directory describes the pages of the trace, and that a
+     * seek starts from the page it finds
+     */
+    @Test
+    public void testBuild() {
+        BinaryFTracePageDirectory directory = BinaryFTracePageDirectory.build(fHeader);
+        List<BinaryFTraceFileCPU> cpus = fHeader.getCpus();
+        for (int i = 0; i < cpus.size(); i++) {
+            List<BinaryFTraceCPUDataPage> pages = cpus.get(i).getPages();
+            assertTrue(directory.matches(i, pages));
+            assertEquals(pages.size(), directory.getPageCount(i));
+            for (int j = 0; j < pages.size(); j++) {
+                BinaryFTraceCPUDataPage page = pages.get(j);
+                assertEquals(page.getPageStartingOffset(), directory.getOffset(i, j));
+                assertEquals(page.getTimeStamp(), directory.getFirstTimeStamp(i, j));
+                assertTrue(directory.getLastTimeStamp(i, j) >= directory.getFirstTimeStamp(i, j));
+                int floor = directory.floorPage(i, page.getTimeStamp());
+                assertEquals(page.getTimeStamp(), directory.getFirstTimeStamp(i, floor));
+                assertTrue(floor >= j);
+            }
+            if (!pages.isEmpty()) {
+                assertEquals(0, directory.floorPage(i, 0L));
+                assertEquals(pages.size() - 1, directory.floorPage(i, Long.MAX_VALUE));
+            }
+        }
+        assertFalse(directory.matches(cpus.size(), cpus.get(0).getPages()));
+    }
+
+    /**
+     * Test that a saved directory is loaded unchanged, and not loaded for
+     * another trace file
+     *
+     * @throws IOException
+     *             if the directory cannot be saved or loaded
+     */
+    @Test
+    public void testSaveLoad() throws IOException {
+        BinaryFTracePageDirectory directory = BinaryFTracePageDirectory.build(fHeader);
+        File file = new File(fDir, PAGE_DIRECTORY_FILE);
+        assertNull(BinaryFTracePageDirectory.load(file, fHeader));
+
+        directory.save(file, new File(fPath));
+        BinaryFTracePageDirectory loaded = BinaryFTracePageDirectory.load(file, fHeader);
+        assertNotNull(loaded);
+        List<BinaryFTraceFileCPU> cpus = fHeader.getCpus();
+        for (int i = 0; i < cpus.size(); i++) {
+            assertEquals(directory.getPageCount(i), loaded.getPageCount(i));
+            for (int j = 0; j < directory.getPageCount(i); j++) {
+                assertEquals(directory.getFirstTimeStamp(i, j), loaded.getFirstTimeStamp(i, j));
+                assertEquals(directory.getLastTimeStamp(i, j), loaded.getLastTimeStamp(i, j));
+                assertEquals(directory.getOffset(i, j), loaded.getOffset(i, j));
+            }
+        }
+
+        // A directory saved for a file of another size is stale
+        File other = new File(fDir, "other.dat"); //$NON-NLS-1$
+        Files.write(other.toPath(), new byte[] { 1, 2, 3 });
+        directory.save(file, other);
+        assertNull(BinaryFTracePageDirectory.load(file, fHeader));
+        // And so is a directory of another trace
+        BinaryFTraceHeaderInfo otherHeader = BinaryFTraceFileParser.parse(FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_SINGLE_EVENT));
+        BinaryFTracePageDirectory.build(otherHeader).save(file, new File(fPath));
+        assertNull(BinaryFTracePageDirectory.load(file, fHeader));
+    }
+
+    /**
+     * Test that the seeks of a reader using the directory, built or loaded,
+     * find the same events as the seeks following the pages
+     *
+     * @throws Exception
+     *             if the directory cannot be saved or the trace read
+     */
+    @Test
+    public void testReaderSeek() throws Exception {
+        List<Long> timestamps = new ArrayList<>();
+        for (BinaryFTraceFileCPU cpu : fHeader.getCpus()) {
+            try (BinaryFTraceCPUSectionIterator iterator = new BinaryFTraceCPUSectionIterator(cpu, fHeader)) {
+                long count = 0;
+                while (iterator.readNextEvent() == BinaryFTraceResponse.OK) {
+                    if (count++ % SEEK_INTERVAL == 0) {
+                        timestamps.add(iterator.getCurrentTimeStamp() - 1);
+                        timestamps.add(iterator.getCurrentTimeStamp());
+                        timestamps.add(iterator.getCurrentTimeStamp() + 1);
+                    }
+                }
+            }
+        }
+        timestamps.add(0L);
+        timestamps.add(Long.MAX_VALUE);
+        // The pages boundaries, where the directory changes the seeked page
+        BinaryFTracePageDirectory directory = BinaryFTracePageDirectory.build(fHeader);
+        for (int i = 0; i < fHeader.getCpus().size(); i++) {
+            for (int j = 0; j < directory.getPageCount(i); j++) {
+                timestamps.add(directory.getFirstTimeStamp(i, j));
+                timestamps.add(directory.getLastTimeStamp(i, j));
+                timestamps.add(directory.getLastTimeStamp(i, j) + 1);
+            }
+        }
+
+        File file = new File(fDir, PAGE_DIRECTORY_FILE);
+        directory.save(file, new File(fPath));
+        BinaryFTracePageDirectory loaded = BinaryFTracePageDirectory.load(file, fHeader);
+        assertNotNull(loaded);
+
+        try (BinaryFTraceReader expected = new BinaryFTraceReader(fHeader);
+                BinaryFTraceReader built = new BinaryFTraceReader(fHeader, directory);
+                BinaryFTraceReader reloaded = new BinaryFTraceReader(fHeader, loaded)) {
+            for (long timestamp : timestamps) {
+                String message = "Seek to " + timestamp; //$NON-NLS-1$
+                boolean ret = expected.seek(timestamp);
+                List<String> events = read(expected);
+                assertEquals(message, ret, built.seek(timestamp));
+                assertEquals(message, events, read(built));
+                assertEquals(message, ret, reloaded.seek(timestamp));
+                assertEquals(message, events, read(reloaded));
+            }
+        }
+    }
+
+    /**
+     * Test that the trace saves its directory in its supplementary files,
+     * reuses it when it is opened again, and seeks the same events
+     *
+     * @throws TmfTraceException
+     *             if the trace cannot be opened
+     */
+    @Test
+    public void testTraceSupplementaryFile() throws TmfTraceException {
+        BinaryFTrace trace = openTrace();
+        File file = new File(TmfTraceManager.getSupplementaryFileDir(trace), PAGE_DIRECTORY_FILE);
+        assertTrue(file.exists());
+        List<ITmfLocation> locations = new ArrayList<>();
+        List<String> events = readEvents(trace, locations);
+        assertSeeks(trace, locations, events);
+
+        long lastModified = file.lastModified();
+        BinaryFTrace reopened = openTrace();
+        assertEquals(file, new File(TmfTraceManager.getSupplementaryFileDir(reopened), PAGE_DIRECTORY_FILE));
+        assertSeeks(reopened, locations, events);
+        assertEquals(events, readEvents(reopened, new ArrayList<>()));
+        // The directory was loaded, not saved again
+        assertEquals(lastModified, file.lastModified());
+    }
+
+    private BinaryFTrace openTrace() throws TmfTraceException {
+        BinaryFTrace trace = new BinaryFTrace();
+        fTraces.add(trace);
+        trace.initTrace(null, fPath, ITmfEvent.class);
+        return trace;
+    }
+
+    /**
+     * Read the events of the reader from its position after a seek
+     */
+    private static List<String> read(BinaryFTraceReader reader) {
+        List<String> events = new ArrayList<>();
+        while (reader.hasMoreEvents() && events.size() < NB_COMPARED) {
+            events.add(toString(reader.getTopStream().getCurrentEvent()));
+            reader.advance();
+        }
+        return events;
+    }
+
+    private static String toString(@Nullable BinaryFTraceEvent event) {
+        assertNotNull(event);
+        return event.getTimeSinceBoot() + " " + event.getCpu() + " " + event.getEventName() + " " + new TreeMap<>(event.getFields()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    /**
+     * Read the events of a trace, and the location of the context before
+     * each of them
+     */
+    private static List<String> readEvents(BinaryFTrace trace, List<ITmfLocation> locations) {
+        List<String> events = new ArrayList<>();
+        ITmfContext context = trace.seekEvent((ITmfLocation) null);
+        ITmfLocation location = context.getLocation();
+        ITmfEvent event = trace.getNext(context);
+        while (event != null) {
+            assertNotNull(location);
+            locations.add(location);
+            events.add(toString(event));
+            location = context.getLocation();
+            event = trace.getNext(context);
+        }
+        context.dispose();
+        assertTrue(events.size() > 0);
+        return events;
+    }
+
+    private static void assertSeeks(BinaryFTrace trace, List<ITmfLocation> locations, List<String> events) {
+        for (int i = 0; i < locations.size(); i += SEEK_INTERVAL) {
+            assertSeek(trace, locations, events, i);
+        }
+        assertSeek(trace, locations, events, locations.size() - 1);
+    }
+
+    private static void assertSeek(BinaryFTrace trace, List<ITmfLocation> locations, List<String> events, int index) {
+        ITmfContext context = trace.seekEvent(locations.get(index));
+        for (int i = index; i < Math.min(events.size(), index + NB_COMPARED); i++) {
+            ITmfEvent event = trace.getNext(context);
+            assertNotNull(event);
+            assertEquals(events.get(i), toString(event));
+        }
+        context.dispose();
+    }
+
+    private static String toString(ITmfEvent event) {
+        return event.getTimestamp().toNanos() + " " + event.getName() + " " + event.getContent(); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceCPUSectionIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceCPUSectionIteratorComparator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTracePrefetchingCPUSectionIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceReader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceResponse;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Test that the {@link BinaryFTracePrefetchingCPUSectionIterator} reads the
+ * same events as the {@link BinaryFTraceCPUSectionIterator} it decodes ahead,
+ * including after seeks that stop its worker while it is decoding.
+ */
+public class BinaryFTracePrefetchingCPUSectionIteratorTest {
+
+    /** Number of events compared after each seek */
+    private static final int NB_COMPARED = 300;
+    /** Interval between the events whose timestamp is seeked */
+    private static final int SEEK_INTERVAL = 97;
+
+    private static BinaryFTraceHeaderInfo multipleEventTrace;
+
+    /**
+     * Initialize data for the test
+     *
+     * @throws Exception
+     *             An error occurred while parsing the traces
+     */
+    @BeforeClass
+    public static void initTest() throws Exception {
+        multipleEventTrace = BinaryFTraceFileParser.parse(FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS));
+    }
+
+    /**
+     * Test that all the events of each CPU section are the same, with the
+     * same responses and timestamps
+     *
+     * @throws Exception
+     *             An error occurred while iterating through the trace events
+     */
+    @Test
+    public void testSameEvents() throws Exception {
+        List<BinaryFTraceFileCPU> cpus = multipleEventTrace.getCpus();
+        for (int i = 0; i < cpus.size(); i++) {
+            try (BinaryFTraceCPUSectionIterator expected = new BinaryFTraceCPUSectionIterator(cpus.get(i), multipleEventTrace);
+                    BinaryFTraceCPUSectionIterator actual = new BinaryFTracePrefetchingCPUSectionIterator(cpus.get(i), multipleEventTrace, null, i)) {
+                List<String> expectedEvents = read(expected, Integer.MAX_VALUE);
+                assertTrue(expectedEvents.size() > 1);
+                assertEquals("CPU section " + i, expectedEvents, read(actual, Integer.MAX_VALUE)); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Test seeking the timestamps of the events of each CPU section, and
+     * between them, with the same prefetching iterator. Each seek happens
+     * while the events after the previous one are being decoded ahead.
+     *
+     * @throws Exception
+     *             An error occurred while iterating through the trace events
+     */
+    @Test
+    public void testSeek() throws Exception {
+        List<BinaryFTraceFileCPU> cpus = multipleEventTrace.getCpus();
+        for (int i = 0; i < cpus.size(); i++) {
+            List<Long> timestamps = new ArrayList<>();
+            try (BinaryFTraceCPUSectionIterator iterator = new BinaryFTraceCPUSectionIterator(cpus.get(i), multipleEventTrace)) {
+                long count = 0;
+                while (iterator.readNextEvent() == BinaryFTraceResponse.OK) {
+                    if (count++ % SEEK_INTERVAL == 0) {
+                        timestamps.add(iterator.getCurrentTimeStamp());
+                        timestamps.add(iterator.getCurrentTimeStamp() + 1);
+                    }
+                }
+                timestamps.add(0L);
+                timestamps.add(iterator.getCurrentTimeStamp());
+                timestamps.add(Long.MAX_VALUE);
+            }
+
+            try (BinaryFTraceCPUSectionIterator expected = new BinaryFTraceCPUSectionIterator(cpus.get(i), multipleEventTrace);
+                    BinaryFTraceCPUSectionIterator actual = new BinaryFTracePrefetchingCPUSectionIterator(cpus.get(i), multipleEventTrace, null, i)) {
+                // Seek before the worker decoded the first batch
+                actual.readNextEvent();
+                for (long timestamp : timestamps) {
+                    String message = "CPU section " + i + " at " + timestamp; //$NON-NLS-1$ //$NON-NLS-2$
+                    assertEquals(message, expected.seek(timestamp), actual.seek(timestamp));
+                    assertEquals(message, toString(expected), toString(actual));
+                    // Seek again right away while the worker is decoding
+                    int nbCompared = timestamp % 2 == 0 ? NB_COMPARED : 1;
+                    assertEquals(message, read(expected, nbCompared), read(actual, nbCompared));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that the reader, which prefetches the CPU sections, merges the
+     * events in the same order as a merge of the synchronous iterators
+     *
+     * @throws Exception
+     *             An error occurred while iterating through the trace events
+     */
+    @Test
+    public void testSameMerge() throws Exception {
+        List<BinaryFTraceCPUSectionIterator> iterators = new ArrayList<>();
+        PriorityQueue<BinaryFTraceCPUSectionIterator> prio = new PriorityQueue<>(new BinaryFTraceCPUSectionIteratorComparator());
+        for (BinaryFTraceFileCPU cpu : multipleEventTrace.getCpus()) {
+            BinaryFTraceCPUSectionIterator iterator = new BinaryFTraceCPUSectionIterator(cpu, multipleEventTrace);
+            iterators.add(iterator);
+            if (iterator.readNextEvent() != BinaryFTraceResponse.ERROR) {
+                prio.add(iterator);
+            }
+        }
+        List<String> expected = new ArrayList<>();
+        BinaryFTraceCPUSectionIterator top = prio.poll();
+        while (top != null) {
+            expected.add(toString(top));
+            if (top.readNextEvent() == BinaryFTraceResponse.OK) {
+                prio.add(top);
+            }
+            top = prio.poll();
+        }
+        for (BinaryFTraceCPUSectionIterator iterator : iterators) {
+            iterator.close();
+        }
+
+        List<String> actual = new ArrayList<>();
+        try (BinaryFTraceReader reader = new BinaryFTraceReader(multipleEventTrace)) {
+            while (reader.hasMoreEvents()) {
+                actual.add(toString(reader.getTopStream()));
+                reader.advance();
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Read events from an iterator, with the response of each read, until it
+     * stops returning events. The prefetching iterator has no current event
+     * once the section is finished.
+     */
+    private static List<String> read(BinaryFTraceCPUSectionIterator iterator, int max) {
+        List<String> events = new ArrayList<>();
+        BinaryFTraceResponse response = BinaryFTraceResponse.OK;
+        while (response == BinaryFTraceResponse.OK && events.size() < max) {
+            response = iterator.readNextEvent();
+            events.add(response + " " + (response == BinaryFTraceResponse.OK ? toString(iterator) : iterator.getCurrentTimeStamp())); //$NON-NLS-1$
+        }
+        return events;
+    }
+
+    private static String toString(BinaryFTraceCPUSectionIterator iterator) {
+        BinaryFTraceEvent event = iterator.getCurrentEvent();
+        if (event == null) {
+            return iterator.getCurrentTimeStamp() + " null"; //$NON-NLS-1$
+        }
+        return iterator.getCurrentTimeStamp() + " " + event.getTimeSinceBoot() + " " + event.getCpu() + " " + event.getEventName() //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                + " " + new TreeMap<>(event.getFields()); //$NON-NLS-1$
+    }
+}
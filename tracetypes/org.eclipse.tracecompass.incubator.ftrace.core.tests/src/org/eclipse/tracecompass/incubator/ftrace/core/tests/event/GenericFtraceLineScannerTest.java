@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceLineScanner;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Test that the {@link GenericFtraceLineScanner} finds the same groups as
+ * {@link IGenericFtraceConstants#FTRACE_PATTERN} on the lines it scans, and
+ * that the fields parsed from the scanned lines, with the key/value split on
+ * the bytes, are the same as the ones parsed with the patterns only. The lines
+ * are the ones of the ftrace test files, the prefixes of these lines, which
+ * are mostly malformed, and malformed lines.
+ */
+@RunWith(Parameterized.class)
+public class GenericFtraceLineScannerTest {
+
+    private static final String MALFORMED = "malformed"; //$NON-NLS-1$
+    private static final double SECONDS_TO_NANO = 1000000000.0;
+
+    private static final List<String> MALFORMED_LINES = Arrays.asList(
+            "", //$NON-NLS-1$
+            "# tracer: nop", //$NON-NLS-1$
+            "cpus=8", //$NON-NLS-1$
+            "comm-12 [001] d...", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3 ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3:ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 12.: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... .3: ev: a=1", //$NON-NLS-1$
+            "comm-12 [1] [2] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 [1] d... 12.3: ev: a=[2] b=1", //$NON-NLS-1$
+            "comm-12[001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm 12 [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm- [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "-12 [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "a-b-12 [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 (  34) [001] d... 12.3: ev: a=1 b=2", //$NON-NLS-1$
+            "comm-12 (-----) [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 (12) [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 (3 4) [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 34) [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev(a: 1, b: 2)", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev(a: 1) trailing", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev(a: 1))", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: sys_x -> 0x0", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: sys_x ->0x0", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: ", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev:", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev-x: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: a=1,b=2", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: key:value other:2", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: a=1 b:2 c=3", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: a:1 b=2 c:3", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: a=x=y b==2 =3", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: a:b:c d:e", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: just some text", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: a=   b=0x1f c=0xzz prev_state=R+", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: sched_switch: prev_state=12 prev_comm=a b", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: sched_process_fork: parent_pid=3 child_pid=4", //$NON-NLS-1$
+            "comm-12 [001] d... 1234567890.1234567890123: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 123456789012345678: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 0.000001: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 000000.100000: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001]  12: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] 12.3: 4ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... e 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-99999999999 [001] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 [99999999999] d... 12.3: ev: a=1", //$NON-NLS-1$
+            "comm-12 [001] d... 12.3: ev: a=99999999999999999999", //$NON-NLS-1$
+            "ab\u00e9c-12 [001] d... 12.3: ev: a=\u00e9 b=\u00ff", //$NON-NLS-1$
+            "comm-12\t[001]\td...\t12.3: ev:\ta=1\tb=2", //$NON-NLS-1$
+            "  \t comm-12 [001] d... 12.3: ev: a=1 \t "); //$NON-NLS-1$
+
+    private final String fName;
+
+    /**
+     * Get the test files, and the malformed lines
+     *
+     * @return the names of the test files
+     */
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> getParameters() {
+        return Arrays.asList(new Object[][] {
+                { "ftrace_syscalls.txt" }, //$NON-NLS-1$
+                { "trace-android-sched" }, //$NON-NLS-1$
+                { "trace-android-sched-irq" }, //$NON-NLS-1$
+                { "trace-android-sched-irq-syscall" }, //$NON-NLS-1$
+                { "trace-critical-path" }, //$NON-NLS-1$
+                { "trace-func-graph" }, //$NON-NLS-1$
+                { MALFORMED }
+        });
+    }
+
+    /**
+     * Constructor
+     *
+     * @param name
+     *            the name of the test file, or {@link #MALFORMED}
+     */
+    public GenericFtraceLineScannerTest(String name) {
+        fName = name;
+    }
+
+    private List<String> getLines() throws IOException {
+        if (fName.equals(MALFORMED)) {
+            return MALFORMED_LINES;
+        }
+        return Files.readAllLines(new File("res", fName).toPath(), StandardCharsets.ISO_8859_1); //$NON-NLS-1$
+    }
+
+    /**
+     * Test that the scanned lines have the groups of the pattern, and that the
+     * lines that are not scanned do not match it differently
+     *
+     * @throws IOException
+     *             if the test file cannot be read
+     */
+    @Test
+    public void testScanner() throws IOException {
+        int scanned = 0;
+        for (String line : getLines()) {
+            scanned += assertScanner(line) ? 1 : 0;
+            for (String prefix : getPrefixes(line)) {
+                assertScanner(prefix);
+            }
+        }
+        assertTrue(scanned > 0);
+    }
+
+    /**
+     * Test that the fields parsed from the lines are the same as the ones
+     * parsed with the patterns only
+     *
+     * @throws IOException
+     *             if the test file cannot be read
+     */
+    @Test
+    public void testFields() throws IOException {
+        for (String line : getLines()) {
+            assertFields(line);
+            for (String prefix : getPrefixes(line)) {
+                assertFields(prefix);
+            }
+        }
+    }
+
+    /**
+     * The prefixes of a line ending before and after each white space
+     */
+    private static List<String> getPrefixes(String line) {
+        List<String> prefixes = new ArrayList<>();
+        for (int i = 0; i < line.length(); i++) {
+            if (Character.isWhitespace(line.charAt(i))) {
+                prefixes.add(line.substring(0, i));
+                prefixes.add(line.substring(0, i + 1));
+            }
+        }
+        return prefixes;
+    }
+
+    private static boolean assertScanner(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.ISO_8859_1);
+        GenericFtraceLineScanner scanner = new GenericFtraceLineScanner();
+        Matcher matcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
+        boolean matches = matcher.matches();
+        assertEquals(line, matches, GenericFtraceLineScanner.matches(bytes, 0, bytes.length));
+        if (!scanner.scan(bytes, 0, bytes.length)) {
+            return false;
+        }
+        assertTrue(line, matches);
+        assertEquals(line, matcher.group(IGenericFtraceConstants.FTRACE_COMM_GROUP), scanner.getComm());
+        assertEquals(line, Integer.parseInt(matcher.group(IGenericFtraceConstants.FTRACE_PID_GROUP)), scanner.getPid());
+        String tgid = matcher.group(IGenericFtraceConstants.FTRACE_TGID_GROUP);
+        assertEquals(line, tgid == null ? null : Integer.valueOf(tgid), scanner.getTgid());
+        assertEquals(line, Integer.parseInt(matcher.group(IGenericFtraceConstants.FTRACE_CPU_GROUP)), scanner.getCpu());
+        double seconds = Double.parseDouble(matcher.group(IGenericFtraceConstants.FTRACE_TIMESTAMP_GROUP));
+        assertEquals(line, (long) (seconds * SECONDS_TO_NANO), scanner.getTimestamp());
+        assertEquals(line, matcher.group(IGenericFtraceConstants.FTRACE_NAME_GROUP), scanner.getName());
+        assertEquals(line, matcher.group(IGenericFtraceConstants.FTRACE_SEPARATOR_GROUP).trim(), scanner.getSeparator());
+        assertEquals(line, matcher.group(IGenericFtraceConstants.FTRACE_DATA_GROUP), scanner.getData());
+        return true;
+    }
+
+    private static void assertFields(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.ISO_8859_1);
+        String expected = parse(GenericFtraceField::parsePatternLine, line);
+        assertEquals(line, expected, parse(GenericFtraceField::parseLine, line));
+        assertEquals(line, expected, parse(l -> GenericFtraceField.parseLine(bytes, 0, bytes.length), line));
+    }
+
+    private static String parse(Function<String, @Nullable GenericFtraceField> parser, String line) {
+        GenericFtraceField field;
+        try {
+            field = parser.apply(line);
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+        if (field == null) {
+            return "null"; //$NON-NLS-1$
+        }
+        Map<String, String> fields = new TreeMap<>();
+        for (ITmfEventField eventField : field.getContent().getFields()) {
+            Object value = eventField.getValue();
+            fields.put(eventField.getName(), value.getClass().getSimpleName() + ':' + value);
+        }
+        return field.getName() + ' ' + field.getCpu() + ' ' + field.getPid() + ' ' + field.getTid() + ' ' + field.getTs() + ' ' + fields;
+    }
+}
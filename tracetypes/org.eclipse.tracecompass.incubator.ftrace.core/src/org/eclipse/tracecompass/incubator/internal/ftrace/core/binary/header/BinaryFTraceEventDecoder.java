@@ -0,0 +1,464 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileMapping;
+
+/**
+ * Decoder of the payload of the events of a {@link BinaryFTraceEventFormat}.
+ * The layout of the fields is compiled once per format, then the values are
+ * read directly from the mapped trace file by offset and width, without
+ * copying the payload.
+ *
+ * The fields of an event are exposed as a map that only decodes a value when
+ * it is accessed. Like the map built by the previous parser, it contains the
+ * common fields, the custom fields, and the name of the event under the
+ * "name" key, unless a field has that name.
+ */
+public final class BinaryFTraceEventDecoder {
+
+    private static final String NAME_KEY = "name"; //$NON-NLS-1$
+    private static final String HEX_PREFIX = "0x"; //$NON-NLS-1$
+
+    private static final int DATALOC_SHIFT = 16;
+    private static final int DATA_LOC_OFFSET = 0x0000FFFF;
+
+    /** Kinds of fields, selected once from the format field */
+    private static final byte NONE = 0;
+    private static final byte POINTER = 1;
+    private static final byte STRING = 2;
+    private static final byte DATA_LOC_STRING = 3;
+    private static final byte CHAR = 4;
+    private static final byte SHORT = 5;
+    private static final byte INT = 6;
+    private static final byte LONG = 7;
+
+    /** Marker of a value that is not decoded yet */
+    private static final Object UNDECODED = new Object();
+
+    private final BinaryFTraceFileMapping fMapping;
+    private final ByteOrder fByteOrder;
+    private final Map<String, String> fPrintKPointerStringMapping;
+    private final String fEventName;
+
+    private final String[] fNames;
+    private final byte[] fKinds;
+    private final int[] fOffsets;
+    private final int[] fSizes;
+    private final boolean[] fSigned;
+    private final Map<String, Integer> fIndexes;
+    private final boolean fHasNameField;
+
+    /**
+     * Constructor
+     *
+     * @param format
+     *            The format of the events to decode
+     * @param mapping
+     *            The mapping of the trace file, in the byte order of the trace
+     * @param byteOrder
+     *            The byte order of the trace
+     * @param printKPointerStringMapping
+     *            The strings of the trace, by address
+     */
+    public BinaryFTraceEventDecoder(BinaryFTraceEventFormat format, BinaryFTraceFileMapping mapping, ByteOrder byteOrder, Map<String, String> printKPointerStringMapping) {
+        fMapping = mapping;
+        fByteOrder = byteOrder;
+        fPrintKPointerStringMapping = printKPointerStringMapping;
+        fEventName = format.getEventName();
+
+        // The custom fields replace the common fields with the same name
+        Map<String, BinaryFTraceFormatField> fields = new LinkedHashMap<>(format.getCommonFields());
+        fields.putAll(format.getCustomFields());
+
+        int count = fields.size();
+        fNames = new String[count];
+        fKinds = new byte[count];
+        fOffsets = new int[count];
+        fSizes = new int[count];
+        fSigned = new boolean[count];
+        fIndexes = new HashMap<>();
+        int i = 0;
+        for (Map.Entry<String, BinaryFTraceFormatField> entry : fields.entrySet()) {
+            BinaryFTraceFormatField field = entry.getValue();
+            fNames[i] = entry.getKey();
+            fKinds[i] = getKind(field);
+            fOffsets[i] = field.getOffset();
+            fSizes[i] = field.getSize();
+            fSigned[i] = field.getSigned() == BinaryFTraceValueSign.SIGNED;
+            fIndexes.put(entry.getKey(), i);
+            i++;
+        }
+        fHasNameField = fIndexes.containsKey(NAME_KEY);
+    }
+
+    private static byte getKind(BinaryFTraceFormatField field) {
+        if (field.isPointer()) {
+            return POINTER;
+        }
+        if (field.isString()) {
+            return field.isDataLoc() ? DATA_LOC_STRING : STRING;
+        }
+        if (field.getArrayLength() == 0) {
+            // For now for non string type we just print out the pointer value
+            return POINTER;
+        }
+        switch (field.getFieldType()) {
+        case CHAR:
+            return CHAR;
+        case SHORT:
+            return SHORT;
+        case INT:
+            return INT;
+        case LONG:
+            return LONG;
+        case UNKNOWN:
+        default:
+            return NONE;
+        }
+    }
+
+    /**
+     * Get the name of the events of this format
+     *
+     * @return the event name
+     */
+    public String getEventName() {
+        return fEventName;
+    }
+
+    /**
+     * Get the fields of an event, decoded lazily
+     *
+     * @param payloadOffset
+     *            The offset of the payload of the event in the trace file
+     * @param payloadSize
+     *            The size of the payload
+     * @return The fields of the event, by name
+     */
+    public Map<String, Object> getFields(long payloadOffset, int payloadSize) {
+        return new LazyFields(payloadOffset, payloadSize);
+    }
+
+    /**
+     * Read an unsigned integer field of a payload, like the event type
+     *
+     * @param mapping
+     *            The mapping of the trace file
+     * @param payloadOffset
+     *            The offset of the payload of the event in the trace file
+     * @param payloadSize
+     *            The size of the payload
+     * @param field
+     *            The field to read
+     * @return the value, or -1 if the field is not in the payload
+     */
+    public static long readUnsigned(BinaryFTraceFileMapping mapping, long payloadOffset, int payloadSize, BinaryFTraceFormatField field) {
+        int offset = field.getOffset();
+        int size = field.getSize();
+        if (offset < 0 || offset + size > payloadSize) {
+            return -1;
+        }
+        long position = payloadOffset + offset;
+        switch (size) {
+        case 1:
+            return Byte.toUnsignedLong(mapping.getByte(position));
+        case 2:
+            return Short.toUnsignedLong(mapping.getShort(position));
+        case 4:
+            return Integer.toUnsignedLong(mapping.getInt(position));
+        case 8:
+            return mapping.getLong(position);
+        default:
+            return -1;
+        }
+    }
+
+    /**
+     * Decode a field of an event
+     */
+    private @Nullable Object decode(long payloadOffset, int payloadSize, int index) {
+        int offset = fOffsets[index];
+        int size = fSizes[index];
+        if (offset < 0 || offset > payloadSize) {
+            return null;
+        }
+        switch (fKinds[index]) {
+        case POINTER:
+            if (size >= Long.BYTES) {
+                return readPointer(readInteger(payloadOffset, payloadSize, offset, Long.BYTES));
+            }
+            if (size == Integer.BYTES) {
+                return readPointer(Integer.toUnsignedLong((int) readInteger(payloadOffset, payloadSize, offset, Integer.BYTES)));
+            }
+            return null;
+        case STRING:
+            // Bytes past the payload read as the end of the string
+            return readString(payloadOffset + offset, Math.min(size, payloadSize - offset));
+        case DATA_LOC_STRING: {
+            // The dynamic field should be 4 bytes
+            if (size != Integer.BYTES) {
+                return null;
+            }
+            int dataLocation = (int) readInteger(payloadOffset, payloadSize, offset, Integer.BYTES);
+            int length = dataLocation >> DATALOC_SHIFT;
+            int dataOffset = dataLocation & DATA_LOC_OFFSET;
+            if (length < 0 || dataOffset + length > payloadSize) {
+                return ""; //$NON-NLS-1$
+            }
+            return readString(payloadOffset + dataOffset, length);
+        }
+        case CHAR: {
+            /** A char for ftrace is a 8bit = 1byte value */
+            if (size != Byte.BYTES) {
+                return null;
+            }
+            byte value = (byte) readInteger(payloadOffset, payloadSize, offset, Byte.BYTES);
+            return fSigned[index] ? Long.valueOf(value) : Long.valueOf(Byte.toUnsignedLong(value));
+        }
+        case SHORT: {
+            if (size < Short.BYTES) {
+                return null;
+            }
+            short value = (short) readInteger(payloadOffset, payloadSize, offset, Short.BYTES);
+            return fSigned[index] ? Long.valueOf(value) : Long.valueOf(Short.toUnsignedLong(value));
+        }
+        case INT: {
+            if (size < Integer.BYTES) {
+                return null;
+            }
+            int value = (int) readInteger(payloadOffset, payloadSize, offset, Integer.BYTES);
+            return fSigned[index] ? Long.valueOf(value) : Long.valueOf(Integer.toUnsignedLong(value));
+        }
+        case LONG: {
+            if (size < Long.BYTES) {
+                return null;
+            }
+            long value = readInteger(payloadOffset, payloadSize, offset, Long.BYTES);
+            // If the value is unsigned, but can not be fit into a signed
+            // value, we return a string of the unsigned value
+            if (!fSigned[index] && value < 0) {
+                return Long.toUnsignedString(value);
+            }
+            return value;
+        }
+        case NONE:
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Read an integer of 1, 2, 4 or 8 bytes of the payload. The bytes past the
+     * end of the payload read as 0.
+     */
+    private long readInteger(long payloadOffset, int payloadSize, int offset, int width) {
+        long position = payloadOffset + offset;
+        if (offset + width > payloadSize) {
+            byte[] bytes = new byte[Long.BYTES];
+            for (int i = 0; i < payloadSize - offset; i++) {
+                bytes[i] = fMapping.getByte(position + i);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes).order(fByteOrder);
+            switch (width) {
+            case Byte.BYTES:
+                return buffer.get();
+            case Short.BYTES:
+                return buffer.getShort();
+            case Integer.BYTES:
+                return buffer.getInt();
+            default:
+                return buffer.getLong();
+            }
+        }
+        switch (width) {
+        case Byte.BYTES:
+            return fMapping.getByte(position);
+        case Short.BYTES:
+            return fMapping.getShort(position);
+        case Integer.BYTES:
+            return fMapping.getInt(position);
+        default:
+            return fMapping.getLong(position);
+        }
+    }
+
+    private String readPointer(long pointerAddress) {
+        // If the we have a mapping of address to string in the file header,
+        // get the string
+        String hexAddress = HEX_PREFIX + Long.toHexString(pointerAddress);
+        String value = fPrintKPointerStringMapping.get(hexAddress);
+        // Else we return the hex string representation like trace-cmd
+        return value != null ? value : hexAddress;
+    }
+
+    private String readString(long position, int maxLength) {
+        int length = 0;
+        while (length < maxLength && fMapping.getByte(position + length) != 0) {
+            length++;
+        }
+        if (length == 0) {
+            return ""; //$NON-NLS-1$
+        }
+        byte[] bytes = new byte[length];
+        fMapping.get(position, bytes);
+        return new String(bytes);
+    }
+
+    /**
+     * The fields of an event, decoded on first access
+     */
+    private final class LazyFields extends AbstractMap<String, Object> {
+
+        private final long fPayloadOffset;
+        private final int fPayloadSize;
+        private @Nullable Object @Nullable [] fValues = null;
+        private @Nullable Set<Entry<String, Object>> fEntries = null;
+
+        private LazyFields(long payloadOffset, int payloadSize) {
+            fPayloadOffset = payloadOffset;
+            fPayloadSize = payloadSize;
+        }
+
+        private @Nullable Object getValue(int index) {
+            @Nullable Object[] values = fValues;
+            if (values == null) {
+                values = new Object[fNames.length];
+                Arrays.fill(values, UNDECODED);
+                fValues = values;
+            }
+            Object value = values[index];
+            if (value == UNDECODED) {
+                value = decode(fPayloadOffset, fPayloadSize, index);
+                values[index] = value;
+            }
+            return value;
+        }
+
+        @Override
+        public @Nullable Object get(@Nullable Object key) {
+            Integer index = fIndexes.get(key);
+            if (index != null) {
+                return getValue(index);
+            }
+            return NAME_KEY.equals(key) ? fEventName : null;
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return fIndexes.containsKey(key) || NAME_KEY.equals(key);
+        }
+
+        @Override
+        public int size() {
+            return fHasNameField ? fNames.length : fNames.length + 1;
+        }
+
+        /**
+         * Entry of a field, that is only decoded if its value is read
+         */
+        private final class FieldEntry implements Entry<String, Object> {
+            private final int fIndex;
+
+            private FieldEntry(int index) {
+                fIndex = index;
+            }
+
+            @Override
+            public String getKey() {
+                return fNames[fIndex];
+            }
+
+            @Override
+            public @Nullable Object getValue() {
+                return LazyFields.this.getValue(fIndex);
+            }
+
+            @Override
+            public Object setValue(Object value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public boolean equals(@Nullable Object obj) {
+                if (!(obj instanceof Entry)) {
+                    return false;
+                }
+                Entry<?, ?> other = (Entry<?, ?>) obj;
+                return getKey().equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+            }
+
+            @Override
+            public int hashCode() {
+                return getKey().hashCode() ^ Objects.hashCode(getValue());
+            }
+
+            @Override
+            public String toString() {
+                return getKey() + '=' + getValue();
+            }
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Set<Entry<String, Object>> entries = fEntries;
+            if (entries == null) {
+                entries = new AbstractSet<>() {
+                    @Override
+                    public Iterator<Entry<String, Object>> iterator() {
+                        return new Iterator<>() {
+                            private int fNext = fHasNameField ? 0 : -1;
+
+                            @Override
+                            public boolean hasNext() {
+                                return fNext < fNames.length;
+                            }
+
+                            @Override
+                            public Entry<String, Object> next() {
+                                if (!hasNext()) {
+                                    throw new NoSuchElementException();
+                                }
+                                int index = fNext++;
+                                if (index < 0) {
+                                    return new SimpleImmutableEntry<>(NAME_KEY, fEventName);
+                                }
+                                return new FieldEntry(index);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public int size() {
+                        return LazyFields.this.size();
+                    }
+                };
+                fEntries = entries;
+            }
+            return entries;
+        }
+    }
+}
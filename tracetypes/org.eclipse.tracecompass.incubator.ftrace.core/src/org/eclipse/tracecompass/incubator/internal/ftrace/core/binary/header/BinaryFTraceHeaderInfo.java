@@ -16,7 +16,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceByteBuffer;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileMapping;
 
@@ -51,6 +53,9 @@ public class BinaryFTraceHeaderInfo {
 
     private BinaryFTraceFileMapping fTraceMapping;
 
+    // Decoders of the event formats, compiled on first use
+    private final Map<Integer, Optional<BinaryFTraceEventDecoder>> fEventDecoders = new ConcurrentHashMap<>();
+
     /**
      * Constructor
      *
@@ -91,6 +96,16 @@ public class BinaryFTraceHeaderInfo {
         return new BinaryFTraceByteBuffer(fTraceMapping);
     }
 
+    /**
+     * Get the memory mapping of the trace file, in the byte order of the trace.
+     * The read operations take absolute positions, so it can be shared.
+     *
+     * @return the trace file mapping
+     */
+    public BinaryFTraceFileMapping getTraceMapping() {
+        return fTraceMapping;
+    }
+
     /**
      * Get the file path to the trace file.
      *
@@ -241,6 +256,24 @@ public class BinaryFTraceHeaderInfo {
         return null;
     }
 
+    /**
+     * Get the decoder of the events of a format, compiled on first use.
+     *
+     * @param eventTypeID
+     *            The ID of the event.
+     * @return The decoder of the events with this ID, or null if there is no
+     *         such event format.
+     */
+    public @Nullable BinaryFTraceEventDecoder getEventDecoder(int eventTypeID) {
+        return fEventDecoders.computeIfAbsent(eventTypeID, id -> {
+            BinaryFTraceEventFormat format = getEventFormatByID(id);
+            if (format == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new BinaryFTraceEventDecoder(format, fTraceMapping, fEndianess, fPrintKPointerStringMapping));
+        }).orElse(null);
+    }
+
     /**
      * Get the list of CPUS.
      *
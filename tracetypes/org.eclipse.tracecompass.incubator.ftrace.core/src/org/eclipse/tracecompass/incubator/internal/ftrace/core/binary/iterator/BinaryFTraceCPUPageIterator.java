@@ -13,8 +13,6 @@ package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -22,7 +20,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEventDefinition;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventDecoder;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceByteBuffer;
 
@@ -302,6 +300,16 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
         return fPage;
     }
 
+    /**
+     * Get the location of the payload of the current event in the trace file.
+     *
+     * @return The definition of the current event, or null if the last read
+     *         did not find an event.
+     */
+    public @Nullable BinaryFTraceEventDefinition getCurrentEventDefinition() {
+        return fEventDef;
+    }
+
     /**
      * Lazily read the next event using the event definition information.
      *
@@ -312,26 +320,15 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
         BinaryFTraceEventDefinition eventDef = fEventDef;
 
         if (eventDef != null) {
-            // We use a new buffer to read the current event
-            BinaryFTraceByteBuffer tempBuffer = fFileHeader.getMappedBuffer();
-            tempBuffer.movePointerToOffset(eventDef.getPayloadOffset());
-
-            byte[] data = tempBuffer.getNextBytes(eventDef.getPayloadSize());
-            BinaryFTraceEventFormat eventFormat = fDataParser.getEventFormat(data);
-            if (eventFormat == null) {
+            // The fields are read from the mapped file when they are accessed
+            BinaryFTraceEventDecoder decoder = fDataParser.getEventDecoder(eventDef.getPayloadOffset(), eventDef.getPayloadSize());
+            if (decoder == null) {
                 return null;
             }
 
-            Map<String, Object> properties;
-            if (eventDef.getPayloadSize() > 0) {
-                properties = fDataParser.parseEventData(eventFormat, data);
-            } else {
-                properties = new HashMap<>();
-            }
-
             BinaryFTraceEvent event = new BinaryFTraceEvent(fCurrentTimeStamp,
-                    properties,
-                    eventFormat.getEventName(),
+                    decoder.getFields(eventDef.getPayloadOffset(), eventDef.getPayloadSize()),
+                    decoder.getEventName(),
                     fPage.getCpu());
             return event;
         }
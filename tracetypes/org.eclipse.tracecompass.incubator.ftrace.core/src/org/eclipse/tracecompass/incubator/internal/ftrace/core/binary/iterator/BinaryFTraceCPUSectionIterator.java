@@ -12,6 +12,7 @@
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
@@ -36,6 +37,13 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
     /** The first page of the CPU section, required to reset the iterator **/
     private BinaryFTraceCPUDataPage fHeadPage;
 
+    /** The pages of the CPU section, in the order of the page directory **/
+    private final List<BinaryFTraceCPUDataPage> fPages;
+
+    /** The page directory used to seek, null if the pages are followed **/
+    private final @Nullable BinaryFTracePageDirectory fDirectory;
+    private final int fCpuIndex;
+
     /**
      * Constructor
      *
@@ -47,7 +55,30 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
      *             If fail to obtain the iterator
      */
     public BinaryFTraceCPUSectionIterator(BinaryFTraceFileCPU cpu, BinaryFTraceHeaderInfo headerInfo) throws IOException {
+        this(cpu, headerInfo, null, -1);
+    }
+
+    /**
+     * Constructor of an iterator that uses a page directory to find the page
+     * to seek to
+     *
+     * @param cpu
+     *            The CPU section to iterator to loop over
+     * @param headerInfo
+     *            The trace header
+     * @param directory
+     *            The page directory of the trace, or null to follow the pages
+     *            when seeking
+     * @param cpuIndex
+     *            The index of the CPU section in the trace header
+     * @throws IOException
+     *             If fail to obtain the iterator
+     */
+    public BinaryFTraceCPUSectionIterator(BinaryFTraceFileCPU cpu, BinaryFTraceHeaderInfo headerInfo, @Nullable BinaryFTracePageDirectory directory, int cpuIndex) throws IOException {
         this.headerInfo = headerInfo;
+        fPages = cpu.getPages();
+        fDirectory = (directory != null && directory.matches(cpuIndex, fPages)) ? directory : null;
+        fCpuIndex = cpuIndex;
 
         if (!cpu.getPages().isEmpty()) {
             fHeadPage = cpu.getPages().get(0); // Get the first page
@@ -171,7 +202,21 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
         if (currPage != null) {
             BinaryFTraceCPUDataPage nextPage = currPage.getNextPage();
 
-            if (timestamp > currPage.getTimeStamp()) {
+            BinaryFTracePageDirectory directory = fDirectory;
+            if (directory != null) {
+                int index = directory.floorPage(fCpuIndex, timestamp);
+                if (index + 1 < fPages.size() && timestamp > directory.getLastTimeStamp(fCpuIndex, index)) {
+                    /*
+                     * All the events of this page are before the timestamp, so
+                     * the seek would fall back to the next page anyway
+                     */
+                    currPage = fPages.get(index + 1);
+                    nextPage = null;
+                } else {
+                    currPage = fPages.get(index);
+                    nextPage = currPage.getNextPage();
+                }
+            } else if (timestamp > currPage.getTimeStamp()) {
                 while (nextPage != null && timestamp >= nextPage.getTimeStamp()) {
                     currPage = nextPage;
                     nextPage = currPage.getNextPage();
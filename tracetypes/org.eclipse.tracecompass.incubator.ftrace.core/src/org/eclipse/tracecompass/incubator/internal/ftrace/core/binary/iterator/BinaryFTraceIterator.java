@@ -13,7 +13,6 @@ package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.IOException;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -35,6 +34,8 @@ import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 
+import com.google.common.collect.Maps;
+
 /**
  * An iterator that allows iteration over the events in a binary FTrace. The
  * file expected should be paged.
@@ -75,7 +76,27 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
      *             a read error.
      */
     public BinaryFTraceIterator(BinaryFTraceHeaderInfo headerInfo, @NonNull BinaryFTrace ftrace) throws IOException {
-        super(headerInfo);
+        this(headerInfo, ftrace, null);
+    }
+
+    /**
+     * Create a new CTF trace iterator, which initially points at the first
+     * event in the trace and uses a page directory to seek.
+     *
+     * @param headerInfo
+     *            The {@link BinaryFTraceHeaderInfo} linked to the trace. It
+     *            should be provided by the corresponding 'ctfTmfTrace'.
+     * @param ftrace
+     *            The {@link BinaryFTrace} to iterate over
+     * @param directory
+     *            The page directory of the trace, or null to follow the pages
+     *            of the CPU sections when seeking
+     * @throws IOException
+     *             If the iterator couldn't not be instantiated, probably due to
+     *             a read error.
+     */
+    public BinaryFTraceIterator(BinaryFTraceHeaderInfo headerInfo, @NonNull BinaryFTrace ftrace, @Nullable BinaryFTracePageDirectory directory) throws IOException {
+        super(headerInfo, directory);
         this.fTrace = ftrace;
 
         if (hasMoreEvents()) {
@@ -126,13 +147,16 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
         // This function call guarantees that name will not be null
         String name = eventNameRewrite(event.getEventName());
 
-        Object commonPidField = event.getFields().getOrDefault("common_pid", null); //$NON-NLS-1$
+        // The fields are decoded as they are read, the other common fields are
+        // never decoded
+        Map<String, Object> eventFields = event.getFields();
+        Object commonPidField = eventFields.get("common_pid"); //$NON-NLS-1$
         if (commonPidField != null) {
             pid = ((Long) commonPidField).intValue();
         }
         Integer tid = pid;
 
-        Object tgidField = event.getFields().getOrDefault("tgid", null); //$NON-NLS-1$
+        Object tgidField = eventFields.get("tgid"); //$NON-NLS-1$
         if (tgidField != null) {
             int tgidNumeric = ((Long) tgidField).intValue();
             if (tgidNumeric != pid) {
@@ -140,12 +164,15 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
             }
         }
 
-        Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
-        for (Entry<String, Object> field : event.getFields().entrySet()) {
+        Map<@NonNull String, @NonNull Object> fields = Maps.newHashMapWithExpectedSize(eventFields.size());
+        for (Entry<String, Object> field : eventFields.entrySet()) {
             String key = field.getKey();
+            if (key.startsWith(BinaryFTraceConstants.EVENT_FORMAT_COMMON_FIELD_PREFIX)) {
+                continue;
+            }
             Object value = field.getValue();
 
-            if (value != null && !key.startsWith(BinaryFTraceConstants.EVENT_FORMAT_COMMON_FIELD_PREFIX)) {
+            if (value != null) {
                 if (key.equals("parent_pid") && name.equals(GenericFtraceEventLayout.getInstance().eventSchedProcessFork())) { //$NON-NLS-1$
                     key = "pid"; //$NON-NLS-1$
                 }
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+
+/**
+ * Directory of the data pages of each CPU section of a binary FTrace file. For
+ * each page, it keeps the timestamp of the page, the timestamp reached after
+ * its last event and its offset in the file, so that a
+ * {@link BinaryFTraceCPUSectionIterator} can find the page to seek to with a
+ * binary search instead of following the pages one by one.
+ *
+ * The CPU sections are in the order of {@link BinaryFTraceHeaderInfo#getCpus()}.
+ * The directory is built by reading the event headers of every page once, and
+ * can be saved with the size and modification time of the trace file to detect
+ * when it is stale.
+ */
+public class BinaryFTracePageDirectory {
+
+    private static final int MAGIC = 0x46545064; // FTPd
+    private static final int VERSION = 1;
+
+    private final long[][] fFirstTimeStamps;
+    private final long[][] fLastTimeStamps;
+    private final long[][] fOffsets;
+
+    private BinaryFTracePageDirectory(long[][] firstTimeStamps, long[][] lastTimeStamps, long[][] offsets) {
+        fFirstTimeStamps = firstTimeStamps;
+        fLastTimeStamps = lastTimeStamps;
+        fOffsets = offsets;
+    }
+
+    /**
+     * Build the directory of a trace by reading the event headers of all its
+     * pages. The payloads of the events are not read.
+     *
+     * @param headerInfo
+     *            the trace header
+     * @return the directory
+     */
+    public static BinaryFTracePageDirectory build(BinaryFTraceHeaderInfo headerInfo) {
+        List<BinaryFTraceFileCPU> cpus = headerInfo.getCpus();
+        int cpuCount = cpus.size();
+        long[][] firstTimeStamps = new long[cpuCount][];
+        long[][] lastTimeStamps = new long[cpuCount][];
+        long[][] offsets = new long[cpuCount][];
+        for (int i = 0; i < cpuCount; i++) {
+            List<BinaryFTraceCPUDataPage> pages = cpus.get(i).getPages();
+            int pageCount = pages.size();
+            firstTimeStamps[i] = new long[pageCount];
+            lastTimeStamps[i] = new long[pageCount];
+            offsets[i] = new long[pageCount];
+            for (int j = 0; j < pageCount; j++) {
+                BinaryFTraceCPUDataPage page = pages.get(j);
+                firstTimeStamps[i][j] = page.getTimeStamp();
+                lastTimeStamps[i][j] = readLastTimeStamp(page, headerInfo);
+                offsets[i][j] = page.getPageStartingOffset();
+            }
+        }
+        return new BinaryFTracePageDirectory(firstTimeStamps, lastTimeStamps, offsets);
+    }
+
+    /**
+     * Read the events of a page the same way
+     * {@link BinaryFTraceCPUPageIterator#seek(long)} does, up to the end of the
+     * page.
+     */
+    private static long readLastTimeStamp(BinaryFTraceCPUDataPage page, BinaryFTraceHeaderInfo headerInfo) {
+        BinaryFTraceCPUPageIterator iter = new BinaryFTraceCPUPageIterator(page, headerInfo);
+        BinaryFTraceResponse response = iter.readNextEvent();
+        while (response == BinaryFTraceResponse.OK && iter.hasNext()) {
+            response = iter.readNextEvent();
+        }
+        return iter.getCurrentTimeStamp();
+    }
+
+    /**
+     * Get the number of pages of a CPU section
+     *
+     * @param cpuIndex
+     *            the index of the CPU section in the trace header
+     * @return the number of pages
+     */
+    public int getPageCount(int cpuIndex) {
+        return fOffsets[cpuIndex].length;
+    }
+
+    /**
+     * Get the timestamp of a page, which is the base of the timestamps of its
+     * events
+     *
+     * @param cpuIndex
+     *            the index of the CPU section in the trace header
+     * @param page
+     *            the index of the page in the section
+     * @return the timestamp of the page
+     */
+    public long getFirstTimeStamp(int cpuIndex, int page) {
+        return fFirstTimeStamps[cpuIndex][page];
+    }
+
+    /**
+     * Get the timestamp reached after reading all the events of a page. A seek
+     * to a later timestamp cannot find an event in this page.
+     *
+     * @param cpuIndex
+     *            the index of the CPU section in the trace header
+     * @param page
+     *            the index of the page in the section
+     * @return the last timestamp of the page
+     */
+    public long getLastTimeStamp(int cpuIndex, int page) {
+        return fLastTimeStamps[cpuIndex][page];
+    }
+
+    /**
+     * Get the offset of a page in the trace file
+     *
+     * @param cpuIndex
+     *            the index of the CPU section in the trace header
+     * @param page
+     *            the index of the page in the section
+     * @return the starting offset of the page
+     */
+    public long getOffset(int cpuIndex, int page) {
+        return fOffsets[cpuIndex][page];
+    }
+
+    /**
+     * Find the page where a seek to a timestamp starts, that is the last page
+     * whose timestamp is at or before it. The first page is returned if the
+     * timestamp is at or before the start of the section.
+     *
+     * @param cpuIndex
+     *            the index of the CPU section in the trace header
+     * @param timestamp
+     *            the timestamp to seek
+     * @return the index of the page, or -1 if the section has no pages
+     */
+    public int floorPage(int cpuIndex, long timestamp) {
+        long[] timeStamps = fFirstTimeStamps[cpuIndex];
+        if (timeStamps.length == 0) {
+            return -1;
+        }
+        if (timestamp <= timeStamps[0]) {
+            return 0;
+        }
+        // Find the last page of a run of pages with the same timestamp
+        int low = 0;
+        int high = timeStamps.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (timeStamps[mid] <= timestamp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Check whether the directory describes the pages of a CPU section
+     *
+     * @param cpuIndex
+     *            the index of the CPU section in the trace header
+     * @param pages
+     *            the pages of the section
+     * @return true if the pages have the offsets and timestamps of the
+     *         directory
+     */
+    public boolean matches(int cpuIndex, List<BinaryFTraceCPUDataPage> pages) {
+        if (cpuIndex >= fOffsets.length || pages.size() != fOffsets[cpuIndex].length) {
+            return false;
+        }
+        for (int i = 0; i < pages.size(); i++) {
+            BinaryFTraceCPUDataPage page = pages.get(i);
+            if (page.getPageStartingOffset() != fOffsets[cpuIndex][i] || page.getTimeStamp() != fFirstTimeStamps[cpuIndex][i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Save the directory
+     *
+     * @param file
+     *            the file to write
+     * @param traceFile
+     *            the trace file described by the directory
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void save(File file, File traceFile) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(traceFile.length());
+            out.writeLong(traceFile.lastModified());
+            out.writeInt(fOffsets.length);
+            for (int i = 0; i < fOffsets.length; i++) {
+                int pageCount = fOffsets[i].length;
+                out.writeInt(pageCount);
+                for (int j = 0; j < pageCount; j++) {
+                    out.writeLong(fFirstTimeStamps[i][j]);
+                    out.writeLong(fLastTimeStamps[i][j]);
+                    out.writeLong(fOffsets[i][j]);
+                }
+            }
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Load a directory saved by {@link #save(File, File)}
+     *
+     * @param file
+     *            the file to read
+     * @param headerInfo
+     *            the header of the trace
+     * @return the directory, or null if the file does not exist or does not
+     *         match the trace anymore
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static @Nullable BinaryFTracePageDirectory load(File file, BinaryFTraceHeaderInfo headerInfo) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        File traceFile = new File(headerInfo.getFilePath());
+        List<BinaryFTraceFileCPU> cpus = headerInfo.getCpus();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != traceFile.length() || in.readLong() != traceFile.lastModified() || in.readInt() != cpus.size()) {
+                return null;
+            }
+            int cpuCount = cpus.size();
+            long[][] firstTimeStamps = new long[cpuCount][];
+            long[][] lastTimeStamps = new long[cpuCount][];
+            long[][] offsets = new long[cpuCount][];
+            for (int i = 0; i < cpuCount; i++) {
+                int pageCount = in.readInt();
+                if (pageCount != cpus.get(i).getPages().size()) {
+                    return null;
+                }
+                firstTimeStamps[i] = new long[pageCount];
+                lastTimeStamps[i] = new long[pageCount];
+                offsets[i] = new long[pageCount];
+                for (int j = 0; j < pageCount; j++) {
+                    firstTimeStamps[i][j] = in.readLong();
+                    lastTimeStamps[i][j] = in.readLong();
+                    offsets[i][j] = in.readLong();
+                }
+            }
+            BinaryFTracePageDirectory directory = new BinaryFTracePageDirectory(firstTimeStamps, lastTimeStamps, offsets);
+            for (int i = 0; i < cpuCount; i++) {
+                if (!directory.matches(i, cpus.get(i).getPages())) {
+                    return null;
+                }
+            }
+            return directory;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+
+/**
+ * A CPU section iterator that reads and decodes the events of its section
+ * ahead of the consumer on a worker thread. The decoded events are kept in a
+ * bounded number of batches, so the thread merging the CPU sections only
+ * compares timestamps and each event is decoded once.
+ *
+ * The worker tasks never block: a task stops when the batches are full or the
+ * section is finished, and the consumer schedules a new one when it takes a
+ * batch. This way, all the iterators can share a single pool of threads.
+ *
+ * The read-ahead only starts with the second event read after a seek: the
+ * first one is decoded on the consumer thread. A seek that is not followed
+ * by sequential reads, like the seeks of the trace indexing or of a time
+ * query, only decodes the events it needs.
+ */
+public class BinaryFTracePrefetchingCPUSectionIterator extends BinaryFTraceCPUSectionIterator {
+
+    /** Number of events decoded per batch */
+    private static final int BATCH_SIZE = 128;
+
+    /** Maximum number of batches decoded ahead of the consumer */
+    private static final int MAX_BATCHES = 4;
+
+    private static final Executor EXECUTOR = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+        Thread thread = new Thread(r, "Binary FTrace Prefetch"); //$NON-NLS-1$
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Events read from the section, in order. Only the last event of the last
+     * batch of the section can have a response other than OK.
+     */
+    private static final class Batch {
+        private final long[] fTimeStamps = new long[BATCH_SIZE];
+        private final @Nullable BinaryFTraceEvent[] fEvents = new BinaryFTraceEvent[BATCH_SIZE];
+        private int fSize = 0;
+        private BinaryFTraceResponse fLastResponse = BinaryFTraceResponse.OK;
+
+        private boolean isLast() {
+            return fLastResponse != BinaryFTraceResponse.OK;
+        }
+
+        private BinaryFTraceResponse getResponse(int index) {
+            return index == fSize - 1 ? fLastResponse : BinaryFTraceResponse.OK;
+        }
+    }
+
+    private final Object fLock = new Object();
+
+    // Guarded by fLock
+    private final Deque<Batch> fReady = new ArrayDeque<>();
+    private long fGeneration = 0;
+    private boolean fRunning = false;
+    private boolean fDone = false;
+    private boolean fClosed = false;
+
+    // Only accessed by the consumer
+    private boolean fSequential = false;
+    private @Nullable Batch fBatch = null;
+    private int fIndex = 0;
+    private BinaryFTraceResponse fResponse = BinaryFTraceResponse.OK;
+    private long fTimeStamp;
+    private @Nullable BinaryFTraceEvent fEvent = null;
+
+    /**
+     * Constructor
+     *
+     * @param cpu
+     *            The CPU section to iterator to loop over
+     * @param headerInfo
+     *            The trace header
+     * @param directory
+     *            The page directory of the trace, or null to follow the pages
+     *            when seeking
+     * @param cpuIndex
+     *            The index of the CPU section in the trace header
+     * @throws IOException
+     *             If fail to obtain the iterator
+     */
+    public BinaryFTracePrefetchingCPUSectionIterator(BinaryFTraceFileCPU cpu, BinaryFTraceHeaderInfo headerInfo, @Nullable BinaryFTracePageDirectory directory, int cpuIndex) throws IOException {
+        super(cpu, headerInfo, directory, cpuIndex);
+        fTimeStamp = super.getCurrentTimeStamp();
+    }
+
+    @Override
+    public BinaryFTraceResponse readNextEvent() {
+        Batch batch = fBatch;
+        if (!fSequential) {
+            // First read after a seek, the worker is not running yet
+            fSequential = true;
+            batch = decodeBatch(1);
+            synchronized (fLock) {
+                fDone = batch.isLast();
+                schedule();
+            }
+            fBatch = batch;
+            fIndex = 0;
+        } else if (batch == null || fIndex + 1 >= batch.fSize) {
+            if (batch != null && batch.isLast()) {
+                // The section is finished, keep returning its last response
+                fEvent = null;
+                return fResponse;
+            }
+            batch = takeBatch();
+            if (batch == null) {
+                fEvent = null;
+                fResponse = BinaryFTraceResponse.ERROR;
+                return fResponse;
+            }
+            fBatch = batch;
+            fIndex = 0;
+        } else {
+            fIndex++;
+        }
+        fTimeStamp = batch.fTimeStamps[fIndex];
+        fEvent = batch.fEvents[fIndex];
+        // Let the batch be collected once it is consumed
+        batch.fEvents[fIndex] = null;
+        fResponse = batch.getResponse(fIndex);
+        return fResponse;
+    }
+
+    @Override
+    public long getCurrentTimeStamp() {
+        return fTimeStamp;
+    }
+
+    @Override
+    public @Nullable BinaryFTraceEvent getCurrentEvent() {
+        return fEvent;
+    }
+
+    @Override
+    public boolean seek(long timestamp) throws IOException {
+        stopPrefetching();
+        boolean ret = super.seek(timestamp);
+        fBatch = null;
+        fIndex = 0;
+        fResponse = BinaryFTraceResponse.OK;
+        fTimeStamp = super.getCurrentTimeStamp();
+        fEvent = super.getCurrentEvent();
+        fSequential = false;
+        return ret;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (fLock) {
+            fClosed = true;
+        }
+        stopPrefetching();
+        fBatch = null;
+        fEvent = null;
+        super.close();
+    }
+
+    /**
+     * Take the next batch of events, waiting for the worker to decode it if
+     * needed.
+     *
+     * @return the batch, or null if the iterator was closed or interrupted
+     */
+    private @Nullable Batch takeBatch() {
+        synchronized (fLock) {
+            while (fReady.isEmpty()) {
+                if (fClosed) {
+                    return null;
+                }
+                schedule();
+                try {
+                    fLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+            Batch batch = fReady.poll();
+            // Refill the room left by this batch
+            schedule();
+            return batch;
+        }
+    }
+
+    /**
+     * Submit a task decoding the next batches, if none is running and there
+     * is room for more. Must be called with the lock held.
+     */
+    private void schedule() {
+        if (fRunning || fDone || fClosed || fReady.size() >= MAX_BATCHES) {
+            return;
+        }
+        fRunning = true;
+        long generation = fGeneration;
+        EXECUTOR.execute(() -> prefetch(generation));
+    }
+
+    /**
+     * Stop the worker and drop the batches decoded ahead, waiting for the
+     * worker to finish its current batch so that the section iterator can be
+     * used on this thread.
+     */
+    private void stopPrefetching() {
+        synchronized (fLock) {
+            fGeneration++;
+            boolean interrupted = false;
+            while (fRunning) {
+                try {
+                    fLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            fReady.clear();
+            fDone = false;
+        }
+    }
+
+    /**
+     * Decode batches until there are {@link #MAX_BATCHES} ready, the section
+     * is finished, or the batches are dropped by a seek.
+     *
+     * @param generation
+     *            the generation of the batches when the task was submitted
+     */
+    private void prefetch(long generation) {
+        while (true) {
+            synchronized (fLock) {
+                if (generation != fGeneration) {
+                    fRunning = false;
+                    fLock.notifyAll();
+                    return;
+                }
+            }
+            Batch batch = decodeBatch(BATCH_SIZE);
+            synchronized (fLock) {
+                boolean current = generation == fGeneration;
+                if (current) {
+                    fReady.add(batch);
+                    fDone = batch.isLast();
+                }
+                fLock.notifyAll();
+                if (!current || fDone || fReady.size() >= MAX_BATCHES) {
+                    fRunning = false;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Decode the next events of the section, until the batch has the given
+     * size or the section is finished.
+     *
+     * @param size
+     *            the maximum number of events to decode
+     * @return the batch of events
+     */
+    private Batch decodeBatch(int size) {
+        Batch batch = new Batch();
+        while (batch.fSize < size && !batch.isLast()) {
+            BinaryFTraceResponse response;
+            BinaryFTraceEvent event = null;
+            try {
+                response = super.readNextEvent();
+                if (response == BinaryFTraceResponse.OK) {
+                    event = super.getCurrentEvent();
+                }
+            } catch (RuntimeException e) {
+                // Do not leave the consumer waiting for this batch
+                Activator.getInstance().logError("An error occured while decoding the next trace event", e); //$NON-NLS-1$
+                response = BinaryFTraceResponse.ERROR;
+            }
+            batch.fTimeStamps[batch.fSize] = super.getCurrentTimeStamp();
+            batch.fEvents[batch.fSize] = event;
+            batch.fLastResponse = response;
+            batch.fSize++;
+        }
+        return batch;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.PriorityQueue;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
@@ -28,7 +29,8 @@ import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 /**
  * A reader for Binary FTrace where data is divided into sections by CPUs, and
  * in each section time is monotonic. It utilizes a priority queue to select the
- * next event to be parsed.
+ * next event to be parsed, while the events of each section are decoded ahead
+ * by {@link BinaryFTracePrefetchingCPUSectionIterator}.
  *
  * @author Matthew Khouzam
  * @author Hoang Thuan Pham
@@ -89,13 +91,29 @@ public class BinaryFTraceReader implements AutoCloseable {
      *             if an error occurs
      */
     public BinaryFTraceReader(BinaryFTraceHeaderInfo trace) throws IOException {
+        this(trace, null);
+    }
+
+    /**
+     * Constructs a BinaryFTraceReader to read a trace, using a page directory
+     * to seek in the CPU sections.
+     *
+     * @param trace
+     *            The trace to read from.
+     * @param directory
+     *            The page directory of the trace, or null to follow the pages
+     *            of the CPU sections when seeking
+     * @throws IOException
+     *             if an error occurs
+     */
+    public BinaryFTraceReader(BinaryFTraceHeaderInfo trace, @Nullable BinaryFTracePageDirectory directory) throws IOException {
         fTrace = trace;
         fIterators.clear();
 
         /**
          * Create the trace file readers.
          */
-        createStreamInputReaders();
+        createStreamInputReaders(directory);
 
         /**
          * Populate the timestamp-based priority queue.
@@ -174,15 +192,19 @@ public class BinaryFTraceReader implements AutoCloseable {
     /**
      * Creates one trace file reader per trace file contained in the trace.
      *
+     * @param directory
+     *            The page directory of the trace, may be null
      * @throws IOException
      *             if an error occurs
      */
-    private void createStreamInputReaders() throws IOException {
+    private void createStreamInputReaders(@Nullable BinaryFTracePageDirectory directory) throws IOException {
         /*
-         * For each stream.
+         * For each stream. The events of each section are decoded ahead on
+         * worker threads, the merge only compares their timestamps.
          */
-        for (BinaryFTraceFileCPU cpu : fTrace.getCpus()) {
-            BinaryFTraceCPUSectionIterator iterator = new BinaryFTraceCPUSectionIterator(cpu, fTrace);
+        List<BinaryFTraceFileCPU> cpus = fTrace.getCpus();
+        for (int i = 0; i < cpus.size(); i++) {
+            BinaryFTraceCPUSectionIterator iterator = new BinaryFTracePrefetchingCPUSectionIterator(cpus.get(i), fTrace, directory, i);
             fIterators.add(iterator);
         }
 
@@ -21,6 +21,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.layout.GenericFtr
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -103,6 +104,62 @@ public class GenericFtraceField {
      * @return An event field
      */
     public static @Nullable GenericFtraceField parseLine(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > 0xFF) {
+                // The line was not read as bytes, only the pattern can match it
+                return parsePatternLine(line);
+            }
+        }
+        byte[] bytes = line.getBytes(StandardCharsets.ISO_8859_1);
+        return parseLine(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parse a line from an ftrace ouput file, read as ISO-8859-1 bytes like
+     * {@link java.io.RandomAccessFile#readLine()} does. The lines with the
+     * standard layout are scanned directly, the others are matched with
+     * {@link IGenericFtraceConstants#FTRACE_PATTERN}.
+     *
+     * @param buffer The buffer containing the line, without its line terminator
+     * @param offset The offset of the line in the buffer
+     * @param length The length of the line
+     * @return An event field
+     */
+    public static @Nullable GenericFtraceField parseLine(byte[] buffer, int offset, int length) {
+        GenericFtraceLineScanner scanner = new GenericFtraceLineScanner();
+        if (!scanner.scan(buffer, offset, length)) {
+            return parsePatternLine(new String(buffer, offset, length, StandardCharsets.ISO_8859_1));
+        }
+        Integer pid = scanner.getPid();
+        Integer tid = pid;
+        Integer cpu = scanner.getCpu();
+        Long timestampInNano = scanner.getTimestamp();
+        String name = eventNameRewrite(scanner.getName(), scanner.getSeparator());
+
+        Integer tgid = scanner.getTgid();
+        if (tgid != null && !tgid.equals(pid)) {
+            pid = tgid;
+        }
+
+        Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
+        int dataStart = scanner.getDataStart();
+        int dataEnd = scanner.getDataEnd();
+        if (dataStart < dataEnd && !parseKeyValues(name, scanner.getBuffer(), dataStart, dataEnd, fields)) {
+            parseAttributes(name, scanner.getData(), fields);
+        }
+        return new GenericFtraceField(name, cpu, timestampInNano, pid, tid, fields);
+    }
+
+    /**
+     * Parse a line from an ftrace ouput file with
+     * {@link IGenericFtraceConstants#FTRACE_PATTERN} and the key/value
+     * patterns only, without scanning it first. The fields are the same as
+     * the ones returned by {@link #parseLine(String)}.
+     *
+     * @param line The string to parse
+     * @return An event field
+     */
+    public static @Nullable GenericFtraceField parsePatternLine(String line) {
         Matcher matcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
         if (matcher.matches()) {
             Integer pid = Integer.parseInt(matcher.group(IGenericFtraceConstants.FTRACE_PID_GROUP));
@@ -137,43 +194,130 @@ public class GenericFtraceField {
             Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
 
             if (attributes != null && !attributes.isEmpty()) {
-                int valStart = 0;
-                Matcher keyvalMatcher = KEYVAL_KEY_PATTERN.matcher(attributes);
-                String key = null;
-                separator = null;
-                while (keyvalMatcher.find()) {
-                    if (key != null) {
-                        int start = keyvalMatcher.start();
-                        String value = attributes.substring(0, start);
-                        putKeyValueField(name, fields, key, value);
-                    }
-                    valStart = keyvalMatcher.end();
-                    key = keyvalMatcher.group(KEYVAL_KEY_GROUP);
-                    separator = keyvalMatcher.group(IGenericFtraceConstants.FTRACE_SEPARATOR_GROUP);
-                    attributes = attributes.substring(valStart);
-                    keyvalMatcher = KEYVAL_KEY_PATTERN_MAP.getOrDefault(separator, KEYVAL_KEY_PATTERN).matcher(attributes);
-                }
+                parseAttributes(name, attributes, fields);
+            }
 
-                if (key != null && valStart > 0) {
-                    putKeyValueField(name, fields, key, attributes);
-                }
+            return new GenericFtraceField(name, cpu, timestampInNano, pid, tid, fields);
+        }
+        return null;
+    }
+
+    private static void parseAttributes(String name, String data, Map<@NonNull String, @NonNull Object> fields) {
+        String attributes = data;
+        int valStart = 0;
+        Matcher keyvalMatcher = KEYVAL_KEY_PATTERN.matcher(attributes);
+        String key = null;
+        String separator = null;
+        while (keyvalMatcher.find()) {
+            if (key != null) {
+                int start = keyvalMatcher.start();
+                String value = attributes.substring(0, start);
+                putKeyValueField(name, fields, key, value);
+            }
+            valStart = keyvalMatcher.end();
+            key = keyvalMatcher.group(KEYVAL_KEY_GROUP);
+            separator = keyvalMatcher.group(IGenericFtraceConstants.FTRACE_SEPARATOR_GROUP);
+            attributes = attributes.substring(valStart);
+            keyvalMatcher = KEYVAL_KEY_PATTERN_MAP.getOrDefault(separator, KEYVAL_KEY_PATTERN).matcher(attributes);
+        }
 
-                /*
-                 * If anything else fails, but we have discovered sort of a valid event
-                 * attributes lets just add the unparsed attributes with key "data".
-                 */
-                if (fields.isEmpty()) {
-                    key = "data"; //$NON-NLS-1$
-                    if (name.equals(IGenericFtraceConstants.FTRACE_EXIT_SYSCALL)) {
-                        key = "ret"; //$NON-NLS-1$
+        if (key != null && valStart > 0) {
+            putKeyValueField(name, fields, key, attributes);
+        }
+
+        /*
+         * If anything else fails, but we have discovered sort of a valid event
+         * attributes lets just add the unparsed attributes with key "data".
+         */
+        if (fields.isEmpty()) {
+            putDataField(name, fields, attributes);
+        }
+    }
+
+    /**
+     * Split the data of an event in key/value fields the same way as
+     * {@link #parseAttributes}, without the patterns. This is only done when
+     * the data has no brackets nor commas, so that the keys are the white
+     * space separated words before an '=' or a ':' and a value is the trimmed
+     * text up to the next key.
+     *
+     * @return false if the data must be parsed with the patterns
+     */
+    private static boolean parseKeyValues(String name, byte[] buffer, int start, int end, Map<@NonNull String, @NonNull Object> fields) {
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b == '[' || b == ']' || b == ',') {
+                return false;
+            }
+        }
+        String key = null;
+        byte separator = 0;
+        int valueStart = start;
+        int pos = start;
+        while (pos < end) {
+            // Find the next key, in a run of key characters
+            if (!isKeyChar(buffer[pos])) {
+                pos++;
+                continue;
+            }
+            int runEnd = pos;
+            while (runEnd < end && isKeyChar(buffer[runEnd])) {
+                runEnd++;
+            }
+            int keyEnd = -1;
+            if (separator != ':' && runEnd < end && buffer[runEnd] == '=') {
+                keyEnd = runEnd;
+            } else if (separator != '=') {
+                for (int i = runEnd - 1; i > pos; i--) {
+                    if (buffer[i] == ':') {
+                        keyEnd = i;
+                        break;
                     }
-                    fields.put(key, decodeString(attributes));
                 }
             }
+            if (keyEnd < 0) {
+                pos = runEnd;
+                continue;
+            }
+            if (key != null) {
+                putValueField(name, fields, key, trim(buffer, valueStart, pos));
+            }
+            key = new String(buffer, pos, keyEnd - pos, StandardCharsets.ISO_8859_1);
+            separator = buffer[keyEnd];
+            valueStart = keyEnd + 1;
+            pos = valueStart;
+        }
+        if (key != null) {
+            putValueField(name, fields, key, trim(buffer, valueStart, end));
+        }
+        if (fields.isEmpty()) {
+            putDataField(name, fields, new String(buffer, valueStart, end - valueStart, StandardCharsets.ISO_8859_1));
+        }
+        return true;
+    }
 
-            return new GenericFtraceField(name, cpu, timestampInNano, pid, tid, fields);
+    private static boolean isKeyChar(byte b) {
+        return b != '=' && !GenericFtraceLineScanner.isSpace(b);
+    }
+
+    private static String trim(byte[] buffer, int start, int end) {
+        int first = start;
+        int last = end;
+        while (first < last && (buffer[first] & 0xFF) <= ' ') {
+            first++;
         }
-        return null;
+        while (last > first && (buffer[last - 1] & 0xFF) <= ' ') {
+            last--;
+        }
+        return new String(buffer, first, last - first, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void putDataField(String name, Map<@NonNull String, @NonNull Object> fields, String attributes) {
+        String key = "data"; //$NON-NLS-1$
+        if (name.equals(IGenericFtraceConstants.FTRACE_EXIT_SYSCALL)) {
+            key = "ret"; //$NON-NLS-1$
+        }
+        fields.put(key, decodeString(attributes));
     }
 
     private static void putKeyValueField(String name, Map<@NonNull String, @NonNull Object> fields, String key, String value) {
@@ -184,6 +328,10 @@ public class GenericFtraceField {
         } else {
             actualValue = value.trim();
         }
+        putValueField(name, fields, key, actualValue);
+    }
+
+    private static void putValueField(String name, Map<@NonNull String, @NonNull Object> fields, String key, String actualValue) {
         if (!actualValue.trim().isEmpty()) {
             // This is a temporary solution. Refactor suggestions
             // are welcome.
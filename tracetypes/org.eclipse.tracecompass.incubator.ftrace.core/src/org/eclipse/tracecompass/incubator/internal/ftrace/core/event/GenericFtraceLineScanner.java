@@ -0,0 +1,465 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.event;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Scanner of the standard layout of an ftrace event line, like:
+ *
+ * <pre>
+ * kworker/u16:6-214   [002] d...   149.136514: sched_switch: prev_comm=kworker/u16:6 ...
+ * </pre>
+ *
+ * It reads the bytes of the line, decoded as ISO-8859-1 like
+ * {@link java.io.RandomAccessFile#readLine()} does, and finds the same groups
+ * as {@link IGenericFtraceConstants#FTRACE_PATTERN}. The scanner only accepts
+ * the lines where the pattern cannot match differently, for example a line
+ * with a single bracketed CPU number. The other lines must be matched with the
+ * pattern.
+ */
+@NonNullByDefault
+public final class GenericFtraceLineScanner {
+
+    private static final double SECONDS_TO_NANO = 1000000000.0;
+
+    /** Number of digits that are exactly represented by a double */
+    private static final int MAX_EXACT_DIGITS = 15;
+    /** Number of digits that are parsed as an int without overflow */
+    private static final int MAX_INT_DIGITS = 9;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_EXACT_DIGITS + 1];
+
+    static {
+        double power = 1.0;
+        for (int i = 0; i <= MAX_EXACT_DIGITS; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10.0;
+        }
+    }
+
+    private static final String COLON_SEPARATOR = ":"; //$NON-NLS-1$
+    private static final String PARENTHESIS_SEPARATOR = "("; //$NON-NLS-1$
+
+    private byte[] fBuffer = new byte[0];
+    private int fCommStart;
+    private int fCommEnd;
+    private int fPid;
+    private int fTgid;
+    private int fCpu;
+    private long fTimestamp;
+    private int fNameStart;
+    private int fNameEnd;
+    private String fSeparator = COLON_SEPARATOR;
+    private int fDataStart;
+    private int fDataEnd;
+
+    /**
+     * Scan a line
+     *
+     * @param buffer
+     *            the buffer containing the line, without its line terminator
+     * @param offset
+     *            the offset of the line in the buffer
+     * @param length
+     *            the length of the line
+     * @return true if the line is an event line with the standard layout, false
+     *         if it must be matched with
+     *         {@link IGenericFtraceConstants#FTRACE_PATTERN}
+     */
+    public boolean scan(byte[] buffer, int offset, int length) {
+        int end = offset + length;
+        int commStart = offset;
+        while (commStart < end && isSpace(buffer[commStart])) {
+            commStart++;
+        }
+
+        /*
+         * The pattern takes the last "-pid [cpu]" that matches, so the CPU
+         * field must be the only bracketed number of the line.
+         */
+        int bracket = -1;
+        for (int i = commStart; i + 1 < end; i++) {
+            if (buffer[i] == '[' && isDigit(buffer[i + 1])) {
+                if (bracket >= 0) {
+                    return false;
+                }
+                bracket = i;
+            }
+        }
+        if (bracket <= commStart || !isSpace(buffer[bracket - 1])) {
+            return false;
+        }
+
+        // CPU
+        int pos = bracket + 1;
+        while (pos < end && isDigit(buffer[pos])) {
+            pos++;
+        }
+        if (pos >= end || buffer[pos] != ']' || pos - bracket - 1 > MAX_INT_DIGITS) {
+            return false;
+        }
+        int cpu = parseInt(buffer, bracket + 1, pos);
+        pos++;
+
+        // Read the TGID and PID backwards from the CPU field
+        int back = skipSpacesBackwards(buffer, bracket - 1, commStart);
+        if (back < commStart) {
+            return false;
+        }
+        int tgid = -1;
+        if (buffer[back] == ')') {
+            int tgidEnd = back;
+            back--;
+            while (back >= commStart && isDigit(buffer[back])) {
+                back--;
+            }
+            int tgidStart = back + 1;
+            while (back >= commStart && buffer[back] != '(') {
+                if (isDigit(buffer[back]) || buffer[back] == ')') {
+                    return false;
+                }
+                back--;
+            }
+            if (back <= commStart || !isSpace(buffer[back - 1]) || tgidEnd - tgidStart > MAX_INT_DIGITS) {
+                return false;
+            }
+            if (tgidStart < tgidEnd) {
+                tgid = parseInt(buffer, tgidStart, tgidEnd);
+            }
+            back = skipSpacesBackwards(buffer, back - 1, commStart);
+            if (back < commStart) {
+                return false;
+            }
+        }
+        int pidEnd = back + 1;
+        while (back >= commStart && isDigit(buffer[back])) {
+            back--;
+        }
+        if (back < commStart || buffer[back] != '-' || back + 1 == pidEnd || pidEnd - back - 1 > MAX_INT_DIGITS) {
+            return false;
+        }
+        int pid = parseInt(buffer, back + 1, pidEnd);
+        int commEnd = back;
+        for (int i = commStart; i < commEnd; i++) {
+            // The comm group does not match line terminators
+            byte b = buffer[i];
+            if (b == '\n' || b == '\r' || b == (byte) 0x85) {
+                return false;
+            }
+        }
+
+        // Optional flags, then the timestamp followed by ": "
+        if (pos >= end || !isSpace(buffer[pos])) {
+            return false;
+        }
+        pos = skipSpaces(buffer, pos, end);
+        int token = pos;
+        while (pos < end && !isSpace(buffer[pos])) {
+            pos++;
+        }
+        int tokenEnd = pos;
+        int timestampStart = token;
+        int timestampEnd = scanTimestamp(buffer, token, end);
+        int nameStart;
+        if (timestampEnd >= 0 && timestampEnd + 1 == tokenEnd && buffer[timestampEnd] == ':' && tokenEnd + 1 < end && buffer[tokenEnd] == ' ' && !isDigit(buffer[tokenEnd + 1])) {
+            // No flags
+            nameStart = tokenEnd + 1;
+        } else {
+            if (tokenEnd == token || tokenEnd >= end) {
+                return false;
+            }
+            timestampStart = skipSpaces(buffer, tokenEnd, end);
+            timestampEnd = scanTimestamp(buffer, timestampStart, end);
+            if (timestampEnd < 0 || timestampEnd + 1 >= end || buffer[timestampEnd] != ':' || buffer[timestampEnd + 1] != ' ') {
+                return false;
+            }
+            nameStart = timestampEnd + 2;
+        }
+
+        // Name and separator
+        int nameEnd = nameStart;
+        while (nameEnd < end && isWordChar(buffer[nameEnd])) {
+            nameEnd++;
+        }
+        if (nameEnd == nameStart || nameEnd >= end) {
+            return false;
+        }
+        int dataStart;
+        String separator;
+        byte b = buffer[nameEnd];
+        if (b == ':') {
+            if (nameEnd + 1 >= end || !isSpace(buffer[nameEnd + 1])) {
+                return false;
+            }
+            dataStart = skipSpaces(buffer, nameEnd + 1, end);
+            separator = COLON_SEPARATOR;
+        } else if (b == '(') {
+            dataStart = nameEnd + 1;
+            separator = PARENTHESIS_SEPARATOR;
+        } else if (isSpace(b)) {
+            int arrow = skipSpaces(buffer, nameEnd, end);
+            if (arrow + 2 >= end || buffer[arrow] != '-' || buffer[arrow + 1] != '>' || !isSpace(buffer[arrow + 2])) {
+                return false;
+            }
+            dataStart = skipSpaces(buffer, arrow + 2, end);
+            separator = IGenericFtraceConstants.FTRACE_EXIT_SYSCALL_SEPARATOR;
+        } else {
+            return false;
+        }
+
+        // The data may only be followed by a closing parenthesis
+        int dataEnd = end;
+        for (int i = dataStart; i < end; i++) {
+            if (buffer[i] == ')') {
+                if (i != end - 1) {
+                    return false;
+                }
+                dataEnd = i;
+            }
+        }
+
+        fBuffer = buffer;
+        fCommStart = commStart;
+        fCommEnd = commEnd;
+        fPid = pid;
+        fTgid = tgid;
+        fCpu = cpu;
+        fTimestamp = parseTimestamp(buffer, timestampStart, timestampEnd);
+        fNameStart = nameStart;
+        fNameEnd = nameEnd;
+        fSeparator = separator;
+        fDataStart = dataStart;
+        fDataEnd = dataEnd;
+        return true;
+    }
+
+    /**
+     * Check whether a line is an event line, that is the line is scanned or
+     * matches {@link IGenericFtraceConstants#FTRACE_PATTERN}
+     *
+     * @param buffer
+     *            the buffer containing the line, without its line terminator
+     * @param offset
+     *            the offset of the line in the buffer
+     * @param length
+     *            the length of the line
+     * @return true if the line is an event line
+     */
+    public static boolean matches(byte[] buffer, int offset, int length) {
+        return new GenericFtraceLineScanner().scan(buffer, offset, length) ||
+                IGenericFtraceConstants.FTRACE_PATTERN.matcher(new String(buffer, offset, length, StandardCharsets.ISO_8859_1)).matches();
+    }
+
+    /**
+     * Get the comm group of the last line scanned
+     *
+     * @return the command name
+     */
+    public String getComm() {
+        return toString(fCommStart, fCommEnd);
+    }
+
+    /**
+     * Get the PID group of the last line scanned
+     *
+     * @return the PID
+     */
+    public int getPid() {
+        return fPid;
+    }
+
+    /**
+     * Get the TGID group of the last line scanned
+     *
+     * @return the TGID, or null if the line has none
+     */
+    public @Nullable Integer getTgid() {
+        return fTgid < 0 ? null : fTgid;
+    }
+
+    /**
+     * Get the CPU group of the last line scanned
+     *
+     * @return the CPU
+     */
+    public int getCpu() {
+        return fCpu;
+    }
+
+    /**
+     * Get the timestamp of the last line scanned, converted the same way as
+     * {@link GenericFtraceField#parseLine(String)}
+     *
+     * @return the timestamp in nanoseconds
+     */
+    public long getTimestamp() {
+        return fTimestamp;
+    }
+
+    /**
+     * Get the name group of the last line scanned
+     *
+     * @return the event name
+     */
+    public String getName() {
+        return toString(fNameStart, fNameEnd);
+    }
+
+    /**
+     * Get the separator group of the last line scanned, trimmed
+     *
+     * @return the separator between the name and the data
+     */
+    public String getSeparator() {
+        return fSeparator;
+    }
+
+    /**
+     * Get the data group of the last line scanned
+     *
+     * @return the data of the event
+     */
+    public String getData() {
+        return toString(fDataStart, fDataEnd);
+    }
+
+    /**
+     * Get the buffer of the last line scanned
+     *
+     * @return the buffer
+     */
+    byte[] getBuffer() {
+        return fBuffer;
+    }
+
+    /**
+     * Get the offset of the data in the buffer of the last line scanned
+     *
+     * @return the start offset of the data
+     */
+    int getDataStart() {
+        return fDataStart;
+    }
+
+    /**
+     * Get the end offset of the data in the buffer of the last line scanned
+     *
+     * @return the end offset of the data, exclusive
+     */
+    int getDataEnd() {
+        return fDataEnd;
+    }
+
+    private String toString(int start, int end) {
+        return new String(fBuffer, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Check whether a byte is matched by \s in a pattern
+     *
+     * @param b
+     *            the byte
+     * @return true if the byte is a white space
+     */
+    static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isWordChar(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || isDigit(b) || b == '_';
+    }
+
+    private static int skipSpaces(byte[] buffer, int start, int end) {
+        int pos = start;
+        while (pos < end && isSpace(buffer[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipSpacesBackwards(byte[] buffer, int start, int limit) {
+        int pos = start;
+        while (pos >= limit && isSpace(buffer[pos])) {
+            pos--;
+        }
+        return pos;
+    }
+
+    private static int parseInt(byte[] buffer, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (buffer[i] - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Scan a timestamp in seconds, like 149.136514
+     *
+     * @return the offset after the timestamp, or -1 if there is none
+     */
+    private static int scanTimestamp(byte[] buffer, int start, int end) {
+        int pos = start;
+        while (pos < end && isDigit(buffer[pos])) {
+            pos++;
+        }
+        if (pos == start) {
+            return -1;
+        }
+        if (pos + 1 < end && buffer[pos] == '.' && isDigit(buffer[pos + 1])) {
+            pos += 2;
+            while (pos < end && isDigit(buffer[pos])) {
+                pos++;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Convert a timestamp in seconds to nanoseconds. When all the digits fit in
+     * a double, dividing by a power of ten is exactly rounded, so the result is
+     * the same as {@link Double#parseDouble(String)}.
+     */
+    private static long parseTimestamp(byte[] buffer, int start, int end) {
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b == '.') {
+                fractionDigits = 0;
+                continue;
+            }
+            if (mantissa != 0 || b != '0') {
+                digits++;
+            }
+            mantissa = mantissa * 10 + (b - '0');
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+            if (digits > MAX_EXACT_DIGITS || fractionDigits > MAX_EXACT_DIGITS) {
+                double seconds = Double.parseDouble(new String(buffer, start, end - start, StandardCharsets.ISO_8859_1));
+                return (long) (seconds * SECONDS_TO_NANO);
+            }
+        }
+        double seconds = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return (long) (seconds * SECONDS_TO_NANO);
+    }
+}
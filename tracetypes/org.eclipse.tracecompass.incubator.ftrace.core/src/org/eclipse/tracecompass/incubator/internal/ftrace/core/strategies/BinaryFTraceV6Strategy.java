@@ -11,10 +11,12 @@
 
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.strategies;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceContext;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocation;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocationInfo;
@@ -22,6 +24,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.Bin
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersion;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersionHeader;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTracePageDirectory;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
@@ -30,6 +33,7 @@ import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 
 /**
@@ -39,7 +43,9 @@ import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
  */
 public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
     private static final byte[] MAGIC_VALUES = { 0x17, 0x08, 0x44, 't', 'r', 'a', 'c', 'i', 'n', 'g' };
+    private static final String PAGE_DIRECTORY_FILE = "binary-ftrace.pages"; //$NON-NLS-1$
     private BinaryFTraceHeaderInfo fTraceHeaderData;
+    private BinaryFTracePageDirectory fPageDirectory;
     @NonNull
     private final BinaryFTrace fFTrace;
 
@@ -72,6 +78,7 @@ public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
     public void initTrace(String path) throws TmfTraceException {
         // Parse the file header
         fTraceHeaderData = BinaryFTraceFileParser.parse(path);
+        fPageDirectory = getPageDirectory(fTraceHeaderData);
 
         // Set the start and (current) end times for this trace
         BinaryFTraceContext ctx = (BinaryFTraceContext) fFTrace.seekEvent(0L);
@@ -87,6 +94,30 @@ public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
         }
     }
 
+    /**
+     * Load the page directory of the trace from the supplementary files, or
+     * build it from the CPU pages and save it for the next time the trace is
+     * opened.
+     */
+    private BinaryFTracePageDirectory getPageDirectory(BinaryFTraceHeaderInfo headerInfo) {
+        File file = new File(TmfTraceManager.getSupplementaryFileDir(fFTrace), PAGE_DIRECTORY_FILE);
+        try {
+            BinaryFTracePageDirectory directory = BinaryFTracePageDirectory.load(file, headerInfo);
+            if (directory != null) {
+                return directory;
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logInfo("Could not read the page directory " + file, e); //$NON-NLS-1$
+        }
+        BinaryFTracePageDirectory directory = BinaryFTracePageDirectory.build(headerInfo);
+        try {
+            directory.save(file, new File(headerInfo.getFilePath()));
+        } catch (IOException e) {
+            Activator.getInstance().logInfo("Could not save the page directory " + file, e); //$NON-NLS-1$
+        }
+        return directory;
+    }
+
     @Override
     public ITmfEvent getNext(ITmfContext context) {
         if (fTraceHeaderData == null) {
@@ -139,7 +170,7 @@ public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
 
     @Override
     public ITmfContext createIterator() throws IOException {
-        return new BinaryFTraceIterator(fTraceHeaderData, fFTrace);
+        return new BinaryFTraceIterator(fTraceHeaderData, fFTrace, fPageDirectory);
     }
 
     @Override
@@ -147,5 +178,6 @@ public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
         // release (indirect) references to mem-mapped file buffers so that tracecompass
         // can garbage-collect them and unlock the file (e.g. if the user wants to delete it)
         fTraceHeaderData = null;
+        fPageDirectory = null;
     }
 }
@@ -19,7 +19,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceAspects;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceLineScanner;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.layout.GenericFtraceEventLayout;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
@@ -35,7 +35,6 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.util.regex.Matcher;
 
 /**
  * Generic Ftrace trace.
@@ -78,6 +77,22 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
         return null;
     }
 
+    /**
+     * Parse a line read as bytes. Trace types that override
+     * {@link #parseLine(String)} should override this method too.
+     *
+     * @param line
+     *            The buffer containing the line, without its line terminator
+     * @param offset
+     *            The offset of the line in the buffer
+     * @param length
+     *            The length of the line
+     * @return Parsed FtraceField
+     */
+    protected @Nullable GenericFtraceField parseLine(byte[] line, int offset, int length) {
+        return GenericFtraceField.parseLine(line, offset, length);
+    }
+
     @Override
     public void initTrace(IResource resource, String path, Class<? extends ITmfEvent> type) throws TmfTraceException {
         super.initTrace(resource, path, type);
@@ -157,18 +172,15 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
         if (location == null) {
             fileInput.seek(fFileStart);
             long lineStartOffset = fileInput.getFilePointer();
-            String line = fileInput.readLine();
-            if (line == null) {
+            GenericFtraceLineReader reader = new GenericFtraceLineReader();
+            if (!reader.readLine(fileInput)) {
                 return context;
             }
-            Matcher matcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
-            while (!matcher.matches()) {
+            while (!GenericFtraceLineScanner.matches(reader.getBuffer(), 0, reader.getLength())) {
                 lineStartOffset = fileInput.getFilePointer();
-                line = fileInput.readLine();
-                if (line == null) {
+                if (!reader.readLine(fileInput)) {
                     break;
                 }
-                matcher = IGenericFtraceConstants.FTRACE_PATTERN.matcher(line);
             }
             fileInput.seek(lineStartOffset);
         } else if (location.getLocationInfo() instanceof Long) {
@@ -215,12 +227,13 @@ public abstract class GenericFtrace extends TmfTrace implements IKernelTrace {
                 // Sometimes ftrace traces are contains comments starting with
                 // '#' between
                 // events
-                String nextLine;
+                GenericFtraceLineReader reader = new GenericFtraceLineReader();
+                boolean read;
                 do {
-                    nextLine = fileInput.readLine();
-                } while (nextLine != null && nextLine.startsWith(IGenericFtraceConstants.FTRACE_COMMENT_CHAR));
+                    read = reader.readLine(fileInput);
+                } while (read && reader.isComment());
 
-                GenericFtraceField field = parseLine(nextLine);
+                GenericFtraceField field = read ? parseLine(reader.getBuffer(), 0, reader.getLength()) : null;
                 if (field != null) {
                     return new GenericFtraceEvent(this, rank, field);
                 }
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.trace;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
+
+/**
+ * Reader of the lines of a text trace as bytes. It reads the same lines as
+ * {@link RandomAccessFile#readLine()} and leaves the file pointer after the
+ * line terminator, but the file is read by chunks into a reused window
+ * instead of one byte at a time, and no string is created unless it is
+ * requested.
+ */
+public class GenericFtraceLineReader {
+
+    private static final int CHUNK_SIZE = 256;
+
+    private byte[] fBuffer = new byte[CHUNK_SIZE];
+    private int fLength = 0;
+
+    /**
+     * Read the next line of a file
+     *
+     * @param fileInput
+     *            the file, positioned at the start of the line
+     * @return false if the end of the file is reached before any byte is read
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public boolean readLine(RandomAccessFile fileInput) throws IOException {
+        long start = fileInput.getFilePointer();
+        int filled = 0;
+        while (true) {
+            if (filled == fBuffer.length) {
+                fBuffer = Arrays.copyOf(fBuffer, fBuffer.length * 2);
+            }
+            int read = fileInput.read(fBuffer, filled, Math.min(CHUNK_SIZE, fBuffer.length - filled));
+            if (read <= 0) {
+                // The last line has no terminator
+                fLength = filled;
+                return filled > 0;
+            }
+            int end = filled + read;
+            for (int i = filled; i < end; i++) {
+                byte b = fBuffer[i];
+                if (b == '\n' || b == '\r') {
+                    fLength = i;
+                    long next = start + i + 1;
+                    if (b == '\r') {
+                        if (i + 1 < end) {
+                            if (fBuffer[i + 1] == '\n') {
+                                next++;
+                            }
+                        } else {
+                            fileInput.seek(next);
+                            if (fileInput.read() == '\n') {
+                                next++;
+                            }
+                        }
+                    }
+                    // Leave the bytes read after the line for the next read
+                    fileInput.seek(next);
+                    return true;
+                }
+            }
+            filled = end;
+        }
+    }
+
+    /**
+     * Get the buffer containing the last line read, from its start
+     *
+     * @return the buffer
+     */
+    public byte[] getBuffer() {
+        return fBuffer;
+    }
+
+    /**
+     * Get the length of the last line read, without its line terminator
+     *
+     * @return the length
+     */
+    public int getLength() {
+        return fLength;
+    }
+
+    /**
+     * Check whether the last line read is a comment
+     *
+     * @return true if the line starts with
+     *         {@link IGenericFtraceConstants#FTRACE_COMMENT_CHAR}
+     */
+    public boolean isComment() {
+        return fLength > 0 && fBuffer[0] == IGenericFtraceConstants.FTRACE_COMMENT_CHAR.charAt(0);
+    }
+
+    /**
+     * Get the last line read as a string, decoded like
+     * {@link RandomAccessFile#readLine()}
+     *
+     * @return the line
+     */
+    public String getLine() {
+        return new String(fBuffer, 0, fLength, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,159 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+
+package org.eclipse.tracecompass.incubator.jifa.core.tests.gclog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.GCExperiment;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.GCTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+import org.junit.Test;
+
+/**
+ * Test the "Java GC Logs" experiment: its logs are parsed when it is
+ * initialized, its events are the events of all the logs in time order, and a
+ * log that fails to parse is marked as failed.
+ */
+public class GCExperimentTest {
+
+    private static final String RES = "src/org/eclipse/tracecompass/incubator/jifa/core/tests/gclog/res/";
+    private static final String[] LOGS = { "11G1Parser.log", "11CMSGCParser.log", "17SerialGCParser.log" };
+
+    /**
+     * Test that the experiment parses its logs and merges their events
+     *
+     * @throws TmfTraceException
+     *             if a trace cannot be initialized
+     */
+    @Test
+    public void testExperiment() throws TmfTraceException {
+        Map<String, Long> expected = new HashMap<>();
+        for (String log : LOGS) {
+            GCTrace trace = new GCTrace();
+            try {
+                trace.initTrace(null, RES + log, ITmfEvent.class);
+                trace.readEnd();
+                assertTrue(log, trace.getNbEvents() > 0);
+                expected.put(trace.getPath(), trace.getNbEvents());
+            } finally {
+                trace.dispose();
+            }
+        }
+
+        GCTrace[] traces = new GCTrace[LOGS.length];
+        for (int i = 0; i < LOGS.length; i++) {
+            traces[i] = new GCTrace();
+            traces[i].initTrace(null, RES + LOGS[i], ITmfEvent.class);
+        }
+        GCExperiment experiment = initExperiment(traces);
+        try {
+            // the logs are parsed by the experiment, before the first read
+            for (GCTrace trace : traces) {
+                assertNull(trace.getParseError());
+                assertFalse(trace.getProperties().isEmpty());
+            }
+            assertEquals(expected, readAll(experiment));
+        } finally {
+            experiment.dispose();
+        }
+    }
+
+    /**
+     * Test that a log that fails to parse is marked as failed, and that the
+     * events of the other logs are still read
+     *
+     * @throws TmfTraceException
+     *             if a trace cannot be initialized
+     * @throws IOException
+     *             if the log to fail cannot be copied
+     */
+    @Test
+    public void testParseFailure() throws TmfTraceException, IOException {
+        File failing = File.createTempFile("gclog", ".log");
+        Files.copy(new File(RES + LOGS[1]).toPath(), failing.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        GCTrace trace = new GCTrace();
+        GCTrace failingTrace = new GCTrace();
+        trace.initTrace(null, RES + LOGS[0], ITmfEvent.class);
+        failingTrace.initTrace(null, failing.getAbsolutePath(), ITmfEvent.class);
+        // the format is checked by initTrace, the log cannot be parsed anymore
+        assertTrue(failing.delete());
+
+        GCExperiment experiment = initExperiment(new GCTrace[] { trace, failingTrace });
+        try {
+            assertNull(trace.getParseError());
+            TmfTraceException parseError = failingTrace.getParseError();
+            assertNotNull(parseError);
+            try {
+                failingTrace.parse();
+                fail("the parse error is not thrown again");
+            } catch (TmfTraceException e) {
+                assertEquals(parseError, e);
+            }
+            assertNotNull(failingTrace.getProperties().get("Parse error"));
+
+            Map<String, Long> counts = readAll(experiment);
+            assertEquals(1, counts.size());
+            assertTrue(counts.get(trace.getPath()) > 0);
+        } finally {
+            experiment.dispose();
+        }
+    }
+
+    private static GCExperiment initExperiment(GCTrace[] traces) {
+        GCExperiment experiment = new GCExperiment();
+        experiment.initExperiment(ITmfEvent.class, "gc-experiment", traces, TmfExperiment.DEFAULT_INDEX_PAGE_SIZE, null, GCExperiment.ID);
+        return experiment;
+    }
+
+    /**
+     * Read all the events of the experiment, checking their order, and count
+     * them by trace path
+     */
+    private static Map<String, Long> readAll(TmfExperiment experiment) {
+        Map<String, Long> counts = new HashMap<>();
+        ITmfContext context = experiment.seekEvent(0L);
+        try {
+            long last = Long.MIN_VALUE;
+            ITmfEvent event = experiment.getNext(context);
+            while (event != null) {
+                long time = event.getTimestamp().toNanos();
+                assertTrue(time >= last);
+                last = time;
+                ITmfTrace trace = event.getTrace();
+                counts.merge(trace.getPath(), 1L, Long::sum);
+                event = experiment.getNext(context);
+            }
+        } finally {
+            context.dispose();
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,253 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+
+package org.eclipse.tracecompass.incubator.jifa.core.tests.gclog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.GCTrace;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.GCTraceEventFile;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.GCEvent;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.CpuTime;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.GCCause;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.GCEventLevel;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.G1GCModel;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCEventType;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCModel;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.parser.GCLogParserFactory;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.vo.PhaseStatistics.PhaseStatisticItem;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+import org.junit.Test;
+
+/**
+ * Test the streaming of the GC events: the window of events kept by a
+ * streaming {@link GCModel}, the {@link GCTraceEventFile} the
+ * {@link GCTrace} writes them to, and the statistics it computes from them.
+ */
+public class TestGCStreaming {
+
+    private static final double DELTA = 1e-6;
+    // the number of events kept by a streaming model, see GCModel
+    private static final int WINDOW = 1024;
+    private static final int NB_EVENTS = 5000;
+    private static final String TRACE_LOCATION = "src/org/eclipse/tracecompass/incubator/jifa/core/tests/gclog/res/11G1Parser.log";
+
+    /**
+     * Test that a streaming model keeps only a window of the last events, and
+     * releases the older ones in their order of appearance
+     */
+    @Test
+    public void testStreamingWindow() {
+        GCModel model = new G1GCModel();
+        List<GCEvent> released = new ArrayList<>();
+        model.setStreamingConsumer((gcModel, event) -> {
+            assertSame(model, gcModel);
+            released.add(event);
+        });
+        List<GCEvent> expected = new ArrayList<>();
+        for (int i = 0; i < NB_EVENTS; i++) {
+            GCEvent event = newEvent(GCEventType.YOUNG_GC, i);
+            model.putEvent(event);
+            expected.add(event);
+            if (i % 2 == 0) {
+                GCEvent phase = newEvent(GCEventType.G1_COLLECT_EVACUATION, i);
+                model.addPhase(event, phase);
+                expected.add(phase);
+            }
+            List<GCEvent> kept = model.getAllEvents();
+            assertEquals(expected.size(), released.size() + kept.size());
+            assertTrue(kept.size() < 2 * WINDOW);
+            assertTrue(released.isEmpty() || kept.size() >= WINDOW);
+            assertSame(expected.get(released.size()), kept.get(0));
+        }
+        assertFalse(released.isEmpty());
+        model.releaseAllEvents();
+        assertTrue(model.getAllEvents().isEmpty());
+        assertTrue(model.getGcEvents().isEmpty());
+        assertEquals(expected.size(), released.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), released.get(i));
+        }
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (PhaseStatisticItem item : model.getStreamingStatistics().getEventTypeStatistics()) {
+            counts.put(item.getName(), item.getCount());
+        }
+        assertEquals(Integer.valueOf(NB_EVENTS), counts.get(GCEventType.YOUNG_GC.getName()));
+        assertEquals(Integer.valueOf(NB_EVENTS / 2), counts.get(GCEventType.G1_COLLECT_EVACUATION.getName()));
+    }
+
+    private static GCEvent newEvent(GCEventType type, int i) {
+        GCEvent event = new GCEvent();
+        event.setEventType(type);
+        event.setStartTime(i * 10.0);
+        event.setDuration(1.0);
+        return event;
+    }
+
+    /**
+     * Test that the events read from an event file are the ones written to it,
+     * and that the offsets of the ratios are the offsets of records
+     *
+     * @throws IOException
+     *             if the event file cannot be written or read
+     */
+    @Test
+    public void testEventFileRoundTrip() throws IOException {
+        File file = File.createTempFile("gc-events", ".dat");
+        GCTraceEventFile eventFile = new GCTraceEventFile(file);
+        GCTrace trace = new GCTrace();
+        try {
+            List<List<TmfEventField>> written = new ArrayList<>();
+            for (int i = 0; i < NB_EVENTS; i++) {
+                List<TmfEventField> fields = newFields(i);
+                eventFile.append(i * 1000L, getType(i), fields);
+                written.add(fields);
+            }
+            eventFile.finish();
+            try {
+                eventFile.append(0L, getType(0), newFields(0));
+                fail("append after finish");
+            } catch (IOException e) {
+                // expected
+            }
+            assertEquals(NB_EVENTS, eventFile.getNbEvents());
+
+            List<Long> offsets = new ArrayList<>();
+            long offset = 0;
+            for (int i = 0; i < NB_EVENTS; i++) {
+                TmfEvent event = eventFile.readEvent(trace, offset);
+                assertNotNull(event);
+                assertEquals(i * 1000L, event.getTimestamp().toNanos());
+                assertEquals(getType(i), event.getType().getName());
+                assertFields(written.get(i), event.getContent());
+                offsets.add(offset);
+                offset = eventFile.getNextOffset();
+                assertTrue(offset > offsets.get(i));
+            }
+            assertEquals(eventFile.getLength(), offset);
+            assertEquals(file.length(), offset);
+            assertNull(eventFile.readEvent(trace, offset));
+
+            // the first record at or after each ratio, going through the checkpoints
+            Set<Long> recordOffsets = new HashSet<>(offsets);
+            assertEquals(0L, eventFile.getOffset(0.0));
+            assertEquals(eventFile.getLength(), eventFile.getOffset(1.0));
+            for (int i = 1; i < 100; i++) {
+                double ratio = i / 100.0;
+                long target = (long) (eventFile.getLength() * ratio);
+                long ratioOffset = eventFile.getOffset(ratio);
+                assertTrue(recordOffsets.contains(ratioOffset));
+                assertTrue(ratioOffset >= target);
+                int index = offsets.indexOf(ratioOffset);
+                assertTrue(index == 0 || offsets.get(index - 1) < target);
+            }
+        } finally {
+            eventFile.dispose();
+            trace.dispose();
+        }
+        assertFalse(file.exists());
+    }
+
+    private static String getType(int i) {
+        return i % 2 == 0 ? GCEventType.YOUNG_GC.getName() : GCEventType.FULL_GC.getName();
+    }
+
+    private static List<TmfEventField> newFields(int i) {
+        CpuTime cpuTime = new CpuTime();
+        cpuTime.setUser(i);
+        cpuTime.setSys(i / 2.0);
+        cpuTime.setReal(i / 4.0);
+        List<TmfEventField> fields = new ArrayList<>();
+        fields.add(new TmfEventField("long", Long.MAX_VALUE - i, null));
+        fields.add(new TmfEventField("int", -i, null));
+        fields.add(new TmfEventField("double", i / 3.0, null));
+        fields.add(new TmfEventField("string", "event " + i, null));
+        fields.add(new TmfEventField("cause", i % 2 == 0 ? GCCause.ALLOCATION_FAILURE : GCCause.SYSTEM_GC, null));
+        fields.add(new TmfEventField("cpu", cpuTime, null));
+        fields.add(new TmfEventField("level", GCEventLevel.values()[i % GCEventLevel.values().length], null));
+        fields.add(new TmfEventField("null", null, null));
+        return fields;
+    }
+
+    private static void assertFields(List<TmfEventField> expected, ITmfEventField actual) {
+        assertEquals(expected.size(), actual.getFields().size());
+        for (TmfEventField field : expected) {
+            ITmfEventField actualField = actual.getField(field.getName());
+            assertNotNull(field.getName(), actualField);
+            Object value = field.getValue();
+            if (value instanceof CpuTime) {
+                CpuTime cpuTime = (CpuTime) value;
+                CpuTime actualCpuTime = (CpuTime) actualField.getValue();
+                assertEquals(cpuTime.getUser(), actualCpuTime.getUser(), DELTA);
+                assertEquals(cpuTime.getSys(), actualCpuTime.getSys(), DELTA);
+                assertEquals(cpuTime.getReal(), actualCpuTime.getReal(), DELTA);
+            } else if (value instanceof GCCause) {
+                assertSame(value, actualField.getValue());
+            } else {
+                assertEquals(field.getName(), value, actualField.getValue());
+            }
+        }
+    }
+
+    /**
+     * Test that the properties of a trace are the statistics of the events of
+     * its log
+     *
+     * @throws Exception
+     *             if the trace cannot be opened or the log parsed
+     */
+    @Test
+    public void testTraceProperties() throws Exception {
+        GCModel model = new GCLogParserFactory().getParser(TestUtil.getGCLog("11G1Parser.log")).parse(TestUtil.getGCLog("11G1Parser.log"));
+        Map<String, Integer> counts = new HashMap<>();
+        double maxPause = 0;
+        for (GCEvent event : model.getGcEvents()) {
+            counts.merge(event.getEventType().getName(), 1, Integer::sum);
+            maxPause = Math.max(maxPause, event.getPause());
+        }
+        assertFalse(counts.isEmpty());
+
+        GCTrace trace = new GCTrace();
+        try {
+            trace.initTrace(null, TRACE_LOCATION, TmfEvent.class);
+            Map<String, String> properties = trace.getProperties();
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                assertEquals(entry.getKey(), String.valueOf(entry.getValue()), properties.get(entry.getKey() + " count"));
+            }
+            String pauseMax = properties.get("Pause max (ms)");
+            assertNotNull(pauseMax);
+            assertEquals(maxPause, Double.parseDouble(pauseMax), DELTA);
+            assertEquals("1", properties.get("Safepoint count"));
+        } finally {
+            trace.dispose();
+        }
+    }
+}
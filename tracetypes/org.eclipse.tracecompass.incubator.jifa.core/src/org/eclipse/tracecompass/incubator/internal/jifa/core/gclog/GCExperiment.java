@@ -0,0 +1,122 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.jifa.core.gclog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.Activator;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+
+/**
+ * Experiment of GC logs, such as the rotated logs of a JVM or the logs of the
+ * instances of a service. The logs are parsed concurrently, one per core, when
+ * the experiment is initialized, and the experiment merges their events in
+ * time order. A log that fails to parse has no events in the experiment, its
+ * trace keeps the error, see {@link GCTrace#getParseError()}.
+ */
+public class GCExperiment extends TmfExperiment {
+
+    /**
+     * The Experiment ID
+     */
+    public static final String ID = "org.eclipse.tracecompass.jifa.gclog.experiment"; //$NON-NLS-1$
+
+    /**
+     * Default Constructor
+     */
+    public GCExperiment() {
+        super();
+    }
+
+    /**
+     * Constructor of a GC experiment
+     *
+     * @param type
+     *            The event type
+     * @param path
+     *            The experiment path
+     * @param traces
+     *            The experiment set of traces
+     * @param indexPageSize
+     *            The experiment index page size. You can use
+     *            {@link TmfExperiment#DEFAULT_INDEX_PAGE_SIZE} for a default
+     *            value.
+     * @param resource
+     *            The resource associated to the experiment. You can use 'null'
+     *            for no resources (tests, etc.)
+     */
+    public GCExperiment(final Class<? extends ITmfEvent> type,
+            final String path,
+            final ITmfTrace[] traces,
+            final int indexPageSize,
+            final @Nullable IResource resource) {
+        super(type, path, traces, indexPageSize, resource);
+    }
+
+    @Override
+    public void initExperiment(final Class<? extends ITmfEvent> type,
+            final String path,
+            final ITmfTrace[] traces,
+            final int indexPageSize,
+            final @Nullable IResource resource,
+            final String typeId) {
+        parseTraces(traces);
+        super.initExperiment(type, path, traces, indexPageSize, resource, typeId);
+    }
+
+    private static void parseTraces(ITmfTrace[] traces) {
+        List<GCTrace> gcTraces = new ArrayList<>();
+        List<Callable<GCTrace>> tasks = new ArrayList<>();
+        for (ITmfTrace trace : traces) {
+            if (trace instanceof GCTrace) {
+                GCTrace gcTrace = (GCTrace) trace;
+                gcTraces.add(gcTrace);
+                tasks.add(() -> {
+                    gcTrace.parse();
+                    return gcTrace;
+                });
+            }
+        }
+        if (tasks.size() < 2) {
+            // A single log is parsed on first use, like outside an experiment
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(Runtime.getRuntime().availableProcessors(), tasks.size()));
+        try {
+            List<Future<GCTrace>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    // The other logs are still shown, this one keeps the error
+                    Activator.getInstance().logError("Error parsing GC log " + gcTraces.get(i).getPath(), e.getCause()); //$NON-NLS-1$
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -19,7 +19,10 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.eclipse.core.resources.IProject;
@@ -29,39 +32,51 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.counters.core.aspects.CounterAspect;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.GCEvent;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.GCMemoryItem;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.MemoryArea;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCModel;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCStreamingStatistics;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.parser.GCLogParser;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.parser.GCLogParserFactory;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.util.Constant;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.vo.PauseStatistics;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.vo.PhaseStatistics.PhaseStatisticItem;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
-import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
-import org.eclipse.tracecompass.tmf.core.event.TmfEventType;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
 import org.eclipse.tracecompass.tmf.core.event.aspect.TmfEventFieldAspect;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
-import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
-import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.project.model.ITmfPropertiesProvider;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
 /**
- * GC Trace, encapsulates the GC model and makes it a {@link TmfTrace}
+ * GC Trace, encapsulates the GC model and makes it a {@link TmfTrace}. The
+ * pause and event type statistics computed while the log is parsed are shown
+ * as properties of the trace.
  */
-public class GCTrace extends TmfTrace {
+public class GCTrace extends TmfTrace implements ITmfPropertiesProvider {
 
     /**
      * The Trace ID
      */
     public static final String ID = "org.eclipse.tracecompass.jifa.gclog";  //$NON-NLS-1$
-    private @Nullable GCModel fModel;
+    private static final String EVENT_FILE_PREFIX = "gc-events"; //$NON-NLS-1$
+    private static final String EVENT_FILE_SUFFIX = ".dat"; //$NON-NLS-1$
+    private @Nullable GCTraceEventFile fEventFile;
+    private @Nullable GCStreamingStatistics fStatistics;
+    // the log is parsed at most once, even if it fails or the trace is disposed
+    private boolean fParsed = false;
+    // the error of the parse, thrown again to the next callers of parse()
+    private @Nullable TmfTraceException fParseError;
     private TmfLongLocation fLocation = new TmfLongLocation(0L);
     private final @NonNull List<ITmfEventAspect<?>> fAspects = new ArrayList<>();
 	private GCTraceLayout fGcLayout;
@@ -76,28 +91,138 @@ public class GCTrace extends TmfTrace {
         return new TraceValidationStatus(10, this.getClass().getName());
     }
 
+    /**
+     * Only the format of the log is checked here, the log is parsed on first
+     * use or, in a {@link GCExperiment}, along with the other logs.
+     */
     @Override
     public void initTrace(@Nullable IResource resource, @Nullable String path, Class<? extends ITmfEvent> type) throws TmfTraceException {
         super.initTrace(resource, path, type);
         fGcLayout = new GCTraceLayout();
-        GCLogParserFactory factory = new GCLogParserFactory();
         try (BufferedReader br = new BufferedReader(new FileReader(new File(path)))) {
-            GCLogParser parser = factory.getParser(br);
-            fModel = parser.parse(br);
-        } catch (IOException e) {
+            new GCLogParserFactory().getParser(br);
+        } catch (IllegalStateException | IOException e) {
             throw new TmfTraceException(e.getMessage(), e);
         }
     }
 
-    @Override
-    public void initTrace(@Nullable IResource resource, @Nullable String path, @Nullable Class<? extends ITmfEvent> type, @Nullable String name, @Nullable String traceTypeId) throws TmfTraceException {
-        super.initTrace(resource, path, type, name, traceTypeId);
+    /**
+     * Parse the log if it is not parsed yet. The log is parsed once, streaming
+     * the events to a file in the supplementary directory as the GC model
+     * releases them, so that the memory used does not depend on the size of
+     * the log.
+     *
+     * @throws TmfTraceException
+     *             if the log cannot be parsed, now or when it was parsed
+     */
+    public synchronized void parse() throws TmfTraceException {
+        TmfTraceException parseError = fParseError;
+        if (parseError != null) {
+            throw parseError;
+        }
+        if (fParsed) {
+            return;
+        }
+        fParsed = true;
         GCLogParserFactory factory = new GCLogParserFactory();
-        try (BufferedReader br = new BufferedReader(new FileReader(new File(path)))) {
+        GCTraceEventFile eventFile = null;
+        try (BufferedReader br = new BufferedReader(new FileReader(new File(getPath())))) {
             GCLogParser parser = factory.getParser(br);
-            fModel = parser.parse(br);
-        } catch (IOException e) {
-            throw new TmfTraceException(e.getMessage(), e);
+            File file = File.createTempFile(EVENT_FILE_PREFIX, EVENT_FILE_SUFFIX, new File(TmfTraceManager.getSupplementaryFileDir(this)));
+            eventFile = new GCTraceEventFile(file);
+            IOException[] writeError = new IOException[1];
+            GCTraceEventFile events = eventFile;
+            GCModel model = parser.parse(br, (gcModel, event) -> {
+                if (writeError[0] == null) {
+                    try {
+                        append(events, gcModel, event);
+                    } catch (IOException e) {
+                        writeError[0] = e;
+                    }
+                }
+            });
+            if (writeError[0] != null) {
+                throw writeError[0];
+            }
+            eventFile.finish();
+            fStatistics = model.getStreamingStatistics();
+            fEventFile = eventFile;
+        } catch (IllegalStateException | IOException e) {
+            if (eventFile != null) {
+                eventFile.dispose();
+            }
+            parseError = new TmfTraceException(e.getMessage(), e);
+            fParseError = parseError;
+            throw parseError;
+        }
+    }
+
+    /**
+     * Get the error of the parse of the log. A trace whose log failed to
+     * parse has no events, this tells it apart from an empty log.
+     *
+     * @return the error, or null if the log is parsed or not parsed yet
+     */
+    public synchronized @Nullable TmfTraceException getParseError() {
+        return fParseError;
+    }
+
+    private synchronized @Nullable GCTraceEventFile getEventFile() {
+        if (!fParsed) {
+            try {
+                parse();
+            } catch (TmfTraceException e) {
+                Activator.getInstance().logError("Error parsing GC log " + getPath(), e); //$NON-NLS-1$
+            }
+        }
+        return fEventFile;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        fParsed = true;
+        GCTraceEventFile eventFile = fEventFile;
+        if (eventFile != null) {
+            eventFile.dispose();
+            fEventFile = null;
+        }
+        super.dispose();
+    }
+
+    /**
+     * The statistics of the GC events, computed while the log was parsed. The
+     * durations are in milliseconds, like in the GC model.
+     */
+    @Override
+    public Map<@NonNull String, @NonNull String> getProperties() {
+        getEventFile();
+        TmfTraceException parseError = getParseError();
+        if (parseError != null) {
+            return Collections.singletonMap("Parse error", String.valueOf(parseError.getMessage())); //$NON-NLS-1$
+        }
+        GCStreamingStatistics statistics = fStatistics;
+        if (statistics == null) {
+            return Collections.emptyMap();
+        }
+        Map<@NonNull String, @NonNull String> properties = new LinkedHashMap<>();
+        PauseStatistics pause = statistics.getPauseStatistics();
+        putProperty(properties, "Throughput", pause.getThroughput()); //$NON-NLS-1$
+        putProperty(properties, "Pause average (ms)", pause.getPauseAvg()); //$NON-NLS-1$
+        putProperty(properties, "Pause median (ms)", pause.getPauseMedian()); //$NON-NLS-1$
+        putProperty(properties, "Pause P99 (ms)", pause.getPauseP99()); //$NON-NLS-1$
+        putProperty(properties, "Pause P99.9 (ms)", pause.getPauseP999()); //$NON-NLS-1$
+        putProperty(properties, "Pause max (ms)", pause.getPauseMax()); //$NON-NLS-1$
+        for (PhaseStatisticItem item : statistics.getEventTypeStatistics()) {
+            properties.put(item.getName() + " count", String.valueOf(item.getCount())); //$NON-NLS-1$
+            putProperty(properties, item.getName() + " total duration (ms)", item.getDurationTotal()); //$NON-NLS-1$
+        }
+        properties.put("Safepoint count", String.valueOf(statistics.getSafepointStatistics().getN())); //$NON-NLS-1$
+        return properties;
+    }
+
+    private static void putProperty(Map<@NonNull String, @NonNull String> properties, String name, double value) {
+        if (value != Constant.UNKNOWN_DOUBLE && !Double.isNaN(value)) {
+            properties.put(name, String.valueOf(value));
         }
     }
 
@@ -108,11 +233,11 @@ public class GCTrace extends TmfTrace {
 
     @Override
     public double getLocationRatio(@Nullable ITmfLocation location) {
-        GCModel model = fModel;
-        if (location == null || model == null) {
+        GCTraceEventFile eventFile = getEventFile();
+        if (location == null || eventFile == null || eventFile.getLength() == 0) {
             return 0.0;
         }
-        return fLocation.getLocationInfo().doubleValue() / model.getAllEvents().size();
+        return ((Number) location.getLocationInfo()).doubleValue() / eventFile.getLength();
     }
 
     @Override
@@ -127,31 +252,39 @@ public class GCTrace extends TmfTrace {
 
     @Override
     public @Nullable ITmfContext seekEvent(double ratio) {
-        GCModel model = fModel;
-        if (model == null) {
+        GCTraceEventFile eventFile = getEventFile();
+        if (eventFile == null) {
+            return null;
+        }
+        try {
+            return new TmfContext(new TmfLongLocation(eventFile.getOffset(ratio)));
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error seeking GC event", e); //$NON-NLS-1$
             return null;
         }
-        return new TmfContext(new TmfLongLocation((long) (model.getAllEvents().size() * ratio)));
     }
 
     @Override
     public @Nullable ITmfEvent parseEvent(@Nullable ITmfContext context) {
-        int index = getIndex(context);
-        GCModel model = fModel;
-        if (model != null && index < model.getAllEvents().size()) {
-            GCEvent event = Objects.requireNonNull(model.getAllEvents().get(index));
-            TmfEvent tmfEvent = convert(event);
-            fLocation = new TmfLongLocation(index + 1L);
+        long offset = getOffset(context);
+        GCTraceEventFile eventFile = getEventFile();
+        if (eventFile == null) {
+            return null;
+        }
+        try {
+            TmfEvent tmfEvent = eventFile.readEvent(this, offset);
+            if (tmfEvent != null) {
+                fLocation = new TmfLongLocation(eventFile.getNextOffset());
+            }
             return tmfEvent;
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error reading GC event", e); //$NON-NLS-1$
+            return null;
         }
-        return null;
     }
 
-    private TmfEvent convert(GCEvent event) {
-
-        TmfEventType type = new TmfEventType(Objects.requireNonNull(event.getEventType().getName()), null);
-        GCModel model = Objects.requireNonNull(fModel);
-        ITmfTimestamp time = TmfTimestamp.fromNanos((long) ((event.getStartTime() + model.getReferenceTimestamp()) * 1e6));
+    private void append(GCTraceEventFile eventFile, GCModel model, GCEvent event) throws IOException {
+        long time = (long) ((event.getStartTime() + model.getReferenceTimestamp()) * 1e6);
         List<TmfEventField> fields = new ArrayList<>();
         fields.add(new TmfEventField(fGcLayout.getAlloc(), event.getAllocation(), null));
         fields.add(new TmfEventField(fGcLayout.getGcId(), event.getGcid(), null));
@@ -176,14 +309,14 @@ public class GCTrace extends TmfTrace {
                 }
             }
         }
-        return new TmfEvent(this, -1, time, type, new TmfEventField(ITmfEventField.ROOT_FIELD_ID, null, fields.toArray(new TmfEventField[0])));
+        eventFile.append(time, Objects.requireNonNull(event.getEventType().getName()), fields);
     }
 
-    private static int getIndex(@Nullable ITmfContext context) {
+    private static long getOffset(@Nullable ITmfContext context) {
         if (context != null) {
             Comparable<?> locationInfo = context.getLocation().getLocationInfo();
             if (locationInfo instanceof Number) {
-                return ((Number) locationInfo).intValue();
+                return ((Number) locationInfo).longValue();
             }
         }
         return 0;
@@ -0,0 +1,325 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.jifa.core.gclog;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.CpuTime;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.GCCause;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.eventInfo.GCEventLevel;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventType;
+import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * File of the events of a {@link GCTrace}, written while the GC log is parsed
+ * so that the trace does not keep the GC model in memory. Each record holds
+ * the timestamp, the type and the fields of an event, and the location of an
+ * event is the offset of its record. The offset of every
+ * {@link #CHECKPOINT_INTERVAL}th record is kept to seek a ratio of the file.
+ */
+public class GCTraceEventFile {
+
+    private static final int CHECKPOINT_INTERVAL = 1024;
+
+    // tags of the field values
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte STRING = 4;
+    private static final byte CAUSE = 5;
+    private static final byte CPU_TIME = 6;
+    private static final byte LEVEL = 7;
+
+    private final File fFile;
+
+    // the event types and field names are written as indexes in this table
+    private final List<String> fNames = new ArrayList<>();
+    private final Map<String, Integer> fNameIndexes = new HashMap<>();
+
+    private long[] fCheckpoints = new long[16];
+    private int fNbCheckpoints = 0;
+    private long fNbEvents = 0;
+    private long fLength = 0;
+
+    private final ByteArrayOutputStream fRecord = new ByteArrayOutputStream();
+    private final DataOutputStream fRecordOut = new DataOutputStream(fRecord);
+    private @Nullable OutputStream fOut;
+    private @Nullable RandomAccessFile fIn;
+    private long fNextOffset = 0;
+
+    /**
+     * Constructor, the file is created empty
+     *
+     * @param file
+     *            the file to write
+     * @throws IOException
+     *             if the file cannot be created
+     */
+    public GCTraceEventFile(File file) throws IOException {
+        fFile = file;
+        fOut = new BufferedOutputStream(new FileOutputStream(file));
+    }
+
+    /**
+     * Add an event at the end of the file
+     *
+     * @param timestamp
+     *            the timestamp of the event, in nanoseconds
+     * @param type
+     *            the name of the event type
+     * @param fields
+     *            the fields of the event
+     * @throws IOException
+     *             if the record cannot be written
+     */
+    public synchronized void append(long timestamp, String type, List<TmfEventField> fields) throws IOException {
+        OutputStream out = fOut;
+        if (out == null) {
+            throw new IOException("The event file is already finished"); //$NON-NLS-1$
+        }
+        fRecord.reset();
+        DataOutputStream record = fRecordOut;
+        record.writeLong(timestamp);
+        record.writeShort(getNameIndex(type));
+        record.writeShort(fields.size());
+        for (TmfEventField field : fields) {
+            record.writeShort(getNameIndex(field.getName()));
+            writeValue(record, field.getValue());
+        }
+        record.flush();
+
+        if (fNbEvents % CHECKPOINT_INTERVAL == 0) {
+            if (fNbCheckpoints == fCheckpoints.length) {
+                fCheckpoints = Arrays.copyOf(fCheckpoints, fNbCheckpoints * 2);
+            }
+            fCheckpoints[fNbCheckpoints++] = fLength;
+        }
+        int size = fRecord.size();
+        out.write(size >>> 24);
+        out.write(size >>> 16);
+        out.write(size >>> 8);
+        out.write(size);
+        fRecord.writeTo(out);
+        fLength += Integer.BYTES + size;
+        fNbEvents++;
+    }
+
+    /**
+     * Finish writing the file and open it for reading
+     *
+     * @throws IOException
+     *             if the file cannot be written or opened
+     */
+    public synchronized void finish() throws IOException {
+        OutputStream out = fOut;
+        if (out != null) {
+            fOut = null;
+            out.close();
+            fIn = new BufferedRandomAccessFile(fFile, "r"); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Get the number of events in the file
+     *
+     * @return the number of events
+     */
+    public synchronized long getNbEvents() {
+        return fNbEvents;
+    }
+
+    /**
+     * Get the length of the file
+     *
+     * @return the length in bytes
+     */
+    public synchronized long getLength() {
+        return fLength;
+    }
+
+    /**
+     * Read an event
+     *
+     * @param trace
+     *            the trace of the event
+     * @param offset
+     *            the offset of the record of the event
+     * @return the event, or null if the offset is at the end of the file
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public synchronized @Nullable TmfEvent readEvent(ITmfTrace trace, long offset) throws IOException {
+        RandomAccessFile in = fIn;
+        if (in == null || offset < 0 || offset >= fLength) {
+            return null;
+        }
+        in.seek(offset);
+        int size = in.readInt();
+        long timestamp = in.readLong();
+        String type = fNames.get(in.readUnsignedShort());
+        int nbFields = in.readUnsignedShort();
+        TmfEventField[] fields = new TmfEventField[nbFields];
+        for (int i = 0; i < nbFields; i++) {
+            String name = fNames.get(in.readUnsignedShort());
+            fields[i] = new TmfEventField(name, readValue(in), null);
+        }
+        fNextOffset = offset + Integer.BYTES + size;
+        return new TmfEvent(trace, -1, TmfTimestamp.fromNanos(timestamp), new TmfEventType(type, null),
+                new TmfEventField(ITmfEventField.ROOT_FIELD_ID, null, fields));
+    }
+
+    /**
+     * Get the offset of the record after the last event read
+     *
+     * @return the offset of the next record
+     */
+    public synchronized long getNextOffset() {
+        return fNextOffset;
+    }
+
+    /**
+     * Find the first record at or after a ratio of the file
+     *
+     * @param ratio
+     *            the ratio, between 0 and 1
+     * @return the offset of the record, or the length of the file if there is
+     *         none
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public synchronized long getOffset(double ratio) throws IOException {
+        RandomAccessFile in = fIn;
+        long target = (long) (fLength * ratio);
+        if (in == null || fNbCheckpoints == 0 || target <= 0) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(fCheckpoints, 0, fNbCheckpoints, target);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        // skip the records between the checkpoint and the target
+        long offset = fCheckpoints[index];
+        while (offset < target && offset < fLength) {
+            in.seek(offset);
+            offset += Integer.BYTES + in.readInt();
+        }
+        return Math.min(offset, fLength);
+    }
+
+    /**
+     * Close and delete the file
+     */
+    public synchronized void dispose() {
+        try {
+            OutputStream out = fOut;
+            if (out != null) {
+                out.close();
+            }
+            RandomAccessFile in = fIn;
+            if (in != null) {
+                in.close();
+            }
+        } catch (IOException e) {
+            // nothing to do, the file is deleted anyway
+        }
+        fOut = null;
+        fIn = null;
+        fFile.delete();
+    }
+
+    private int getNameIndex(String name) {
+        return fNameIndexes.computeIfAbsent(name, key -> {
+            fNames.add(key);
+            return fNames.size() - 1;
+        });
+    }
+
+    private static void writeValue(DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof GCCause && GCCause.getCause(((GCCause) value).getName()) == value) {
+            out.writeByte(CAUSE);
+            out.writeUTF(((GCCause) value).getName());
+        } else if (value instanceof CpuTime) {
+            CpuTime cpuTime = (CpuTime) value;
+            out.writeByte(CPU_TIME);
+            out.writeDouble(cpuTime.getUser());
+            out.writeDouble(cpuTime.getSys());
+            out.writeDouble(cpuTime.getReal());
+        } else if (value instanceof GCEventLevel) {
+            out.writeByte(LEVEL);
+            out.writeByte(((GCEventLevel) value).ordinal());
+        } else {
+            out.writeByte(STRING);
+            out.writeUTF(value.toString());
+        }
+    }
+
+    private static @Nullable Object readValue(RandomAccessFile in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+        case NULL:
+            return null;
+        case LONG:
+            return in.readLong();
+        case INTEGER:
+            return in.readInt();
+        case DOUBLE:
+            return in.readDouble();
+        case CAUSE:
+            return Objects.requireNonNull(GCCause.getCause(in.readUTF()));
+        case CPU_TIME:
+            CpuTime cpuTime = new CpuTime();
+            cpuTime.setUser(in.readDouble());
+            cpuTime.setSys(in.readDouble());
+            cpuTime.setReal(in.readDouble());
+            return cpuTime;
+        case LEVEL:
+            return GCEventLevel.values()[in.readByte()];
+        case STRING:
+            return in.readUTF();
+        default:
+            throw new IOException("Unknown field value tag " + tag); //$NON-NLS-1$
+        }
+    }
+}
@@ -50,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -128,6 +129,12 @@ public abstract class GCModel {
     private final Cache globalDiagnoseInfoCache = CacheBuilder.newBuilder().maximumSize(3).build();
     private boolean metaspaceCapacityReliable = false;
 
+    // When streaming, only the last events are kept so that the parser can still find and complete them.
+    // Older events are released to the consumer in their order of appearance and dropped from the lists.
+    private static final int STREAMING_WINDOW = 1024;
+    private BiConsumer<GCModel, GCEvent> streamingConsumer;
+    private GCStreamingStatistics streamingStatistics;
+
     public GCModel() {
         // do nothing
     }
@@ -260,6 +267,10 @@ public abstract class GCModel {
     }
 
     public void addSafepoint(Safepoint safepoint) {
+        if (streamingStatistics != null) {
+            streamingStatistics.addSafepoint(safepoint);
+            return;
+        }
         safepoints.add(safepoint);
     }
 
@@ -544,6 +555,7 @@ public abstract class GCModel {
     public void putEvent(GCEvent event) {
         gcEvents.add(event);
         allEvents.add(event);
+        releaseOldEvents();
     }
 
     public void addPhase(GCEvent parent, GCEvent phase) {
@@ -551,12 +563,73 @@ public abstract class GCModel {
         if (parent != null) {
             parent.addPhase(phase);
         }
+        releaseOldEvents();
+    }
+
+    /**
+     * Stream the events to a consumer while the log is parsed instead of
+     * keeping them all in this model. Only the last events stay in the event
+     * lists, where the parser looks for the events to complete with the next
+     * lines. The events that are released are also added to the streaming
+     * statistics, and the safepoints are only counted there. The derived info
+     * cannot be calculated on a streaming model.
+     *
+     * @param consumer
+     *            the consumer of this model and its events, in their order of
+     *            appearance in the log
+     */
+    public void setStreamingConsumer(BiConsumer<GCModel, GCEvent> consumer) {
+        streamingConsumer = consumer;
+        streamingStatistics = new GCStreamingStatistics();
+    }
+
+    public boolean isStreaming() {
+        return streamingConsumer != null;
+    }
+
+    public GCStreamingStatistics getStreamingStatistics() {
+        return streamingStatistics;
+    }
+
+    /**
+     * Release the events still kept by a streaming model, once the whole log
+     * is parsed.
+     */
+    public void releaseAllEvents() {
+        if (streamingConsumer != null) {
+            releaseEvents(allEvents.size());
+        }
+    }
+
+    private void releaseOldEvents() {
+        // release by chunks to avoid shifting the lists for every event
+        if (streamingConsumer != null && allEvents.size() >= 2 * STREAMING_WINDOW) {
+            releaseEvents(allEvents.size() - STREAMING_WINDOW);
+        }
+    }
+
+    private void releaseEvents(int count) {
+        // parents are in the same order in both lists
+        int parents = 0;
+        for (int i = 0; i < count; i++) {
+            GCEvent event = allEvents.get(i);
+            if (parents < gcEvents.size() && gcEvents.get(parents) == event) {
+                parents++;
+                streamingStatistics.addEvent(event);
+            }
+            streamingConsumer.accept(this, event);
+        }
+        allEvents.subList(0, count).clear();
+        gcEvents.subList(0, parents).clear();
     }
 
     /**
      * @param progressListener
      */
     public void calculateDerivedInfo(IProgressMonitor progressListener) {
+        if (streamingConsumer != null) {
+            throw new IllegalStateException("The events of a streaming model are not kept");
+        }
         allEvents = null;
         // must be done before other steps
         filterInvalidEvents();
@@ -0,0 +1,154 @@
+/********************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ********************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model;
+
+import static org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCEventType.YOUNG_GC;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.GCEvent;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.Safepoint;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.util.Constant;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.util.DoubleData;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.vo.PauseStatistics;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.vo.PhaseStatistics.PhaseStatisticItem;
+
+/**
+ * Statistics of a streaming {@link GCModel}, updated with each parent event
+ * released by the model instead of being computed over the event lists. They
+ * are the same statistics as {@link GCModel#getPauseStatistics} and
+ * {@link GCModel#getPhaseStatistics} over the whole log, except that the
+ * intervals follow the order of appearance of the events and the events are
+ * not fixed by the derived info calculation.
+ */
+public class GCStreamingStatistics {
+    private final DoubleData pause = new DoubleData();
+    // the pauses are needed for the percentiles, keep them without boxing
+    private double[] pauses = new double[256];
+    private boolean pausesSorted = true;
+
+    // DoubleData[] is an array of interval and duration, by event type name
+    private final Map<String, DoubleData[]> eventData = new LinkedHashMap<>();
+    private final Map<GCEventType, Double> lastEndTime = new HashMap<>();
+
+    private final DoubleData safepoint = new DoubleData();
+
+    private double startTime = Constant.UNKNOWN_DOUBLE;
+    private double endTime = Constant.UNKNOWN_DOUBLE;
+
+    void addEvent(GCEvent event) {
+        event.pauseEventOrPhasesDo(pauseEvent -> addPause(pauseEvent.getPause()));
+        addEventData(event);
+        event.phasesDoDFS(this::addEventData);
+    }
+
+    void addSafepoint(Safepoint event) {
+        safepoint.add(event.getDuration());
+    }
+
+    private void addPause(double value) {
+        if (value == Constant.UNKNOWN_DOUBLE) {
+            return;
+        }
+        int n = pause.getN();
+        if (n == pauses.length) {
+            pauses = Arrays.copyOf(pauses, n * 2);
+        }
+        pauses[n] = value;
+        pausesSorted = false;
+        pause.add(value);
+    }
+
+    private void addEventData(GCEvent event) {
+        GCEventType eventType = event.getEventType();
+        // regard mixed gc as young gc
+        if (event.isYoungGC()) {
+            eventType = YOUNG_GC;
+        }
+        double interval = Constant.UNKNOWN_DOUBLE;
+        Double lastEndTimeForEvent = lastEndTime.get(eventType);
+        if (lastEndTimeForEvent != null) {
+            interval = Math.max(0, event.getStartTime() - lastEndTimeForEvent);
+        }
+        lastEndTime.put(eventType, event.getEndTime());
+
+        DoubleData[] data = eventData.computeIfAbsent(event.getEventType().getName(), name -> new DoubleData[] { new DoubleData(), new DoubleData() });
+        data[0].add(interval);
+        data[1].add(event.getDuration());
+
+        if (event.getStartTime() != Constant.UNKNOWN_DOUBLE && (startTime == Constant.UNKNOWN_DOUBLE || event.getStartTime() < startTime)) {
+            startTime = event.getStartTime();
+        }
+        if (event.getEndTime() != Constant.UNKNOWN_DOUBLE && event.getEndTime() > endTime) {
+            endTime = event.getEndTime();
+        }
+    }
+
+    public double getStartTime() {
+        return startTime;
+    }
+
+    public double getEndTime() {
+        return endTime;
+    }
+
+    public synchronized PauseStatistics getPauseStatistics() {
+        double length = endTime - startTime;
+        return new PauseStatistics(
+                pause.getN() == 0 || length <= 0 ? Constant.UNKNOWN_DOUBLE : 1 - pause.getSum() / length,
+                pause.average(),
+                getPausePercentile(0.5),
+                getPausePercentile(0.99),
+                getPausePercentile(0.999),
+                pause.getMax());
+    }
+
+    // same interpolation as DoubleData.getPercentile
+    private double getPausePercentile(double percentile) {
+        int n = pause.getN();
+        if (n == 0) {
+            return Constant.UNKNOWN_DOUBLE;
+        }
+        if (!pausesSorted) {
+            Arrays.sort(pauses, 0, n);
+            pausesSorted = true;
+        }
+        double p = (n - 1) * percentile;
+        int i = (int) Math.floor(p);
+        double weight = p - i;
+        if (weight == 0) {
+            return pauses[i];
+        }
+        return weight * pauses[i + 1] + (1 - weight) * pauses[i];
+    }
+
+    public List<PhaseStatisticItem> getEventTypeStatistics() {
+        List<PhaseStatisticItem> result = new ArrayList<>();
+        for (Map.Entry<String, DoubleData[]> entry : eventData.entrySet()) {
+            DoubleData[] data = entry.getValue();
+            result.add(new PhaseStatisticItem(entry.getKey(), data[1].getN(), data[0].average(), data[0].getMin(),
+                    data[1].average(), data[1].getMax(), data[1].getSum()));
+        }
+        return result;
+    }
+
+    public DoubleData getSafepointStatistics() {
+        return safepoint;
+    }
+}
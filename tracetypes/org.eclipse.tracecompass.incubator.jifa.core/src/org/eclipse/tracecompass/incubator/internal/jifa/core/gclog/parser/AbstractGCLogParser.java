@@ -17,8 +17,10 @@ import static org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.util.C
 
 import java.io.BufferedReader;
 import java.util.List;
+import java.util.function.BiConsumer;
 
 import org.eclipse.tracecompass.incubator.internal.jifa.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.GCEvent;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.Safepoint;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCModel;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCModelFactory;
@@ -46,6 +48,21 @@ public abstract class AbstractGCLogParser implements GCLogParser {
     public final GCModel parse(BufferedReader br) throws TmfTraceException {
         model = GCModelFactory.getModel(metadata.getCollector());
         model.setLogStyle(metadata.getStyle());
+        parseLines(br);
+        return model;
+    }
+
+    @Override
+    public final GCModel parse(BufferedReader br, BiConsumer<GCModel, GCEvent> consumer) throws TmfTraceException {
+        model = GCModelFactory.getModel(metadata.getCollector());
+        model.setLogStyle(metadata.getStyle());
+        model.setStreamingConsumer(consumer);
+        parseLines(br);
+        model.releaseAllEvents();
+        return model;
+    }
+
+    private void parseLines(BufferedReader br) {
         String line = "";
         try {
             while ((line = br.readLine()) != null) {
@@ -61,8 +78,6 @@ public abstract class AbstractGCLogParser implements GCLogParser {
         } catch (Exception e) {
             Activator.getInstance().logInfo(String.format("fail to parse \"%s\", %s", line, e.getMessage()));
         }
-
-        return model;
     }
 
     protected abstract void doParseLine(String line);
@@ -14,10 +14,15 @@
 package org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.parser;
 
 import java.io.BufferedReader;
+import java.util.function.BiConsumer;
 
+import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.event.GCEvent;
 import org.eclipse.tracecompass.incubator.internal.jifa.core.gclog.model.GCModel;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 
 public interface GCLogParser {
     GCModel parse(BufferedReader br) throws TmfTraceException;
+
+    // stream the events to the consumer instead of keeping them in the model
+    GCModel parse(BufferedReader br, BiConsumer<GCModel, GCEvent> consumer) throws TmfTraceException;
 }
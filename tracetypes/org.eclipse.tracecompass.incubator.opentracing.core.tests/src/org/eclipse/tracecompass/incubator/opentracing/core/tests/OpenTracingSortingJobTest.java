@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.opentracing.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.tracecompass.incubator.internal.analysis.core.trace.JsonTraceSortingJob;
+import org.eclipse.tracecompass.incubator.internal.opentracing.core.trace.OpenTracingTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test sorting the spans of a Jaeger trace, which are in the
+ * <code>data[].spans</code> array, in runs spilled to the disk
+ */
+public class OpenTracingSortingJobTest {
+
+    private static final int NB_SPANS = 10000;
+    private static final long START_TIME = 1526674498419000L;
+    private static final long SEED = 42;
+
+    private File fFile;
+
+    /**
+     * Delete the trace and reset the memory budget
+     */
+    @After
+    public void tearDown() {
+        System.clearProperty(JsonTraceSortingJob.MEMORY_PROPERTY);
+        File file = fFile;
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test that the spans of a trace larger than the memory budget are sorted
+     * by start time and keep their process
+     *
+     * @throws Exception
+     *             if the trace cannot be written or read
+     */
+    @Test
+    public void testSortSpans() throws Exception {
+        // More than 2 MiB of spans, sorted in runs of 1 MiB
+        List<Long> startTimes = new ArrayList<>();
+        for (int i = 0; i < NB_SPANS; i++) {
+            startTimes.add(START_TIME + i * 7L);
+        }
+        Collections.shuffle(startTimes, new Random(SEED));
+        fFile = writeTrace(startTimes);
+        System.setProperty(JsonTraceSortingJob.MEMORY_PROPERTY, "1"); //$NON-NLS-1$
+
+        OpenTracingTrace trace = new OpenTracingTrace();
+        try {
+            trace.initTrace(null, fFile.getAbsolutePath(), ITmfEvent.class);
+            ITmfEventAspect<?> processAspect = null;
+            for (ITmfEventAspect<?> aspect : trace.getEventAspects()) {
+                if (aspect.getName().equals("Process")) { //$NON-NLS-1$
+                    processAspect = aspect;
+                }
+            }
+            assertNotNull(processAspect);
+
+            ITmfContext context = trace.seekEvent(0L);
+            ITmfEvent event = trace.getNext(context);
+            long count = 0;
+            while (event != null) {
+                assertEquals(TmfTimestamp.fromMicros(START_TIME + count * 7L), event.getTimestamp());
+                assertEquals("service", processAspect.resolve(event)); //$NON-NLS-1$
+                count++;
+                event = trace.getNext(context);
+            }
+            assertEquals(NB_SPANS, count);
+        } finally {
+            File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+            trace.dispose();
+            File[] suppFiles = suppDir.listFiles();
+            if (suppFiles != null) {
+                for (File suppFile : suppFiles) {
+                    suppFile.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write a Jaeger trace with one trace whose spans have the start times in
+     * the given order. The logs of the spans have a nested timestamp.
+     */
+    private static File writeTrace(List<Long> startTimes) throws IOException {
+        File file = File.createTempFile("jaeger", ".json"); //$NON-NLS-1$ //$NON-NLS-2$
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("{\"data\":[{\"traceID\":\"cf46871fbf4f262b\",\"spans\":["); //$NON-NLS-1$
+            for (int i = 0; i < startTimes.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                long startTime = startTimes.get(i);
+                writer.write(String.format("{\"traceID\":\"cf46871fbf4f262b\",\"spanID\":\"%016x\",\"flags\":1,\"operationName\":\"op%d\",\"references\":[]," //$NON-NLS-1$
+                        + "\"startTime\":%d,\"duration\":5,\"tags\":[],\"logs\":[{\"timestamp\":%d,\"fields\":[]}],\"processID\":\"p1\",\"warnings\":null}", //$NON-NLS-1$
+                        i + 1, i, startTime, START_TIME - startTime));
+            }
+            writer.write("],\"processes\":{\"p1\":{\"serviceName\":\"service\",\"tags\":[]}},\"warnings\":null}],\"total\":0,\"limit\":0,\"offset\":0,\"errors\":null}\n"); //$NON-NLS-1$
+        }
+        return file;
+    }
+}
@@ -15,14 +15,18 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 
-import org.eclipse.tracecompass.internal.jsontrace.core.job.SortingJob;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.trace.JsonTraceSortingJob;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
 
 /**
@@ -32,7 +36,11 @@ import com.google.gson.stream.JsonReader;
  * @author Katherine Nadeau
  *
  */
-public class OpenTracingSortingJob extends SortingJob {
+public class OpenTracingSortingJob extends JsonTraceSortingJob {
+
+    private static final String DATA = "data"; //$NON-NLS-1$
+    private static final String SPANS = "spans"; //$NON-NLS-1$
+    private static final String PROCESSES = "processes"; //$NON-NLS-1$
 
     /**
      * Constructor
@@ -43,30 +51,67 @@ public class OpenTracingSortingJob extends SortingJob {
      *            the path to the trace file
      */
     public OpenTracingSortingJob(ITmfTrace trace, String path) {
-        super(trace, path, "\"startTime\":", 2); //$NON-NLS-1$
+        super(trace, path, "startTime", List.of(DATA, SPANS)); //$NON-NLS-1$
     }
 
     @Override
     protected void processMetadata(ITmfTrace trace, String dir) throws IOException {
-        try (FileReader fileReader = new FileReader(getPath())) {
-            try (JsonReader reader = new JsonReader(fileReader);) {
-                Gson gson = new Gson();
-                JsonObject object = gson.fromJson(reader, JsonObject.class);
-                JsonElement jsonTrace = object.get("data").getAsJsonArray().get(0); //$NON-NLS-1$
-                JsonObject jsonProcesses = jsonTrace.getAsJsonObject().get("processes").getAsJsonObject(); //$NON-NLS-1$
-                JsonArray processes = new JsonArray();
-                processes.add(jsonProcesses);
+        try {
+            JsonObject jsonProcesses = readProcesses(getPath());
+            if (jsonProcesses == null) {
+                return;
+            }
+            JsonArray processes = new JsonArray();
+            processes.add(jsonProcesses);
 
-                String filePath = trace.getPath().replaceAll(".json", "Processes.json"); //$NON-NLS-1$//$NON-NLS-2$
-                File processFile = new File(dir + File.separator + new File(filePath).getName());
-                processFile.createNewFile();
-                try (PrintWriter tempWriter = new PrintWriter(processFile)) {
-                    tempWriter.println(gson.toJson(processes));
-                }
+            String filePath = trace.getPath().replaceAll(".json", "Processes.json"); //$NON-NLS-1$//$NON-NLS-2$
+            File processFile = new File(dir + File.separator + new File(filePath).getName());
+            processFile.createNewFile();
+            try (PrintWriter tempWriter = new PrintWriter(processFile)) {
+                tempWriter.println(new Gson().toJson(processes));
             }
         } catch (IOException e) {
             // Nothing
         }
     }
 
+    /**
+     * Read the processes of the first trace of a Jaeger file. The spans are
+     * skipped as they are streamed, so the whole document is never loaded in
+     * memory.
+     *
+     * @param path
+     *            the path to the trace file
+     * @return the processes object, or null if there is none
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static @Nullable JsonObject readProcesses(String path) throws IOException {
+        try (JsonReader reader = new JsonReader(new FileReader(path))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!DATA.equals(reader.nextName())) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                if (!reader.hasNext()) {
+                    return null;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (PROCESSES.equals(reader.nextName())) {
+                        JsonElement processes = JsonParser.parseReader(reader);
+                        return processes.isJsonObject() ? processes.getAsJsonObject() : null;
+                    }
+                    reader.skipValue();
+                }
+                return null;
+            }
+        } catch (IllegalStateException | JsonParseException e) {
+            throw new IOException(e);
+        }
+        return null;
+    }
+
 }
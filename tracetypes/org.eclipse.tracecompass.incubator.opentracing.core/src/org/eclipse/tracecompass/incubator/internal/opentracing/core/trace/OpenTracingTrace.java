@@ -12,9 +12,9 @@
 package org.eclipse.tracecompass.incubator.internal.opentracing.core.trace;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.io.StringReader;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -27,6 +27,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.trace.ParallelJsonTraceIndexer;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.IOpenTracingConstants;
 import org.eclipse.tracecompass.incubator.internal.opentracing.core.event.OpenTracingAspects;
@@ -39,19 +40,22 @@ import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.ITmfTraceIndexer;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
 import com.google.common.collect.Lists;
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 /**
  * Open Tracing trace. Can read jaeger unsorted or sorted JSON traces.
@@ -110,16 +114,15 @@ public class OpenTracingTrace extends JsonTrace {
      *            trace file path
      */
     public void registerProcesses(String path) {
-        try (FileReader fileReader = new FileReader(path)) {
-            try (JsonReader reader = new JsonReader(fileReader);) {
-                Gson gson = new Gson();
-                JsonObject object = gson.fromJson(reader, JsonObject.class);
-                JsonElement trace = object.get("data").getAsJsonArray().get(0); //$NON-NLS-1$
-                JsonObject processes = trace.getAsJsonObject().get("processes").getAsJsonObject(); //$NON-NLS-1$
-                for (int i = 1; i <= processes.size(); i++) {
-                    String processName = "p" + i; //$NON-NLS-1$
-                    fProcesses.put(processName, gson.toJson(processes.get(processName)));
-                }
+        try {
+            JsonObject processes = OpenTracingSortingJob.readProcesses(path);
+            if (processes == null) {
+                return;
+            }
+            Gson gson = new Gson();
+            for (int i = 1; i <= processes.size(); i++) {
+                String processName = "p" + i; //$NON-NLS-1$
+                fProcesses.put(processName, gson.toJson(processes.get(processName)));
             }
         } catch (IOException e) {
             // Nothing
@@ -229,13 +232,14 @@ public class OpenTracingTrace extends JsonTrace {
                     fFileInput.seek(locationInfo);
                 }
                 String nextJson = readNextEventString(() -> fFileInput.read());
-                if (nextJson != null) {
+                while (nextJson != null) {
                     String process = fProcesses.get(OpenTracingField.getProcess(nextJson));
                     OpenTracingField field = OpenTracingField.parseJson(nextJson, process);
-                    if (field == null) {
-                        return null;
+                    if (field != null) {
+                        return new OpenTracingEvent(this, context.getRank(), field);
                     }
-                    return new OpenTracingEvent(this, context.getRank(), field);
+                    // Skip the objects that are not spans
+                    nextJson = readNextEventString(() -> fFileInput.read());
                 }
             } catch (IOException e) {
                 Activator.getInstance().logError("Error parsing event", e); //$NON-NLS-1$
@@ -244,6 +248,69 @@ public class OpenTracingTrace extends JsonTrace {
         return null;
     }
 
+    @Override
+    protected ITmfTraceIndexer createIndexer(int interval) {
+        return new ParallelJsonTraceIndexer(this, interval, () -> fFile, OpenTracingTrace::parseTimeRange, (start, end, nbEvents) -> {
+            setStartTime(start);
+            setEndTime(end);
+            setNbEvents(nbEvents);
+        });
+    }
+
+    /**
+     * Read the time range of a span, without parsing its tags and logs. It
+     * returns null for the same objects as
+     * {@link OpenTracingField#parseJson(String, String)}.
+     */
+    private static @Nullable TmfTimeRange parseTimeRange(String json) {
+        boolean hasName = false;
+        boolean hasTraceId = false;
+        boolean hasSpanId = false;
+        long startTime = Long.MIN_VALUE;
+        long duration = Long.MIN_VALUE;
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.skipValue();
+                    continue;
+                }
+                switch (key) {
+                case IOpenTracingConstants.OPERATION_NAME:
+                    hasName = true;
+                    reader.skipValue();
+                    break;
+                case IOpenTracingConstants.TRACE_ID:
+                    hasTraceId = true;
+                    reader.skipValue();
+                    break;
+                case IOpenTracingConstants.SPAN_ID:
+                    hasSpanId = true;
+                    reader.skipValue();
+                    break;
+                case IOpenTracingConstants.START_TIME:
+                    startTime = reader.nextLong();
+                    break;
+                case IOpenTracingConstants.DURATION:
+                    duration = reader.nextLong();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+                }
+            }
+        } catch (IOException | IllegalStateException | NumberFormatException | JsonParseException e) {
+            return null;
+        }
+        if (!hasName || !hasTraceId || !hasSpanId) {
+            return null;
+        }
+        long start = TmfTimestamp.fromMicros(startTime).toNanos();
+        long end = duration == Long.MIN_VALUE ? start : start + TmfTimestamp.fromMicros(duration).toNanos();
+        return new TmfTimeRange(TmfTimestamp.fromNanos(start), TmfTimestamp.fromNanos(end));
+    }
+
     @Override
     protected synchronized void updateAttributes(final ITmfContext context, final @NonNull ITmfEvent event) {
         ITmfTimestamp timestamp = event.getTimestamp();
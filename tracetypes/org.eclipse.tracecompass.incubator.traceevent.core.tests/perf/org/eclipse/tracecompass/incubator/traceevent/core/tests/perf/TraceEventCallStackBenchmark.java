@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests.perf;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.analysis.callstack.TraceEventCallstackAnalysis;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestHelper;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.junit.Test;
+
+/**
+ * Benchmark of the trace event callstack analysis on traces of complete ('X')
+ * events spread over an increasing number of threads. Each complete event
+ * stays on the stack of its thread until an event after its end, so the time
+ * of the analysis, measured by a performance meter for each number of
+ * threads, shows how the closing of the ended events scales with the number
+ * of threads.
+ * <p>
+ * The traces are generated from a seeded random generator. The number of
+ * events and the thread counts can be changed with the
+ * {@value #EVENTS_PROPERTY} and {@value #THREADS_PROPERTY} system properties.
+ */
+public class TraceEventCallStackBenchmark {
+
+    /**
+     * The system property for the number of events of each trace
+     */
+    public static final String EVENTS_PROPERTY = "traceevent.benchmark.events"; //$NON-NLS-1$
+
+    /**
+     * The system property for the comma-separated thread counts
+     */
+    public static final String THREADS_PROPERTY = "traceevent.benchmark.threads"; //$NON-NLS-1$
+
+    private static final String TEST_PREFIX = "Trace Event Callstack: "; //$NON-NLS-1$
+    private static final int LOOP_COUNT = 5;
+    private static final int DEFAULT_EVENTS = 200000;
+    private static final String DEFAULT_THREADS = "10,100,1000,5000"; //$NON-NLS-1$
+    private static final int PID = 1;
+    private static final int MAX_DURATION = 2000;
+    private static final long SEED = 42;
+
+    /**
+     * Run the callstack analysis on a trace for each thread count and measure
+     * its time
+     *
+     * @throws Exception
+     *             if a trace could not be written or analyzed
+     */
+    @Test
+    public void testCompleteEvents() throws Exception {
+        int nbEvents = Integer.getInteger(EVENTS_PROPERTY, DEFAULT_EVENTS);
+        Performance perf = Performance.getDefault();
+        for (String level : System.getProperty(THREADS_PROPERTY, DEFAULT_THREADS).split(",")) { //$NON-NLS-1$
+            int nbThreads = Integer.parseInt(level.trim());
+            File file = File.createTempFile("callstack-benchmark", ".json"); //$NON-NLS-1$ //$NON-NLS-2$
+            PerformanceMeter pm = perf.createPerformanceMeter(TEST_PREFIX + nbThreads + " threads"); //$NON-NLS-1$
+            perf.tagAsSummary(pm, TEST_PREFIX + nbThreads + " threads", Dimension.CPU_TIME); //$NON-NLS-1$
+            try {
+                writeTrace(file, nbEvents, nbThreads);
+                // Warm up the trace and the analysis
+                runAnalysis(file, null);
+                for (int i = 0; i < LOOP_COUNT; i++) {
+                    runAnalysis(file, pm);
+                }
+                pm.commit();
+            } finally {
+                pm.dispose();
+                file.delete();
+            }
+        }
+    }
+
+    private static void runAnalysis(File file, @Nullable PerformanceMeter pm) throws Exception {
+        TraceEventTrace trace = new TraceEventTrace();
+        TraceEventCallstackAnalysis module = new TraceEventCallstackAnalysis();
+        try {
+            trace.initTrace(null, file.getAbsolutePath(), ITmfEvent.class);
+            assertTrue(module.setTrace(trace));
+            if (pm != null) {
+                pm.start();
+            }
+            assertTrue(TmfTestHelper.executeAnalysis(module));
+            if (pm != null) {
+                pm.stop();
+            }
+            assertNotNull(module.getStateSystem());
+        } finally {
+            module.dispose();
+            File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+            trace.dispose();
+            File[] suppFiles = suppDir.listFiles();
+            if (suppFiles != null) {
+                for (File suppFile : suppFiles) {
+                    suppFile.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Write complete events in time order on random threads. A quarter of the
+     * events are nested in the last event of their thread, the others follow
+     * it.
+     */
+    private static void writeTrace(File file, int nbEvents, int nbThreads) throws IOException {
+        Random random = new Random(SEED + nbThreads);
+        long[] lastEnd = new long[nbThreads];
+        long ts = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("{\"traceEvents\":[\n"); //$NON-NLS-1$
+            for (int i = 0; i < nbEvents; i++) {
+                ts += random.nextInt(3);
+                int tid = random.nextInt(nbThreads);
+                long dur;
+                if (random.nextInt(4) == 0 && lastEnd[tid] > ts) {
+                    dur = random.nextInt((int) (lastEnd[tid] - ts));
+                } else {
+                    dur = random.nextInt(MAX_DURATION);
+                }
+                lastEnd[tid] = Math.max(lastEnd[tid], ts + dur);
+                if (i > 0) {
+                    writer.write(",\n"); //$NON-NLS-1$
+                }
+                writer.write(String.format("{\"cat\":\"bench\",\"pid\":%d,\"tid\":%d,\"ts\":%d,\"ph\":\"X\",\"name\":\"f%d\",\"args\":{},\"dur\":%d}", //$NON-NLS-1$
+                        PID, tid + 1, ts, i % 16, dur));
+            }
+            writer.write("\n]}\n"); //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.trace.JsonTraceSortingJob;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventSortingJob;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link JsonTraceSortingJob} with traces that fit in memory, traces
+ * that are sorted in runs and traces with more runs than can be merged at once
+ */
+public class JsonTraceSortingJobTest {
+
+    private static final String EVENTS_KEY = "traceEvents"; //$NON-NLS-1$
+    private static final long SEED = 42;
+    /** More than the number of runs that are merged at once */
+    private static final int MANY_RUNS = 1000;
+
+    private final List<File> fFiles = new ArrayList<>();
+    private TraceEventTrace fTrace;
+
+    /**
+     * Create the trace whose supplementary folder receives the sorted files
+     */
+    @Before
+    public void setUp() {
+        fTrace = new TraceEventTrace();
+    }
+
+    /**
+     * Delete the traces and the sorted files
+     */
+    @After
+    public void tearDown() {
+        System.clearProperty(JsonTraceSortingJob.MEMORY_PROPERTY);
+        for (File file : fFiles) {
+            new File(TmfTraceManager.getSupplementaryFileDir(fTrace) + file.getName()).delete();
+            file.delete();
+        }
+        fTrace.dispose();
+    }
+
+    /**
+     * Test sorting a trace that fits in memory
+     *
+     * @throws Exception
+     *             if the trace cannot be written or sorted
+     */
+    @Test
+    public void testInMemory() throws Exception {
+        List<Event> events = generateEvents(2000, 100);
+        assertSorted(events, sort(writeTrace(events), null));
+    }
+
+    /**
+     * Test sorting a trace larger than the memory budget of the system
+     * property, which is sorted in runs spilled to the disk
+     *
+     * @throws Exception
+     *             if the trace cannot be written or sorted
+     */
+    @Test
+    public void testRuns() throws Exception {
+        // More than 2 MiB of events, sorted in runs of 1 MiB
+        List<Event> events = generateEvents(20000, 1000);
+        System.setProperty(JsonTraceSortingJob.MEMORY_PROPERTY, "1"); //$NON-NLS-1$
+        assertSorted(events, sort(writeTrace(events), null));
+    }
+
+    /**
+     * Test sorting a trace in more runs than can be merged at once, which are
+     * merged in more than one pass
+     *
+     * @throws Exception
+     *             if the trace cannot be written or sorted
+     */
+    @Test
+    public void testMultiPassMerge() throws Exception {
+        // A budget of one byte puts every event in its own run
+        List<Event> events = generateEvents(MANY_RUNS, 50);
+        assertSorted(events, sort(writeTrace(events), 1L));
+    }
+
+    /**
+     * Test that the events with the same timestamp and the events without
+     * timestamp keep their original order, in memory and in runs
+     *
+     * @throws Exception
+     *             if the trace cannot be written or sorted
+     */
+    @Test
+    public void testStable() throws Exception {
+        // Few distinct timestamps, so most events have the same timestamp
+        List<Event> events = generateEvents(MANY_RUNS, 5);
+        File trace = writeTrace(events);
+        List<String> inMemory = sort(trace, null);
+        assertSorted(events, inMemory);
+        File sortedFile = new File(TmfTraceManager.getSupplementaryFileDir(fTrace) + trace.getName());
+        assertTrue(sortedFile.delete());
+        assertEquals(inMemory, sort(trace, 1L));
+        assertTrue(sortedFile.delete());
+        assertEquals(inMemory, sort(trace, 512L));
+    }
+
+    /**
+     * Sort the trace and read the sorted file
+     *
+     * @return the lines of the sorted file, one per event
+     */
+    private List<String> sort(File trace, @Nullable Long memory) throws Exception {
+        TraceEventSortingJob job = new TraceEventSortingJob(fTrace, trace.getAbsolutePath(), List.of(EVENTS_KEY));
+        if (memory != null) {
+            job.setMemoryBudget(memory);
+        }
+        job.schedule();
+        job.join();
+        IStatus result = job.getResult();
+        assertNotNull(result);
+        assertTrue(result.getMessage(), result.isOK());
+
+        File dir = new File(TmfTraceManager.getSupplementaryFileDir(fTrace));
+        File[] runs = dir.listFiles((file, name) -> name.startsWith(".sort-run-")); //$NON-NLS-1$
+        assertNotNull(runs);
+        assertEquals("Runs are deleted", 0, runs.length); //$NON-NLS-1$
+
+        List<String> lines = Files.readAllLines(new File(dir, trace.getName()).toPath(), StandardCharsets.UTF_8);
+        assertEquals("[", lines.get(0)); //$NON-NLS-1$
+        assertEquals("]", lines.get(lines.size() - 1)); //$NON-NLS-1$
+        List<String> sorted = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size() - 1)) {
+            sorted.add(line.endsWith(",") ? line.substring(0, line.length() - 1) : line); //$NON-NLS-1$
+        }
+        return sorted;
+    }
+
+    private static void assertSorted(List<Event> events, List<String> sorted) {
+        List<Event> expected = new ArrayList<>(events);
+        // List.sort is stable
+        expected.sort(Comparator.comparing((Event e) -> e.fTs, Comparator.nullsFirst(Comparator.naturalOrder())));
+        assertEquals(expected.size(), sorted.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Event " + i, expected.get(i).fText, sorted.get(i)); //$NON-NLS-1$
+        }
+        assertFalse(sorted.isEmpty());
+    }
+
+    /**
+     * Generate events in random order. Some events have a string timestamp,
+     * some have no timestamp, and some have a nested timestamp that is not
+     * the one of the event.
+     */
+    private static List<Event> generateEvents(int nbEvents, int nbTimestamps) {
+        Random random = new Random(SEED + nbEvents + nbTimestamps);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < nbEvents; i++) {
+            int kind = random.nextInt(20);
+            if (kind == 0) {
+                events.add(new Event(null, String.format("{\"ph\":\"M\",\"name\":\"process_name\",\"pid\":%d,\"args\":{\"name\":\"p%d\"}}", i, i))); //$NON-NLS-1$
+                continue;
+            }
+            BigDecimal ts = BigDecimal.valueOf(random.nextInt(nbTimestamps)).add(kind == 1 ? new BigDecimal("0.5") : BigDecimal.ZERO); //$NON-NLS-1$
+            String tsValue = kind == 2 ? "\"" + ts + "\"" : ts.toString(); //$NON-NLS-1$ //$NON-NLS-2$
+            events.add(new Event(ts, String.format("{\"args\":{\"ts\":%d,\"text\":\"},{\\\"ts\\\":0}\"},\"name\":\"event%d\",\"ph\":\"i\",\"pid\":1,\"tid\":%d,\"ts\":%s}", //$NON-NLS-1$
+                    nbTimestamps - i, i, random.nextInt(8), tsValue)));
+        }
+        return events;
+    }
+
+    private File writeTrace(List<Event> events) throws IOException {
+        File file = File.createTempFile("sorting", ".json"); //$NON-NLS-1$ //$NON-NLS-2$
+        fFiles.add(file);
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("{\"displayTimeUnit\":\"ns\",\"" + EVENTS_KEY + "\":[ "); //$NON-NLS-1$ //$NON-NLS-2$
+            for (int i = 0; i < events.size(); i++) {
+                writer.write(i == 0 ? "\n" : ",\n  "); //$NON-NLS-1$ //$NON-NLS-2$
+                writer.write(events.get(i).fText);
+            }
+            writer.write("],\n\"otherData\":{\"version\":\"1\"}}\n"); //$NON-NLS-1$
+        }
+        return file;
+    }
+
+    private static final class Event {
+        private final @Nullable BigDecimal fTs;
+        private final String fText;
+
+        public Event(@Nullable BigDecimal ts, String text) {
+            fTs = ts;
+            fText = text;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.eclipse.tracecompass.incubator.internal.analysis.core.trace.ParallelJsonTraceIndexer;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.ITmfTraceIndexer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test that the {@link ParallelJsonTraceIndexer} builds the same index as the
+ * sequential indexer
+ */
+public class ParallelJsonTraceIndexerTest {
+
+    private static final int NB_EVENTS = 20000;
+    private static final String CHUNK_SIZE = "8192"; //$NON-NLS-1$
+    private static final long SEED = 42;
+
+    private File fDir;
+
+    /**
+     * Create the directory of the traces
+     *
+     * @throws IOException
+     *             if the directory cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        fDir = Files.createTempDirectory("parallel-indexer").toFile(); //$NON-NLS-1$
+    }
+
+    /**
+     * Delete the traces and reset the chunk size
+     */
+    @After
+    public void tearDown() {
+        System.clearProperty(ParallelJsonTraceIndexer.CHUNK_SIZE_PROPERTY);
+        File[] files = fDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        fDir.delete();
+    }
+
+    /**
+     * Test that the checkpoints of a trace indexed in parallel are the same
+     * as the ones of the same trace indexed sequentially
+     *
+     * @throws Exception
+     *             if a trace cannot be written or read
+     */
+    @Test
+    public void testSameCheckpoints() throws Exception {
+        File parallelFile = new File(fDir, "parallel.json"); //$NON-NLS-1$
+        File sequentialFile = new File(fDir, "sequential.json"); //$NON-NLS-1$
+        writeTrace(parallelFile);
+        Files.copy(parallelFile.toPath(), sequentialFile.toPath());
+
+        System.setProperty(ParallelJsonTraceIndexer.CHUNK_SIZE_PROPERTY, CHUNK_SIZE);
+        TraceEventTrace parallel = openTrace(parallelFile);
+        System.clearProperty(ParallelJsonTraceIndexer.CHUNK_SIZE_PROPERTY);
+        TraceEventTrace sequential = openTrace(sequentialFile);
+        try {
+            assertEquals(sequential.getNbEvents(), parallel.getNbEvents());
+            assertEquals(sequential.getStartTime(), parallel.getStartTime());
+            assertEquals(sequential.getEndTime(), parallel.getEndTime());
+            assertTrue(parallel.getNbEvents() > 0);
+
+            ITmfTraceIndexer parallelIndexer = parallel.getIndexer();
+            ITmfTraceIndexer sequentialIndexer = sequential.getIndexer();
+            assertTrue(parallelIndexer instanceof ParallelJsonTraceIndexer);
+            for (long rank = 0; rank < parallel.getNbEvents(); rank += parallel.getCacheSize()) {
+                ITmfContext expected = sequentialIndexer.seekIndex(rank);
+                ITmfContext actual = parallelIndexer.seekIndex(rank);
+                assertEquals(expected.getRank(), actual.getRank());
+                assertEquals("Location of rank " + rank, expected.getLocation(), actual.getLocation()); //$NON-NLS-1$
+                ITmfEvent expectedEvent = sequential.getNext(expected);
+                ITmfEvent actualEvent = parallel.getNext(actual);
+                assertNotNull(expectedEvent);
+                assertNotNull(actualEvent);
+                assertEquals(expectedEvent.getTimestamp(), actualEvent.getTimestamp());
+                assertEquals(expectedEvent.getName(), actualEvent.getName());
+
+                expected = sequentialIndexer.seekIndex(expectedEvent.getTimestamp());
+                actual = parallelIndexer.seekIndex(actualEvent.getTimestamp());
+                assertEquals(expected.getRank(), actual.getRank());
+                assertEquals(expected.getLocation(), actual.getLocation());
+                expected.dispose();
+                actual.dispose();
+            }
+        } finally {
+            disposeTrace(parallel);
+            disposeTrace(sequential);
+        }
+    }
+
+    private static TraceEventTrace openTrace(File file) throws Exception {
+        TraceEventTrace trace = new TraceEventTrace();
+        trace.initTrace(null, file.getAbsolutePath(), ITmfEvent.class);
+        trace.indexTrace(true);
+        return trace;
+    }
+
+    private static void disposeTrace(TraceEventTrace trace) {
+        File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+        trace.dispose();
+        File[] suppFiles = suppDir.listFiles();
+        if (suppFiles != null) {
+            for (File suppFile : suppFiles) {
+                suppFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Write complete events in time order, with metadata events that are not
+     * counted, equal timestamps and strings containing the event separator
+     */
+    private static void writeTrace(File file) throws IOException {
+        Random random = new Random(SEED);
+        long ts = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("{\"traceEvents\":[\n"); //$NON-NLS-1$
+            for (int i = 0; i < NB_EVENTS; i++) {
+                if (i > 0) {
+                    writer.write(",\n"); //$NON-NLS-1$
+                }
+                int tid = random.nextInt(16);
+                if (random.nextInt(20) == 0) {
+                    writer.write(String.format("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":1,\"tid\":%d,\"args\":{\"name\":\"thread},\\n{%d\"}}", tid, tid)); //$NON-NLS-1$
+                    continue;
+                }
+                ts += random.nextInt(3);
+                writer.write(String.format("{\"ph\":\"X\",\"name\":\"event%d\",\"pid\":1,\"tid\":%d,\"ts\":%d,\"dur\":1,\"args\":{\"text\":\"a},{\\\"b\\\":{}}\",\"value\":{\"n\":%d}}}", i, tid, ts, i)); //$NON-NLS-1$
+            }
+            writer.write("\n]}\n"); //$NON-NLS-1$
+        }
+    }
+}
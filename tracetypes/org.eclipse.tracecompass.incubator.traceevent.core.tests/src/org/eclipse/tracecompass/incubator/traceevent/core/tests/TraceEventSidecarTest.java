@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Test that the events read from the sidecar of a trace are the same as the
+ * events parsed from its JSON file
+ */
+@RunWith(Parameterized.class)
+public class TraceEventSidecarTest {
+
+    private final String fPath;
+    private File fSuppDir;
+
+    /**
+     * Get the traces to read
+     *
+     * @return the paths of the traces
+     */
+    @Parameters(name = "{0}")
+    public static Collection<Object[]> getParameters() {
+        return Arrays.asList(new Object[][] {
+                { "traces/simple_trace.json" },
+                { "traces/big_trace.json" },
+                { "traces/flow_various.json" },
+                { "traces/nanoseconds.json" },
+                { "traces/object_alloc.json" },
+                { "traces/v8_runtime_call_stats.json" },
+        });
+    }
+
+    /**
+     * Constructor
+     *
+     * @param path
+     *            the path of the trace
+     */
+    public TraceEventSidecarTest(String path) {
+        fPath = path;
+    }
+
+    /**
+     * Delete the sorted trace and its sidecar
+     */
+    @After
+    public void tearDown() {
+        System.clearProperty(TraceEventTrace.SIDECAR_PROPERTY);
+        File suppDir = fSuppDir;
+        if (suppDir != null) {
+            File[] suppFiles = suppDir.listFiles();
+            if (suppFiles != null) {
+                for (File suppFile : suppFiles) {
+                    suppFile.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that the events of the sidecar have the same fields as the events
+     * parsed from the JSON file, including their arguments, and that their
+     * arguments can still be read once the trace is disposed
+     *
+     * @throws TmfTraceException
+     *             if the trace cannot be opened
+     */
+    @Test
+    public void testSameEvents() throws TmfTraceException {
+        System.setProperty(TraceEventTrace.SIDECAR_PROPERTY, Boolean.FALSE.toString());
+        List<String> expected = toStrings(readEvents(false));
+        assertFalse(expected.isEmpty());
+
+        // The first sequential read writes the sidecar, the second one uses it
+        System.clearProperty(TraceEventTrace.SIDECAR_PROPERTY);
+        assertEquals(expected, toStrings(readEvents(false)));
+        File[] sidecars = fSuppDir.listFiles((dir, name) -> name.endsWith(".records")); //$NON-NLS-1$
+        assertTrue(sidecars != null && sidecars.length == 1);
+        assertEquals(expected, toStrings(readEvents(false)));
+
+        // The fields read their text once the sidecar is closed
+        assertEquals(expected, toStrings(readEvents(true)));
+    }
+
+    /**
+     * Read the events of the trace
+     *
+     * @param decodeLater
+     *            true to get the content of the events after the trace is
+     *            disposed, false to get it while it is read
+     */
+    private List<Object> readEvents(boolean decodeLater) throws TmfTraceException {
+        TraceEventTrace trace = new TraceEventTrace();
+        List<Object> events = new ArrayList<>();
+        try {
+            trace.initTrace(null, fPath, ITmfEvent.class);
+            fSuppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+            ITmfContext context = trace.seekEvent(0L);
+            ITmfEvent event = trace.getNext(context);
+            while (event != null) {
+                events.add(decodeLater ? event : toString(event));
+                event = trace.getNext(context);
+            }
+            context.dispose();
+        } finally {
+            trace.dispose();
+        }
+        return events;
+    }
+
+    private static List<String> toStrings(List<Object> events) {
+        List<String> strings = new ArrayList<>();
+        for (Object event : events) {
+            strings.add(event instanceof ITmfEvent ? toString((ITmfEvent) event) : String.valueOf(event));
+        }
+        return strings;
+    }
+
+    private static String toString(ITmfEvent event) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(event.getTimestamp().toNanos()).append(' ').append(event.getName());
+        appendField(builder, event.getContent());
+        return builder.toString();
+    }
+
+    private static void appendField(StringBuilder builder, ITmfEventField field) {
+        builder.append(' ').append(field.getName()).append('=').append(field.getValue());
+        for (ITmfEventField subField : field.getFields()) {
+            appendField(builder, subField);
+        }
+    }
+}
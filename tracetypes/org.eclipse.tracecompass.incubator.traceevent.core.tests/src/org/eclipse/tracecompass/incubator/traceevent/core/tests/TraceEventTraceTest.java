@@ -24,6 +24,7 @@ import java.util.Map;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
 import org.eclipse.tracecompass.internal.provisional.jsontrace.core.trace.JsonTrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -357,4 +358,54 @@ public class TraceEventTraceTest {
             trace.dispose();
         }
     }
+
+    /**
+     * Test that the arguments of an event are decoded in its content
+     *
+     * @throws TmfTraceException
+     *             should not happen
+     */
+    @Test
+    public void testEventArguments() throws TmfTraceException {
+        String path = "traces/simple_trace.json";
+        ITmfTrace trace = new TraceEventTrace();
+        try {
+            trace.initTrace(null, path, ITmfEvent.class);
+            ITmfContext context = trace.seekEvent(0L);
+            ITmfEvent event = trace.getNext(context);
+            while (event != null && !event.getName().startsWith("A long name")) {
+                event = trace.getNext(context);
+            }
+            assertNotNull(event);
+            ITmfEventField eventField = event.getContent();
+            assertEquals("B", eventField.getField("ph").getValue());
+            assertEquals("PERF", eventField.getField("cat").getValue());
+            assertEquals("22630", String.valueOf(eventField.getField("pid").getValue()));
+            assertEquals("22630", eventField.getField("tid").getValue());
+            assertEquals("826", eventField.getField("ts").getValue());
+            assertEquals("false", eventField.getField("args/name_false").getValue());
+            assertEquals("true", eventField.getField("args/value_true").getValue());
+            assertTrue(eventField.getFieldNames().contains("args/value_true"));
+        } finally {
+            trace.dispose();
+        }
+    }
+
+    /**
+     * Test that the arguments of an event are decoded leniently, like Gson
+     * does, with non-finite numbers, unquoted names and single quoted strings
+     */
+    @Test
+    public void testLenientArguments() {
+        String json = "{\"ts\":826,\"ph\":\"i\",\"pid\":1,\"tid\":2,\"name\":\"lenient\",\"args\":{\"nan\":NaN,\"inf\":-Infinity,unquoted:'single',\"number\":3}}";
+        TraceEventField field = TraceEventField.parseJson(json);
+        assertNotNull(field);
+        Map<String, Object> args = field.getArgs();
+        assertNotNull(args);
+        assertEquals(4, args.size());
+        assertEquals("NaN", String.valueOf(args.get("nan")));
+        assertEquals("-Infinity", String.valueOf(args.get("inf")));
+        assertEquals("single", String.valueOf(args.get("unquoted")));
+        assertEquals("3", String.valueOf(args.get("number")));
+    }
 }
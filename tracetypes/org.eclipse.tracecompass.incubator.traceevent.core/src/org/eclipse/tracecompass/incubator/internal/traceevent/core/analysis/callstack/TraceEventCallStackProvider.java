@@ -17,9 +17,8 @@ import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
-import java.util.TreeMap;
+import java.util.PriorityQueue;
 import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
@@ -76,9 +75,17 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
     private ITmfTimestamp fSafeTime;
 
     /**
-     * A map of tid/stacks of timestamps
+     * A map of callstack quark/stacks of end times of complete events
      */
-    private final Map<Integer, Deque<Long>> fStack = new TreeMap<>();
+    private final Map<Integer, Deque<Long>> fStack = new HashMap<>();
+
+    /**
+     * The end times at the top of the stacks, so that each event only visits
+     * the stacks with an ended complete event instead of all of them. An entry
+     * becomes stale when another event is pushed on its stack, which only
+     * costs a useless visit of the stack.
+     */
+    private final PriorityQueue<CloseCandidate> fCloseCandidates = new PriorityQueue<>();
 
     private final ITmfEventAspect<?> fIdAspect;
 
@@ -138,6 +145,21 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
         }
     }
 
+    private static class CloseCandidate implements Comparable<CloseCandidate> {
+        private final long fTime;
+        private final int fQuark;
+
+        public CloseCandidate(long time, int quark) {
+            fTime = time;
+            fQuark = quark;
+        }
+
+        @Override
+        public int compareTo(CloseCandidate other) {
+            return Long.compare(fTime, other.fTime);
+        }
+    }
+
     /**
      * Constructor
      *
@@ -307,18 +329,24 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
     }
 
     private void updateCloseCandidates(ITmfStateSystemBuilder ss, long timestamp) {
-        for (Entry<Integer, Deque<Long>> stackEntry : fStack.entrySet()) {
-            Deque<Long> stack = stackEntry.getValue();
-            if (!stack.isEmpty()) {
-                Long closeCandidate = stack.pop();
+        CloseCandidate candidate = fCloseCandidates.peek();
+        while (candidate != null && candidate.fTime < timestamp) {
+            fCloseCandidates.poll();
+            int quark = candidate.fQuark;
+            Deque<Long> stack = Objects.requireNonNull(fStack.get(quark));
+            Long closeCandidate = stack.peek();
+            // Otherwise the entry is stale and the top of the stack has its own entry
+            if (closeCandidate != null && closeCandidate < timestamp) {
                 while (closeCandidate != null && closeCandidate < timestamp) {
-                    ss.popAttribute(closeCandidate, stackEntry.getKey());
-                    closeCandidate = (stack.isEmpty()) ? null : stack.pop();
+                    stack.pop();
+                    ss.popAttribute(closeCandidate, quark);
+                    closeCandidate = stack.peek();
                 }
                 if (closeCandidate != null) {
-                    stack.push(closeCandidate);
+                    fCloseCandidates.add(new CloseCandidate(closeCandidate, quark));
                 }
             }
+            candidate = fCloseCandidates.peek();
         }
     }
 
@@ -627,6 +655,7 @@ public class TraceEventCallStackProvider extends CallStackStateProvider {
         ss.pushAttribute(startTime, event.getName(), callStackQuark);
         Deque<Long> stack = fStack.computeIfAbsent(callStackQuark, ArrayDeque::new);
         stack.push(end);
+        fCloseCandidates.add(new CloseCandidate(end, callStackQuark));
     }
 
 }
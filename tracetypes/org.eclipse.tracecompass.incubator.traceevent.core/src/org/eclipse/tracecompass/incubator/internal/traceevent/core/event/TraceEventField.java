@@ -11,25 +11,31 @@
 
 package org.eclipse.tracecompass.incubator.internal.traceevent.core.event;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.Activator;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 
 /**
  * Trace Event fields. Used as a quick wrapper for Trace Event log data.
+ * <p>
+ * The event is scanned without building a JSON tree, only the fields common
+ * to all the events are decoded. The arguments are kept as raw JSON and are
+ * decoded on the first call to {@link #getArgs()}, or when an argument field
+ * of the content is requested.
  *
  * @author Matthew Khouzam
  */
@@ -45,19 +51,35 @@ public class TraceEventField {
      */
     public static final String UNKNOWN_DURATION_EXIT_EVENT = "duration exit"; //$NON-NLS-1$
     private static final double MICRO_TO_NANO = 1000.0;
+    private static final String ARGS_PREFIX = ITraceEventConstants.ARGS + '/';
 
     private final long fTs;
+    private final Supplier<String> fTsString;
     private final char fPhase;
+    private final String fPhaseString;
     private final String fName;
-    private ITmfEventField fContent;
-    private final @Nullable Map<String, Object> fArgs;
+    private final ITmfEventField fContent;
+    private final Supplier<@Nullable String> fArgsJson;
     private final @Nullable Object fTid;
     private final @Nullable String fCategory;
     private final @Nullable String fId;
+    private final @Nullable String fScope;
+    private final @Nullable Double fDurationNs;
     private final @Nullable Long fDuration;
     private final @Nullable Object fPid;
 
-    private static final Gson G_SON = new Gson();
+    private volatile @Nullable Map<String, Object> fArgs;
+    private volatile boolean fArgsDecoded = false;
+    private volatile @Nullable ITmfEventField fFullContent;
+
+    /*
+     * Offsets of the timestamp and arguments in the parsed JSON text, used by
+     * the sidecar to read them back on demand
+     */
+    int fTsStart = -1;
+    int fTsEnd = -1;
+    int fArgsStart = -1;
+    int fArgsEnd = -1;
 
     /**
      * Parse a JSON string
@@ -69,98 +91,159 @@ public class TraceEventField {
     public static @Nullable TraceEventField parseJson(String fieldsString) {
         // looks like this
         // {"ts":94824347413117,"phase":"B","tid":39,"name":"TimeGraphView:BuildThread","args"={"trace":"django-httpd"}}
-        JsonObject root;
-        Map<@NonNull String, @NonNull Object> argsMap = new HashMap<>();
-        root = G_SON.fromJson(fieldsString, JsonObject.class);
-        long ts = 0;
-        if (root.size() == 0) {
+        TraceEventJsonScanner scanner = new TraceEventJsonScanner(fieldsString);
+        if (!scanner.beginObject()) {
             return null;
         }
-        JsonElement timestamp = root.get(ITraceEventConstants.TIMESTAMP);
+        String timestamp = null;
+        String phase = null;
+        String name = null;
+        String tid = null;
+        Object pid = null;
+        String duration = null;
+        String category = null;
+        String id = null;
+        String scope = null;
+        String args = null;
+        int tsStart = -1;
+        int tsEnd = -1;
+        int argsStart = -1;
+        int argsEnd = -1;
+        do {
+            String key = scanner.nextKey();
+            String value = scanner.nextValue();
+            if (!scanner.isString() && TraceEventJsonScanner.isNull(value)) {
+                continue;
+            }
+            switch (key) {
+            case ITraceEventConstants.TIMESTAMP:
+                timestamp = scalar(scanner, value);
+                tsStart = scanner.getValueStart();
+                tsEnd = scanner.getValueEnd();
+                break;
+            case ITraceEventConstants.PHASE:
+                phase = scalar(scanner, value);
+                break;
+            case ITraceEventConstants.NAME:
+                name = scalar(scanner, value);
+                break;
+            case ITraceEventConstants.TID:
+                tid = scalar(scanner, value);
+                break;
+            case ITraceEventConstants.PID:
+                if (scanner.isString()) {
+                    pid = value;
+                } else if (isNumber(value)) {
+                    pid = new JsonNumber(value);
+                } else {
+                    pid = null;
+                }
+                break;
+            case ITraceEventConstants.DURATION:
+                duration = scalar(scanner, value);
+                break;
+            case ITraceEventConstants.CATEGORY:
+                category = scalar(scanner, value);
+                break;
+            case ITraceEventConstants.ID:
+                id = scalar(scanner, value);
+                break;
+            case ITraceEventConstants.SCOPE:
+                scope = scalar(scanner, value);
+                break;
+            case ITraceEventConstants.ARGS:
+                args = !scanner.isString() && value.charAt(0) == '{' ? value : null;
+                argsStart = args != null ? scanner.getValueStart() : -1;
+                argsEnd = args != null ? scanner.getValueEnd() : -1;
+                break;
+            default:
+                break;
+            }
+        } while (scanner.hasNext());
+
         if (timestamp == null) {
             return null;
         }
-        Double tso = timestamp.getAsDouble();
+        long ts = 0;
+        double tso = Double.parseDouble(timestamp);
         if (Double.isFinite(tso)) {
             ts = (long) (tso * MICRO_TO_NANO);
         }
-        String phase = optString(root, ITraceEventConstants.PHASE, "I"); //$NON-NLS-1$
         if (phase == null) {
-            // FIXME: Easy way to avoid null warning
             phase = "I"; //$NON-NLS-1$
         }
-        // We differentiate between the duration exit and the other exits for some reason
-        String name = String.valueOf(optString(root, ITraceEventConstants.NAME,  TraceEventPhases.DURATION_END.equals(phase) ? UNKNOWN_DURATION_EXIT_EVENT : UNKNOWN_EXIT_EVENT));
-        String tid = optString(root, ITraceEventConstants.TID, null);
-        JsonElement jsonElement = root.get(ITraceEventConstants.PID);
-        JsonPrimitive primitive = jsonElement == null ? null : jsonElement.isJsonPrimitive() ? jsonElement.getAsJsonPrimitive() : null;
-        Object pid = primitive == null ? null : primitive.isNumber() ? primitive.getAsNumber() : primitive.isString() ? primitive.getAsString() : null;
-        Double duration = optDouble(root, ITraceEventConstants.DURATION);
-        if (Double.isFinite(duration)) {
-            duration = (duration * MICRO_TO_NANO);
+        if (name == null) {
+            // We differentiate between the duration exit and the other exits for some reason
+            name = TraceEventPhases.DURATION_END.equals(phase) ? UNKNOWN_DURATION_EXIT_EVENT : UNKNOWN_EXIT_EVENT;
         }
-        String category = optString(root, ITraceEventConstants.CATEGORY);
-        String id = optString(root, ITraceEventConstants.ID);
-        String scope = optString(root, ITraceEventConstants.SCOPE);
-        JsonObject args = optJSONObject(root, ITraceEventConstants.ARGS);
-        if (args != null) {
-            for (Entry<String, JsonElement> entry : args.entrySet()) {
-                String key = Objects.requireNonNull(entry.getKey());
-                JsonElement element = Objects.requireNonNull(entry.getValue());
-                String value = String.valueOf(element.isJsonPrimitive() ? element.getAsJsonPrimitive().getAsString() : element.toString());
-                argsMap.put(ITraceEventConstants.ARGS + "/" + key, value); //$NON-NLS-1$
+        Double durationNs = null;
+        if (duration != null) {
+            double dur = Double.parseDouble(duration);
+            if (Double.isFinite(dur)) {
+                durationNs = dur * MICRO_TO_NANO;
             }
         }
-        argsMap.put(ITraceEventConstants.TIMESTAMP, timestamp.getAsString());
-        argsMap.put(ITraceEventConstants.PHASE, phase);
-        argsMap.put(ITraceEventConstants.NAME, name);
-        if (tid != null) {
-            argsMap.put(ITraceEventConstants.TID, tid);
-        }
-        if (pid != null) {
-            argsMap.put(ITraceEventConstants.PID, pid);
-        }
-        if (Double.isFinite(duration)) {
-            argsMap.put(ITraceEventConstants.DURATION, duration);
-        }
-        if (category != null) {
-            argsMap.put(ITraceEventConstants.CATEGORY, category);
-        }
-        if (id != null) {
-            argsMap.put(ITraceEventConstants.ID, id);
-        }
-        if (scope != null) {
-            argsMap.put(ITraceEventConstants.SCOPE, scope);
-        }
-        return new TraceEventField(name, ts, phase, pid, tid, category, id, duration, argsMap);
+        TraceEventField field = new TraceEventField(name, ts, timestamp, phase, pid, tid, category, id, scope, durationNs, args);
+        field.fTsStart = tsStart;
+        field.fTsEnd = tsEnd;
+        field.fArgsStart = argsStart;
+        field.fArgsEnd = argsEnd;
+        return field;
     }
 
-    private static double optDouble(JsonObject root, String key) {
-        JsonElement jsonElement = root.get(key);
-        return jsonElement != null ? jsonElement.getAsDouble() : Double.NaN;
-    }
-
-    private static @Nullable JsonObject optJSONObject(JsonObject root, String key) {
-        JsonElement jsonElement = root.get(key);
-        return jsonElement != null ? jsonElement.getAsJsonObject() : null;
+    private static String scalar(TraceEventJsonScanner scanner, String value) {
+        if (!scanner.isString() && TraceEventJsonScanner.isStructure(value)) {
+            throw new IllegalStateException("Expected a primitive value: " + value); //$NON-NLS-1$
+        }
+        return value;
     }
 
-    private static @Nullable String optString(JsonObject root, String key, @Nullable String defaultValue) {
-        JsonElement jsonElement = root.get(key);
-        return jsonElement != null ? jsonElement.getAsString() : defaultValue;
+    private static boolean isNumber(String value) {
+        char c = value.charAt(0);
+        return c == '-' || (c >= '0' && c <= '9');
     }
 
-    private static @Nullable String optString(JsonObject root, String key) {
-        return optString(root, key, null);
+    /**
+     * Constructor
+     *
+     * @param name
+     *            event name
+     * @param ts
+     *            the timestamp in ns
+     * @param tsString
+     *            the timestamp as written in the trace, in us
+     * @param phase
+     *            the phase of the event
+     * @param pid
+     *            the process id
+     * @param tid
+     *            the threadId
+     * @param category
+     *            the category
+     * @param id
+     *            the ID of the event stream
+     * @param scope
+     *            the scope of the ID
+     * @param duration
+     *            the duration in ns
+     * @param argsJson
+     *            the event arguments, as a raw JSON object
+     */
+    protected TraceEventField(String name, long ts, String tsString, String phase, @Nullable Object pid, @Nullable Object tid, @Nullable String category, @Nullable String id, @Nullable String scope, @Nullable Double duration,
+            @Nullable String argsJson) {
+        this(name, ts, () -> tsString, phase, pid, tid, category, id, scope, duration, () -> argsJson);
     }
 
     /**
-     * Constructor
+     * Constructor for fields whose timestamp text and arguments are read on
+     * demand
      *
      * @param name
      *            event name
      * @param ts
      *            the timestamp in ns
+     * @param tsString
+     *            the supplier of the timestamp as written in the trace, in us
      * @param phase
      *            the phase of the event
      * @param pid
@@ -171,33 +254,255 @@ public class TraceEventField {
      *            the category
      * @param id
      *            the ID of the event stream
+     * @param scope
+     *            the scope of the ID
      * @param duration
      *            the duration in ns
-     * @param fields
-     *            event fields (arguments)
+     * @param argsJson
+     *            the supplier of the event arguments, as a raw JSON object
      */
-    protected TraceEventField(String name, long ts, String phase, @Nullable Object pid, @Nullable Object tid, @Nullable String category, @Nullable String id, @Nullable Double duration, Map<String, Object> fields) {
+    protected TraceEventField(String name, long ts, Supplier<String> tsString, String phase, @Nullable Object pid, @Nullable Object tid, @Nullable String category, @Nullable String id, @Nullable String scope, @Nullable Double duration,
+            Supplier<@Nullable String> argsJson) {
         fName = name;
         fPid = pid;
         fTid = tid;
         fCategory = category;
         fId = id;
-        ITmfEventField[] array = fields.entrySet().stream()
-                .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
-                .toArray(ITmfEventField[]::new);
-        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
-        fields.put(ITraceEventConstants.TIMESTAMP, ts / MICRO_TO_NANO);
+        fScope = scope;
         fTs = ts;
-        fDuration = duration == null ? null : Double.isFinite(duration) ? duration.longValue() : null;
+        fTsString = tsString;
+        fDurationNs = duration;
+        fDuration = duration == null ? null : duration.longValue();
+        fPhaseString = phase;
         fPhase = phase.charAt(0);
-        @SuppressWarnings("null")
-        Map<@NonNull String, @NonNull Object> args = fields.entrySet().stream()
-                .filter(entry -> {
-                    return entry.getKey().startsWith(ITraceEventConstants.ARGS + "/"); //$NON-NLS-1$
-                })
-                .collect(Collectors.toMap(entry -> entry.getKey().substring(5), Entry::getValue));
-        fArgs = args.isEmpty() ? null : args;
+        fArgsJson = argsJson;
+        fContent = new Content();
+    }
+
+    private @Nullable Map<String, Object> decodeArgs() {
+        String argsJson = fArgsJson.get();
+        if (argsJson == null) {
+            return null;
+        }
+        Map<String, Object> args = new HashMap<>();
+        try (JsonReader reader = new JsonReader(new StringReader(argsJson))) {
+            // Accept the same arguments as Gson did, such as NaN values
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                switch (reader.peek()) {
+                case STRING:
+                case NUMBER:
+                    args.put(key, reader.nextString());
+                    break;
+                case BOOLEAN:
+                    args.put(key, String.valueOf(reader.nextBoolean()));
+                    break;
+                case NULL:
+                    reader.nextNull();
+                    args.put(key, "null"); //$NON-NLS-1$
+                    break;
+                case BEGIN_ARRAY:
+                case BEGIN_OBJECT:
+                case END_ARRAY:
+                case END_DOCUMENT:
+                case END_OBJECT:
+                case NAME:
+                default:
+                    args.put(key, JsonParser.parseReader(reader).toString());
+                    break;
+                }
+            }
+            reader.endObject();
+        } catch (IOException | RuntimeException e) {
+            Activator.getInstance().logError("Error parsing the arguments of event " + fName, e); //$NON-NLS-1$
+        }
+        return args.isEmpty() ? null : args;
+    }
+
+    private @Nullable Object getTopLevelValue(String key) {
+        switch (key) {
+        case ITraceEventConstants.TIMESTAMP:
+            return fTsString.get();
+        case ITraceEventConstants.PHASE:
+            return fPhaseString;
+        case ITraceEventConstants.NAME:
+            return fName;
+        case ITraceEventConstants.TID:
+            return fTid;
+        case ITraceEventConstants.PID:
+            return fPid;
+        case ITraceEventConstants.DURATION:
+            return fDurationNs;
+        case ITraceEventConstants.CATEGORY:
+            return fCategory;
+        case ITraceEventConstants.ID:
+            return fId;
+        case ITraceEventConstants.SCOPE:
+            return fScope;
+        default:
+            return null;
+        }
+    }
+
+    private ITmfEventField getFullContent() {
+        ITmfEventField content = fFullContent;
+        if (content == null) {
+            Map<String, Object> fields = new HashMap<>();
+            Map<String, Object> args = getArgs();
+            if (args != null) {
+                for (Entry<String, Object> entry : args.entrySet()) {
+                    fields.put(ARGS_PREFIX + entry.getKey(), entry.getValue());
+                }
+            }
+            for (String key : new String[] { ITraceEventConstants.TIMESTAMP, ITraceEventConstants.PHASE, ITraceEventConstants.NAME, ITraceEventConstants.TID, ITraceEventConstants.PID,
+                    ITraceEventConstants.DURATION, ITraceEventConstants.CATEGORY, ITraceEventConstants.ID, ITraceEventConstants.SCOPE }) {
+                Object value = getTopLevelValue(key);
+                if (value != null) {
+                    fields.put(key, value);
+                }
+            }
+            ITmfEventField[] array = fields.entrySet().stream()
+                    .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
+                    .toArray(ITmfEventField[]::new);
+            content = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
+            fields.put(ITraceEventConstants.TIMESTAMP, fTs / MICRO_TO_NANO);
+            fFullContent = content;
+        }
+        return content;
+    }
+
+    /**
+     * The content of the event. The fields common to all the events are
+     * returned without decoding the arguments, which are only decoded when
+     * they, or the whole content, are requested.
+     */
+    private final class Content implements ITmfEventField {
+
+        @Override
+        public String getName() {
+            return ITmfEventField.ROOT_FIELD_ID;
+        }
+
+        @Override
+        public @Nullable Object getValue() {
+            return getFullContent().getValue();
+        }
+
+        @Override
+        public String getFormattedValue() {
+            return getFullContent().getFormattedValue();
+        }
+
+        @Override
+        public Collection<String> getFieldNames() {
+            return getFullContent().getFieldNames();
+        }
+
+        @Override
+        public Collection<? extends ITmfEventField> getFields() {
+            return getFullContent().getFields();
+        }
+
+        @Override
+        public @Nullable ITmfEventField getField(String @NonNull... path) {
+            if (path.length == 1 && !path[0].startsWith(ARGS_PREFIX)) {
+                Object value = getTopLevelValue(path[0]);
+                return value == null ? null : new TmfEventField(path[0], value, null);
+            }
+            return getFullContent().getField(path);
+        }
+
+        @Override
+        public int hashCode() {
+            return getFullContent().hashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof Content other) {
+                return getFullContent().equals(other.getFullContent());
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return getFullContent().toString();
+        }
+
+        private ITmfEventField getFullContent() {
+            return TraceEventField.this.getFullContent();
+        }
+    }
+
+    /**
+     * A JSON number, kept as written in the trace and parsed on demand
+     */
+    static final class JsonNumber extends Number {
+
+        private static final long serialVersionUID = 5427406457563839046L;
+
+        private final String fValue;
+
+        public JsonNumber(String value) {
+            fValue = value;
+        }
+
+        @Override
+        public int intValue() {
+            return (int) longValue();
+        }
+
+        @Override
+        public long longValue() {
+            try {
+                return Long.parseLong(fValue);
+            } catch (NumberFormatException e) {
+                return (long) doubleValue();
+            }
+        }
 
+        @Override
+        public float floatValue() {
+            return Float.parseFloat(fValue);
+        }
+
+        @Override
+        public double doubleValue() {
+            return Double.parseDouble(fValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return fValue.hashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof JsonNumber other && fValue.equals(other.fValue);
+        }
+
+        @Override
+        public String toString() {
+            return fValue;
+        }
+    }
+
+    String getPhaseString() {
+        return fPhaseString;
+    }
+
+    @Nullable String getScope() {
+        return fScope;
+    }
+
+    @Nullable Double getDurationNs() {
+        return fDurationNs;
     }
 
     /**
@@ -284,12 +589,16 @@ public class TraceEventField {
     }
 
     /**
-     * Get the arguments passed
+     * Get the arguments passed, they are decoded on the first call
      *
      * @return a map of the arguments and their field names
      */
     @Nullable
     public Map<String, Object> getArgs() {
+        if (!fArgsDecoded) {
+            fArgs = decodeArgs();
+            fArgsDecoded = true;
+        }
         return fArgs;
     }
 }
@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.event;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Scanner of the members of a JSON object, that reads the keys and values one
+ * at a time without building a tree. Strings are unescaped, other values
+ * (numbers, literals, objects and arrays) are returned as the raw slice of the
+ * JSON text, so that nested objects can be decoded later, if ever.
+ */
+@NonNullByDefault
+final class TraceEventJsonScanner {
+
+    private final String fJson;
+    private int fPos = 0;
+    private int fValueStart = 0;
+    private int fValueEnd = 0;
+    private boolean fString = false;
+
+    /**
+     * Constructor
+     *
+     * @param json
+     *            the JSON text of an object
+     */
+    public TraceEventJsonScanner(String json) {
+        fJson = json;
+    }
+
+    /**
+     * Start reading the object
+     *
+     * @return false if the object is empty
+     * @throws IllegalStateException
+     *             if the text is not a JSON object
+     */
+    public boolean beginObject() {
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            fPos++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Read the key of the next member
+     *
+     * @return the key
+     * @throws IllegalStateException
+     *             if the text is malformed
+     */
+    public String nextKey() {
+        skipWhitespace();
+        if (peek() != '"') {
+            throw error("Expected a key"); //$NON-NLS-1$
+        }
+        String key = readString();
+        skipWhitespace();
+        expect(':');
+        return key;
+    }
+
+    /**
+     * Read the value of the current member
+     *
+     * @return the unescaped string, or the raw JSON text of any other value
+     * @throws IllegalStateException
+     *             if the text is malformed
+     */
+    public String nextValue() {
+        skipWhitespace();
+        char c = peek();
+        fString = c == '"';
+        if (fString) {
+            fValueStart = fPos + 1;
+            String value = readString();
+            fValueEnd = fPos - 1;
+            return value;
+        }
+        int start = fPos;
+        if (c == '{' || c == '[') {
+            skipStructure();
+        } else {
+            while (fPos < fJson.length() && !isDelimiter(fJson.charAt(fPos))) {
+                fPos++;
+            }
+            if (start == fPos) {
+                throw error("Expected a value"); //$NON-NLS-1$
+            }
+        }
+        fValueStart = start;
+        fValueEnd = fPos;
+        return fJson.substring(start, fPos);
+    }
+
+    /**
+     * Get the offset of the last value read in the JSON text, after the quote
+     * for strings
+     *
+     * @return the offset of the start of the value
+     */
+    public int getValueStart() {
+        return fValueStart;
+    }
+
+    /**
+     * Get the offset of the end of the last value read in the JSON text,
+     * before the quote for strings
+     *
+     * @return the offset of the end of the value, exclusive
+     */
+    public int getValueEnd() {
+        return fValueEnd;
+    }
+
+    /**
+     * Get whether the last value read was a string
+     *
+     * @return true if the last value was a string
+     */
+    public boolean isString() {
+        return fString;
+    }
+
+    /**
+     * Move to the next member of the object
+     *
+     * @return false if the end of the object is reached
+     * @throws IllegalStateException
+     *             if the text is malformed
+     */
+    public boolean hasNext() {
+        skipWhitespace();
+        char c = peek();
+        fPos++;
+        if (c == ',') {
+            return true;
+        }
+        if (c == '}') {
+            return false;
+        }
+        throw error("Expected ',' or '}'"); //$NON-NLS-1$
+    }
+
+    /**
+     * Get whether a raw value is a JSON object or array
+     *
+     * @param value
+     *            a value returned by {@link #nextValue()}, that is not a string
+     * @return true if the value is an object or an array
+     */
+    public static boolean isStructure(String value) {
+        char c = value.charAt(0);
+        return c == '{' || c == '[';
+    }
+
+    /**
+     * Get whether a raw value is the JSON null literal
+     *
+     * @param value
+     *            a value returned by {@link #nextValue()}, that is not a string
+     * @return true if the value is null
+     */
+    public static boolean isNull(String value) {
+        return value.equals("null"); //$NON-NLS-1$
+    }
+
+    private String readString() {
+        // Skip the opening quote
+        int start = ++fPos;
+        int length = fJson.length();
+        while (fPos < length) {
+            char c = fJson.charAt(fPos);
+            if (c == '"') {
+                return fJson.substring(start, fPos++);
+            }
+            if (c == '\\') {
+                return readEscapedString(start);
+            }
+            fPos++;
+        }
+        throw error("Unterminated string"); //$NON-NLS-1$
+    }
+
+    private String readEscapedString(int start) {
+        StringBuilder sb = new StringBuilder(fJson.length() - start);
+        sb.append(fJson, start, fPos);
+        int length = fJson.length();
+        while (fPos < length) {
+            char c = fJson.charAt(fPos++);
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (fPos >= length) {
+                break;
+            }
+            char escaped = fJson.charAt(fPos++);
+            switch (escaped) {
+            case 'b':
+                sb.append('\b');
+                break;
+            case 'f':
+                sb.append('\f');
+                break;
+            case 'n':
+                sb.append('\n');
+                break;
+            case 'r':
+                sb.append('\r');
+                break;
+            case 't':
+                sb.append('\t');
+                break;
+            case 'u':
+                if (fPos + 4 > length) {
+                    throw error("Invalid unicode escape"); //$NON-NLS-1$
+                }
+                sb.append((char) Integer.parseInt(fJson.substring(fPos, fPos + 4), 16));
+                fPos += 4;
+                break;
+            default:
+                // '"', '\\' and '/'
+                sb.append(escaped);
+                break;
+            }
+        }
+        throw error("Unterminated string"); //$NON-NLS-1$
+    }
+
+    private void skipStructure() {
+        int depth = 0;
+        int length = fJson.length();
+        while (fPos < length) {
+            char c = fJson.charAt(fPos);
+            if (c == '"') {
+                skipString();
+                continue;
+            }
+            fPos++;
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return;
+            }
+        }
+        throw error("Unterminated object"); //$NON-NLS-1$
+    }
+
+    private void skipString() {
+        fPos++;
+        int length = fJson.length();
+        while (fPos < length) {
+            char c = fJson.charAt(fPos++);
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                fPos++;
+            }
+        }
+        throw error("Unterminated string"); //$NON-NLS-1$
+    }
+
+    private void skipWhitespace() {
+        int length = fJson.length();
+        while (fPos < length && Character.isWhitespace(fJson.charAt(fPos))) {
+            fPos++;
+        }
+    }
+
+    private char peek() {
+        if (fPos >= fJson.length()) {
+            throw error("Unexpected end of the object"); //$NON-NLS-1$
+        }
+        return fJson.charAt(fPos);
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + '\''); //$NON-NLS-1$
+        }
+        fPos++;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == '}' || c == ']' || Character.isWhitespace(c);
+    }
+
+    private IllegalStateException error(@Nullable String message) {
+        return new IllegalStateException(message + " at offset " + fPos); //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,464 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.event;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.Activator;
+
+/**
+ * Binary sidecar of a sorted trace event file, with one fixed-width record per
+ * JSON object of the file. A record has the offsets of the object in the file,
+ * and the fields common to all the events, with the strings interned in a
+ * table. The timestamp text and the arguments are read back from the JSON file
+ * on demand. Reading an event from the sidecar does not parse any JSON.
+ * <p>
+ * The sidecar is written as the trace is read sequentially for the first
+ * time, and is memory-mapped afterwards. It is only valid for the file it was
+ * written for, as identified by its size and modification time. It can be read
+ * concurrently, and the fields it returns can still read their text from the
+ * trace file once the sidecar is closed.
+ *
+ * <pre>
+ * header:  magic, version, source size, source modification time,
+ *          number of records, offset of the string table
+ * records: start, end, ts, duration, ts text, args text, phase, name, pid,
+ *          tid, category, id, scope, flags
+ * strings: number of strings, then the UTF-8 length and bytes of each string
+ * </pre>
+ */
+@NonNullByDefault
+public final class TraceEventSidecar implements AutoCloseable {
+
+    private static final int MAGIC = 0x54455343;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_SIZE = 80;
+    private static final int RECORDS_PER_SEGMENT = 1 << 20;
+    private static final int NONE = -1;
+    private static final int FLAG_NUMERIC_PID = 1;
+
+    /* Offsets of the fields in a record */
+    private static final int START = 0;
+    private static final int END = 8;
+    private static final int TS = 16;
+    private static final int DURATION = 24;
+    private static final int TS_TEXT_START = 32;
+    private static final int TS_TEXT_LENGTH = 36;
+    private static final int ARGS_START = 40;
+    private static final int ARGS_LENGTH = 44;
+    private static final int PHASE = 48;
+    private static final int NAME = 52;
+    private static final int PID = 56;
+    private static final int TID = 60;
+    private static final int CATEGORY = 64;
+    private static final int ID = 68;
+    private static final int SCOPE = 72;
+    private static final int FLAGS = 76;
+
+    private final File fSourceFile;
+    private final FileChannel fSource;
+    private final MappedByteBuffer[] fSegments;
+    private final long fCount;
+    private final String[] fStrings;
+    private volatile boolean fClosed = false;
+
+    /* The record following the last one read, to find it without a search */
+    private volatile NextRecord fNext = new NextRecord(0, 0);
+
+    private TraceEventSidecar(File sourceFile, FileChannel source, MappedByteBuffer[] segments, long count, String[] strings) {
+        fSourceFile = sourceFile;
+        fSource = source;
+        fSegments = segments;
+        fCount = count;
+        fStrings = strings;
+    }
+
+    /**
+     * Open the sidecar of a file. A sidecar that does not match the file is
+     * deleted.
+     *
+     * @param sidecar
+     *            the sidecar file
+     * @param source
+     *            the sorted trace file
+     * @return the sidecar, or null if there is no valid sidecar
+     * @throws IOException
+     *             if the sidecar or the trace file cannot be read
+     */
+    public static @Nullable TraceEventSidecar open(File sidecar, File source) throws IOException {
+        if (!sidecar.exists()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(sidecar.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read the whole header
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION
+                    || header.getLong() != source.length() || header.getLong() != source.lastModified()) {
+                Files.delete(sidecar.toPath());
+                return null;
+            }
+            long count = header.getLong();
+            long stringsOffset = header.getLong();
+            if (stringsOffset != HEADER_SIZE + count * RECORD_SIZE || stringsOffset > channel.size()) {
+                Files.delete(sidecar.toPath());
+                return null;
+            }
+
+            // The mappings remain valid once the channel is closed
+            int nbSegments = (int) ((count + RECORDS_PER_SEGMENT - 1) / RECORDS_PER_SEGMENT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[nbSegments];
+            for (int i = 0; i < nbSegments; i++) {
+                long first = (long) i * RECORDS_PER_SEGMENT;
+                long size = Math.min(RECORDS_PER_SEGMENT, count - first) * RECORD_SIZE;
+                segments[i] = channel.map(MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, size);
+            }
+
+            ByteBuffer strings = channel.map(MapMode.READ_ONLY, stringsOffset, channel.size() - stringsOffset);
+            String[] table = new String[strings.getInt()];
+            for (int i = 0; i < table.length; i++) {
+                byte[] bytes = new byte[strings.getInt()];
+                strings.get(bytes);
+                table[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return new TraceEventSidecar(source, FileChannel.open(source.toPath(), StandardOpenOption.READ), segments, count, table);
+        }
+    }
+
+    /**
+     * Create a writer of the sidecar of a file
+     *
+     * @param sidecar
+     *            the sidecar file
+     * @param source
+     *            the sorted trace file
+     * @return the writer
+     * @throws IOException
+     *             if the sidecar cannot be written
+     */
+    public static Writer createWriter(File sidecar, File source) throws IOException {
+        return new Writer(sidecar, source);
+    }
+
+    /**
+     * Get the number of records
+     *
+     * @return the number of records
+     */
+    public long size() {
+        return fCount;
+    }
+
+    /**
+     * Find the record of the first object at or after a location
+     *
+     * @param location
+     *            the offset in the trace file
+     * @return the index of the record, or {@link #size()} if there is none
+     */
+    public long find(long location) {
+        NextRecord next = fNext;
+        if (location == next.fLocation) {
+            return next.fIndex;
+        }
+        long low = 0;
+        long high = fCount;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (getLong(mid, START) < location) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Get the location after an object, which is the location of the next
+     * event
+     *
+     * @param index
+     *            the index of the record
+     * @return the offset of the end of the object
+     */
+    public long getEnd(long index) {
+        return getLong(index, END);
+    }
+
+    /**
+     * Get the phase of an event
+     *
+     * @param index
+     *            the index of the record
+     * @return the phase
+     */
+    public char getPhase(long index) {
+        return fStrings[getInt(index, PHASE)].charAt(0);
+    }
+
+    /**
+     * Read the JSON text of an object
+     *
+     * @param index
+     *            the index of the record
+     * @return the JSON text
+     */
+    public String readEvent(long index) {
+        long start = getLong(index, START);
+        String text = readText(start, (int) (getLong(index, END) - start));
+        return text != null ? text : "{}"; //$NON-NLS-1$
+    }
+
+    /**
+     * Get the field of an event, without parsing its JSON text
+     *
+     * @param index
+     *            the index of the record
+     * @return the field
+     */
+    public TraceEventField getField(long index) {
+        long start = getLong(index, START);
+        long ts = getLong(index, TS);
+        double duration = Double.longBitsToDouble(getLong(index, DURATION));
+        long tsTextStart = start + getInt(index, TS_TEXT_START);
+        int tsTextLength = getInt(index, TS_TEXT_LENGTH);
+        int argsStart = getInt(index, ARGS_START);
+        long argsTextStart = start + argsStart;
+        int argsLength = getInt(index, ARGS_LENGTH);
+        boolean numericPid = (getInt(index, FLAGS) & FLAG_NUMERIC_PID) != 0;
+        String pidString = getString(index, PID);
+        Object pid = pidString != null && numericPid ? new TraceEventField.JsonNumber(pidString) : pidString;
+        fNext = new NextRecord(index + 1, getLong(index, END));
+        return new TraceEventField(fStrings[getInt(index, NAME)], ts,
+                () -> {
+                    String text = readText(tsTextStart, tsTextLength);
+                    return text != null ? text : String.valueOf(ts / 1000.0);
+                },
+                fStrings[getInt(index, PHASE)], pid, getString(index, TID), getString(index, CATEGORY), getString(index, ID), getString(index, SCOPE),
+                Double.isNaN(duration) ? null : duration,
+                () -> argsStart == NONE ? null : readText(argsTextStart, argsLength));
+    }
+
+    @Override
+    public void close() throws IOException {
+        fClosed = true;
+        fSource.close();
+    }
+
+    private @Nullable String getString(long index, int field) {
+        int id = getInt(index, field);
+        return id == NONE ? null : fStrings[id];
+    }
+
+    private long getLong(long index, int field) {
+        return fSegments[(int) (index / RECORDS_PER_SEGMENT)].getLong((int) (index % RECORDS_PER_SEGMENT) * RECORD_SIZE + field);
+    }
+
+    private int getInt(long index, int field) {
+        return fSegments[(int) (index / RECORDS_PER_SEGMENT)].getInt((int) (index % RECORDS_PER_SEGMENT) * RECORD_SIZE + field);
+    }
+
+    private @Nullable String readText(long position, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            try {
+                return readText(fSource, buffer, position);
+            } catch (ClosedChannelException e) {
+                if (!fClosed) {
+                    throw e;
+                }
+                // The field outlives the sidecar, read the trace file again
+                try (FileChannel channel = FileChannel.open(fSourceFile.toPath(), StandardOpenOption.READ)) {
+                    buffer.clear();
+                    return readText(channel, buffer, position);
+                }
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logError("Error reading the trace file", e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    private static @Nullable String readText(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return null;
+            }
+        }
+        return new String(buffer.array(), StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * The index and location of a record, replaced as a whole so that
+     * concurrent readers never see the index of one record with the location
+     * of another
+     */
+    private static final class NextRecord {
+        private final long fIndex;
+        private final long fLocation;
+
+        public NextRecord(long index, long location) {
+            fIndex = index;
+            fLocation = location;
+        }
+    }
+
+    /**
+     * Writer of the sidecar, the objects must be appended in the order of the
+     * file, from its start
+     */
+    public static final class Writer {
+
+        private final File fSidecar;
+        private final File fTempFile;
+        private final File fSource;
+        private final DataOutputStream fOut;
+        private final Map<String, Integer> fIds = new HashMap<>();
+        private final List<String> fStringList = new ArrayList<>();
+        private long fCount = 0;
+        private long fNextLocation = 0;
+
+        private Writer(File sidecar, File source) throws IOException {
+            fSidecar = sidecar;
+            fSource = source;
+            fTempFile = new File(sidecar.getPath() + ".tmp"); //$NON-NLS-1$
+            fOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fTempFile), 1 << 16));
+            fOut.write(new byte[HEADER_SIZE]);
+        }
+
+        /**
+         * Get the location of the next object to append
+         *
+         * @return the offset in the trace file
+         */
+        public long getNextLocation() {
+            return fNextLocation;
+        }
+
+        /**
+         * Append an object of the trace file
+         *
+         * @param end
+         *            the offset of the end of the object
+         * @param json
+         *            the JSON text of the object, as read by the trace
+         * @param field
+         *            the field parsed from the object, or null if the trace
+         *            skips it
+         * @throws IOException
+         *             if the sidecar cannot be written
+         */
+        public void append(long end, String json, @Nullable TraceEventField field) throws IOException {
+            fNextLocation = end;
+            if (field == null) {
+                return;
+            }
+            Object pid = field.getPid();
+            Double duration = field.getDurationNs();
+            DataOutputStream out = fOut;
+            out.writeLong(end - json.length());
+            out.writeLong(end);
+            out.writeLong(field.getTs());
+            out.writeLong(Double.doubleToRawLongBits(duration != null ? duration : Double.NaN));
+            out.writeInt(field.fTsStart);
+            out.writeInt(field.fTsEnd - field.fTsStart);
+            out.writeInt(field.fArgsStart);
+            out.writeInt(field.fArgsEnd - field.fArgsStart);
+            out.writeInt(intern(field.getPhaseString()));
+            out.writeInt(intern(field.getName()));
+            out.writeInt(intern(pid != null ? pid.toString() : null));
+            Object tid = field.getTid();
+            out.writeInt(intern(tid != null ? tid.toString() : null));
+            out.writeInt(intern(field.getCategory()));
+            out.writeInt(intern(field.getId()));
+            out.writeInt(intern(field.getScope()));
+            out.writeInt(pid instanceof Number ? FLAG_NUMERIC_PID : 0);
+            fCount++;
+        }
+
+        private int intern(@Nullable String value) {
+            if (value == null) {
+                return NONE;
+            }
+            return fIds.computeIfAbsent(value, v -> {
+                fStringList.add(v);
+                return fStringList.size() - 1;
+            });
+        }
+
+        /**
+         * Complete the sidecar, once the end of the trace file is reached
+         *
+         * @return the sidecar
+         * @throws IOException
+         *             if the sidecar cannot be written
+         */
+        public @Nullable TraceEventSidecar finish() throws IOException {
+            try {
+                fOut.writeInt(fStringList.size());
+                for (String value : fStringList) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    fOut.writeInt(bytes.length);
+                    fOut.write(bytes);
+                }
+            } finally {
+                fOut.close();
+            }
+            try (RandomAccessFile file = new RandomAccessFile(fTempFile, "rw")) { //$NON-NLS-1$
+                file.writeInt(MAGIC);
+                file.writeInt(VERSION);
+                file.writeLong(fSource.length());
+                file.writeLong(fSource.lastModified());
+                file.writeLong(fCount);
+                file.writeLong(HEADER_SIZE + fCount * RECORD_SIZE);
+            }
+            Files.move(fTempFile.toPath(), fSidecar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return open(fSidecar, fSource);
+        }
+
+        /**
+         * Abort the writing of the sidecar
+         */
+        public void abort() {
+            try {
+                fOut.close();
+            } catch (IOException e) {
+                // Nothing to do, the file is deleted
+            }
+            fTempFile.delete();
+        }
+    }
+}
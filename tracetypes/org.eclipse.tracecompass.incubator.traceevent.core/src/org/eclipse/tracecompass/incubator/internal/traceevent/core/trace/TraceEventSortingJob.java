@@ -14,7 +14,7 @@ package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
 import java.io.IOException;
 import java.util.List;
 
-import org.eclipse.tracecompass.internal.jsontrace.core.job.SortingJob;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.trace.JsonTraceSortingJob;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
 /**
@@ -23,7 +23,7 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
  * @author Katherine Nadeau
  *
  */
-public class TraceEventSortingJob extends SortingJob {
+public class TraceEventSortingJob extends JsonTraceSortingJob {
 
     /**
      * Constructor
@@ -36,7 +36,7 @@ public class TraceEventSortingJob extends SortingJob {
      *            the json key to the events array
      */
     public TraceEventSortingJob(ITmfTrace trace, String path, List<String> pathToEvents) {
-        super(trace, path, "\"ts\":", pathToEvents); //$NON-NLS-1$
+        super(trace, path, "ts", pathToEvents); //$NON-NLS-1$
     }
 
     @Override
@@ -31,20 +31,24 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.analysis.core.trace.ParallelJsonTraceIndexer;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventAspects;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventEvent;
 import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventSidecar;
 import org.eclipse.tracecompass.internal.provisional.jsontrace.core.trace.JsonTrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
+import org.eclipse.tracecompass.tmf.core.trace.indexer.ITmfTraceIndexer;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
@@ -107,10 +111,19 @@ public class TraceEventTrace extends JsonTrace {
 
     private static final Pattern TID_REGEX = Pattern.compile("\\d+"); //$NON-NLS-1$
 
+    /**
+     * System property to disable the binary sidecar of the trace, set it to
+     * false to always parse the JSON file
+     */
+    public static final String SIDECAR_PROPERTY = "org.eclipse.tracecompass.incubator.traceevent.sidecar"; //$NON-NLS-1$
+    private static final String SIDECAR_SUFFIX = ".records"; //$NON-NLS-1$
+
     private final @NonNull Map<Object, String> fPidNames = new HashMap<>();
     private final @NonNull Map<Object, Integer> fTidMap = new HashMap<>();
     private final @NonNull NavigableMap<Integer, String> fTidNames = new TreeMap<>();
     private final @NonNull Iterable<@NonNull ITmfEventAspect<?>> fEventAspects;
+    private TraceEventSidecar.@Nullable Writer fSidecarWriter;
+    private @Nullable TraceEventSidecar fSidecar;
 
     /**
      * Constructor
@@ -201,6 +214,7 @@ public class TraceEventTrace extends JsonTrace {
             }
             fFileInput = new BufferedRandomAccessFile(fFile, "r"); //$NON-NLS-1$
             goToCorrectStart(fFileInput);
+            openSidecar();
             /* Set the start and (current) end times for this trace */
             ITmfContext ctx = seekEvent(0L);
             if (ctx == null) {
@@ -218,6 +232,44 @@ public class TraceEventTrace extends JsonTrace {
         }
     }
 
+    /**
+     * Open the sidecar of the sorted file, or prepare to write it during the
+     * first sequential read of the trace
+     */
+    private void openSidecar() {
+        if (!Boolean.parseBoolean(System.getProperty(SIDECAR_PROPERTY, Boolean.TRUE.toString()))) {
+            return;
+        }
+        File sidecarFile = new File(fFile.getPath() + SIDECAR_SUFFIX);
+        try {
+            fSidecar = TraceEventSidecar.open(sidecarFile, fFile);
+            if (fSidecar == null) {
+                fSidecarWriter = TraceEventSidecar.createWriter(sidecarFile, fFile);
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot use the sidecar of trace " + getName(), e); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public synchronized void dispose() {
+        TraceEventSidecar.Writer writer = fSidecarWriter;
+        if (writer != null) {
+            writer.abort();
+            fSidecarWriter = null;
+        }
+        TraceEventSidecar sidecar = fSidecar;
+        if (sidecar != null) {
+            try {
+                sidecar.close();
+            } catch (IOException e) {
+                Activator.getInstance().logError("Error closing the sidecar of trace " + getName(), e); //$NON-NLS-1$
+            }
+            fSidecar = null;
+        }
+        super.dispose();
+    }
+
     private static boolean isArrayTrace(RandomAccessFile rafile) throws IOException {
         int val = ' ';
         while(val == ' ') {
@@ -283,6 +335,28 @@ public class TraceEventTrace extends JsonTrace {
         return fEventAspects;
     }
 
+    @Override
+    protected ITmfTraceIndexer createIndexer(int interval) {
+        return new ParallelJsonTraceIndexer(this, interval, () -> fFile, this::parseTimeRange, (start, end, nbEvents) -> {
+            setStartTime(start);
+            setEndTime(end);
+            setNbEvents(nbEvents);
+        });
+    }
+
+    /**
+     * Get the time range of an event for the indexer, null for the objects
+     * that are skipped by {@link #parseEvent(ITmfContext)}
+     */
+    private @Nullable TmfTimeRange parseTimeRange(String json) {
+        TraceEventField field = TraceEventField.parseJson(json);
+        if (field == null || field.getPhase() == 'M') {
+            return null;
+        }
+        ITmfTimestamp timestamp = createTimestamp(field.getTs());
+        return new TmfTimeRange(timestamp, timestamp);
+    }
+
     @Override
     public ITmfEvent parseEvent(ITmfContext context) {
         @Nullable
@@ -295,22 +369,37 @@ public class TraceEventTrace extends JsonTrace {
             }
             if (locationInfo != null) {
                 try {
+                    TraceEventSidecar sidecar = fSidecar;
+                    if (sidecar != null) {
+                        return parseEvent(sidecar, context, locationInfo);
+                    }
                     if (!locationInfo.equals(fFileInput.getFilePointer())) {
                         fFileInput.seek(locationInfo);
                     }
+                    /*
+                     * The objects are recorded in the sidecar as long as they
+                     * are read in sequence from the start of the file
+                     */
+                    TraceEventSidecar.Writer writer = fSidecarWriter;
+                    long position = fFileInput.getFilePointer();
                     String nextJson = readNextEventString(() -> fFileInput.read());
                     while (nextJson != null) {
                         TraceEventField field = TraceEventField.parseJson(nextJson);
-                        if (field == null) {
-                            nextJson = readNextEventString(() -> fFileInput.read());
-                            continue;
+                        if (writer != null && position == writer.getNextLocation()) {
+                            writer = recordEvent(writer, nextJson, field);
                         }
-                        if (field.getPhase() != 'M') {
+                        if (field != null && field.getPhase() != 'M') {
                             return new TraceEventEvent(this, context.getRank(), field);
                         }
-                        parseMetadata(field);
+                        if (field != null) {
+                            parseMetadata(field);
+                        }
+                        position = fFileInput.getFilePointer();
                         nextJson = readNextEventString(() -> fFileInput.read());
                     }
+                    if (writer != null && position == writer.getNextLocation()) {
+                        finishSidecar(writer);
+                    }
                 } catch (IOException e) {
                     Activator.getInstance().logError("Error parsing event", e); //$NON-NLS-1$
                 }
@@ -319,6 +408,46 @@ public class TraceEventTrace extends JsonTrace {
         return null;
     }
 
+    private @Nullable ITmfEvent parseEvent(TraceEventSidecar sidecar, ITmfContext context, long location) throws IOException {
+        long index = sidecar.find(location);
+        while (index < sidecar.size()) {
+            if (sidecar.getPhase(index) != 'M') {
+                TraceEventField field = sidecar.getField(index);
+                // The location of the next event is read from the file pointer
+                fFileInput.seek(sidecar.getEnd(index));
+                return new TraceEventEvent(this, context.getRank(), field);
+            }
+            TraceEventField field = TraceEventField.parseJson(sidecar.readEvent(index));
+            if (field != null) {
+                parseMetadata(field);
+            }
+            index++;
+        }
+        return null;
+    }
+
+    private TraceEventSidecar.@Nullable Writer recordEvent(TraceEventSidecar.Writer writer, String json, @Nullable TraceEventField field) {
+        try {
+            writer.append(fFileInput.getFilePointer(), json, field);
+            return writer;
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot write the sidecar of trace " + getName(), e); //$NON-NLS-1$
+            writer.abort();
+            fSidecarWriter = null;
+            return null;
+        }
+    }
+
+    private void finishSidecar(TraceEventSidecar.Writer writer) {
+        fSidecarWriter = null;
+        try {
+            fSidecar = writer.finish();
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot write the sidecar of trace " + getName(), e); //$NON-NLS-1$
+            writer.abort();
+        }
+    }
+
     private void parseMetadata(TraceEventField field) {
         Map<@NonNull String, @NonNull Object> args = field.getArgs();
         String name = field.getName();
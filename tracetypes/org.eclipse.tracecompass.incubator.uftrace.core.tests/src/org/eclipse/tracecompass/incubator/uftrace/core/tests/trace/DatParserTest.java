@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatParser;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatParser.DatIterator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test reading the records of a {@link DatParser} across the boundary of the
+ * segments of the file that are mapped separately
+ */
+public class DatParserTest {
+
+    private static final long SEGMENT_LEN = 1L << 30;
+    private static final int RECORD_SIZE = 16;
+    /** Records before and after the boundary */
+    private static final int NB_RECORDS = 3;
+
+    private File fDir;
+    private File fFile;
+
+    /**
+     * Write a sparse file a little longer than one segment, with records only
+     * around the end of the first segment
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    @Before
+    public void setUp() throws IOException {
+        fDir = Files.createTempDirectory("uftrace-segments").toFile(); //$NON-NLS-1$
+        fFile = new File(fDir, "1.dat"); //$NON-NLS-1$
+        try (RandomAccessFile file = new RandomAccessFile(fFile, "rw")) { //$NON-NLS-1$
+            file.setLength(SEGMENT_LEN + (NB_RECORDS + 1) * RECORD_SIZE);
+            for (int i = -NB_RECORDS; i <= NB_RECORDS; i++) {
+                ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                record.putLong(getTime(i));
+                record.putLong(getPayload(i));
+                file.seek(SEGMENT_LEN + i * RECORD_SIZE);
+                file.write(record.array());
+            }
+        }
+    }
+
+    /**
+     * Delete the file
+     */
+    @After
+    public void tearDown() {
+        fFile.delete();
+        fDir.delete();
+    }
+
+    /**
+     * Test resuming before the boundary and reading the records of the next
+     * segment
+     */
+    @Test
+    public void testAcrossBoundary() {
+        DatParser parser = new DatParser(fFile);
+        DatIterator iterator = parser.iterator(SEGMENT_LEN - (NB_RECORDS - 1) * RECORD_SIZE);
+        // The record before the position is the current one
+        assertEquals(getTime(-NB_RECORDS), iterator.peekTime());
+        assertEquals(getPayload(-NB_RECORDS), iterator.getPayload());
+        // The last record of the file is not read
+        for (int i = -NB_RECORDS + 1; i < NB_RECORDS; i++) {
+            assertTrue(iterator.hasNext());
+            iterator.advance();
+            assertEquals(getTime(i), iterator.peekTime());
+            assertEquals(getPayload(i), iterator.getPayload());
+            assertEquals(SEGMENT_LEN + (i + 1) * RECORD_SIZE, iterator.getPosition());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * Test resuming at the boundary and after it, where the current record is
+     * in the previous segment or in the same one
+     */
+    @Test
+    public void testResumeAtBoundary() {
+        DatParser parser = new DatParser(fFile);
+        DatIterator iterator = parser.iterator(SEGMENT_LEN);
+        assertEquals(getTime(-1), iterator.peekTime());
+        assertEquals(SEGMENT_LEN, iterator.getPosition());
+        iterator.advance();
+        assertEquals(getTime(0), iterator.peekTime());
+        assertEquals(getPayload(0), iterator.getPayload());
+
+        iterator = parser.iterator(SEGMENT_LEN + RECORD_SIZE);
+        assertEquals(getTime(0), iterator.peekTime());
+        assertEquals(getPayload(0), iterator.getPayload());
+        iterator.advance();
+        assertEquals(getTime(1), iterator.peekTime());
+    }
+
+    private static long getTime(int index) {
+        return 1000000L + index;
+    }
+
+    private static long getPayload(int index) {
+        // Exit type, magic number, depth 2 and an address per record
+        return 1L | (5L << 3) | (2L << 6) | ((0x400000L + index) << 16);
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.SymParser;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test the {@link SymParser}
+ */
+public class SymParserTest {
+
+    private final List<File> fFiles = new ArrayList<>();
+
+    /**
+     * Delete the symbol files
+     */
+    @After
+    public void tearDown() {
+        for (File file : fFiles) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test finding the symbols of the addresses of a symbol file of a trace
+     *
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    @Test
+    public void testFloor() throws IOException {
+        SymParser sym = SymParser.parse(new File("res/uftrace-foobar/uftrace.data/foobar.sym")); //$NON-NLS-1$
+        assertEquals(17, sym.size());
+        assertEquals(-1, sym.floorIndex(0));
+        assertEquals(-1, sym.floorIndex(0x38b));
+        assertEquals("__abi_tag", sym.getName(sym.floorIndex(0x38c))); //$NON-NLS-1$
+        assertEquals('d', sym.getType(sym.floorIndex(0x38c)));
+        assertEquals("bar", sym.getName(sym.floorIndex(0x1229))); //$NON-NLS-1$
+        assertEquals("bar", sym.getName(sym.floorIndex(0x123d))); //$NON-NLS-1$
+        assertEquals("foo", sym.getName(sym.floorIndex(0x123e))); //$NON-NLS-1$
+        assertEquals("main", sym.getName(sym.floorIndex(0x12a0))); //$NON-NLS-1$
+        assertEquals('T', sym.getType(sym.floorIndex(0x12a0)));
+        assertEquals("completed.0", sym.getName(sym.floorIndex(Long.MAX_VALUE))); //$NON-NLS-1$
+    }
+
+    /**
+     * Test that the symbols of an unsorted file are sorted, and that the last
+     * symbol of a duplicated address wins, whether the file is sorted or not
+     *
+     * @throws IOException
+     *             if the file cannot be written or read
+     */
+    @Test
+    public void testDuplicates() throws IOException {
+        SymParser sym = parse("0000000000001000 00000010 T first", //$NON-NLS-1$
+                "0000000000001000 00000010 T second", //$NON-NLS-1$
+                "0000000000002000 00000010 t third"); //$NON-NLS-1$
+        assertEquals(2, sym.size());
+        assertEquals("second", sym.getName(sym.floorIndex(0x1000))); //$NON-NLS-1$
+        assertEquals("third", sym.getName(sym.floorIndex(0x2000))); //$NON-NLS-1$
+
+        sym = parse("# symbols: 5", //$NON-NLS-1$
+                "0000000000003000 00000010 T last", //$NON-NLS-1$
+                "0000000000001000 00000010 T first", //$NON-NLS-1$
+                "0000000000002000 00000010 T second", //$NON-NLS-1$
+                "0000000000001000 00000010 P plt", //$NON-NLS-1$
+                "0000000000002000 00000010 W weak"); //$NON-NLS-1$
+        assertEquals(3, sym.size());
+        assertEquals(-1, sym.floorIndex(0xfff));
+        assertEquals("plt", sym.getName(sym.floorIndex(0x1000))); //$NON-NLS-1$
+        assertEquals('P', sym.getType(sym.floorIndex(0x1fff)));
+        assertEquals("weak", sym.getName(sym.floorIndex(0x2000))); //$NON-NLS-1$
+        assertEquals("last", sym.getName(sym.floorIndex(0x3000))); //$NON-NLS-1$
+        assertEquals("last", sym.getName(sym.floorIndex(0x4000))); //$NON-NLS-1$
+    }
+
+    private SymParser parse(String... lines) throws IOException {
+        File file = File.createTempFile("symbols", ".sym"); //$NON-NLS-1$ //$NON-NLS-2$
+        fFiles.add(file);
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return SymParser.parse(file);
+    }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatParser;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfCheckpointTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link UfCheckpointTable}
+ */
+public class UfCheckpointTableTest {
+
+    private static final String TRACE = "res/uftrace-utc/uftrace.data"; //$NON-NLS-1$
+    private static final int NB_CHECKPOINTS = 5;
+
+    private File fDir;
+    private List<DatParser> fDats;
+
+    /**
+     * Copy the data files of a trace, so that their modification time can be
+     * changed
+     *
+     * @throws IOException
+     *             if the files cannot be copied
+     */
+    @Before
+    public void setUp() throws IOException {
+        fDir = Files.createTempDirectory("uftrace-checkpoints").toFile(); //$NON-NLS-1$
+        File[] files = new File(TRACE).listFiles((dir, name) -> name.endsWith(".dat")); //$NON-NLS-1$
+        assertNotNull(files);
+        Arrays.sort(files);
+        fDats = new ArrayList<>();
+        for (File file : files) {
+            File copy = new File(fDir, file.getName());
+            Files.copy(file.toPath(), copy.toPath());
+            fDats.add(new DatParser(copy));
+        }
+    }
+
+    /**
+     * Delete the copied files
+     */
+    @After
+    public void tearDown() {
+        File[] files = fDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        fDir.delete();
+    }
+
+    /**
+     * Test that a saved table is loaded with the same checkpoints
+     *
+     * @throws IOException
+     *             if the table cannot be saved or loaded
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        UfCheckpointTable table = createTable();
+        File file = new File(fDir, "checkpoints"); //$NON-NLS-1$
+        table.save(file);
+
+        UfCheckpointTable loaded = UfCheckpointTable.load(file, fDats);
+        assertNotNull(loaded);
+        assertTrue(loaded.isComplete());
+        assertEquals(table.getInterval(), loaded.getInterval());
+        for (int i = 0; i < NB_CHECKPOINTS; i++) {
+            assertEquals(table.getRank(i), loaded.getRank(i));
+            assertEquals(table.getLocation(i), loaded.getLocation(i));
+            assertEquals(table.getTime(i), loaded.getTime(i));
+            assertArrayEquals(table.getPositions(i), loaded.getPositions(i));
+        }
+        assertFalse(loaded.isNext(NB_CHECKPOINTS * (long) loaded.getInterval()));
+    }
+
+    /**
+     * Test finding the last checkpoint before a location
+     */
+    @Test
+    public void testFloor() {
+        UfCheckpointTable table = createTable();
+        assertEquals(-1, table.floor(-1));
+        for (int i = 0; i < NB_CHECKPOINTS; i++) {
+            long location = table.getLocation(i);
+            assertEquals(i, table.floor(location));
+            assertEquals(i, table.floor(location + 1));
+            assertEquals(i - 1, table.floor(location - 1));
+        }
+        assertEquals(NB_CHECKPOINTS - 1, table.floor(Long.MAX_VALUE));
+    }
+
+    /**
+     * Test that a table is not loaded once the data files change
+     *
+     * @throws IOException
+     *             if the table cannot be saved or loaded
+     */
+    @Test
+    public void testStale() throws IOException {
+        File file = new File(fDir, "checkpoints"); //$NON-NLS-1$
+        createTable().save(file);
+        assertNull(UfCheckpointTable.load(file, fDats.subList(1, fDats.size())));
+        File dat = fDats.get(0).getFile();
+        assertTrue(dat.setLastModified(dat.lastModified() + 10000));
+        assertNull(UfCheckpointTable.load(file, fDats));
+        assertNull(UfCheckpointTable.load(new File(fDir, "missing"), fDats)); //$NON-NLS-1$
+    }
+
+    /**
+     * Test that a table is complete only once all its checkpoints are added
+     */
+    @Test
+    public void testComplete() {
+        UfCheckpointTable table = new UfCheckpointTable(fDats);
+        long nbEvents = 2L * table.getInterval() + 1;
+        table.add(0, 0, new long[fDats.size()]);
+        assertFalse(table.complete(nbEvents));
+        assertTrue(table.isNext(table.getInterval()));
+        assertFalse(table.isNext(table.getInterval() + 1));
+        table.add(10, 1, new long[fDats.size()]);
+        table.add(20, 2, new long[fDats.size()]);
+        assertTrue(table.complete(nbEvents));
+        assertFalse(table.complete(nbEvents));
+        assertTrue(table.isComplete());
+        assertFalse(table.isNext(3L * table.getInterval()));
+    }
+
+    private UfCheckpointTable createTable() {
+        UfCheckpointTable table = new UfCheckpointTable(fDats);
+        int streams = fDats.size();
+        for (int i = 0; i < NB_CHECKPOINTS; i++) {
+            assertTrue(table.isNext(table.getRank(i)));
+            long[] positions = new long[streams];
+            for (int j = 0; j < streams; j++) {
+                positions[j] = (i * streams + j) * 16L;
+            }
+            table.add(i * 1000L, 1000000L + i, positions);
+        }
+        assertTrue(table.complete(NB_CHECKPOINTS * (long) table.getInterval()));
+        return table;
+    }
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfContext;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfEvent;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Test that the events of a {@link UfContext} seeked with the checkpoints of
+ * the trace are the same as the ones read sequentially
+ */
+public class UfContextTest {
+
+    private static final String CHECKPOINTS_FILE = "uftrace.checkpoints"; //$NON-NLS-1$
+    /** Number of events compared after each seek */
+    private static final int NB_COMPARED = 50;
+
+    private final List<Uftrace> fTraces = new ArrayList<>();
+    private final List<File> fFiles = new ArrayList<>();
+
+    /**
+     * Dispose the traces and delete their checkpoints
+     */
+    @After
+    public void tearDown() {
+        for (Uftrace trace : fTraces) {
+            File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+            trace.dispose();
+            File[] suppFiles = suppDir.listFiles();
+            if (suppFiles != null) {
+                for (File suppFile : suppFiles) {
+                    suppFile.delete();
+                }
+            }
+        }
+        for (File file : fFiles) {
+            file.delete();
+        }
+    }
+
+    /**
+     * Test seeking the locations of a trace with one data file
+     *
+     * @throws TmfTraceException
+     *             if the trace cannot be opened
+     */
+    @Test
+    public void testSeekLs() throws TmfTraceException {
+        testSeek("res/uftrace-ls"); //$NON-NLS-1$
+    }
+
+    /**
+     * Test seeking the locations of a trace with many data files
+     *
+     * @throws TmfTraceException
+     *             if the trace cannot be opened
+     */
+    @Test
+    public void testSeekUtc() throws TmfTraceException {
+        testSeek("res/uftrace-utc/uftrace.data"); //$NON-NLS-1$
+    }
+
+    /**
+     * Test that the records with the same timestamp are read in the order of
+     * their data files, from the start and from any location
+     *
+     * @throws Exception
+     *             if the trace cannot be written or opened
+     */
+    @Test
+    public void testSameTime() throws Exception {
+        File dir = Files.createTempDirectory("uftrace-same-time").toFile(); //$NON-NLS-1$
+        fFiles.add(writeDat(new File(dir, "1.dat"), 6)); //$NON-NLS-1$
+        fFiles.add(writeDat(new File(dir, "2.dat"), 6)); //$NON-NLS-1$
+        fFiles.add(dir);
+
+        Uftrace trace = openTrace(dir.getAbsolutePath());
+        List<ITmfLocation> locations = new ArrayList<>();
+        List<String> events = readEvents(trace, locations);
+        // The first and last records of a data file are not read
+        List<String> expected = new ArrayList<>();
+        for (int tid = 1; tid <= 2; tid++) {
+            for (int address = 1; address <= 4; address++) {
+                expected.add(toString(tid, address));
+            }
+        }
+        assertEquals(expected.size(), events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertTrue(events.get(i), events.get(i).endsWith(expected.get(i)));
+        }
+        for (int i = 0; i < locations.size(); i++) {
+            assertSeek(trace, locations, events, i);
+        }
+    }
+
+    private void testSeek(String path) throws TmfTraceException {
+        Uftrace trace = openTrace(path);
+        List<ITmfLocation> locations = new ArrayList<>();
+        List<String> events = readEvents(trace, locations);
+        File checkpoints = new File(TmfTraceManager.getSupplementaryFileDir(trace) + CHECKPOINTS_FILE);
+        assertTrue(checkpoints.exists());
+        assertSeeks(trace, locations, events);
+
+        // A new trace loads the checkpoints saved by the first one
+        long lastModified = checkpoints.lastModified();
+        Uftrace reopened = openTrace(path);
+        assertSeeks(reopened, locations, events);
+        assertEquals(events, readEvents(reopened, new ArrayList<>()));
+        assertEquals(lastModified, checkpoints.lastModified());
+    }
+
+    private Uftrace openTrace(String path) throws TmfTraceException {
+        Uftrace trace = new Uftrace();
+        fTraces.add(trace);
+        trace.initTrace(null, path, ITmfEvent.class);
+        return trace;
+    }
+
+    /**
+     * Read the events of a trace, and the location of the context before
+     * each of them
+     */
+    private static List<String> readEvents(Uftrace trace, List<ITmfLocation> locations) {
+        List<String> events = new ArrayList<>();
+        ITmfContext context = trace.seekEvent(0L);
+        ITmfLocation location = context.getLocation();
+        ITmfEvent event = trace.getNext(context);
+        while (event != null) {
+            assertNotNull(location);
+            locations.add(location);
+            events.add(toString(event));
+            location = context.getLocation();
+            event = trace.getNext(context);
+        }
+        context.dispose();
+        assertTrue(events.size() > 0);
+        return events;
+    }
+
+    /**
+     * Seek locations around the checkpoints and in between
+     */
+    private static void assertSeeks(Uftrace trace, List<ITmfLocation> locations, List<String> events) {
+        for (int rank = 0; rank < locations.size(); rank += 4096) {
+            for (int i = Math.max(0, rank - 1); i <= Math.min(locations.size() - 1, rank + 1); i++) {
+                assertSeek(trace, locations, events, i);
+            }
+        }
+        for (int i = 0; i < locations.size(); i += 997) {
+            assertSeek(trace, locations, events, i);
+        }
+        assertSeek(trace, locations, events, locations.size() - 1);
+    }
+
+    private static void assertSeek(Uftrace trace, List<ITmfLocation> locations, List<String> events, int rank) {
+        ITmfContext context = trace.seekEvent(locations.get(rank));
+        assertEquals(rank, context.getRank());
+        for (int i = rank; i < Math.min(events.size(), rank + NB_COMPARED); i++) {
+            ITmfEvent event = trace.getNext(context);
+            assertNotNull(event);
+            assertEquals(events.get(i), toString(event));
+        }
+        context.dispose();
+    }
+
+    private static String toString(ITmfEvent event) {
+        assertTrue(event instanceof UfEvent);
+        UfEvent ufEvent = (UfEvent) event;
+        return event.getRank() + " " + event.getTimestamp().toNanos() + " " + event.getName() //$NON-NLS-1$ //$NON-NLS-2$
+                + " " + ufEvent.getDepth() + toString(ufEvent.getTid(), ufEvent.getAddress()); //$NON-NLS-1$
+    }
+
+    private static String toString(int tid, long address) {
+        return " " + tid + " " + address; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Write entry records at the same time, whose address is their index in
+     * the file
+     */
+    private static File writeDat(File file, int nbRecords) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(nbRecords * 16).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < nbRecords; i++) {
+            // Entry type, magic number, depth 0 and address
+            buffer.putLong(1000L);
+            buffer.putLong((5L << 3) | ((long) i << 16));
+        }
+        Files.write(file.toPath(), buffer.array());
+        return file;
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.symbols.ISymbolProvider;
+import org.eclipse.tracecompass.tmf.core.symbols.TmfResolvedSymbol;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test resolving the symbols of a UFTrace
+ */
+public class UftraceSymbolProviderTest {
+
+    /** Start of the mapping of the traced program */
+    private static final long BASE = 0x563ce6a8b000L;
+    private static final int MAIN_TID = 44929;
+    private static final int THREAD_TID = 44934;
+
+    private Uftrace fUft;
+
+    /**
+     * Open the trace
+     *
+     * @throws TmfTraceException
+     *             if the trace cannot be opened
+     */
+    @Before
+    public void before() throws TmfTraceException {
+        fUft = new Uftrace();
+        fUft.initTrace(null, "res/uftrace-foobar/uftrace.data", TmfEvent.class); //$NON-NLS-1$
+    }
+
+    /**
+     * Dispose the trace
+     */
+    @After
+    public void after() {
+        fUft.dispose();
+    }
+
+    /**
+     * Test resolving the addresses of the functions of the traced program
+     */
+    @Test
+    public void testResolve() {
+        ISymbolProvider provider = fUft.getSymbolProvider();
+        assertEquals("main", getName(provider.getSymbol(MAIN_TID, 0, BASE + 0x125b))); //$NON-NLS-1$
+        assertEquals("foo", getName(provider.getSymbol(MAIN_TID, 0, BASE + 0x1250))); //$NON-NLS-1$
+        assertEquals("bar", getName(provider.getSymbol(THREAD_TID, 0, BASE + 0x1229))); //$NON-NLS-1$
+        // Before the first symbol of the program, and an unknown task
+        assertNull(provider.getSymbol(MAIN_TID, 0, BASE + 0x100));
+        assertNull(provider.getSymbol(1, 0, BASE + 0x125b));
+    }
+
+    /**
+     * Test that the symbols, and the addresses without symbol, are resolved
+     * once per session and address
+     */
+    @Test
+    public void testCache() {
+        ISymbolProvider provider = fUft.getSymbolProvider();
+        TmfResolvedSymbol symbol = provider.getSymbol(MAIN_TID, 0, BASE + 0x125b);
+        assertNotNull(symbol);
+        assertSame(symbol, provider.getSymbol(MAIN_TID, 10, BASE + 0x125b));
+        // The threads of a process are in the same session
+        assertSame(symbol, provider.getSymbol(THREAD_TID, 20, BASE + 0x125b));
+        TmfResolvedSymbol other = provider.getSymbol(MAIN_TID, 0, BASE + 0x125c);
+        assertNotNull(other);
+        // The names are cached by mangled name, not by address
+        assertSame(symbol.getSymbolName(), other.getSymbolName());
+        assertEquals(BASE + 0x125c, other.getBaseAddress());
+        assertNull(provider.getSymbol(MAIN_TID, 0, BASE + 0x100));
+        assertNull(provider.getSymbol(THREAD_TID, 0, BASE + 0x100));
+    }
+
+    private static String getName(TmfResolvedSymbol symbol) {
+        assertNotNull(symbol);
+        return symbol.getSymbolName();
+    }
+}
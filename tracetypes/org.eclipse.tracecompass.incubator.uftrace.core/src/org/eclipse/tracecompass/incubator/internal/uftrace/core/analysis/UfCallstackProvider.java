@@ -15,13 +15,12 @@ import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.event.aspect.LinuxTidAspect;
 import org.eclipse.tracecompass.analysis.profiling.core.callstack.CallStackStateProvider;
-import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatEvent;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfEvent;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfEventType;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace.PidAspect;
 import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
 import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
-import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
 import org.eclipse.tracecompass.tmf.core.event.aspect.MultiAspect;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
@@ -67,26 +66,16 @@ public class UfCallstackProvider extends CallStackStateProvider {
 
     @Override
     protected @Nullable ITmfStateValue functionEntry(@NonNull ITmfEvent event) {
-        ITmfEventField content = event.getContent();
-        Object payload = content.getValue();
-        if (payload instanceof DatEvent) {
-            DatEvent ev = (DatEvent) payload;
-            if (event.getType().equals(UfEventType.ENTRY)) {
-                return TmfStateValue.newValueLong(ev.getAddress());
-            }
+        if (event instanceof UfEvent && event.getType().equals(UfEventType.ENTRY)) {
+            return TmfStateValue.newValueLong(((UfEvent) event).getAddress());
         }
         return null;
     }
 
     @Override
     protected @Nullable ITmfStateValue functionExit(@NonNull ITmfEvent event) {
-        ITmfEventField content = event.getContent();
-        Object payload = content.getValue();
-        if (payload instanceof DatEvent) {
-            DatEvent ev = (DatEvent) payload;
-            if (event.getType().equals(UfEventType.EXIT)) {
-                return TmfStateValue.newValueLong(ev.getAddress());
-            }
+        if (event instanceof UfEvent && event.getType().equals(UfEventType.EXIT)) {
+            return TmfStateValue.newValueLong(((UfEvent) event).getAddress());
         }
         return null;
     }
@@ -115,22 +115,64 @@ public class DatEvent {
      * @return an event
      */
     public static @Nullable DatEvent create(long nanoseconds, long payload, int tid) {
-        String type = TYPES[(int) (payload & TYPE_MASK)];
+        String type = TYPES[getType(payload)];
         if (type == null) {
             throw new IllegalStateException("Trace type cannot be null"); //$NON-NLS-1$
         }
         boolean moreData = (payload & MARKER_MASK) == MARKER_MASK;
-        int magic = (int) ((payload & MAGIC_MASK) >>> 3);
-        int depth = (int) ((payload & DEPTH_MASK) >>> 6);
-        long address = (payload & ADDRESS_MASK) >>> 16;
-        if (magic != UFTRACE_MAGIC_NUMBER) {
+        if (!isValid(payload)) {
             return null;
         }
         if (moreData) {
             // TODO: do something here
             // it seems undefined at the moment in the spec
         }
-        return new DatEvent(nanoseconds, type, depth, address, tid);
+        return new DatEvent(nanoseconds, type, getDepth(payload), getAddress(payload), tid);
+    }
+
+    /**
+     * Get whether the payload of a record has the magic number
+     *
+     * @param payload
+     *            the second 64 bits of the record
+     * @return true if the record is valid
+     */
+    static boolean isValid(long payload) {
+        return (int) ((payload & MAGIC_MASK) >>> 3) == UFTRACE_MAGIC_NUMBER;
+    }
+
+    /**
+     * Get the type of the payload of a record, as an index in entry, exit,
+     * event and lost
+     *
+     * @param payload
+     *            the second 64 bits of the record
+     * @return the type, from 0 to 3
+     */
+    static int getType(long payload) {
+        return (int) (payload & TYPE_MASK);
+    }
+
+    /**
+     * Get the call stack depth of the payload of a record
+     *
+     * @param payload
+     *            the second 64 bits of the record
+     * @return the depth
+     */
+    static int getDepth(long payload) {
+        return (int) ((payload & DEPTH_MASK) >>> 6);
+    }
+
+    /**
+     * Get the address of the payload of a record
+     *
+     * @param payload
+     *            the second 64 bits of the record
+     * @return the address
+     */
+    static long getAddress(long payload) {
+        return (payload & ADDRESS_MASK) >>> 16;
     }
 
     private DatEvent(long nanoseconds, String type, int depth, long address, int tid) {
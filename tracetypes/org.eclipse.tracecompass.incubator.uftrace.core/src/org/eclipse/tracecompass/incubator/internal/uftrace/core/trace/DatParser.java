@@ -13,12 +13,14 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteOrder;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.util.NoSuchElementException;
 
 import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.jdt.annotation.Nullable;
 
 import com.google.common.collect.PeekingIterator;
 
@@ -40,14 +42,31 @@ import com.google.common.collect.PeekingIterator;
  * address is to identify function (symbol); it's ok as most 64-bit systems only
  * use 48-bit address space for now.
  *
+ * The file is mapped once, in segments so that files larger than 2GB can be
+ * read, and the records are read in place by the iterators.
+ *
  * @author Matthew Khouzam
  *
  */
 public class DatParser implements Iterable<DatEvent> {
 
+    /** Size of a record: a timestamp and a payload */
+    static final int RECORD_SIZE = Long.BYTES * 2;
+
+    /**
+     * Length of the file segment mapped by each buffer, a multiple of the
+     * record size so that records never sit at a segment boundary
+     */
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_LEN = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_LEN - 1;
+
     private long fUtcOffset;
     private final File fFile;
     private final long fStart;
+    private final int fTid;
+    private MappedByteBuffer @Nullable [] fSegments = null;
+    private long fLength;
 
     /**
      * Data event parser
@@ -73,50 +92,173 @@ public class DatParser implements Iterable<DatEvent> {
         fFile = file;
         fStart = start;
         fUtcOffset = utcOffset;
+        fTid = NumberUtils.toInt(file.getName().substring(0, file.getName().length() - 4));
     }
 
     @Override
-    public PeekingIterator<DatEvent> iterator() {
+    public DatIterator iterator() {
+        return iterator(fStart);
+    }
 
+    /**
+     * Get an iterator that resumes reading at a given position of the file, as
+     * returned by {@link DatIterator#getPosition()}.
+     *
+     * @param position
+     *            the offset in the file, aligned on a record
+     * @return the iterator
+     */
+    public DatIterator iterator(long position) {
+        MappedByteBuffer[] segments = getSegments();
+        return new DatIterator(segments, Math.max(position, fStart));
+    }
+
+    private synchronized MappedByteBuffer[] getSegments() {
+        MappedByteBuffer[] segments = fSegments;
+        if (segments != null) {
+            return segments;
+        }
         try (FileChannel fc = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
-            MappedByteBuffer bb = fc.map(FileChannel.MapMode.READ_ONLY, fStart, fc.size());
-            if (bb == null) {
-                throw new IllegalStateException("cannot create a byte buffer!"); //$NON-NLS-1$
-            }
-            return new PeekingIterator<DatEvent>() {
-
-                DatEvent fCurrent = null;
-
-                @Override
-                public DatEvent next() {
-                    if (!hasNext()) {
-                        throw new NoSuchElementException("no more data"); //$NON-NLS-1$
-                    }
-                    fCurrent = DatEvent.create(bb,
-                            NumberUtils.toInt(fFile.getName().substring(0, fFile.getName().length() - 4)), fUtcOffset);
-                    return fCurrent;
+            long length = fc.size();
+            segments = new MappedByteBuffer[(int) ((length + SEGMENT_LEN - 1) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long offset = i * SEGMENT_LEN;
+                MappedByteBuffer bb = fc.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(SEGMENT_LEN, length - offset));
+                if (bb == null) {
+                    throw new IllegalStateException("cannot create a byte buffer!"); //$NON-NLS-1$
                 }
+                bb.order(ByteOrder.LITTLE_ENDIAN);
+                segments[i] = bb;
+            }
+            fLength = length;
+            fSegments = segments;
+            return segments;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-                @Override
-                public boolean hasNext() {
-                    return bb.remaining() > Long.BYTES * 2;
-                }
+    /**
+     * Get the data file
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return fFile;
+    }
 
-                @Override
-                public DatEvent peek() {
-                    if (fCurrent == null && hasNext()) {
-                        return next();
-                    }
-                    return fCurrent;
-                }
+    /**
+     * Get the TID of the task of this file
+     *
+     * @return the TID
+     */
+    public int getTid() {
+        return fTid;
+    }
 
-                @Override
-                public void remove() {
-                    throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
-                }
-            };
-        } catch (IOException e) {
-            throw new IllegalStateException(e);
+    /**
+     * Iterator on the records of a data file. The current event is the last
+     * one read, so the position of the iterator is the offset of the record
+     * following it.
+     *
+     * The time and payload of the current record can be read without creating
+     * a {@link DatEvent}, and the iterators of the same file share its
+     * mapping.
+     */
+    public class DatIterator implements PeekingIterator<DatEvent> {
+
+        private final MappedByteBuffer[] fBuffers;
+        private long fPosition;
+        private boolean fHasCurrent = false;
+        private long fTime;
+        private long fPayload;
+
+        private DatIterator(MappedByteBuffer[] buffers, long position) {
+            fBuffers = buffers;
+            if (position - fStart >= RECORD_SIZE) {
+                // Restore the current event, it is the one before the position
+                fPosition = position - RECORD_SIZE;
+                read();
+            } else {
+                fPosition = position;
+            }
+        }
+
+        /**
+         * Move to the next record, without creating an event
+         *
+         * @throws NoSuchElementException
+         *             if there are no more records
+         */
+        public void advance() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("no more data"); //$NON-NLS-1$
+            }
+            read();
+        }
+
+        private void read() {
+            MappedByteBuffer bb = fBuffers[(int) (fPosition >>> SEGMENT_SHIFT)];
+            int index = (int) (fPosition & SEGMENT_MASK);
+            fTime = bb.getLong(index) + fUtcOffset;
+            fPayload = bb.getLong(index + Long.BYTES);
+            fHasCurrent = true;
+            fPosition += RECORD_SIZE;
+        }
+
+        /**
+         * Get the time of the current record, reading the first record if
+         * there is no current record yet, like {@link #peek()}
+         *
+         * @return the time in nanoseconds
+         */
+        public long peekTime() {
+            if (!fHasCurrent && hasNext()) {
+                advance();
+            }
+            return fTime;
+        }
+
+        /**
+         * Get the payload of the current record
+         *
+         * @return the type, magic, depth and address of the record
+         */
+        public long getPayload() {
+            return fPayload;
+        }
+
+        @Override
+        public DatEvent next() {
+            advance();
+            return DatEvent.create(fTime, fPayload, fTid);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return fLength - fPosition > RECORD_SIZE;
+        }
+
+        @Override
+        public DatEvent peek() {
+            if (!fHasCurrent && hasNext()) {
+                return next();
+            }
+            return fHasCurrent ? DatEvent.create(fTime, fPayload, fTid) : null;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
+        }
+
+        /**
+         * Get the position of the iterator in the file
+         *
+         * @return the offset of the next record to read
+         */
+        public long getPosition() {
+            return fPosition;
         }
     }
 
@@ -13,8 +13,7 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.NavigableMap;
-import java.util.TreeMap;
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,38 +35,13 @@ import org.apache.commons.io.LineIterator;
 public class SymParser {
     private static final Pattern REGEX = Pattern.compile("^([a-fA-F\\d]+)\\s+([a-fA-F\\d]*)\\s*([ABbCcDdGgiNPpRrSsTtUuVvWw\\-\\?])\\s*(.*)$"); //$NON-NLS-1$
 
-    /**
-     * Symbol for
-     *
-     * @author Matthew Khouzam
-     *
+    /*
+     * The symbols are sorted by address, in parallel arrays to avoid boxing
+     * the addresses and an entry per symbol
      */
-    public static final class Symbol {
-        private final char fType;
-        private final String fName;
-
-        private Symbol(char c, String name) {
-            fType = c;
-            fName = name;
-        }
-
-        /**
-         * @return the type
-         */
-        public char getType() {
-            return fType;
-        }
-
-        /**
-         * @return the name
-         */
-        public String getName() {
-            return fName;
-        }
-
-    }
-
-    private final NavigableMap<Long, Symbol> fMap = new TreeMap<>();
+    private long[] fAddresses = new long[0];
+    private char[] fTypes = new char[0];
+    private String[] fNames = new String[0];
 
     /**
      * Parse a file to get a symbol
@@ -81,7 +55,11 @@ public class SymParser {
     public static SymParser parse(File file) throws IOException {
 
         try (LineIterator iter = FileUtils.lineIterator(file)) {
-            SymParser sp = new SymParser();
+            long[] addresses = new long[64];
+            char[] types = new char[64];
+            String[] names = new String[64];
+            int size = 0;
+            boolean sorted = true;
             while (iter.hasNext()) {
                 String line = iter.next();
                 if (line.startsWith("#")) { //$NON-NLS-1$
@@ -91,22 +69,100 @@ public class SymParser {
                 if (!match.matches()) {
                     throw new IllegalArgumentException("Symbol Parser: invalid line: " + line); //$NON-NLS-1$
                 }
+                if (size == addresses.length) {
+                    addresses = Arrays.copyOf(addresses, size * 2);
+                    types = Arrays.copyOf(types, size * 2);
+                    names = Arrays.copyOf(names, size * 2);
+                }
                 long range = Long.parseUnsignedLong(match.group(1), 16);
-                char c = match.group(3).charAt(0);
-                String name = (match.groupCount() < 4) ? "Anonymous" : match.group(4); //$NON-NLS-1$
-                Symbol sym = new Symbol(c, name);
-                sp.fMap.put(range, sym);
+                sorted &= size == 0 || addresses[size - 1] < range;
+                addresses[size] = range;
+                types[size] = match.group(3).charAt(0);
+                names[size] = (match.groupCount() < 4) ? "Anonymous" : match.group(4); //$NON-NLS-1$
+                size++;
+            }
+            SymParser sp = new SymParser();
+            if (sorted) {
+                sp.fAddresses = Arrays.copyOf(addresses, size);
+                sp.fTypes = Arrays.copyOf(types, size);
+                sp.fNames = Arrays.copyOf(names, size);
+            } else {
+                sp.sort(addresses, types, names, size);
             }
             return sp;
         }
     }
 
     /**
-     * Get the map of symbols for addresses.
+     * Sort the symbols by address, the last symbol of an address wins
+     */
+    private void sort(long[] addresses, char[] types, String[] names, int size) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Stable sort, so that duplicates stay in the order of the file
+        Arrays.sort(order, (o1, o2) -> Long.compare(addresses[o1], addresses[o2]));
+        fAddresses = new long[size];
+        fTypes = new char[size];
+        fNames = new String[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int index = order[i];
+            if (count > 0 && fAddresses[count - 1] == addresses[index]) {
+                count--;
+            }
+            fAddresses[count] = addresses[index];
+            fTypes[count] = types[index];
+            fNames[count] = names[index];
+            count++;
+        }
+        fAddresses = Arrays.copyOf(fAddresses, count);
+        fTypes = Arrays.copyOf(fTypes, count);
+        fNames = Arrays.copyOf(fNames, count);
+    }
+
+    /**
+     * Get the number of symbols
+     *
+     * @return the number of symbols
+     */
+    public int size() {
+        return fAddresses.length;
+    }
+
+    /**
+     * Find the symbol of an address, that is the last symbol at or before it
+     *
+     * @param address
+     *            the address, as an offset in the binary
+     * @return the index of the symbol, or -1 if the address is before the
+     *         first symbol
+     */
+    public int floorIndex(long address) {
+        int index = Arrays.binarySearch(fAddresses, address);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Get the type of a symbol
+     *
+     * @param index
+     *            the index of the symbol
+     * @return the type, as in nm(1)
+     */
+    public char getType(int index) {
+        return fTypes[index];
+    }
+
+    /**
+     * Get the name of a symbol
      *
-     * @return the symbol for an address
+     * @param index
+     *            the index of the symbol
+     * @return the name
      */
-    public NavigableMap<Long, Symbol> getMap() {
-        return fMap;
+    public String getName(int index) {
+        return fNames[index];
     }
 }
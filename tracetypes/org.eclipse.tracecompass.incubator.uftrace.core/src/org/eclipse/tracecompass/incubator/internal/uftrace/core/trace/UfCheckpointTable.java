@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Table of the state of the merge of the data streams, taken every
+ * {@link #getInterval()} events. Each checkpoint has the location and the rank
+ * of an event, its timestamp and the position in each .dat file, so that a
+ * {@link UfContext} can be restored there without reading the trace from the
+ * beginning.
+ *
+ * The checkpoints are appended while the trace is read in order, and the table
+ * is saved once it covers the whole trace, with the size and modification time
+ * of the data files to detect when it is stale.
+ */
+public class UfCheckpointTable {
+
+    private static final int MAGIC = 0x55466370; // UFcp
+    private static final int VERSION = 1;
+
+    /** Minimum number of events between checkpoints */
+    private static final int MIN_INTERVAL = 4096;
+    /**
+     * Number of events per stream between checkpoints, so that the table does
+     * not grow with the number of streams
+     */
+    private static final int EVENTS_PER_STREAM = 256;
+
+    private final List<DatParser> fDats;
+    private final int fInterval;
+    private int fSize = 0;
+    private long[] fLocations = new long[16];
+    private long[] fTimes = new long[16];
+    private long[] fPositions;
+    private boolean fComplete = false;
+
+    /**
+     * Constructor of an empty table
+     *
+     * @param dats
+     *            the data files of the trace, in the order of the streams of
+     *            the contexts
+     */
+    public UfCheckpointTable(List<DatParser> dats) {
+        this(dats, Math.max(MIN_INTERVAL, EVENTS_PER_STREAM * dats.size()));
+    }
+
+    private UfCheckpointTable(List<DatParser> dats, int interval) {
+        fDats = dats;
+        fInterval = interval;
+        fPositions = new long[16 * dats.size()];
+    }
+
+    /**
+     * Get the number of events between checkpoints
+     *
+     * @return the interval
+     */
+    public int getInterval() {
+        return fInterval;
+    }
+
+    /**
+     * Get whether a checkpoint should be added for the event of a given rank,
+     * that is the checkpoint is missing and the table is filled up to it
+     *
+     * @param rank
+     *            the rank of the next event of a context
+     * @return true if {@link #add} should be called with this rank
+     */
+    public synchronized boolean isNext(long rank) {
+        return !fComplete && rank == (long) fSize * fInterval;
+    }
+
+    /**
+     * Add a checkpoint, the table must be at this rank, as per
+     * {@link #isNext(long)}
+     *
+     * @param location
+     *            the location of the event
+     * @param time
+     *            the timestamp of the event, in nanoseconds
+     * @param positions
+     *            the position in each data file before reading the event
+     */
+    public synchronized void add(long location, long time, long[] positions) {
+        int streams = fDats.size();
+        if (fSize == fLocations.length) {
+            int capacity = fSize * 2;
+            fLocations = Arrays.copyOf(fLocations, capacity);
+            fTimes = Arrays.copyOf(fTimes, capacity);
+            fPositions = Arrays.copyOf(fPositions, capacity * streams);
+        }
+        fLocations[fSize] = location;
+        fTimes[fSize] = time;
+        System.arraycopy(positions, 0, fPositions, fSize * streams, streams);
+        fSize++;
+    }
+
+    /**
+     * Find the last checkpoint at or before a location
+     *
+     * @param location
+     *            the location to seek
+     * @return the index of the checkpoint, or -1 if the location is before
+     *         the first one
+     */
+    public synchronized int floor(long location) {
+        int index = Arrays.binarySearch(fLocations, 0, fSize, location);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Get the rank of the event of a checkpoint
+     *
+     * @param index
+     *            the index of the checkpoint
+     * @return the rank
+     */
+    public long getRank(int index) {
+        return (long) index * fInterval;
+    }
+
+    /**
+     * Get the location of the event of a checkpoint
+     *
+     * @param index
+     *            the index of the checkpoint
+     * @return the location
+     */
+    public synchronized long getLocation(int index) {
+        return fLocations[index];
+    }
+
+    /**
+     * Get the timestamp of the event of a checkpoint
+     *
+     * @param index
+     *            the index of the checkpoint
+     * @return the time in nanoseconds
+     */
+    public synchronized long getTime(int index) {
+        return fTimes[index];
+    }
+
+    /**
+     * Get the positions in the data files at a checkpoint
+     *
+     * @param index
+     *            the index of the checkpoint
+     * @return the positions, one per data file
+     */
+    public synchronized long[] getPositions(int index) {
+        int streams = fDats.size();
+        return Arrays.copyOfRange(fPositions, index * streams, (index + 1) * streams);
+    }
+
+    /**
+     * Get whether the table covers the whole trace
+     *
+     * @return true if the table is complete
+     */
+    public synchronized boolean isComplete() {
+        return fComplete;
+    }
+
+    /**
+     * Mark the table as complete after a context read the last event, if no
+     * checkpoint is missing
+     *
+     * @param nbEvents
+     *            the number of events of the trace
+     * @return true if the table is now complete, false if it already was or
+     *         some checkpoints are missing
+     */
+    public synchronized boolean complete(long nbEvents) {
+        if (fComplete || (long) fSize * fInterval < nbEvents) {
+            return false;
+        }
+        fComplete = true;
+        return true;
+    }
+
+    /**
+     * Save the table
+     *
+     * @param file
+     *            the file to write
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public synchronized void save(File file) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(fDats.size());
+            for (DatParser dat : fDats) {
+                File datFile = dat.getFile();
+                out.writeUTF(datFile.getName());
+                out.writeLong(datFile.length());
+                out.writeLong(datFile.lastModified());
+            }
+            out.writeInt(fInterval);
+            out.writeInt(fSize);
+            int streams = fDats.size();
+            for (int i = 0; i < fSize; i++) {
+                out.writeLong(fLocations[i]);
+                out.writeLong(fTimes[i]);
+                for (int j = 0; j < streams; j++) {
+                    out.writeLong(fPositions[i * streams + j]);
+                }
+            }
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Load a table saved by {@link #save(File)}
+     *
+     * @param file
+     *            the file to read
+     * @param dats
+     *            the data files of the trace
+     * @return the complete table, or null if the file does not exist or does
+     *         not match the data files anymore
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static @Nullable UfCheckpointTable load(File file, List<DatParser> dats) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != dats.size()) {
+                return null;
+            }
+            for (DatParser dat : dats) {
+                File datFile = dat.getFile();
+                if (!in.readUTF().equals(datFile.getName()) || in.readLong() != datFile.length() || in.readLong() != datFile.lastModified()) {
+                    return null;
+                }
+            }
+            UfCheckpointTable table = new UfCheckpointTable(dats, in.readInt());
+            int size = in.readInt();
+            int streams = dats.size();
+            table.fLocations = new long[Math.max(1, size)];
+            table.fTimes = new long[Math.max(1, size)];
+            table.fPositions = new long[Math.max(1, size) * streams];
+            for (int i = 0; i < size; i++) {
+                table.fLocations[i] = in.readLong();
+                table.fTimes[i] = in.readLong();
+                for (int j = 0; j < streams; j++) {
+                    table.fPositions[i * streams + j] = in.readLong();
+                }
+            }
+            table.fSize = size;
+            table.fComplete = true;
+            return table;
+        }
+    }
+}
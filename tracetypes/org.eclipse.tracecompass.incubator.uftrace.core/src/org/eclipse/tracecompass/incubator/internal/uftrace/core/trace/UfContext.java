@@ -11,30 +11,38 @@
 
 package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
-import java.util.PriorityQueue;
+import java.util.List;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
-import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
-import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
-import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
-import com.google.common.collect.PeekingIterator;
-
 /**
- * Naive context
+ * Context merging the data streams by time. Its location is the number of
+ * bytes read in all the data files, so it grows by a record with each event.
+ *
+ * The context is a cursor on the records: {@link #advance()} moves to the next
+ * record of the merge without allocating anything, and {@link #getNext()}
+ * creates the event of the record.
  *
  * @author Matthew Khouzam
  *
  */
 public class UfContext extends TmfContext {
 
-    private PriorityQueue<PeekingIterator<DatEvent>> fQueue = new PriorityQueue<>(
-            (o1, o2) -> Long.compare(o1.peek().getTime(), o2.peek().getTime()));
-    private ITmfTrace fTrace;
+    private final DatParser.DatIterator[] fStreams;
+    private final int[] fTids;
+    /** Binary heap of the indexes of the streams that have more records */
+    private final int[] fHeap;
+    private int fHeapSize = 0;
+    private final ITmfTrace fTrace;
+    private long fOffset = 0;
+    private @Nullable TmfLongLocation fLocation = null;
+    private long fTime;
+    private long fPayload;
+    private int fTid;
 
     /**
      * Constructor
@@ -44,19 +52,74 @@ public class UfContext extends TmfContext {
      * @param trace
      *            trace
      */
-    public UfContext(Iterable<DatParser> dats, ITmfTrace trace) {
+    public UfContext(List<DatParser> dats, ITmfTrace trace) {
+        this(dats, null, trace);
+    }
+
+    /**
+     * Constructor of a context resuming at given positions of the data streams
+     *
+     * @param dats
+     *            data streams
+     * @param positions
+     *            the position in each data stream, as returned by
+     *            {@link #getPositions()}, or null to start at the beginning
+     * @param trace
+     *            trace
+     */
+    public UfContext(List<DatParser> dats, long @Nullable [] positions, ITmfTrace trace) {
         fTrace = trace;
-        for (DatParser dp : dats) {
-            PeekingIterator<DatEvent> iterator = dp.iterator();
-            if (iterator.hasNext()) {
-                fQueue.add(iterator);
+        fStreams = new DatParser.DatIterator[dats.size()];
+        fTids = new int[fStreams.length];
+        fHeap = new int[fStreams.length];
+        for (int i = 0; i < fStreams.length; i++) {
+            DatParser dp = dats.get(i);
+            fStreams[i] = positions == null ? dp.iterator() : dp.iterator(positions[i]);
+            fTids[i] = dp.getTid();
+        }
+        for (int i = 0; i < fStreams.length; i++) {
+            if (fStreams[i].hasNext()) {
+                fHeap[fHeapSize] = i;
+                siftUp(fHeapSize++);
             }
         }
+        for (DatParser.DatIterator stream : fStreams) {
+            fOffset += stream.getPosition();
+        }
+        setRank(0);
     }
 
     @Override
     public @Nullable TmfLongLocation getLocation() {
-        return (@Nullable TmfLongLocation) super.getLocation();
+        // The location is only created when it is needed, not at every record
+        TmfLongLocation location = fLocation;
+        if (location == null || location.getLocationInfo() != fOffset) {
+            location = new TmfLongLocation(fOffset);
+            fLocation = location;
+        }
+        return location;
+    }
+
+    /**
+     * Get the location of the context, without creating a location object
+     *
+     * @return the number of bytes read in all the data files
+     */
+    public long getOffset() {
+        return fOffset;
+    }
+
+    /**
+     * Get the position in each data stream, to resume reading there later
+     *
+     * @return the positions
+     */
+    public long[] getPositions() {
+        long[] positions = new long[fStreams.length];
+        for (int i = 0; i < fStreams.length; i++) {
+            positions[i] = fStreams[i].getPosition();
+        }
+        return positions;
     }
 
     /**
@@ -64,25 +127,90 @@ public class UfContext extends TmfContext {
      *
      * @return the next event or null
      */
-    public ITmfEvent getNext() {
-        PeekingIterator<DatEvent> eventSource = fQueue.poll();
-        if (eventSource != null) {
-            DatEvent event = eventSource.next();
-            if (eventSource.hasNext()) {
-                fQueue.add(eventSource);
+    public @Nullable ITmfEvent getNext() {
+        if (!advance()) {
+            return null;
+        }
+        return new UfEvent(fTrace, getRank(), fTrace.createTimestamp(fTime), fTime, fPayload, fTid);
+    }
+
+    /**
+     * Move to the next record of the merge, without creating an event. Records
+     * without the magic number are skipped.
+     *
+     * @return false at the end of the trace
+     */
+    public boolean advance() {
+        while (fHeapSize > 0) {
+            int index = fHeap[0];
+            DatParser.DatIterator eventSource = fStreams[index];
+            eventSource.advance();
+            fTime = eventSource.peekTime();
+            fPayload = eventSource.getPayload();
+            fTid = fTids[index];
+            if (!eventSource.hasNext()) {
+                fHeap[0] = fHeap[--fHeapSize];
             }
-            TmfEvent tmfEvent = new TmfEvent(fTrace, getRank(), fTrace.createTimestamp(event.getTime()),
-                    UfEventType.lookup(event.getType()),
-                    new TmfEventField(ITmfEventField.ROOT_FIELD_ID, event, null));
-            TmfLongLocation location = getLocation();
-            if (location != null) {
-                setLocation(new TmfLongLocation(location.getLocationInfo() + Long.BYTES * 2));
-            } else {
-                setLocation(new TmfLongLocation(Long.BYTES * 2));
+            siftDown(0);
+            fOffset += DatParser.RECORD_SIZE;
+            if (DatEvent.isValid(fPayload)) {
+                return true;
             }
-            return tmfEvent;
         }
-        return null;
+        return false;
+    }
+
+    /**
+     * Get the time of the current record
+     *
+     * @return the time in nanoseconds
+     */
+    public long getTime() {
+        return fTime;
+    }
+
+    private void siftUp(int pos) {
+        int i = pos;
+        int stream = fHeap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (compare(stream, fHeap[parent]) >= 0) {
+                break;
+            }
+            fHeap[i] = fHeap[parent];
+            i = parent;
+        }
+        fHeap[i] = stream;
+    }
+
+    private void siftDown(int pos) {
+        if (fHeapSize == 0) {
+            return;
+        }
+        int i = pos;
+        int stream = fHeap[i];
+        int half = fHeapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < fHeapSize && compare(fHeap[right], fHeap[child]) < 0) {
+                child = right;
+            }
+            if (compare(stream, fHeap[child]) <= 0) {
+                break;
+            }
+            fHeap[i] = fHeap[child];
+            i = child;
+        }
+        fHeap[i] = stream;
+    }
+
+    /**
+     * Order by time, then by stream for the merge to be reproducible
+     */
+    private int compare(int stream1, int stream2) {
+        int cmp = Long.compare(fStreams[stream1].peekTime(), fStreams[stream2].peekTime());
+        return cmp != 0 ? cmp : Integer.compare(stream1, stream2);
     }
 
 }
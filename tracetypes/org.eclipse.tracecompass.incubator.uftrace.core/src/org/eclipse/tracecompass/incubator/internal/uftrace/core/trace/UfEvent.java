@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+/**
+ * Event of a uftrace record. It keeps the raw payload of the record, the
+ * {@link DatEvent} content is only created if it is requested, the aspects of
+ * the trace read the fields directly.
+ */
+public class UfEvent extends TmfEvent {
+
+    private final long fTime;
+    private final long fPayload;
+    private final int fTid;
+    private @Nullable ITmfEventField fContent = null;
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            the trace
+     * @param rank
+     *            the rank of the event
+     * @param timestamp
+     *            the timestamp
+     * @param time
+     *            the time of the record, in nanoseconds
+     * @param payload
+     *            the second 64 bits of the record
+     * @param tid
+     *            the TID of the data file of the record
+     */
+    public UfEvent(ITmfTrace trace, long rank, ITmfTimestamp timestamp, long time, long payload, int tid) {
+        super(trace, rank, timestamp, UfEventType.lookup(DatEvent.getType(payload)), null);
+        fTime = time;
+        fPayload = payload;
+        fTid = tid;
+    }
+
+    @Override
+    public ITmfEventField getContent() {
+        ITmfEventField content = fContent;
+        if (content == null) {
+            content = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, DatEvent.create(fTime, fPayload, fTid), null);
+            fContent = content;
+        }
+        return content;
+    }
+
+    /**
+     * Get the event call stack depth
+     *
+     * @return the depth
+     */
+    public int getDepth() {
+        return DatEvent.getDepth(fPayload);
+    }
+
+    /**
+     * Get the event address
+     *
+     * @return the address
+     */
+    public long getAddress() {
+        return DatEvent.getAddress(fPayload);
+    }
+
+    /**
+     * Get the event TID
+     *
+     * @return the event TID
+     */
+    public int getTid() {
+        return fTid;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), fTime, fPayload, fTid);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (!super.equals(obj) || !(obj instanceof UfEvent)) {
+            return false;
+        }
+        UfEvent other = (UfEvent) obj;
+        return fTime == other.fTime && fPayload == other.fPayload && fTid == other.fTid;
+    }
+}
@@ -44,6 +44,9 @@ public class UfEventType extends TmfEventType {
     /** The event types */
     public static final Set<? extends ITmfEventType> TYPES = ImmutableSet.of(UfEventType.ENTRY, UfEventType.EXIT, UfEventType.EVENT, UfEventType.LOST);
 
+    /** The event types, in the order of their value in the records */
+    private static final UfEventType[] TYPES_BY_VALUE = { ENTRY, EXIT, EVENT, LOST };
+
     private UfEventType(String name) {
         super(name, ROOT);
     }
@@ -70,4 +73,15 @@ public class UfEventType extends TmfEventType {
         }
     }
 
+    /**
+     * Lookup the event type from the type bits of a record
+     *
+     * @param type
+     *            the type, from 0 to 3
+     * @return the event type
+     */
+    public static UfEventType lookup(int type) {
+        return TYPES_BY_VALUE[type];
+    }
+
 }
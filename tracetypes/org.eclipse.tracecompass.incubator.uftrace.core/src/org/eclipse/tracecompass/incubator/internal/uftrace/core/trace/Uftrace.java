@@ -23,8 +23,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.cdt.utils.CPPFilt;
@@ -33,13 +34,13 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.analysis.os.linux.core.event.aspect.LinuxPidAspect;
 import org.eclipse.tracecompass.analysis.os.linux.core.event.aspect.LinuxTidAspect;
 import org.eclipse.tracecompass.incubator.analysis.core.aspects.ProcessNameAspect;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.Activator;
-import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.SymParser.Symbol;
 import org.eclipse.tracecompass.internal.tmf.core.callstack.FunctionNameMapper;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventType;
@@ -55,10 +56,13 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceKnownSize;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceWithPreDefinedEvents;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Iterables;
 
 /**
@@ -80,16 +84,20 @@ import com.google.common.collect.Iterables;
 public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         ITmfTraceKnownSize, ITmfTraceWithPreDefinedEvents {
 
-    private Collection<DatParser> fDats = new ArrayList<>();
+    /** Name of the file of the checkpoints, in the supplementary folder */
+    private static final String CHECKPOINTS_FILE = "uftrace.checkpoints"; //$NON-NLS-1$
+
+    private List<DatParser> fDats = new ArrayList<>();
     private Map<Long, MapParser> fMap = new HashMap<>();
     private Map<String, SymParser> fSyms = new HashMap<>();
     private TaskParser fTasks;
-    private TmfLongLocation fCurrentLoc = new TmfLongLocation(0L);
+    private long fCurrentOffset = 0;
     private InfoParser fInfo;
 
     private long fSize;
+    private UfCheckpointTable fCheckpoints = new UfCheckpointTable(fDats);
 
-    private final ISymbolProvider fSymbolProvider = new UfTraceSymbolProvider(this);
+    private final UfTraceSymbolProvider fSymbolProvider = new UfTraceSymbolProvider(this);
 
     private final @NonNull TidAspect fTidAspect = new TidAspect();
     private final @NonNull PidAspect fPidAspect = new PidAspect();
@@ -113,9 +121,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
                     @Override
                     public @Nullable Integer resolve(ITmfEvent event) {
-                        Object fieldValue = event.getContent().getValue();
-                        if (fieldValue instanceof DatEvent) {
-                            return ((DatEvent) fieldValue).getDepth();
+                        if (event instanceof UfEvent) {
+                            return ((UfEvent) event).getDepth();
                         }
                         return null;
                     }
@@ -133,9 +140,9 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
                     @Override
                     public @Nullable String resolve(ITmfEvent event) {
-                        if (event.getContent().getValue() instanceof DatEvent) {
-                            DatEvent datEvent = (DatEvent) event.getContent().getValue();
-                            TmfResolvedSymbol symbol = fSymbolProvider.getSymbol(datEvent.getTid(), 0, datEvent.getAddress());
+                        if (event instanceof UfEvent) {
+                            UfEvent ufEvent = (UfEvent) event;
+                            TmfResolvedSymbol symbol = fSymbolProvider.getSymbol(ufEvent.getTid(), 0, ufEvent.getAddress());
                             if (symbol != null) {
                                 return symbol.getSymbolName();
                             }
@@ -210,7 +217,10 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         }
         super.initTrace(resource, path, type);
         long utcOffset = 0;
-        for (File child : dir.listFiles()) {
+        File[] children = dir.listFiles();
+        // Sort the files so the data streams are always in the same order
+        Arrays.sort(children);
+        for (File child : children) {
             String name = child.getName();
             try {
                 if (name.endsWith(".dat")) { //$NON-NLS-1$
@@ -254,40 +264,67 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
                 throw new TmfTraceException(e.getMessage(), e);
             }
         }
+        fCheckpoints = loadCheckpoints();
+        fSymbolProvider.demangleInBackground(getSyms().values());
+    }
+
+    @Override
+    public synchronized void dispose() {
+        fSymbolProvider.dispose();
+        super.dispose();
+    }
+
+    private UfCheckpointTable loadCheckpoints() {
+        try {
+            UfCheckpointTable table = UfCheckpointTable.load(getCheckpointsFile(), fDats);
+            if (table != null) {
+                return table;
+            }
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot read the checkpoints of trace " + getName(), e); //$NON-NLS-1$
+        }
+        return new UfCheckpointTable(fDats);
+    }
+
+    private File getCheckpointsFile() {
+        return new File(TmfTraceManager.getSupplementaryFileDir(this) + CHECKPOINTS_FILE);
     }
 
     @Override
     public ITmfLocation getCurrentLocation() {
-        return fCurrentLoc;
+        return new TmfLongLocation(fCurrentOffset);
     }
 
     @Override
     public double getLocationRatio(ITmfLocation location) {
-        return (long) location.getLocationInfo() / fSize;
+        if (fSize == 0) {
+            return 0;
+        }
+        return (long) location.getLocationInfo() / (double) fSize;
     }
 
     @Override
     public ITmfContext seekEvent(ITmfLocation location) {
-        UfContext context = new UfContext(fDats, this);
-        if (location == null) {
-            return context;
-        }
-        if (location instanceof TmfLongLocation) {
-            TmfLongLocation longLocation = (TmfLongLocation) location;
-            if (longLocation.getLocationInfo().longValue() == 0) {
-                return context;
-            }
-            while (context.getLocation() != null && Long.compare(longLocation.getLocationInfo(), Objects.requireNonNull(context.getLocation()).getLocationInfo()) >= 0) {
-                ITmfEvent next = context.getNext();
-                if (next == null) {
-                    break;
-                }
-                updateAttributes(context, next);
-                if (context.getLocation() == null) {
-                    return context;
-                }
-            }
+        if (!(location instanceof TmfLongLocation)) {
+            return new UfContext(fDats, this);
+        }
+        long target = ((TmfLongLocation) location).getLocationInfo();
+        UfCheckpointTable checkpoints = fCheckpoints;
+        int index = checkpoints.floor(target);
+        UfContext context;
+        long rank;
+        if (index < 0) {
+            context = new UfContext(fDats, this);
+            rank = 0;
+        } else {
+            context = new UfContext(fDats, checkpoints.getPositions(index), this);
+            rank = checkpoints.getRank(index);
         }
+        // Skip the few records between the checkpoint and the location
+        while (context.getOffset() < target && context.advance()) {
+            rank++;
+        }
+        context.setRank(rank);
         return context;
     }
 
@@ -296,25 +333,58 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         return seekEvent(new TmfLongLocation((long) (ratio * fSize)));
     }
 
+    @Override
+    public synchronized ITmfEvent getNext(ITmfContext context) {
+        if (!(context instanceof UfContext)) {
+            return super.getNext(context);
+        }
+        /*
+         * The context keeps its own location, do not create one for every
+         * event like the base implementation
+         */
+        ITmfEvent event = parseEvent(context);
+        if (event != null) {
+            updateAttributes(context, event);
+            context.increaseRank();
+        }
+        return event;
+    }
+
     @Override
     public ITmfEvent parseEvent(@Nullable ITmfContext ctx) {
         ITmfContext context = ctx;
         if (context == null) {
             context = seekEvent(0);
         }
-        if (ctx instanceof UfContext) {
-            UfContext ufContext = (UfContext) ctx;
+        if (context instanceof UfContext) {
+            UfContext ufContext = (UfContext) context;
+            long rank = ufContext.getRank();
+            long offset = ufContext.getOffset();
+            UfCheckpointTable checkpoints = fCheckpoints;
+            long[] positions = checkpoints.isNext(rank) ? ufContext.getPositions() : null;
             ITmfEvent tmfEvent = ufContext.getNext();
+            fCurrentOffset = ufContext.getOffset();
             if (tmfEvent != null) {
-                fCurrentLoc = new TmfLongLocation(fCurrentLoc.getLocationInfo() + Long.BYTES * 2);
-                ctx.setLocation(fCurrentLoc);
-                updateAttributes(context, tmfEvent);
+                if (positions != null) {
+                    checkpoints.add(offset, ufContext.getTime(), positions);
+                }
                 return tmfEvent;
             }
+            if (rank != ITmfContext.UNKNOWN_RANK && checkpoints.complete(rank)) {
+                saveCheckpoints(checkpoints);
+            }
         }
         return null;
     }
 
+    private void saveCheckpoints(UfCheckpointTable checkpoints) {
+        try {
+            checkpoints.save(getCheckpointsFile());
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot save the checkpoints of trace " + getName(), e); //$NON-NLS-1$
+        }
+    }
+
     @Override
     public Set<@NonNull ? extends ITmfEventType> getContainedEventTypes() {
         return UfEventType.TYPES;
@@ -327,7 +397,7 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
     @Override
     public int progress() {
-        return (int) (fCurrentLoc.getLocationInfo() / 1024);
+        return (int) (fCurrentOffset / 1024);
     }
 
     @Override
@@ -355,9 +425,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
     public final class TidAspect extends LinuxTidAspect {
         @Override
         public @Nullable Integer resolve(ITmfEvent event) {
-            if (event.getContent().getValue() instanceof DatEvent) {
-                DatEvent datEvent = (DatEvent) event.getContent().getValue();
-                return datEvent.getTid();
+            if (event instanceof UfEvent) {
+                return ((UfEvent) event).getTid();
             }
             return null;
         }
@@ -371,9 +440,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
     public final class PidAspect extends LinuxPidAspect {
         @Override
         public @Nullable Integer resolve(ITmfEvent event) {
-            if (event.getContent().getValue() instanceof DatEvent) {
-                DatEvent datEvent = (DatEvent) event.getContent().getValue();
-                int tid = datEvent.getTid();
+            if (event instanceof UfEvent) {
+                int tid = ((UfEvent) event).getTid();
                 return getTasks().getPid(tid);
             }
             return null;
@@ -389,9 +457,8 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
         @Override
         public @Nullable String resolve(@NonNull ITmfEvent event) {
-            if (event.getContent().getValue() instanceof DatEvent) {
-                DatEvent datEvent = (DatEvent) event.getContent().getValue();
-                int tid = datEvent.getTid();
+            if (event instanceof UfEvent) {
+                int tid = ((UfEvent) event).getTid();
                 return getTasks().getExecName(tid);
             }
             return null;
@@ -485,23 +552,39 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
     }
 
     /**
-     * overly complicated, should clean up
+     * Symbol provider resolving the addresses with the memory maps of the
+     * sessions and the symbol tables of the binaries. The resolved symbols are
+     * cached per session and address.
+     * <p>
+     * The names of the symbol tables are demangled in a background job when
+     * the trace is opened, in one pass through a single c++filt process. The
+     * demangled names are cached by mangled name, so a name is demangled once
+     * even if it is in several sessions. A name resolved before the job
+     * demangles it is demangled on the spot, which only waits for the current
+     * batch of the job.
      *
      * @author Matthew Khouzam
      *
      */
     private static class UfTraceSymbolProvider implements ISymbolProvider {
 
-        private Uftrace fTrace;
-        private CPPFilt fCppFilt;
+        /** Maximum number of resolved symbols to keep */
+        private static final int CACHE_SIZE = 65536;
+        /** Number of names demangled by the job each time it takes c++filt */
+        private static final int BATCH_SIZE = 256;
+
+        private final Uftrace fTrace;
+        private final Cache<SymbolKey, Optional<TmfResolvedSymbol>> fCache = CacheBuilder.newBuilder()
+                .maximumSize(CACHE_SIZE)
+                .build();
+        private final Map<String, String> fDemangledNames = new ConcurrentHashMap<>();
+        private final Object fCppFiltLock = new Object();
+        private @Nullable CPPFilt fCppFilt = null;
+        private boolean fCppFiltAvailable = true;
+        private @Nullable Job fDemangleJob = null;
 
         public UfTraceSymbolProvider(Uftrace trace) {
             fTrace = trace;
-            try {
-                fCppFilt = new CPPFilt();
-            } catch (IOException e) {
-                Activator.getInstance().logError("Could not load CPP Filt, C++ functions will be mangled." , e); //$NON-NLS-1$
-            }
         }
 
         @Override
@@ -514,6 +597,16 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
             if (session == null) {
                 return null;
             }
+            SymbolKey key = new SymbolKey(session, address);
+            Optional<TmfResolvedSymbol> symbol = fCache.getIfPresent(key);
+            if (symbol == null) {
+                symbol = Optional.ofNullable(resolve(session, address));
+                fCache.put(key, symbol);
+            }
+            return symbol.orElse(null);
+        }
+
+        private @Nullable TmfResolvedSymbol resolve(long session, long address) {
             MapParser mapParser = fTrace.getMap().get(session);
             if (mapParser == null) {
                 return null;
@@ -529,18 +622,114 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
             if (sym == null) {
                 return null;
             }
-            Entry<Long, Symbol> floorEntry = sym.getMap().floorEntry(offset);
-            if (floorEntry != null) {
-                Symbol value = floorEntry.getValue();
-                if (value != null) {
-                    String name = String.valueOf(value.getName());
-                    if(fCppFilt != null) {
-                        name = FunctionNameMapper.nameFromCppFilt(fCppFilt, name);
+            int index = sym.floorIndex(offset);
+            if (index < 0) {
+                return null;
+            }
+            return new TmfResolvedSymbol(address, demangle(sym.getName(index)));
+        }
+
+        /**
+         * Demangle the names of symbol tables in a background job
+         *
+         * @param syms
+         *            the symbol tables
+         */
+        public void demangleInBackground(Collection<SymParser> syms) {
+            Job job = new Job("Demangling the symbols of " + fTrace.getName()) { //$NON-NLS-1$
+                @Override
+                protected IStatus run(IProgressMonitor monitor) {
+                    List<String> names = new ArrayList<>();
+                    for (SymParser sym : syms) {
+                        for (int i = 0; i < sym.size(); i++) {
+                            names.add(sym.getName(i));
+                        }
                     }
-                    return new TmfResolvedSymbol(address, name);
+                    for (int start = 0; start < names.size(); start += BATCH_SIZE) {
+                        if (monitor.isCanceled()) {
+                            return Status.CANCEL_STATUS;
+                        }
+                        synchronized (fCppFiltLock) {
+                            for (String name : names.subList(start, Math.min(start + BATCH_SIZE, names.size()))) {
+                                if (demangleLocked(name) == null) {
+                                    // c++filt is not available
+                                    return Status.OK_STATUS;
+                                }
+                            }
+                        }
+                    }
+                    return Status.OK_STATUS;
+                }
+            };
+            job.setSystem(true);
+            job.setPriority(Job.DECORATE);
+            fDemangleJob = job;
+            job.schedule();
+        }
+
+        /**
+         * Demangle the name of a resolved symbol, if the background job did
+         * not demangle it yet
+         */
+        private String demangle(String name) {
+            String demangled = fDemangledNames.get(name);
+            if (demangled != null) {
+                return demangled;
+            }
+            synchronized (fCppFiltLock) {
+                demangled = demangleLocked(name);
+            }
+            return demangled != null ? demangled : name;
+        }
+
+        /**
+         * Demangle a name with c++filt, which is started the first time. The
+         * lock of c++filt must be held.
+         *
+         * @return the demangled name, or null if c++filt is not available
+         */
+        private @Nullable String demangleLocked(String name) {
+            String demangled = fDemangledNames.get(name);
+            if (demangled != null) {
+                return demangled;
+            }
+            CPPFilt cppFilt = fCppFilt;
+            if (cppFilt == null) {
+                if (!fCppFiltAvailable) {
+                    return null;
+                }
+                try {
+                    cppFilt = new CPPFilt();
+                } catch (IOException e) {
+                    fCppFiltAvailable = false;
+                    Activator.getInstance().logError("Could not load CPP Filt, C++ functions will be mangled.", e); //$NON-NLS-1$
+                    return null;
                 }
+                fCppFilt = cppFilt;
+            }
+            demangled = FunctionNameMapper.nameFromCppFilt(cppFilt, name);
+            // Keep a single copy of the names that are not mangled
+            demangled = demangled == null || demangled.equals(name) ? name : demangled;
+            fDemangledNames.put(name, demangled);
+            return demangled;
+        }
+
+        /**
+         * Stop the background job and c++filt
+         */
+        public void dispose() {
+            Job job = fDemangleJob;
+            if (job != null) {
+                job.cancel();
+            }
+            synchronized (fCppFiltLock) {
+                CPPFilt cppFilt = fCppFilt;
+                if (cppFilt != null) {
+                    cppFilt.dispose();
+                }
+                fCppFilt = null;
+                fCppFiltAvailable = false;
             }
-            return null;
         }
 
         /* needed for ISymbolProvider */
@@ -561,4 +750,31 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
     }
 
+    /**
+     * Key of the resolved symbols cache
+     */
+    private static final class SymbolKey {
+        private final long fSession;
+        private final long fAddress;
+
+        public SymbolKey(long session, long address) {
+            fSession = session;
+            fAddress = address;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(fSession) * 31 + Long.hashCode(fAddress);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (!(obj instanceof SymbolKey)) {
+                return false;
+            }
+            SymbolKey other = (SymbolKey) obj;
+            return fSession == other.fSession && fAddress == other.fAddress;
+        }
+    }
+
 }